@@ -8,26 +8,86 @@ import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.SpawnData;
 import com.almasb.fxgl.entity.level.Level;
-import com.almasb.fxgl.physics.CollisionHandler;
-import com.arena.dual_arena.components.PlayerComponent;
-import com.arena.dual_arena.components.WeaponComponent;
+import com.almasb.fxgl.input.UserAction;
+import com.arena.dual_arena.components.FixedStepSystem;
+import com.arena.dual_arena.components.ImpactEffects;
+import com.arena.dual_arena.components.ParticleSystem;
+import com.arena.dual_arena.components.SimulationSystem;
 import com.arena.dual_arena.factories.*;
-import com.arena.dual_arena.models.hazard.AttackFireball;
-import com.arena.dual_arena.models.hazard.AttackZoneCircle;
+import com.arena.dual_arena.jfr.RoundResetEvent;
+import com.arena.dual_arena.level.CompiledArena;
+import com.arena.dual_arena.netcode.RollbackSession;
+import com.arena.dual_arena.netcode.UdpLink;
+import com.arena.dual_arena.simulation.GameRules;
+import com.arena.dual_arena.simulation.InputRecording;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import com.arena.dual_arena.simulation.TerrainMap;
 import com.arena.dual_arena.types.EntityType;
+import com.arena.dual_arena.utils.AssetRegistry;
+import com.arena.dual_arena.utils.DebugMode;
+import com.arena.dual_arena.utils.FrameMetrics;
+import com.arena.dual_arena.utils.LatencyTracker;
+import com.arena.dual_arena.utils.RandomStreams;
 import javafx.scene.input.KeyCode;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
 import javafx.util.Duration;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.HashMap;
+import java.util.random.RandomGenerator;
 
 import static com.almasb.fxgl.dsl.FXGLForKtKt.*;
 
 public class Main extends GameApplication {
+    /** System property overriding the simulation tick rate, e.g. -Ddualarena.tickRate=30 on a slow machine. */
+    private static final String TICK_RATE_PROPERTY = "dualarena.tickRate";
+    /** System property dumping the frame metrics of every round, even outside debug mode. */
+    private static final String METRICS_PROPERTY = "dualarena.metrics";
+    /** Directory receiving the frame metrics dumps. */
+    private static final Path METRICS_DIRECTORY = Path.of("metrics");
+    /** Set to "tmx" to load the arena from its Tiled map instead of the compiled file. */
+    private static final String ARENA_FORMAT_PROPERTY = "dualarena.arenaFormat";
+    /** System property recording the input of both players at every tick, to replay the match without a window. */
+    private static final String RECORD_PROPERTY = "dualarena.record";
+    /** System property fixing the seed of the match instead of drawing a new one, to play the same hazards and spawns again. */
+    private static final String SEED_PROPERTY = "dualarena.seed";
+    /** Directory receiving the input recordings. */
+    private static final Path REPLAY_DIRECTORY = Path.of("replays");
+    /** System property with the address of the other peer, e.g. -Ddualarena.peer=192.168.1.20:7000, to play online. */
+    private static final String PEER_PROPERTY = "dualarena.peer";
+    /** UDP port listened to in an online match. */
+    private static final String PORT_PROPERTY = "dualarena.port";
+    /** Player controlled on this machine in an online match, 1 or 2. */
+    private static final String PLAYER_PROPERTY = "dualarena.player";
+    /** Frames between reading the local input and applying it in an online match. */
+    private static final String INPUT_DELAY_PROPERTY = "dualarena.inputDelay";
+    /** Largest number of frames simulated ahead of the remote input in an online match. */
+    private static final String ROLLBACK_WINDOW_PROPERTY = "dualarena.rollbackWindow";
+    private static final int DEFAULT_PORT = 7000;
     private Map<Music, Integer> musicTracks;
     private Music currentTrack;
+    private RandomGenerator musicRandom;
     private double elapsedTime;
+    private String arenaFormat;
+    private long arenaLoadNanos;
+    /** Start of initGame, until the first frame of the game is reached. */
+    private long gameStart;
+    private final List<Entity> players = new ArrayList<>();
+    private long matchSeed;
+    private InputRecording recording;
+    private Path recordingFile;
+    private UdpLink onlineLink;
 
     @Override
     protected void initSettings(GameSettings settings) {
@@ -49,6 +109,9 @@ public class Main extends GameApplication {
         musicTracks.put(getAssetLoader().loadMusic("music_2.mp3"), 153); // 153 seconds
 
         playRandomMusic();
+
+        // Completes the latency traces once the frame showing their projectile is about to be drawn
+        FXGL.getPrimaryStage().getScene().addPostLayoutPulseListener(() -> LatencyTracker.get().onFrameRendered(System.nanoTime()));
     }
 
     private void playRandomMusic() {
@@ -57,7 +120,10 @@ public class Main extends GameApplication {
         }
 
         // Pick a random track
-        var randomIndex = new Random().nextInt(musicTracks.size());
+        if (musicRandom == null) {
+            musicRandom = RandomStreams.get().stream(RandomStreams.MUSIC);
+        }
+        var randomIndex = musicRandom.nextInt(musicTracks.size());
         currentTrack = (Music) musicTracks.keySet().toArray()[randomIndex];
 
         elapsedTime = 0;
@@ -68,6 +134,17 @@ public class Main extends GameApplication {
 
     @Override
     protected void onUpdate(double tpf) {
+        long frameStart = System.nanoTime();
+        FixedStepSystem.get().update(tpf);
+        FrameMetrics.get().recordFrame(frameStart, System.nanoTime() - frameStart);
+        if (gameStart != 0) {
+            if (DebugMode.isDebugMode()) {
+                System.out.printf("Arène %s chargée en %.2f ms, première image après %.2f ms%n", arenaFormat,
+                        arenaLoadNanos / 1e6, (System.nanoTime() - gameStart) / 1e6);
+            }
+            gameStart = 0;
+        }
+
         // Increment elapsed time (tpf = time per frame in seconds)
         elapsedTime += tpf;
 
@@ -83,32 +160,119 @@ public class Main extends GameApplication {
     }
 
     @Override
-    protected void initGame() {
-        getGameWorld().addEntityFactory(new ArenaFactory());
+    protected void initInput() {
+        getInput().addAction(new UserAction("Toggle Debug") {
+            @Override
+            protected void onActionBegin() {
+                DebugMode.toggleDebugMode();
+            }
+        }, KeyCode.F3);
 
-        Level map = FXGL.setLevelFromMap("arena.tmx");
+        getInput().addAction(new UserAction("Export Latency") {
+            @Override
+            protected void onActionBegin() {
+                Path file = Path.of("latency-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+                try {
+                    LatencyTracker.get().exportCsv(file);
+                    System.out.println("Latences exportées dans " + file.toAbsolutePath());
+                } catch (IOException e) {
+                    System.err.println("Impossible d'exporter les latences : " + e.getMessage());
+                }
+            }
+        }, KeyCode.F9);
 
-        double scaleX = (double) FXGL.getAppWidth() / map.getWidth(); // Fit to window width
-        double scaleY = (double) FXGL.getAppHeight() / map.getHeight(); // Fit to window height
+        getInput().addAction(new UserAction("Save Recording") {
+            @Override
+            protected void onActionBegin() {
+                saveRecording();
+            }
+        }, KeyCode.F10);
+    }
 
-        Entity mapEntity = FXGL.getGameWorld().getEntities().getFirst();
-        mapEntity.setScaleX(scaleX);
-        mapEntity.setScaleY(scaleY);
+    @Override
+    protected void initUI() {
+        Text debugOverlay = new Text();
+        debugOverlay.setFont(Font.font("Monospaced", 14));
+        debugOverlay.setFill(Color.WHITE);
+        debugOverlay.setTranslateX(10);
+        debugOverlay.setTranslateY(20);
+        debugOverlay.setVisible(false);
+        addUINode(debugOverlay);
+
+        FXGL.run(() -> {
+            debugOverlay.setVisible(DebugMode.isDebugMode());
+            if (DebugMode.isDebugMode()) {
+                debugOverlay.setText(FrameMetrics.get().formatSummary() + "\n\n" + LatencyTracker.get().formatSummary());
+            }
+        }, Duration.seconds(0.5));
+    }
 
-        FXGL.getGameWorld().getEntitiesByType(EntityType.WATER).forEach(entity -> {
-            entity.setPosition(entity.getX() * scaleX, entity.getY() * scaleY);
-        });
+    @Override
+    protected void initGame() {
+        int tickRate = Integer.getInteger(TICK_RATE_PROPERTY, GameRules.REFERENCE_TICK_RATE);
+        FixedStepSystem.get().setTickRate(tickRate);
+        FixedStepSystem.get().reset();
+        // En ligne, les deux pairs doivent jouer la même graine
+        matchSeed = Long.getLong(SEED_PROPERTY, System.getProperty(PEER_PROPERTY) != null ? 1 : System.nanoTime());
+        // Les dangers, les armes et la musique tirent tous leurs nombres de la graine de la partie
+        RandomStreams.reseed(matchSeed);
+        musicRandom = RandomStreams.get().stream(RandomStreams.MUSIC);
+        FrameMetrics.get().clearEntityCounts();
+        FrameMetrics.get().reset();
+        getGameWorld().removeWorldListener(FrameMetrics.get());
+        getGameWorld().addWorldListener(FrameMetrics.get());
+        AssetRegistry.preload();
+        if (DebugMode.isDebugMode()) {
+            AssetRegistry.printReport();
+        }
+
+        getGameWorld().addEntityFactory(new ArenaFactory());
+
+        gameStart = System.nanoTime();
+        TerrainMap terrain;
+        CompiledArena arena = "tmx".equals(System.getProperty(ARENA_FORMAT_PROPERTY)) ? null : loadCompiledArena();
+        if (arena != null) {
+            FXGL.spawn("arena", new SpawnData().put("arena", arena));
+            // Water entities only outline the water in the debug view, falls are detected on the terrain map
+            float[] water = arena.water(FXGL.getAppWidth(), FXGL.getAppHeight());
+            for (int i = 0; i < water.length; i += 4) {
+                FXGL.spawn("water", new SpawnData(water[i], water[i + 1])
+                        .put("width", (int) (water[i + 2] * arena.mapWidth() / FXGL.getAppWidth()))
+                        .put("height", (int) (water[i + 3] * arena.mapHeight() / FXGL.getAppHeight())));
+            }
+            terrain = arena.terrain().scaledTo(FXGL.getAppWidth(), FXGL.getAppHeight());
+        } else {
+            Level map = FXGL.setLevelFromMap("arena.tmx");
+
+            double scaleX = (double) FXGL.getAppWidth() / map.getWidth(); // Fit to window width
+            double scaleY = (double) FXGL.getAppHeight() / map.getHeight(); // Fit to window height
+
+            Entity mapEntity = FXGL.getGameWorld().getEntities().getFirst();
+            mapEntity.setScaleX(scaleX);
+            mapEntity.setScaleY(scaleY);
+
+            // Water entities only outline the water in the debug view, falls are detected on the terrain map
+            FXGL.getGameWorld().getEntitiesByType(EntityType.WATER).forEach(entity -> {
+                entity.setPosition(entity.getX() * scaleX, entity.getY() * scaleY);
+            });
+            terrain = TerrainMap.arena().scaledTo(FXGL.getAppWidth(), FXGL.getAppHeight());
+        }
+        arenaFormat = arena != null ? "binaire" : "tmx";
+        arenaLoadNanos = System.nanoTime() - gameStart;
+        players.clear();
 
         FXGL.getGameWorld().addEntityFactory(new PlayerFactory());
-        WeaponFactory weaponFactory = new WeaponFactory();
-        FXGL.getGameWorld().addEntityFactory(weaponFactory);
+        FXGL.getGameWorld().addEntityFactory(new WeaponFactory());
         FXGL.getGameWorld().addEntityFactory(new ProjectileFactory());
         FXGL.getGameWorld().addEntityFactory(new HazardFactory());
 
+        // Les projectiles sont dessinés sur le calque : le nombre de nœuds ne dépend plus du nombre de tirs
+        ImpactEffects.get().clear();
+        ParticleSystem.get().clear();
+        FXGL.spawn("projectile-layer");
+
         spawnPlayer(FXGL.getAppWidth() / 5 - 16*2, FXGL.getAppHeight() / 2 - 28*2, KeyCode.Z, KeyCode.S, KeyCode.Q, KeyCode.D, KeyCode.SPACE, KeyCode.C, KeyCode.G);
         spawnPlayer(FXGL.getAppWidth() - FXGL.getAppWidth() / 5 - 16 * 2, FXGL.getAppHeight() / 2 - 28*2, KeyCode.UP, KeyCode.DOWN, KeyCode.LEFT, KeyCode.RIGHT, KeyCode.PAGE_UP, KeyCode.PAGE_DOWN, KeyCode.M);
-        FXGL.spawn("gun", (double) FXGL.getAppWidth() / 5 - 16*2, (double) FXGL.getAppHeight() / 2 - 28*2);
-        FXGL.spawn("gun", FXGL.getAppWidth() - (double) FXGL.getAppWidth() / 5 - 16 * 2, (double) FXGL.getAppHeight() / 2 - 28*2);
 
         //FXGL.spawn("rocket-launcher", (double) FXGL.getAppWidth() / 2, (double) FXGL.getAppHeight() / 2);
         /*
@@ -137,11 +301,85 @@ public class Main extends GameApplication {
 
          */
 
-        FXGL.runOnce(weaponFactory::InfiniteSpawner, Duration.seconds(1));
-        new AttackZoneCircle();
-        FXGL.run(AttackFireball::new,Duration.seconds(40));
-        FXGL.run(AttackZoneCircle::new,Duration.seconds(60));
-        FXGL.runOnce(weaponFactory::RocketSpawner, Duration.seconds(1));
+        // Le monde simulé applique toutes les règles, les entités ne font que le dessiner
+        SimulationConfig defaults = SimulationConfig.withSeed(matchSeed);
+        SimulationConfig config = new SimulationConfig(tickRate, FXGL.getAppWidth(), FXGL.getAppHeight(),
+                matchSeed, defaults.roundsToWin(), defaults.maxTicks());
+        SimulationSystem simulation = SimulationSystem.get();
+        if (!startOnline(config)) {
+            simulation.start(new SimWorld(config, terrain), players.get(0), players.get(1));
+            startRecording(config);
+        }
+        simulation.setRoundListener(deadPlayer -> FXGL.showMessage("Joueur " + deadPlayer + " est mort", this::resetGame));
+        simulation.setMatchListener(() -> FXGL.showMessage("Fin du match : " + simulation.getWorld().getScore(0) + " - "
+                + simulation.getWorld().getScore(1), this::endMatch));
+    }
+
+    /**
+     * Starts an online match against the peer given by the peer system property, if it is set.
+     * Both peers must run with the same seed and tick rate. Input recording is not available online.
+     *
+     * @return True if an online match was started.
+     */
+    private boolean startOnline(SimulationConfig config) {
+        if (onlineLink != null) {
+            onlineLink.close();
+            onlineLink = null;
+        }
+        String peer = System.getProperty(PEER_PROPERTY);
+        if (peer == null) {
+            return false;
+        }
+        int separator = peer.lastIndexOf(':');
+        InetSocketAddress peerAddress = new InetSocketAddress(peer.substring(0, separator), Integer.parseInt(peer.substring(separator + 1)));
+        int port = Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        try {
+            onlineLink = new UdpLink(new InetSocketAddress(port), peerAddress);
+        } catch (IOException e) {
+            System.err.println("Impossible d'écouter le port " + port + ", partie locale : " + e.getMessage());
+            return false;
+        }
+        int localPlayer = Integer.getInteger(PLAYER_PROPERTY, 1) - 1;
+        RollbackSession session = new RollbackSession(config, localPlayer, Integer.getInteger(INPUT_DELAY_PROPERTY, 2),
+                Integer.getInteger(ROLLBACK_WINDOW_PROPERTY, 8), onlineLink);
+        SimulationSystem.get().startOnline(session, players.get(0), players.get(1));
+        recording = null;
+        SimulationSystem.get().setRecording(null);
+        System.out.println("Match en ligne contre " + peerAddress + ", joueur " + (localPlayer + 1) + ", graine " + matchSeed);
+        return true;
+    }
+
+    /**
+     * Starts recording the input of the players at every tick when the record system property is set.
+     * The recording is saved at the end of every round, and with F10.
+     */
+    private void startRecording(SimulationConfig config) {
+        if (!Boolean.getBoolean(RECORD_PROPERTY)) {
+            recording = null;
+            SimulationSystem.get().setRecording(null);
+            return;
+        }
+        recording = new InputRecording(config);
+        recordingFile = REPLAY_DIRECTORY.resolve("match-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                + InputRecording.EXTENSION);
+        SimulationSystem.get().setRecording(recording);
+        System.out.println("Enregistrement des entrées de la partie, graine " + matchSeed);
+    }
+
+    /**
+     * Writes the input recorded since the start of the game to the replay directory.
+     */
+    private void saveRecording() {
+        if (recording == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(REPLAY_DIRECTORY);
+            recording.save(recordingFile);
+            System.out.println(recording.getTicks() + " ticks enregistrés dans " + recordingFile.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Impossible d'enregistrer la partie : " + e.getMessage());
+        }
     }
 
     public void spawnPlayer(int posX, int posY, KeyCode inputUp, KeyCode inputDown, KeyCode inputLeft, KeyCode inputRight, KeyCode primaryFire, KeyCode secondaryFire, KeyCode dropWeapon) {
@@ -156,87 +394,68 @@ public class Main extends GameApplication {
                 .put("secondaryFire", secondaryFire)
                 .put("dropWeapon", dropWeapon);
 
-        FXGL.spawn("player", spawnData);
+        players.add(FXGL.spawn("player", spawnData));
+    }
+
+    /**
+     * Loads the compiled arena, or returns null to fall back to the Tiled map if it is missing or unreadable.
+     */
+    private static CompiledArena loadCompiledArena() {
+        try {
+            return CompiledArena.loadArena();
+        } catch (IOException e) {
+            System.err.println("Arène compilée illisible, chargement de arena.tmx : " + e.getMessage());
+            return null;
+        }
     }
 
     @Override
     protected void initPhysics() {
-        FXGL.getPhysicsWorld().addCollisionHandler(new CollisionHandler(EntityType.PLAYER, EntityType.WEAPON) {
-            @Override
-            protected void onCollisionBegin(Entity player, Entity weapon) {
-                PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
-                if (playerComponent != null && weapon.getComponent(WeaponComponent.class).getOwner() == null) {
-                    playerComponent.pickupWeapon(weapon);
-                }
-            }
-        });
-
-        FXGL.getPhysicsWorld().addCollisionHandler(new CollisionHandler(EntityType.PLAYER, EntityType.WATER) {
-            @Override
-            protected void onCollisionBegin(Entity player, Entity water) {
-                PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
-                if (playerComponent != null){
-                    FXGL.showMessage("Joueur " + playerComponent.getId() + " est mort", () -> {
-                        resetGame();
-                    });
-                }
-            }
-        });
-
-        /*
-        FXGL.getPhysicsWorld().addCollisionHandler(new CollisionHandler(EntityType.PLAYER, EntityType.EXPLOSION) {
-            @Override
-            protected void onCollisionBegin(Entity player, Entity explosion) {
-                PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
-                if (playerComponent != null){
-                    FXGL.showMessage("Joueur " + playerComponent.getId() + " est mort", () -> {
-                        resetGame();
-                    });
-                }
-            }
-        });
-
-         */
-
-        onCollisionBegin(EntityType.PLAYER, EntityType.EXPLOSION, (player, obstacle) -> {
-            PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
-            if (playerComponent != null){
-                FXGL.showMessage("Joueur " + playerComponent.getId() + " est mort", this::resetGame);
-            }
-            return null;
-        });
+        // Deaths, pickups and hits are resolved by the SimWorld, see SimulationSystem
     }
 
+    /**
+     * Starts the next round once the death message is closed. The world already put the players back on their
+     * spawn when the round ended, this only renews the music, the metrics and the saved recording.
+     */
     public void resetGame() {
+        RoundResetEvent event = new RoundResetEvent();
+        event.begin();
+        int entityCount = FXGL.getGameWorld().getEntities().size();
         playRandomMusic();
+        dumpFrameMetrics();
+        saveRecording();
 
-        //reset weapons spawns
-        FXGL.getGameWorld().getEntitiesByType(EntityType.WEAPON).forEach(Entity::removeFromWorld);
-
-        //reset players
-        FXGL.getGameWorld().getEntitiesByType(EntityType.PLAYER).forEach(entity -> {
-            PlayerComponent entityComponent = entity.getComponent(PlayerComponent.class);
-            //reset players positions
-            switch (entityComponent.getId()) {
-                case 1 -> {
-                    entity.setPosition((double) FXGL.getAppWidth() / 5 - 16*2, (double) FXGL.getAppHeight() / 2 - 28*2);
-                    entityComponent.getEquippedWeapon().removeFromWorld();
-                    FXGL.spawn("gun", (double) FXGL.getAppWidth() / 5 - 16*2, (double) FXGL.getAppHeight() / 2 - 28*2);
-                }
-                case 2 -> {
-                    entity.setPosition(FXGL.getAppWidth() - (double) FXGL.getAppWidth() / 5 - 16 * 2, (double) FXGL.getAppHeight() / 2 - 28*2);
-                    entityComponent.getEquippedWeapon().removeFromWorld();
-                    FXGL.spawn("gun", FXGL.getAppWidth() - (double) FXGL.getAppWidth() / 5 - 16 * 2, (double) FXGL.getAppHeight() / 2 - 28*2);
-                }
-            }
+        if (DebugMode.isDebugMode()) {
+            System.out.println(SimulationSystem.get().getWorld().getProjectiles().getPoolStats());
+        }
+        event.commit(entityCount);
+    }
 
-            //reset players velocity
-            entityComponent.resetKnockback();
-        });
+    /**
+     * Saves the finished match and starts a new one, with a new seed and a new recording.
+     */
+    private void endMatch() {
+        resetGame();
+        getGameController().startNewGame();
+    }
 
-        //reset hazards spawns
-        FXGL.getGameWorld().getEntitiesByType(EntityType.HAZARD).forEach(Entity::removeFromWorld);
-        FXGL.getGameWorld().getEntitiesByType(EntityType.EXPLOSION).forEach(Entity::removeFromWorld);
+    /**
+     * Writes the frame metrics of the round that just ended to the metrics directory, then starts measuring the next one.
+     * Rounds are only dumped in debug mode or when the metrics system property is set.
+     */
+    private void dumpFrameMetrics() {
+        if (DebugMode.isDebugMode() || Boolean.getBoolean(METRICS_PROPERTY)) {
+            Path file = METRICS_DIRECTORY.resolve("frames-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+            try {
+                Files.createDirectories(METRICS_DIRECTORY);
+                FrameMetrics.get().exportCsv(file);
+                System.out.println("Métriques de la manche exportées dans " + file.toAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("Impossible d'exporter les métriques : " + e.getMessage());
+            }
+        }
+        FrameMetrics.get().reset();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,81 @@
+package com.arena.dual_arena.components;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.entity.component.Component;
+import com.almasb.fxgl.texture.AnimatedTexture;
+import com.almasb.fxgl.texture.AnimationChannel;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Stops the looping animation of an entity while it cannot be seen, hidden or outside the visible area
+ * of the viewport, and starts the loop again when it comes back into view.
+ * A stopped {@link AnimatedTexture} no longer interpolates frames nor changes its viewport, so entities
+ * waiting off-screen cost nothing to the scene graph. Only looping animations should be culled: a texture
+ * played once would never finish, and never run its end of cycle action, while off-screen.
+ */
+public class AnimationCullingComponent extends Component {
+    private final AnimatedTexture texture;
+    private final double margin;
+    private AnimationChannel pausedChannel;
+
+    /**
+     * Constructs a culling component for a looping texture of the entity.
+     *
+     * @param texture The animated texture, already looping.
+     * @param margin  Distance around the entity position its view can reach, in pixels.
+     */
+    public AnimationCullingComponent(AnimatedTexture texture, double margin) {
+        this.texture = texture;
+        this.margin = margin;
+    }
+
+    @Override
+    public void onUpdate(double tpf) {
+        cull(FXGL.getGameScene().getViewport().getVisibleArea());
+    }
+
+    /**
+     * Stops or restarts the animation depending on whether the entity can be seen.
+     *
+     * @param area Visible area of the viewport, in world coordinates.
+     */
+    void cull(Rectangle2D area) {
+        boolean shown = isShown(entity.isVisible(), entity.getOpacity(), entity.getX(), entity.getY(), margin, area);
+        if (!shown) {
+            // Un changement de canal relance la boucle : on l'arrête de nouveau
+            if (pausedChannel != texture.getAnimationChannel()) {
+                pausedChannel = texture.getAnimationChannel();
+                texture.stop();
+            }
+        } else if (pausedChannel != null) {
+            texture.loopAnimationChannel(pausedChannel);
+            pausedChannel = null;
+        }
+    }
+
+    /**
+     * Returns whether an entity can be seen.
+     *
+     * @param visible Whether the entity is visible.
+     * @param opacity Opacity of the entity.
+     * @param x       X-coordinate of the entity.
+     * @param y       Y-coordinate of the entity.
+     * @param margin  Distance around the position the view of the entity can reach.
+     * @param area    Visible area of the viewport, in world coordinates.
+     * @return True if part of the entity may be on screen.
+     */
+    static boolean isShown(boolean visible, double opacity, double x, double y, double margin, Rectangle2D area) {
+        return visible && opacity > 0
+                && x + margin >= area.getMinX() && x - margin <= area.getMaxX()
+                && y + margin >= area.getMinY() && y - margin <= area.getMaxY();
+    }
+
+    /**
+     * Returns whether the animation is currently stopped by this component.
+     *
+     * @return True while the entity is out of view.
+     */
+    public boolean isCulled() {
+        return pausedChannel != null;
+    }
+}
@@ -1,39 +1,50 @@
 package com.arena.dual_arena.components;
 
-import com.almasb.fxgl.dsl.FXGL;
-import com.almasb.fxgl.entity.component.Component;
+import com.arena.dual_arena.simulation.SimHazard;
 
-public class FireballComponent extends Component {
+/**
+ * Component drawing a fireball of the {@link com.arena.dual_arena.simulation.SimWorld} as it crosses the arena,
+ * leaving a trail of particles behind it. The world moves the fireball and removes it on arrival.
+ */
+public class FireballComponent extends FixedStepComponent {
 
     private final double targetX;
     private final double targetY;
-    private final int speed=300;
-    private boolean removed = false;
+    private final ParticleSystem particles = ParticleSystem.get();
+    private SimHazard state;
 
     public FireballComponent(double targetX, double targetY) {
         this.targetX = targetX;
         this.targetY = targetY;
     }
 
+    /**
+     * Binds the component to the fireball of the world it draws.
+     *
+     * @param state The fireball of the world.
+     */
+    public void bind(SimHazard state) {
+        this.state = state;
+        entity.setPosition(state.getX(), state.getY());
+        snapToPosition();
+    }
+
+    public SimHazard getState() {
+        return state;
+    }
+
     @Override
-    public void onUpdate(double tpf) {
+    public void onFixedUpdate(double dt) {
+        if (state != null) {
+            entity.setPosition(state.getX(), state.getY());
+        }
         double dx = targetX - entity.getX();
         double dy = targetY - entity.getY();
 
         // Normalize the vector
         double length = Math.sqrt(dx * dx + dy * dy);
-        if (length > 20) {
-            dx /= length;
-            dy /= length;
-        }
-        else{
-            FXGL.getGameWorld().removeEntity(entity);
-            removed = true;
+        if (length > 0) {
+            ParticleEmitter.FIREBALL_TRAIL.emit(particles, entity.getX(), entity.getY(), -dx / length, -dy / length);
         }
-        entity.translate(dx * speed * tpf, dy * speed * tpf);
-    }
-
-    public boolean isRemoved() {
-        return removed;
     }
 }
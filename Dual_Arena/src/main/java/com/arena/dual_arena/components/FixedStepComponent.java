@@ -0,0 +1,107 @@
+package com.arena.dual_arena.components;
+
+import com.almasb.fxgl.entity.component.Component;
+import com.arena.dual_arena.utils.FrameMetrics;
+
+/**
+ * Base class of the components simulated at the fixed rate of the {@link FixedStepSystem} instead of once
+ * per rendered frame. {@link #onFixedUpdate(double)}, which always receives the same duration, copies the
+ * state the {@link SimulationSystem} just simulated, while {@link #onUpdate(double)} stays available for purely
+ * visual work.
+ * The entity keeps its simulated position, and its view is drawn between its last two simulated positions
+ * so movement stays smooth when the simulation runs slower than the display.
+ */
+public abstract class FixedStepComponent extends Component {
+    /** Section of the {@link FrameMetrics} receiving the time spent in the ticks of this kind of component. */
+    final int metricsSection = FrameMetrics.get().section(getClass().getSimpleName());
+    private double previousX;
+    private double previousY;
+    private double renderOffsetX;
+    private double renderOffsetY;
+
+    /**
+     * Registers the component in the fixed step system.
+     * Subclasses overriding this method must call it.
+     */
+    @Override
+    public void onAdded() {
+        FixedStepSystem.get().add(this);
+        snapToPosition();
+    }
+
+    /**
+     * Unregisters the component from the fixed step system.
+     * Subclasses overriding this method must call it.
+     */
+    @Override
+    public void onRemoved() {
+        FixedStepSystem.get().remove(this);
+    }
+
+    /**
+     * Advances the gameplay of the component by one simulation tick.
+     *
+     * @param dt Duration of a tick in seconds, identical for every call.
+     */
+    public abstract void onFixedUpdate(double dt);
+
+    /**
+     * Returns whether this component draws its entity between simulated positions.
+     * Components moving an entity already interpolated by another component return false.
+     *
+     * @return True to interpolate the view of the entity.
+     */
+    protected boolean isInterpolated() {
+        return true;
+    }
+
+    /**
+     * Remembers the simulated position before a tick moves the entity.
+     */
+    void savePreviousPosition() {
+        previousX = entity.getX();
+        previousY = entity.getY();
+    }
+
+    /**
+     * Draws the entity between its previous and current simulated positions.
+     * The view is shifted through its layout, which FXGL leaves free, so the position used by the
+     * simulation and the collisions is never touched.
+     *
+     * @param alpha Interpolation factor, 0 for the previous position and 1 for the current one.
+     */
+    protected void interpolate(double alpha) {
+        renderOffsetX = (previousX - entity.getX()) * (1 - alpha);
+        renderOffsetY = (previousY - entity.getY()) * (1 - alpha);
+        entity.getViewComponent().getParent().setLayoutX(renderOffsetX);
+        entity.getViewComponent().getParent().setLayoutY(renderOffsetY);
+    }
+
+    /**
+     * Draws the entity at its current position until the next tick, e.g. after a teleport or a respawn,
+     * so it does not visibly slide from its old position.
+     */
+    public void snapToPosition() {
+        savePreviousPosition();
+        renderOffsetX = 0;
+        renderOffsetY = 0;
+        entity.getViewComponent().getParent().setLayoutX(0);
+        entity.getViewComponent().getParent().setLayoutY(0);
+    }
+
+    /**
+     * Returns the horizontal distance between the drawn and the simulated position of the entity.
+     * @return The offset in pixels.
+     */
+    public double getRenderOffsetX() {
+        return renderOffsetX;
+    }
+
+    /**
+     * Returns the vertical distance between the drawn and the simulated position of the entity.
+     * @return The offset in pixels.
+     */
+    public double getRenderOffsetY() {
+        return renderOffsetY;
+    }
+}
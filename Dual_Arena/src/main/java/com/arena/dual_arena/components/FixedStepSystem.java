@@ -0,0 +1,177 @@
+package com.arena.dual_arena.components;
+
+import com.arena.dual_arena.simulation.GameRules;
+import com.arena.dual_arena.utils.FixedTimestep;
+import com.arena.dual_arena.utils.FrameMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the gameplay of every {@link FixedStepComponent} at a fixed tick rate, decoupled from the frame rate.
+ * Each frame is turned into a whole number of ticks by a {@link FixedTimestep}. All components advance
+ * together tick by tick, in the order they were added, and are then interpolated for rendering.
+ * A slow or throttled display therefore changes how often the game is drawn, never how it plays.
+ * The time spent in each kind of component is reported to the {@link FrameMetrics}.
+ */
+public class FixedStepSystem {
+    private static FixedStepSystem instance;
+
+    private final FixedTimestep timestep;
+    private final List<FixedStepComponent> components = new ArrayList<>();
+    private boolean updating = false;
+    private boolean hasRemovals = false;
+    private Runnable tickListener;
+
+    /**
+     * Constructs a system simulating the given number of ticks per second.
+     *
+     * @param tickRate Number of simulation ticks per second.
+     */
+    public FixedStepSystem(int tickRate) {
+        this.timestep = new FixedTimestep(tickRate);
+    }
+
+    /**
+     * Returns the system shared by the game components, creating it on first use at the reference tick rate.
+     *
+     * @return The shared fixed step system.
+     */
+    public static FixedStepSystem get() {
+        if (instance == null) {
+            instance = new FixedStepSystem(GameRules.REFERENCE_TICK_RATE);
+        }
+        return instance;
+    }
+
+    /**
+     * Starts simulating a component. It runs from the next tick on.
+     *
+     * @param component The component to simulate.
+     */
+    public void add(FixedStepComponent component) {
+        if (!components.contains(component)) {
+            components.add(component);
+        }
+    }
+
+    /**
+     * Stops simulating a component. Removing a component while the ticks run is safe.
+     *
+     * @param component The component to forget.
+     */
+    public void remove(FixedStepComponent component) {
+        int index = components.indexOf(component);
+        if (index < 0) {
+            return;
+        }
+        if (updating) {
+            // Keep the indexes stable until the ticks of this frame are over
+            components.set(index, null);
+            hasRemovals = true;
+        } else {
+            components.remove(index);
+        }
+    }
+
+    /**
+     * Runs the ticks covered by a rendered frame, then interpolates the entities for drawing.
+     *
+     * @param tpf Duration of the frame in seconds.
+     * @return The number of ticks simulated during this frame.
+     */
+    public int update(double tpf) {
+        int steps = timestep.advance(tpf);
+        double dt = timestep.getStepSeconds();
+        FrameMetrics metrics = FrameMetrics.get();
+
+        updating = true;
+        try {
+            for (int step = 0; step < steps; step++) {
+                if (tickListener != null) {
+                    tickListener.run();
+                }
+                int count = components.size();
+                for (int i = 0; i < count; i++) {
+                    FixedStepComponent component = components.get(i);
+                    if (isSimulated(component)) {
+                        component.savePreviousPosition();
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    FixedStepComponent component = components.get(i);
+                    if (isSimulated(component)) {
+                        long start = System.nanoTime();
+                        component.onFixedUpdate(dt);
+                        metrics.addSectionTime(component.metricsSection, System.nanoTime() - start);
+                    }
+                }
+            }
+
+            double alpha = timestep.getAlpha();
+            for (int i = 0; i < components.size(); i++) {
+                FixedStepComponent component = components.get(i);
+                if (isSimulated(component) && component.isInterpolated()) {
+                    component.interpolate(alpha);
+                }
+            }
+        } finally {
+            updating = false;
+            if (hasRemovals) {
+                components.removeIf(component -> component == null);
+                hasRemovals = false;
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Pooled entities keep their components while they wait outside the world, so only active ones are run.
+     */
+    private static boolean isSimulated(FixedStepComponent component) {
+        return component != null && component.getEntity().isActive();
+    }
+
+    /**
+     * Changes the simulation rate, e.g. to lower the load on a weak machine. Gameplay is unchanged.
+     *
+     * @param tickRate Number of simulation ticks per second.
+     */
+    public void setTickRate(int tickRate) {
+        timestep.setTickRate(tickRate);
+    }
+
+    /**
+     * Sets an action run at the start of every tick, before any component, e.g. to record the input the tick uses.
+     *
+     * @param tickListener The action, or null to remove it.
+     */
+    public void setTickListener(Runnable tickListener) {
+        this.tickListener = tickListener;
+    }
+
+    /**
+     * Drops the time accumulated so far, e.g. when a new game starts.
+     */
+    public void reset() {
+        timestep.reset();
+    }
+
+    public FixedTimestep getTimestep() {
+        return timestep;
+    }
+
+    /**
+     * Returns the number of components currently simulated.
+     * @return The component count.
+     */
+    public int getComponentCount() {
+        int count = 0;
+        for (FixedStepComponent component : components) {
+            if (component != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,184 @@
+package com.arena.dual_arena.components;
+
+import com.arena.dual_arena.utils.AssetRegistry;
+
+/**
+ * Visual and sound effects of projectile impacts, played by the {@link SimulationSystem} when the world reports them.
+ * Flashes and explosion circles are kept in arrays and drawn by the {@link ProjectileLayerComponent} canvas
+ * instead of being entities, so a burst of hits does not add nodes to the scene graph.
+ * Every effect also throws particles into a {@link ParticleSystem}.
+ * Effects beyond the capacity are dropped and counted.
+ */
+public class ImpactEffects {
+    /** Number of effects the shared instance can show at once. */
+    public static final int DEFAULT_CAPACITY = 1024;
+    /** Time taken by an effect to fade out, in seconds. */
+    public static final double FADE_DURATION = 0.15;
+    /** Radius of the flash of a bullet impact. */
+    public static final double FLASH_RADIUS = 5;
+    /** White flash of a bullet hitting a player. */
+    public static final byte FLASH = 0;
+    /** Orange circle of a rocket explosion. */
+    public static final byte EXPLOSION = 1;
+    /** Explosion radius at which the particles of an explosion keep the speeds of their emitter. */
+    public static final double PARTICLE_REFERENCE_RADIUS = 200;
+    private static ImpactEffects instance;
+
+    private final int capacity;
+    private final ParticleSystem particles;
+    private final byte[] types;
+    private final double[] x;
+    private final double[] y;
+    private final double[] radius;
+    private final double[] age;
+    private int count = 0;
+    private long dropped = 0;
+
+    /**
+     * Constructs an empty set of effects.
+     *
+     * @param capacity  Maximum number of effects shown at once.
+     * @param particles The particle system receiving the sparks and debris of the effects.
+     */
+    public ImpactEffects(int capacity, ParticleSystem particles) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.particles = particles;
+        types = new byte[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        radius = new double[capacity];
+        age = new double[capacity];
+    }
+
+    /**
+     * Returns the effects shared by the game, creating them on first use with the default capacity.
+     *
+     * @return The shared impact effects.
+     */
+    public static ImpactEffects get() {
+        if (instance == null) {
+            instance = new ImpactEffects(DEFAULT_CAPACITY, ParticleSystem.get());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a quick white flash at the point where a bullet hit a player.
+     *
+     * @param x X-coordinate of the impact.
+     * @param y Y-coordinate of the impact.
+     */
+    public void flash(double x, double y) {
+        add(FLASH, x, y, FLASH_RADIUS);
+        ParticleEmitter.BULLET_IMPACT.burst(particles, x, y, 1);
+    }
+
+    /**
+     * Creates the fading orange circle and the sound of a rocket explosion.
+     *
+     * @param x      X-coordinate of the center of the explosion.
+     * @param y      Y-coordinate of the center of the explosion.
+     * @param radius Radius of the explosion.
+     */
+    public void explosion(double x, double y, double radius) {
+        add(EXPLOSION, x, y, radius);
+        ParticleEmitter.ROCKET_EXPLOSION.burst(particles, x, y, radius / PARTICLE_REFERENCE_RADIUS);
+        AssetRegistry.play("rocket_explosion.wav");
+    }
+
+    /**
+     * Adds a fading circle.
+     *
+     * @param type   {@link #FLASH} or {@link #EXPLOSION}.
+     * @param x      X-coordinate of the center of the circle.
+     * @param y      Y-coordinate of the center of the circle.
+     * @param radius Radius of the circle.
+     * @return The index of the effect, or -1 if the capacity is reached.
+     */
+    public int add(byte type, double x, double y, double radius) {
+        if (count == capacity) {
+            dropped++;
+            return -1;
+        }
+        int i = count++;
+        types[i] = type;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.radius[i] = radius;
+        age[i] = 0;
+        return i;
+    }
+
+    /**
+     * Ages every effect and removes those that have faded out.
+     *
+     * @param dt Elapsed time in seconds.
+     */
+    public void update(double dt) {
+        for (int i = count - 1; i >= 0; i--) {
+            age[i] += dt;
+            if (age[i] >= FADE_DURATION) {
+                // Le dernier effet prend la place de celui qui disparaît
+                int last = --count;
+                types[i] = types[last];
+                x[i] = x[last];
+                y[i] = y[last];
+                radius[i] = radius[last];
+                age[i] = age[last];
+            }
+        }
+    }
+
+    /**
+     * Removes every effect.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of effects dropped because the capacity was reached.
+     *
+     * @return The dropped effect count.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    public byte getType(int i) {
+        return types[i];
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getRadius(int i) {
+        return radius[i];
+    }
+
+    /**
+     * Returns the opacity of an effect, fading linearly from 1 to 0.
+     *
+     * @param i Index of the effect.
+     * @return The opacity between 0 and 1.
+     */
+    public double getOpacity(int i) {
+        return Math.max(0, 1 - age[i] / FADE_DURATION);
+    }
+}
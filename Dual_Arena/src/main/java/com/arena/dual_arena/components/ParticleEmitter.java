@@ -0,0 +1,62 @@
+package com.arena.dual_arena.components;
+
+/**
+ * Settings of a burst or a trail of particles. Emitters hold no state, so the presets are shared by every effect.
+ *
+ * @param count      Number of particles emitted at once.
+ * @param minSpeed   Minimum initial speed in pixels per second.
+ * @param maxSpeed   Maximum initial speed in pixels per second.
+ * @param minLife    Minimum lifetime in seconds.
+ * @param maxLife    Maximum lifetime in seconds.
+ * @param minSize    Minimum diameter in pixels.
+ * @param maxSize    Maximum diameter in pixels.
+ * @param drag       Fraction of the speed kept after one second, between 0 and 1.
+ * @param spread     Angle in radians around the emission direction within which particles are thrown.
+ * @param firstColor First color of the {@link ParticleSystem#PALETTE} the particles can take.
+ * @param lastColor  Last color of the {@link ParticleSystem#PALETTE} the particles can take.
+ */
+public record ParticleEmitter(int count, double minSpeed, double maxSpeed, double minLife, double maxLife,
+                              double minSize, double maxSize, double drag, double spread,
+                              int firstColor, int lastColor) {
+    private static final double FULL_CIRCLE = Math.PI * 2;
+
+    /** Sparks of a bullet hitting a player. */
+    public static final ParticleEmitter BULLET_IMPACT = new ParticleEmitter(
+            6, 60, 160, 0.08, 0.2, 2, 4, 0.05, FULL_CIRCLE, ParticleSystem.WHITE, ParticleSystem.YELLOW);
+    /** Fire and smoke of a rocket explosion, speeds scaled by the explosion radius. */
+    public static final ParticleEmitter ROCKET_EXPLOSION = new ParticleEmitter(
+            40, 80, 320, 0.2, 0.5, 4, 10, 0.02, FULL_CIRCLE, ParticleSystem.YELLOW, ParticleSystem.SMOKE);
+    /** Debris of the explosion ending an attack zone, speeds scaled by the zone radius. */
+    public static final ParticleEmitter HAZARD_EXPLOSION = new ParticleEmitter(
+            60, 60, 260, 0.3, 0.7, 4, 12, 0.05, FULL_CIRCLE, ParticleSystem.ORANGE, ParticleSystem.SMOKE);
+    /** Embers left behind a fireball every tick, thrown backwards. */
+    public static final ParticleEmitter FIREBALL_TRAIL = new ParticleEmitter(
+            2, 20, 60, 0.15, 0.35, 3, 7, 0.1, Math.PI / 3, ParticleSystem.YELLOW, ParticleSystem.RED);
+
+    /**
+     * Emits a burst in every direction allowed by the spread around the x-axis.
+     *
+     * @param system The system receiving the particles.
+     * @param x      X-coordinate of the burst.
+     * @param y      Y-coordinate of the burst.
+     * @param scale  Factor applied to the speeds, to match the size of the effect.
+     * @return The number of particles actually emitted.
+     */
+    public int burst(ParticleSystem system, double x, double y, double scale) {
+        return system.emit(this, x, y, 1, 0, scale);
+    }
+
+    /**
+     * Emits particles thrown around a direction.
+     *
+     * @param system     The system receiving the particles.
+     * @param x          X-coordinate of the emission.
+     * @param y          Y-coordinate of the emission.
+     * @param directionX X-component of the unit direction.
+     * @param directionY Y-component of the unit direction.
+     * @return The number of particles actually emitted.
+     */
+    public int emit(ParticleSystem system, double x, double y, double directionX, double directionY) {
+        return system.emit(this, x, y, directionX, directionY, 1);
+    }
+}
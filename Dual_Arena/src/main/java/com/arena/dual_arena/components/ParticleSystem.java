@@ -0,0 +1,272 @@
+package com.arena.dual_arena.components;
+
+import com.arena.dual_arena.utils.RandomStreams;
+import javafx.scene.paint.Color;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Fixed-capacity pool of purely visual particles, kept in primitive arrays and drawn in one pass by the
+ * {@link ProjectileLayerComponent}. Particles are thrown by {@link ParticleEmitter}s, slow down, fade out
+ * and are removed when their lifetime is over; they never touch the gameplay.
+ * Once the capacity is reached, the {@link OverflowPolicy} decides whether new particles are dropped or
+ * replace live ones, so a chain of explosions costs at most a full pool per tick.
+ */
+public class ParticleSystem {
+    /** Number of particles the shared system can hold. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /** Indexes of the colors of {@link #PALETTE}. */
+    public static final int WHITE = 0;
+    public static final int YELLOW = 1;
+    public static final int ORANGE = 2;
+    public static final int RED = 3;
+    public static final int SMOKE = 4;
+    /** Colors particles can take, each drawn from its own sprite. */
+    public static final Color[] PALETTE = {
+            Color.WHITE, Color.rgb(255, 220, 90), Color.ORANGE, Color.rgb(220, 50, 20), Color.rgb(90, 90, 90, 0.8)
+    };
+    private static ParticleSystem instance;
+
+    /**
+     * What happens to particles emitted while the pool is full.
+     */
+    public enum OverflowPolicy {
+        /** New particles are dropped, live ones finish their life. */
+        DROP_NEW,
+        /**
+         * New particles replace live ones, taken in turn through the pool. Removals move particles around,
+         * so the replaced particle is not always the oldest one, but replacing costs nothing.
+         */
+        REPLACE_ROUND_ROBIN
+    }
+
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] life;
+    private final float[] maxLife;
+    private final float[] size;
+    private final float[] drag;
+    private final byte[] colors;
+    private final RandomGenerator random;
+    private OverflowPolicy policy = OverflowPolicy.REPLACE_ROUND_ROBIN;
+    private int count = 0;
+    private int replaceCursor = 0;
+    private long dropped = 0;
+    private long replaced = 0;
+
+    /**
+     * Constructs an empty system.
+     *
+     * @param capacity Maximum number of particles alive at once.
+     * @param random   Source of the random speeds, angles and lifetimes.
+     */
+    public ParticleSystem(int capacity, RandomGenerator random) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.random = random;
+        x = new float[capacity];
+        y = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        size = new float[capacity];
+        drag = new float[capacity];
+        colors = new byte[capacity];
+    }
+
+    /**
+     * Returns the system shared by the game, creating it on first use with the default capacity.
+     *
+     * @return The shared particle system.
+     */
+    public static ParticleSystem get() {
+        if (instance == null) {
+            instance = new ParticleSystem(DEFAULT_CAPACITY, RandomStreams.get().stream(RandomStreams.PARTICLES));
+        }
+        return instance;
+    }
+
+    /**
+     * Emits the particles of an emitter around a direction.
+     *
+     * @param emitter    The emitter settings.
+     * @param x          X-coordinate of the emission.
+     * @param y          Y-coordinate of the emission.
+     * @param directionX X-component of the unit direction around which particles are thrown.
+     * @param directionY Y-component of the unit direction around which particles are thrown.
+     * @param speedScale Factor applied to the speeds of the emitter.
+     * @return The number of particles actually emitted.
+     */
+    public int emit(ParticleEmitter emitter, double x, double y, double directionX, double directionY, double speedScale) {
+        double baseAngle = Math.atan2(directionY, directionX);
+        int colorCount = emitter.lastColor() - emitter.firstColor() + 1;
+        int emitted = 0;
+        for (int n = 0; n < emitter.count(); n++) {
+            int i = allocate();
+            if (i < 0) {
+                dropped += emitter.count() - n;
+                break;
+            }
+            double angle = baseAngle + (random.nextDouble() - 0.5) * emitter.spread();
+            double speed = between(emitter.minSpeed(), emitter.maxSpeed()) * speedScale;
+            float lifetime = (float) between(emitter.minLife(), emitter.maxLife());
+            this.x[i] = (float) x;
+            this.y[i] = (float) y;
+            velocityX[i] = (float) (Math.cos(angle) * speed);
+            velocityY[i] = (float) (Math.sin(angle) * speed);
+            life[i] = lifetime;
+            maxLife[i] = lifetime;
+            size[i] = (float) between(emitter.minSize(), emitter.maxSize());
+            drag[i] = (float) emitter.drag();
+            colors[i] = (byte) (emitter.firstColor() + random.nextInt(colorCount));
+            emitted++;
+        }
+        return emitted;
+    }
+
+    private double between(double min, double max) {
+        return min + random.nextDouble() * (max - min);
+    }
+
+    /**
+     * Returns the index where a new particle can be written, following the overflow policy when the pool is full.
+     */
+    private int allocate() {
+        if (count < capacity) {
+            return count++;
+        }
+        if (policy == OverflowPolicy.DROP_NEW) {
+            return -1;
+        }
+        replaced++;
+        int i = replaceCursor;
+        replaceCursor = (replaceCursor + 1) % capacity;
+        return i;
+    }
+
+    /**
+     * Moves, slows down and ages every particle, removing those whose lifetime is over.
+     *
+     * @param dt Elapsed time in seconds.
+     */
+    public void update(double dt) {
+        float step = (float) dt;
+        // Les particules d'un même émetteur se suivent : le facteur de freinage est rarement recalculé
+        float cachedDrag = -1;
+        float damping = 1;
+        for (int i = count - 1; i >= 0; i--) {
+            life[i] -= step;
+            if (life[i] <= 0) {
+                remove(i);
+                continue;
+            }
+            if (drag[i] != cachedDrag) {
+                cachedDrag = drag[i];
+                damping = (float) Math.pow(cachedDrag, dt);
+            }
+            velocityX[i] *= damping;
+            velocityY[i] *= damping;
+            x[i] += velocityX[i] * step;
+            y[i] += velocityY[i] * step;
+        }
+    }
+
+    /**
+     * Removes a particle by moving the last one in its place.
+     */
+    private void remove(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        velocityX[i] = velocityX[last];
+        velocityY[i] = velocityY[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        size[i] = size[last];
+        drag[i] = drag[last];
+        colors[i] = colors[last];
+    }
+
+    /**
+     * Removes every particle.
+     */
+    public void clear() {
+        count = 0;
+        replaceCursor = 0;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return policy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy policy) {
+        this.policy = policy;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of particles dropped because the pool was full.
+     *
+     * @return The dropped particle count.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Returns the number of live particles replaced by new ones because the pool was full.
+     *
+     * @return The replaced particle count.
+     */
+    public long getReplaced() {
+        return replaced;
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getVelocityX(int i) {
+        return velocityX[i];
+    }
+
+    public double getVelocityY(int i) {
+        return velocityY[i];
+    }
+
+    public double getSize(int i) {
+        return size[i];
+    }
+
+    public int getColor(int i) {
+        return colors[i];
+    }
+
+    /**
+     * Returns the opacity of a particle, fading linearly from 1 to 0 over its lifetime.
+     *
+     * @param i Index of the particle.
+     * @return The opacity between 0 and 1.
+     */
+    public double getOpacity(int i) {
+        return life[i] / maxLife[i];
+    }
+}
@@ -1,24 +1,19 @@
 package com.arena.dual_arena.components;
 
-import com.almasb.fxgl.core.math.FXGLMath;
-import com.almasb.fxgl.dsl.FXGL;
-import com.almasb.fxgl.entity.component.Component;
 import com.almasb.fxgl.texture.AnimatedTexture;
 import com.almasb.fxgl.texture.AnimationChannel;
+import com.arena.dual_arena.simulation.SimPlayer;
+import com.arena.dual_arena.simulation.SimWeapon;
+import com.arena.dual_arena.utils.AssetRegistry;
 import javafx.geometry.Point2D;
-import javafx.util.Duration;
-
-import static com.arena.dual_arena.components.WeaponComponent.STICK_DEAD_ZONE;
 
 /**
- * Component that manages animations for a player entity based on its state and movement.
+ * Component that manages animations for a player entity based on the state of its simulated player.
  * This includes walking animations and idle states.
  */
-public class PlayerAnimationComponent extends Component {
-    private double speedX = 0;
-    private double speedY = 0;
-    protected double speed = 2;
-
+public class PlayerAnimationComponent extends FixedStepComponent {
+    /** Largest distance between the player position and the edge of its sprite. */
+    private static final double CULLING_MARGIN = 64;
 
     private AnimatedTexture texture;
     private AnimationChannel animIdle, animWalk;
@@ -27,102 +22,67 @@ public class PlayerAnimationComponent extends Component {
      * Initializes animation channels and sets the initial animated texture.
      */
     public PlayerAnimationComponent() {
-        animIdle = new AnimationChannel(FXGL.image("player_idle_2.png"), 8, 15*2, 28*2, Duration.seconds(1), 0, 7);
-        animWalk = new AnimationChannel(FXGL.image("player_walk_2.png"), 8, 16*2, 27*2, Duration.seconds(1), 0, 7);
+        animIdle = AssetRegistry.channel(AssetRegistry.PLAYER_IDLE);
+        animWalk = AssetRegistry.channel(AssetRegistry.PLAYER_WALK);
         texture = new AnimatedTexture(animIdle);
     }
 
     /**
-     * Called when the component is added to the entity. Initializes the texture and sets it to loop the idle animation.
+     * Called when the component is added to the entity. Initializes the texture and sets it to loop the idle animation,
+     * stopped while the player is out of view.
      */
     @Override
     public void onAdded() {
+        super.onAdded();
         entity.getTransformComponent().setScaleOrigin(new Point2D(16, 27));
         entity.getViewComponent().addChild(texture);
         texture.loopAnimationChannel(animIdle);
+        entity.addComponent(new AnimationCullingComponent(texture, CULLING_MARGIN));
     }
 
     /**
-     * Called every frame, updates the player's animation state based on movement and direction.
-     *
-     * @param tpf Time per frame; used to adjust movement calculations.
+     * The entity is already interpolated by its {@link PlayerComponent}.
      */
     @Override
-    public void onUpdate(double tpf) {
-        entity.translateX(speedX);
-        entity.translateY(speedY);
-
-
-        PlayerComponent playerComponent = entity.getComponent(PlayerComponent.class);
-        double axeX = playerComponent.getRightStickX();
-        if (playerComponent.getEquippedWeapon() != null) {
-            Point2D mousePosition = FXGL.getInput().getMousePositionWorld();
-            if (Math.abs(axeX) > STICK_DEAD_ZONE){
-                if (axeX < 0){
-                    entity.setScaleX(1);
-                }else{
-                    entity.setScaleX(-1);
-                }
-            }
-        }
-
-        if (speedX != 0 || speedY != 0) {
-
-            if (texture.getAnimationChannel() == animIdle) {
-                texture.loopAnimationChannel(animWalk);
-            }
-
-            speedX = (float) (speedX * 0.9);
-            speedY = (float) (speedY * 0.9);
-
-            if (FXGLMath.abs(speedX) < 1 && FXGLMath.abs(speedY) < 1) {
-                speedX = 0;
-                speedY = 0;
-                texture.loopAnimationChannel(animIdle);
-            }
-        }
+    protected boolean isInterpolated() {
+        return false;
     }
 
     /**
-     * Moves the player entity left by adjusting the horizontal speed and setting the horizontal scale.
-     * If no weapon is equipped, the player's sprite is scaled to face left.
+     * Called every simulation tick, switches between the walking and idle animations while the simulated player
+     * glides after a move, and turns the player towards its aim when armed, or towards its movement otherwise.
+     *
+     * @param dt Duration of the tick in seconds.
      */
-    public void moveLeft() {
-        PlayerComponent playerComponent = entity.getComponent(PlayerComponent.class);
-        speedX = playerComponent.getXvalue() * speed;
-
-        if (playerComponent.getEquippedWeapon() == null) {
-            getEntity().setScaleX(1);
+    @Override
+    public void onFixedUpdate(double dt) {
+        SimPlayer state = entity.getComponent(PlayerComponent.class).getState();
+        if (state == null) {
+            return;
         }
-    }
-
-    /**
-     * Moves the player entity right by adjusting the horizontal speed and setting the horizontal scale.
-     * If no weapon is equipped, the player's sprite is scaled to face right.
-     */
-    public void moveRight() {
-        PlayerComponent playerComponent = entity.getComponent(PlayerComponent.class);
-        speedX = playerComponent.getXvalue() * speed;
-        if (playerComponent.getEquippedWeapon() == null) {
-            getEntity().setScaleX(-1);
+        boolean gliding = state.getGlideX() != 0 || state.getGlideY() != 0;
+        if (gliding && texture.getAnimationChannel() == animIdle) {
+            texture.loopAnimationChannel(animWalk);
+        } else if (!gliding && texture.getAnimationChannel() == animWalk) {
+            texture.loopAnimationChannel(animIdle);
         }
-    }
 
-    /**
-     * Moves the player entity upwards by adjusting the vertical speed.
-     * This method modifies the player's vertical velocity based on input values.
-     */
-    public void moveUp() {
-        PlayerComponent playerComponent = entity.getComponent(PlayerComponent.class);
-        speedY = playerComponent.getYvalue() * speed;
+        SimWeapon weapon = state.getWeapon();
+        if (weapon != null) {
+            entity.setScaleX(Math.cos(Math.toRadians(weapon.getRotation())) < 0 ? 1 : -1);
+        } else if (state.getGlideX() < 0) {
+            entity.setScaleX(1);
+        } else if (state.getGlideX() > 0) {
+            entity.setScaleX(-1);
+        }
     }
 
     /**
-     * Moves the player entity downwards by adjusting the vertical speed.
-     * This method modifies the player's vertical velocity based on input values.
+     * Returns whether the walking animation is playing.
+     *
+     * @return True while the player moves or glides.
      */
-    public void moveDown() {
-        PlayerComponent playerComponent = entity.getComponent(PlayerComponent.class);
-        speedY = playerComponent.getYvalue() * speed;
+    public boolean isWalking() {
+        return texture.getAnimationChannel() == animWalk;
     }
 }
@@ -1,17 +1,21 @@
 package com.arena.dual_arena.components;
 
 import com.almasb.fxgl.dsl.FXGL;
-import com.almasb.fxgl.entity.component.Component;
-import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.input.Input;
 import com.almasb.fxgl.input.UserAction;
 import com.arena.dual_arena.Exceptions.InsufficientControllersException;
+import com.arena.dual_arena.controllers.ControllerPoller;
+import com.arena.dual_arena.controllers.ControllerState;
+import com.arena.dual_arena.controllers.InputRingBuffer;
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimPlayer;
+import com.arena.dual_arena.utils.LatencyTracker;
+import com.arena.dual_arena.utils.Vec2;
 import de.ralleytn.plugins.jinput.xinput.XInputEnvironmentPlugin;
 import javafx.geometry.Point2D;
 import javafx.scene.input.KeyCode;
 import net.java.games.input.Controller;
 import net.java.games.input.ControllerEnvironment;
-import net.java.games.input.Event;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,12 +23,13 @@ import java.util.List;
 import static com.almasb.fxgl.dsl.FXGL.getInput;
 
 /**
- * Component that manages all player-related interactions including movement controls, weapon handling,
- * and collision responses such as knockback.
+ * Component that reads the inputs of a player, from the keyboard or a controller, and draws the player
+ * where the {@link com.arena.dual_arena.simulation.SimWorld} put it. Movement, knockback, weapon pickups
+ * and shots are simulated by the world from the inputs captured with {@link #captureInput(PlayerInput)}.
  */
-public class PlayerComponent extends Component {
+public class PlayerComponent extends FixedStepComponent {
     /**
-     * Handle Player logic like its inputs, its visual, its weapon, and its velocity state.
+     * Handle Player inputs and the state of the simulated player it draws.
      */
     private static int currentId = 1;
     protected int id;
@@ -35,21 +40,28 @@ public class PlayerComponent extends Component {
     protected KeyCode primaryFire;
     protected KeyCode secondaryFire;
     protected KeyCode dropWeapon;
-    protected double speed = 2;
     private Controller controller;
+    private InputRingBuffer inputRing;
+    private final ControllerState controllerState = new ControllerState();
 
-    private Entity equippedWeapon = null;
-    private boolean isInKnockback = false;
-    private Point2D knockbackVelocity = Point2D.ZERO;
-    private static final double KNOCKBACK_RESISTANCE = 1f;
-    private static final double VELOCITY_DECAY = 0.95f;
-    private static final float DEAD_ZONE = 0.3f;
+    private SimPlayer state;
+    private final Vec2 aimDirection = new Vec2();
     private float xValue = 0.0f;
     private float yValue = 0.0f;
     private float rbValue = 0.0f;
     private float lbValue = 0.0f;
     private float rightStickX = 0.0f;
     private float rightStickY = 0.0f;
+    /** Keyboard keys currently held, one bit per action. */
+    private int heldKeys = 0;
+    private static final int KEY_UP = 1;
+    private static final int KEY_DOWN = 1 << 1;
+    private static final int KEY_LEFT = 1 << 2;
+    private static final int KEY_RIGHT = 1 << 3;
+    private static final int KEY_PRIMARY = 1 << 4;
+    private static final int KEY_SECONDARY = 1 << 5;
+    private static final int KEY_DROP = 1 << 6;
+    private static final int KEYS_MOVE = KEY_UP | KEY_DOWN | KEY_LEFT | KEY_RIGHT;
 
     /**
      * Constructs a PlayerComponent with specific controls for movement and actions.
@@ -79,6 +91,15 @@ public class PlayerComponent extends Component {
         }
     }
 
+    /**
+     * Constructs a PlayerComponent without keyboard bindings nor gamepad.
+     * The player is only driven through its setters, which lets the component run without
+     * the FXGL input service or any controller plugged in, e.g. in tests.
+     */
+    public PlayerComponent() {
+        this.id = currentId;
+        currentId++;
+    }
 
     /**
      * Initializes player controls when the component is added to an entity.
@@ -86,28 +107,63 @@ public class PlayerComponent extends Component {
      */
     @Override
     public void onAdded() {
+        super.onAdded();
         initInput();
     }
 
     /**
-     * Updates the player component each frame, processing movement, input, and knockback effects.
-     * This method is called every frame to ensure the player's state is updated based on current inputs
-     * and interactions such as collisions causing knockback.
+     * Releases the controller of the player when it leaves the world.
+     */
+    @Override
+    public void onRemoved() {
+        super.onRemoved();
+        if (controller != null) {
+            ControllerPoller.get().unregister(controller);
+        }
+    }
+
+    /**
+     * Reads the controller every frame, so the next simulation tick uses the latest input.
      *
-     * @param tpf Time per frame, which is used to scale movement and timing calculations.
+     * @param tpf Time per frame.
      */
     @Override
     public void onUpdate(double tpf) {
-        if (isInKnockback) {
-            entity.translate(knockbackVelocity.multiply(tpf));
-            knockbackVelocity = knockbackVelocity.multiply(VELOCITY_DECAY);
+        pollController();
+    }
 
-            if (knockbackVelocity.magnitude() < 0.1) {
-                isInKnockback = false;
-                knockbackVelocity = Point2D.ZERO;
-            }
+    /**
+     * Moves the entity to the position of the simulated player after a tick.
+     *
+     * @param dt Duration of the tick in seconds.
+     */
+    @Override
+    public void onFixedUpdate(double dt) {
+        if (state != null) {
+            entity.setPosition(state.getX(), state.getY());
         }
-        pollController();
+    }
+
+    /**
+     * Binds the component to the simulated player it reads its position from.
+     *
+     * @param state The player of the world, or null to stop following it.
+     */
+    public void bind(SimPlayer state) {
+        this.state = state;
+        if (state != null && entity != null) {
+            entity.setPosition(state.getX(), state.getY());
+            snapToPosition();
+        }
+    }
+
+    /**
+     * Returns the simulated player drawn by this component.
+     *
+     * @return The player of the world, or null if the component is not bound.
+     */
+    public SimPlayer getState() {
+        return state;
     }
 
     /**
@@ -142,6 +198,7 @@ public class PlayerComponent extends Component {
                 // Assigne la manette en fonction de l'ID du joueur
                 int controllerIndex = id - 1; // ID 1 = première manette, ID 2 = deuxième manette
                 controller = gamepads.get(controllerIndex);
+                inputRing = ControllerPoller.get().register(controller);
                 System.out.println("Joueur " + id + " utilise la manette : " + controller.getName());
             }
         }else{
@@ -150,73 +207,50 @@ public class PlayerComponent extends Component {
     }
 
     /**
-     * Polls the assigned game controller for input events and processes these events to control the player.
-     * This method updates the player's movement based on joystick positions and triggers actions based on button presses.
+     * Reads the latest state of the assigned game controller, published by the {@link ControllerPoller} thread.
+     * The ring is drained without blocking; the player moves and fires with these values on the next simulation tick.
+     * Every snapshot is looked at so that a bumper press is traced by the {@link LatencyTracker} from the poll that saw it.
      */
     public void pollController() {
-        if (controller != null && controller.poll()) {
-            var queue = controller.getEventQueue();
-            var event = new Event();
-
-            while (queue.getNextEvent(event)) {
-                float value = event.getValue();
-                var component = event.getComponent();
-                String name = component.getName();
-
-                if (component.isAnalog()) {
-                    switch (name) {
-                        case "lx":
-                            xValue = value;
-                            break;
-                        case "ly":
-                            yValue = -value;
-                            break;
-                        case "rx":
-                            rightStickX = value;
-                            break;
-                        case "ry":
-                            rightStickY = -value;
-                            break;
-                        case "rb":
-                            rbValue = value;
-                            break;
-                        case "lb":
-                            lbValue = value;
-                            break;
-                    }
-                }
+        if (inputRing == null) {
+            return;
+        }
+        long readNanos = System.nanoTime();
+        while (inputRing.poll(controllerState)) {
+            float rb = controllerState.getAxis(ControllerState.RIGHT_BUMPER);
+            float lb = controllerState.getAxis(ControllerState.LEFT_BUMPER);
+            if ((rb == 1.0f && rbValue != 1.0f) || (lb == 1.0f && lbValue != 1.0f)) {
+                traceInput(controllerState.getTimestampNanos(), readNanos);
+            } else if (rb != 1.0f && lb != 1.0f && (rbValue == 1.0f || lbValue == 1.0f)) {
+                LatencyTracker.get().onRelease(id);
             }
-            move();
+            xValue = controllerState.getAxis(ControllerState.LEFT_X);
+            yValue = controllerState.getAxis(ControllerState.LEFT_Y);
+            rightStickX = controllerState.getAxis(ControllerState.RIGHT_X);
+            rightStickY = controllerState.getAxis(ControllerState.RIGHT_Y);
+            lbValue = lb;
+            rbValue = rb;
         }
     }
 
-    public void move() {
-        // Applique les mouvements en fonction des valeurs des axes
-        if (Math.abs(xValue) > DEAD_ZONE || Math.abs(yValue) > DEAD_ZONE) {
-            double dx = xValue * speed;
-            double dy = yValue * speed;
-
-            entity.translate(dx, dy);
-
-            if (xValue > 0) {
-                entity.getComponent(PlayerAnimationComponent.class).moveRight();
-            }
-            else {
-                entity.getComponent(PlayerAnimationComponent.class).moveLeft();
-
-            }
-            if (yValue > 0) {
-                entity.getComponent(PlayerAnimationComponent.class).moveUp();
-            }else{
-                entity.getComponent(PlayerAnimationComponent.class).moveDown();
-            }
+    /**
+     * Returns when the controller state used by the player was polled.
+     *
+     * @return The poll time from {@link System#nanoTime()}, or 0 if the player has no controller.
+     */
+    public long getLastInputTimestamp() {
+        return controllerState.getTimestampNanos();
+    }
 
-        }
-        if (rbValue == 1.0){
-            fireWithRb();
-        }
-        if (lbValue == 1.0){
-            fireWithLb();
+    /**
+     * Starts a latency trace for a fire press. A press without a weapon never fires and is not traced.
+     *
+     * @param deviceNanos When the device saw the press.
+     * @param pollNanos   When the game thread read it.
+     */
+    private void traceInput(long deviceNanos, long pollNanos) {
+        if (state != null && state.getWeapon() != null) {
+            LatencyTracker.get().onInput(id, deviceNanos, pollNanos);
         }
     }
 
@@ -262,191 +296,146 @@ public class PlayerComponent extends Component {
 
     /**
      * Initializes and binds input actions for the player based on predefined key codes.
-     * This setup includes bindings for movement, primary and secondary weapon firing, and dropping weapons.
+     * Each key only marks its action as held; the actions are applied by the simulation from {@link #captureInput(PlayerInput)}.
      * Each input action is identified by a unique identifier to support multiple players.
      */
     protected void initInput() {
+        if (inputUp == null) {
+            return;
+        }
         Input input = getInput();
 
         input.addAction(new UserAction("Move Up" + id) {
             @Override
-            protected void onAction() {
-                entity.getComponent(PlayerAnimationComponent.class).moveUp();
+            protected void onActionBegin() {
+                heldKeys |= KEY_UP;
+            }
+
+            @Override
+            protected void onActionEnd() {
+                heldKeys &= ~KEY_UP;
             }
         }, inputUp);
 
         input.addAction(new UserAction("Move Down" + id) {
             @Override
-            protected void onAction() {
-                entity.getComponent(PlayerAnimationComponent.class).moveDown();
+            protected void onActionBegin() {
+                heldKeys |= KEY_DOWN;
+            }
+
+            @Override
+            protected void onActionEnd() {
+                heldKeys &= ~KEY_DOWN;
             }
         }, inputDown);
 
         input.addAction(new UserAction("Move Left" + id) {
             @Override
-            protected void onAction() {
-                entity.getComponent(PlayerAnimationComponent.class).moveLeft();
+            protected void onActionBegin() {
+                heldKeys |= KEY_LEFT;
+            }
+
+            @Override
+            protected void onActionEnd() {
+                heldKeys &= ~KEY_LEFT;
             }
         }, inputLeft);
 
         input.addAction(new UserAction("Move Right" + id) {
             @Override
-            protected void onAction() {
-                entity.getComponent(PlayerAnimationComponent.class).moveRight();
+            protected void onActionBegin() {
+                heldKeys |= KEY_RIGHT;
+            }
+
+            @Override
+            protected void onActionEnd() {
+                heldKeys &= ~KEY_RIGHT;
             }
         }, inputRight);
 
         FXGL.getInput().addAction(new UserAction("PrimaryFire" + id) {
             @Override
-            protected void onAction() {
-                if (equippedWeapon != null) {
-                    Point2D mousePosition = FXGL.getInput().getMousePositionWorld();
-                    Point2D direction = mousePosition.subtract(entity.getCenter()).normalize();
-
-                    WeaponComponent weaponComponent = equippedWeapon.getComponent(WeaponComponent.class);
-                    if (weaponComponent != null) {
-                        weaponComponent.primaryFire(direction);
-                    }
+            protected void onActionBegin() {
+                heldKeys |= KEY_PRIMARY;
+                // Key events carry no device time, the press is traced from its dispatch by FXGL
+                long now = System.nanoTime();
+                traceInput(now, now);
+            }
+
+            @Override
+            protected void onActionEnd() {
+                heldKeys &= ~KEY_PRIMARY;
+                if ((heldKeys & (KEY_PRIMARY | KEY_SECONDARY)) == 0) {
+                    LatencyTracker.get().onRelease(id);
                 }
             }
         }, primaryFire);
 
         FXGL.getInput().addAction(new UserAction("SecondaryFire" + id) {
             @Override
-            protected void onAction() {
-                if (equippedWeapon != null) {
-                    Point2D mousePosition = FXGL.getInput().getMousePositionWorld();
-                    Point2D direction = mousePosition.subtract(entity.getCenter()).normalize();
-
-                    WeaponComponent weaponComponent = equippedWeapon.getComponent(WeaponComponent.class);
-                    if (weaponComponent != null) {
-                        weaponComponent.secondaryFire(direction);
-                    }
+            protected void onActionBegin() {
+                heldKeys |= KEY_SECONDARY;
+                long now = System.nanoTime();
+                traceInput(now, now);
+            }
+
+            @Override
+            protected void onActionEnd() {
+                heldKeys &= ~KEY_SECONDARY;
+                if ((heldKeys & (KEY_PRIMARY | KEY_SECONDARY)) == 0) {
+                    LatencyTracker.get().onRelease(id);
                 }
             }
         }, secondaryFire);
 
-        // Optional: Add ability to drop weapon
         FXGL.getInput().addAction(new UserAction("Drop Weapon" + id) {
             @Override
-            protected void onAction() {
-                dropWeapon();
+            protected void onActionBegin() {
+                heldKeys |= KEY_DROP;
             }
-        }, dropWeapon);
-    }
-
-    /**
-     * Fires the primary weapon associated with the right bumper button on the controller.
-     * This method calculates the firing direction based on the current rotation of the equipped weapon
-     * and triggers the primary firing mechanism.
-     */
-    public void fireWithRb() {
-        if (equippedWeapon != null){
-            double radians = Math.toRadians(equippedWeapon.getRotation());
-            double x = Math.cos(radians);
-            double y = Math.sin(radians);
-
-            Point2D direction = new Point2D(x,y);
-            Point2D normalizedDirection = direction.normalize();
-
-            WeaponComponent weaponComponent = equippedWeapon.getComponent(WeaponComponent.class);
-            if (weaponComponent != null) {
-                weaponComponent.primaryFire(normalizedDirection);
-            }
-        }
-    }
 
-    /**
-     * Fires the secondary weapon associated with the left bumper button on the controller.
-     * This method calculates the firing direction similar to `fireWithRb` but triggers the secondary firing mechanism.
-     */
-    public void fireWithLb() {
-        if (equippedWeapon != null){
-            double radians = Math.toRadians(equippedWeapon.getRotation());
-            double x = Math.cos(radians);
-            double y = Math.sin(radians);
-
-            Point2D direction = new Point2D(x,y);
-            Point2D normalizedDirection = direction.normalize();
-
-            WeaponComponent weaponComponent = equippedWeapon.getComponent(WeaponComponent.class);
-            if (weaponComponent != null) {
-                weaponComponent.secondaryFire(normalizedDirection);
+            @Override
+            protected void onActionEnd() {
+                heldKeys &= ~KEY_DROP;
             }
-        }
+        }, dropWeapon);
     }
 
     /**
-     * Applies a knockback force to the player in a specified direction.
-     * This method adjusts the player's velocity based on the direction and magnitude of the knockback force.
+     * Copies the input used by the player for the current tick, from the keyboard or the controller.
+     * The simulation is advanced with this input, and an {@link com.arena.dual_arena.simulation.InputRecording}
+     * records the same one. Held movement keys count as a stick pushed all the way, and keyboard aiming follows the mouse.
      *
-     * @param direction The unit vector direction in which the knockback is applied.
-     * @param knockbackForce The magnitude of the knockback.
+     * @param input The input to fill.
      */
-    public void applyKnockback(Point2D direction, float knockbackForce) {
-        isInKnockback = true;
-
-        // If already in knockback, add to existing velocity instead of replacing it
-        if (knockbackVelocity.magnitude() > 0) {
-            knockbackVelocity = knockbackVelocity.add(direction.multiply(knockbackForce));
+    public void captureInput(PlayerInput input) {
+        if ((heldKeys & KEYS_MOVE) != 0) {
+            input.setMove(keyAxis(KEY_LEFT, KEY_RIGHT), keyAxis(KEY_UP, KEY_DOWN));
         } else {
-            knockbackVelocity = direction.multiply(knockbackForce);
+            input.setMove(xValue, yValue);
         }
-    }
-
-    public void resetKnockback() {
-        isInKnockback = false;
-    }
-
-    /**
-     * Retrieves a movement modifier based on the player's knockback state.
-     * This method adjusts the player's speed to simulate resistance during knockback.
-     *
-     * @return A Point2D representing the movement modifier.
-     */
-    public Point2D getMovementModifier() {
-        return isInKnockback ? new Point2D (1, 1).multiply(KNOCKBACK_RESISTANCE) : new Point2D(1, 1);
-    }
-
-    /**
-     * Equips a weapon entity to the player if the weapon is not already picked up.
-     * This method also handles the transition of the weapon's state from the world to being equipped by the player.
-     *
-     * @param weapon The weapon entity to be picked up.
-     */
-    public void pickupWeapon(Entity weapon) {
-        if (equippedWeapon != null) {
-            equippedWeapon.removeFromWorld();
-        }
-
-        WeaponComponent weaponComponent = weapon.getComponent(WeaponComponent.class);
-
-        if (weaponComponent != null && !weaponComponent.isPickedUp()) {
-            equippedWeapon = weapon;
-            weaponComponent.pickup(entity);
+        if ((heldKeys & (KEY_PRIMARY | KEY_SECONDARY)) != 0) {
+            aimAtMouse();
+            input.setAim((float) aimDirection.x, (float) aimDirection.y);
+        } else {
+            input.setAim(rightStickX, rightStickY);
         }
+        input.setButtons(rbValue == 1.0f || (heldKeys & KEY_PRIMARY) != 0,
+                lbValue == 1.0f || (heldKeys & KEY_SECONDARY) != 0,
+                (heldKeys & KEY_DROP) != 0);
     }
 
-    /**
-     * Drops the currently equipped weapon, if any, and resets its state.
-     */
-    public void dropWeapon() {
-        if (equippedWeapon != null) {
-            WeaponComponent weaponComponent = equippedWeapon.getComponent(WeaponComponent.class);
-            if (weaponComponent != null) {
-                weaponComponent.drop();
-            }
-            equippedWeapon = null;
-        }
+    private float keyAxis(int negative, int positive) {
+        return ((heldKeys & positive) != 0 ? 1 : 0) - ((heldKeys & negative) != 0 ? 1 : 0);
     }
 
     /**
-     * Retrieves the currently equipped weapon entity.
-     *
-     * @return The equipped weapon entity, or null if no weapon is equipped.
+     * Points the aim direction from the center of the player towards the mouse cursor.
      */
-    public Entity getEquippedWeapon() {
-        return equippedWeapon;
+    private void aimAtMouse() {
+        Point2D mousePosition = FXGL.getInput().getMousePositionWorld();
+        aimDirection.setCenter(entity);
+        aimDirection.set(mousePosition.getX() - aimDirection.x, mousePosition.getY() - aimDirection.y).normalize();
     }
 
     /**
@@ -465,4 +454,15 @@ public class PlayerComponent extends Component {
     public void setXvalue(double i) {
         this.xValue = (float) i;
     }
+
+    /**
+     * Sets the position of the right joystick, used to aim the weapon and steer guided rockets.
+     *
+     * @param x The horizontal position, from -1.0 (left) to 1.0 (right).
+     * @param y The vertical position, from -1.0 (up) to 1.0 (down).
+     */
+    public void setRightStick(double x, double y) {
+        this.rightStickX = (float) x;
+        this.rightStickY = (float) y;
+    }
 }
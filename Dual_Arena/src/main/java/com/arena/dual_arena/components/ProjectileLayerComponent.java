@@ -0,0 +1,127 @@
+package com.arena.dual_arena.components;
+
+import com.arena.dual_arena.simulation.ProjectileKind;
+import com.arena.dual_arena.simulation.ProjectileSystem;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.utils.AssetRegistry;
+import com.arena.dual_arena.utils.SpriteSheet;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws the projectiles of the world played by the {@link SimulationSystem}, and runs the {@link ImpactEffects}
+ * and a {@link ParticleSystem} on the fixed-step loop, drawing all the projectiles, flashes, explosion circles and
+ * particles on a single canvas, so the scene graph holds one node however much is on screen.
+ * Every sprite comes from one {@link SpriteSheet}, which lets the whole layer be drawn in a single pass
+ * from the same image. Projectiles are rotated along their direction and placed between their previous
+ * and current tick like the interpolated entities.
+ */
+public class ProjectileLayerComponent extends FixedStepComponent {
+    private static final ProjectileKind[] KINDS = ProjectileKind.values();
+    /** Sprites of the effects, packed after the projectile sprites. */
+    private static final int FLASH_SPRITE = KINDS.length;
+    private static final int EXPLOSION_SPRITE = KINDS.length + 1;
+    /** First particle sprite, followed by one sprite per color of the palette. */
+    private static final int PARTICLE_SPRITE = KINDS.length + 2;
+    private static final int PARTICLE_DIAMETER = 16;
+    private static final int FLASH_DIAMETER = 16;
+    private static final int EXPLOSION_DIAMETER = 128;
+
+    private final SimulationSystem system;
+    private final ImpactEffects effects;
+    private final ParticleSystem particles;
+    private final Canvas canvas;
+    private SpriteSheet sheet;
+
+    /**
+     * Constructs a layer drawing the given projectiles, effects and particles.
+     *
+     * @param system    The simulation system whose projectiles are drawn.
+     * @param effects   The impact effects to age and draw.
+     * @param particles The particles to move and draw.
+     * @param canvas    The canvas covering the arena, used as the view of the layer entity.
+     */
+    public ProjectileLayerComponent(SimulationSystem system, ImpactEffects effects, ParticleSystem particles, Canvas canvas) {
+        this.system = system;
+        this.effects = effects;
+        this.particles = particles;
+        this.canvas = canvas;
+    }
+
+    @Override
+    public void onAdded() {
+        super.onAdded();
+        Image[] sprites = new Image[PARTICLE_SPRITE + ParticleSystem.PALETTE.length];
+        Rectangle2D[] sources = new Rectangle2D[sprites.length];
+        for (ProjectileKind kind : KINDS) {
+            String sprite = kind.getSpawnName().replace('-', '_') + ".png";
+            sprites[kind.ordinal()] = AssetRegistry.page(sprite);
+            sources[kind.ordinal()] = AssetRegistry.viewport(sprite);
+        }
+        sprites[FLASH_SPRITE] = SpriteSheet.disc(FLASH_DIAMETER, Color.WHITE);
+        sprites[EXPLOSION_SPRITE] = SpriteSheet.disc(EXPLOSION_DIAMETER, Color.ORANGE);
+        for (int color = 0; color < ParticleSystem.PALETTE.length; color++) {
+            sprites[PARTICLE_SPRITE + color] = SpriteSheet.disc(PARTICLE_DIAMETER, ParticleSystem.PALETTE[color]);
+        }
+        sheet = SpriteSheet.pack(sprites, sources);
+    }
+
+    /**
+     * Advances every effect and every particle by one tick. The projectiles are moved by the world.
+     *
+     * @param dt Duration of the tick in seconds.
+     */
+    @Override
+    public void onFixedUpdate(double dt) {
+        effects.update(dt);
+        particles.update(dt);
+    }
+
+    /**
+     * Redraws the canvas once per frame, after the ticks of the frame.
+     *
+     * @param alpha Interpolation factor, 0 for the previous position and 1 for the current one.
+     */
+    @Override
+    protected void interpolate(double alpha) {
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        graphics.setTransform(1, 0, 0, 1, 0, 0);
+        graphics.setGlobalAlpha(1);
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        SimWorld world = system.getWorld();
+        if (world != null) {
+            ProjectileSystem projectiles = world.getProjectiles();
+            int count = projectiles.getCount();
+            for (int i = 0; i < count; i++) {
+                ProjectileKind kind = projectiles.getKind(i);
+                // Rotation autour du coin haut gauche, comme les entités
+                double cos = projectiles.getDirectionX(i);
+                double sin = projectiles.getDirectionY(i);
+                graphics.setTransform(cos, sin, -sin, cos, projectiles.getRenderX(i, alpha), projectiles.getRenderY(i, alpha));
+                sheet.draw(graphics, kind.ordinal(), 0, 0, kind.getWidth(), kind.getHeight());
+            }
+            graphics.setTransform(1, 0, 0, 1, 0, 0);
+        }
+
+        int effectCount = effects.getCount();
+        for (int i = 0; i < effectCount; i++) {
+            double radius = effects.getRadius(i);
+            int sprite = effects.getType(i) == ImpactEffects.FLASH ? FLASH_SPRITE : EXPLOSION_SPRITE;
+            graphics.setGlobalAlpha(effects.getOpacity(i));
+            sheet.draw(graphics, sprite, effects.getX(i) - radius, effects.getY(i) - radius, radius * 2, radius * 2);
+        }
+
+        int particleCount = particles.getCount();
+        for (int i = 0; i < particleCount; i++) {
+            double size = particles.getSize(i);
+            graphics.setGlobalAlpha(particles.getOpacity(i));
+            sheet.draw(graphics, PARTICLE_SPRITE + particles.getColor(i),
+                    particles.getX(i) - size / 2, particles.getY(i) - size / 2, size, size);
+        }
+        graphics.setGlobalAlpha(1);
+    }
+}
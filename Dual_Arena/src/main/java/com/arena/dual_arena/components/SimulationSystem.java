@@ -0,0 +1,412 @@
+package com.arena.dual_arena.components;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.SpawnData;
+import com.arena.dual_arena.factories.HazardFactory;
+import com.arena.dual_arena.jfr.ExplosionEvent;
+import com.arena.dual_arena.jfr.ProjectileHitEvent;
+import com.arena.dual_arena.jfr.SpawnEvent;
+import com.arena.dual_arena.netcode.RollbackSession;
+import com.arena.dual_arena.simulation.InputRecording;
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimHazard;
+import com.arena.dual_arena.simulation.SimPlayer;
+import com.arena.dual_arena.simulation.ProjectileKind;
+import com.arena.dual_arena.simulation.SimWeapon;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.WeaponKind;
+import com.arena.dual_arena.utils.AssetRegistry;
+import com.arena.dual_arena.utils.FrameMetrics;
+import com.arena.dual_arena.utils.LatencyTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Plays a match of the {@link SimWorld} in the game window. At the start of every tick of the
+ * {@link FixedStepSystem}, the input of both players is read from their {@link PlayerComponent}, the world is
+ * advanced with it, and the weapon and hazard entities are spawned or removed to match the world. The components
+ * of the entities then copy the state of the world they draw, and the {@link ProjectileLayerComponent} draws its
+ * projectiles. The game has no other rules: what the players see is what the world simulated.
+ * Sounds, impact effects and JFR events are played from the {@link SimWorld.Listener} callbacks.
+ * In an online match, a {@link RollbackSession} advances the world instead, with the input of the local player
+ * only, read from the controls of the entity of the local player.
+ * Every method must be called from the JavaFX thread.
+ */
+public class SimulationSystem implements SimWorld.Listener {
+    /** Entity property holding the identifier of the weapon or hazard of the world drawn by the entity. */
+    public static final String SIM_ID = "simId";
+    private static SimulationSystem instance;
+
+    /**
+     * Section of the {@link FrameMetrics} receiving the time spent in the world. Players, weapons, projectiles and
+     * hazards are all simulated there, so their time is measured together; the components only copy the result.
+     */
+    private final int metricsSection = FrameMetrics.get().section("SimWorld");
+    private final Entity[] players = new Entity[2];
+    private final PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+    private final boolean[] dispatched = new boolean[2];
+    private final int[] shots = new int[2];
+    private final List<Entity> weaponViews = new ArrayList<>();
+    private final List<Entity> hazardViews = new ArrayList<>();
+    private SimWorld world;
+    private RollbackSession session;
+    private InputRecording recording;
+    private IntConsumer roundListener;
+    private Runnable matchListener;
+    private int deadPlayerId;
+
+    /**
+     * Returns the system shared by the game.
+     *
+     * @return The shared simulation system.
+     */
+    public static SimulationSystem get() {
+        if (instance == null) {
+            instance = new SimulationSystem();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts playing a world with two player entities, replacing the match in progress.
+     * The system becomes the tick listener of the {@link FixedStepSystem}.
+     *
+     * @param world        The world of the match, in its starting state.
+     * @param firstPlayer  The entity of the left player, with a {@link PlayerComponent}.
+     * @param secondPlayer The entity of the right player, with a {@link PlayerComponent}.
+     */
+    public void start(SimWorld world, Entity firstPlayer, Entity secondPlayer) {
+        stop();
+        this.world = world;
+        players[0] = firstPlayer;
+        players[1] = secondPlayer;
+        world.setListener(this);
+        for (int i = 0; i < players.length; i++) {
+            players[i].getComponent(PlayerComponent.class).bind(world.getPlayer(i));
+        }
+        syncViews();
+        FixedStepSystem.get().setTickListener(this::tick);
+    }
+
+    /**
+     * Starts playing an online match, replacing the match in progress. The world is the one of the session,
+     * which the system advances with the local input at every tick.
+     *
+     * @param session      The session of the match, at its first frame.
+     * @param firstPlayer  The entity of the left player, with a {@link PlayerComponent}.
+     * @param secondPlayer The entity of the right player, with a {@link PlayerComponent}.
+     */
+    public void startOnline(RollbackSession session, Entity firstPlayer, Entity secondPlayer) {
+        start(session.getWorld(), firstPlayer, secondPlayer);
+        this.session = session;
+        session.setListener(this);
+    }
+
+    /**
+     * Stops the match in progress and forgets the views of its weapons and hazards.
+     */
+    public void stop() {
+        if (session != null) {
+            session.setListener(null);
+            session = null;
+        }
+        if (world != null) {
+            world.setListener(null);
+        }
+        FixedStepSystem.get().setTickListener(null);
+        removeViews(weaponViews);
+        removeViews(hazardViews);
+        world = null;
+        players[0] = null;
+        players[1] = null;
+    }
+
+    /**
+     * Runs one tick of the world with the input the players are giving now.
+     * Once the match is finished the world stops, so a recording ends on the same tick as the match.
+     */
+    private void tick() {
+        if (world.isFinished()) {
+            return;
+        }
+        if (session != null) {
+            tickOnline();
+            return;
+        }
+        for (int i = 0; i < players.length; i++) {
+            players[i].getComponent(PlayerComponent.class).captureInput(inputs[i]);
+        }
+        if (recording != null) {
+            // Quantifie les entrées : la partie jouée est exactement celle que rejouera l'enregistrement
+            recording.record(inputs);
+        }
+        long now = System.nanoTime();
+        for (int i = 0; i < players.length; i++) {
+            dispatched[i] = world.getPlayer(i).getWeapon() != null && (inputs[i].isPrimaryFire() || inputs[i].isSecondaryFire());
+            if (dispatched[i]) {
+                LatencyTracker.get().onDispatch(world.getPlayer(i).getId(), now);
+            }
+            shots[i] = 0;
+        }
+
+        int rounds = world.getRounds();
+        deadPlayerId = 0;
+        long start = System.nanoTime();
+        world.step(inputs);
+        FrameMetrics.get().addSectionTime(metricsSection, System.nanoTime() - start);
+
+        now = System.nanoTime();
+        for (int i = 0; i < players.length; i++) {
+            if (dispatched[i]) {
+                LatencyTracker.get().onFire(world.getPlayer(i).getId(), shots[i] > 0, now);
+            }
+        }
+        endTick(rounds);
+    }
+
+    /**
+     * Runs one frame of the online match. The local input only reaches the world after the input delay of the
+     * session, so it is not traced by the {@link LatencyTracker}.
+     */
+    private void tickOnline() {
+        int local = session.getLocalPlayer();
+        players[local].getComponent(PlayerComponent.class).captureInput(inputs[local]);
+        int rounds = world.getRounds();
+        deadPlayerId = 0;
+        long start = System.nanoTime();
+        session.advance(inputs[local]);
+        FrameMetrics.get().addSectionTime(metricsSection, System.nanoTime() - start);
+        endTick(rounds);
+    }
+
+    /**
+     * Matches the views to the world after a tick and reports the end of the round or of the match.
+     *
+     * @param rounds The number of rounds played before the tick.
+     */
+    private void endTick(int rounds) {
+        syncViews();
+        if (world.getRounds() != rounds) {
+            snapViews();
+            // Un rollback peut aussi annuler une manche prédite : aucun joueur n'est alors mort
+            if (roundListener != null && deadPlayerId != 0 && !world.isFinished()) {
+                roundListener.accept(deadPlayerId);
+            }
+        }
+        if (world.isFinished() && matchListener != null) {
+            matchListener.run();
+        }
+    }
+
+    /**
+     * Spawns an entity for every weapon and hazard of the world that has none yet, and removes the entities
+     * of those that left the world. Views are matched to the world by identifier; there are only a handful
+     * of each, so linear scans are enough.
+     */
+    private void syncViews() {
+        List<SimWeapon> weapons = world.getWeapons();
+        for (int i = weaponViews.size() - 1; i >= 0; i--) {
+            Entity view = weaponViews.get(i);
+            SimWeapon weapon = findWeapon(weapons, view.getInt(SIM_ID));
+            if (weapon == null) {
+                view.removeFromWorld();
+                weaponViews.remove(i);
+            } else {
+                // Les snapshots recréent les armes : la vue suit toujours l'objet courant
+                bindWeapon(view, weapon);
+            }
+        }
+        for (int i = 0; i < weapons.size(); i++) {
+            SimWeapon weapon = weapons.get(i);
+            if (findView(weaponViews, weapon.getId()) == null) {
+                Entity view = FXGL.spawn(weapon.getKind().getSpawnName(), new SpawnData(weapon.getX(), weapon.getY()));
+                view.setProperty(SIM_ID, weapon.getId());
+                weaponViews.add(view);
+                bindWeapon(view, weapon);
+            }
+        }
+
+        List<SimHazard> hazards = world.getHazards();
+        for (int i = hazardViews.size() - 1; i >= 0; i--) {
+            Entity view = hazardViews.get(i);
+            SimHazard hazard = findHazard(hazards, view.getInt(SIM_ID));
+            if (hazard == null) {
+                view.removeFromWorld();
+                hazardViews.remove(i);
+            } else if (view.hasComponent(FireballComponent.class)) {
+                FireballComponent fireball = view.getComponent(FireballComponent.class);
+                if (fireball.getState() != hazard) {
+                    fireball.bind(hazard);
+                }
+            }
+        }
+        for (int i = 0; i < hazards.size(); i++) {
+            SimHazard hazard = hazards.get(i);
+            if (findView(hazardViews, hazard.getId()) == null) {
+                Entity view = spawnHazard(hazard);
+                view.setProperty(SIM_ID, hazard.getId());
+                hazardViews.add(view);
+            }
+        }
+    }
+
+    private void bindWeapon(Entity view, SimWeapon weapon) {
+        WeaponComponent component = view.getComponent(WeaponComponent.class);
+        if (component.getState() != weapon) {
+            component.bind(weapon);
+        }
+        SimPlayer owner = weapon.getOwner();
+        Entity ownerEntity = owner == null ? null : players[owner.getId() - 1];
+        if (ownerEntity != component.getOwner()) {
+            if (ownerEntity == null) {
+                component.drop();
+            } else {
+                component.pickup(ownerEntity);
+            }
+        }
+    }
+
+    private static Entity spawnHazard(SimHazard hazard) {
+        return switch (hazard.getType()) {
+            case ATTACK_ZONE -> HazardFactory.spawnCircleZone((int) hazard.getX(), (int) hazard.getY(), (int) hazard.getRadius());
+            case EXPLOSION -> HazardFactory.createCircleExplosion(hazard.getX(), hazard.getY(), hazard.getRadius());
+            case FIREBALL -> {
+                Entity fireball = HazardFactory.spawnFireball((int) hazard.getX(), (int) hazard.getY(),
+                        (int) hazard.getTargetX(), (int) hazard.getTargetY());
+                fireball.getComponent(FireballComponent.class).bind(hazard);
+                yield fireball;
+            }
+        };
+    }
+
+    private static SimWeapon findWeapon(List<SimWeapon> weapons, int id) {
+        for (int i = 0; i < weapons.size(); i++) {
+            if (weapons.get(i).getId() == id) {
+                return weapons.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static SimHazard findHazard(List<SimHazard> hazards, int id) {
+        for (int i = 0; i < hazards.size(); i++) {
+            if (hazards.get(i).getId() == id) {
+                return hazards.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static Entity findView(List<Entity> views, int id) {
+        for (int i = 0; i < views.size(); i++) {
+            if (views.get(i).getInt(SIM_ID) == id) {
+                return views.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static void removeViews(List<Entity> views) {
+        for (Entity view : views) {
+            if (view.isActive()) {
+                view.removeFromWorld();
+            }
+        }
+        views.clear();
+    }
+
+    /**
+     * Draws every entity at its new position after the world reset the round, instead of sliding it there.
+     */
+    private void snapViews() {
+        for (Entity player : players) {
+            PlayerComponent component = player.getComponent(PlayerComponent.class);
+            player.setPosition(component.getState().getX(), component.getState().getY());
+            component.snapToPosition();
+        }
+    }
+
+    @Override
+    public void onShot(SimPlayer player, WeaponKind weapon, ProjectileKind projectile) {
+        SpawnEvent event = new SpawnEvent();
+        event.begin();
+        switch (weapon) {
+            case GUN -> AssetRegistry.play("gun_shot.wav");
+            case RIFLE -> AssetRegistry.play("rifle_shot.wav");
+            case SNIPER -> AssetRegistry.play("sniper_shot.wav");
+            case ROCKET_LAUNCHER -> AssetRegistry.play("rocket_blast.wav");
+        }
+        shots[player.getId() - 1]++;
+        event.commit(projectile.getSpawnName(), null);
+    }
+
+    @Override
+    public void onProjectileHit(ProjectileKind projectile, double x, double y, SimPlayer target) {
+        ProjectileHitEvent event = new ProjectileHitEvent();
+        event.begin();
+        ImpactEffects.get().flash(x, y);
+        event.commit(projectile.getSpawnName(), x, y, target.getId());
+    }
+
+    @Override
+    public void onProjectileExploded(ProjectileKind projectile, double x, double y, double radius) {
+        ExplosionEvent event = new ExplosionEvent();
+        event.begin();
+        ImpactEffects.get().explosion(x, y, radius);
+        event.commit(projectile.getSpawnName(), x, y, radius);
+    }
+
+    @Override
+    public void onHazardExploded(SimHazard explosion) {
+        ExplosionEvent event = new ExplosionEvent();
+        event.begin();
+        HazardFactory.playExplosion(explosion.getX(), explosion.getY(), explosion.getRadius());
+        event.commit("attackZone", explosion.getX(), explosion.getY(), explosion.getRadius());
+    }
+
+    @Override
+    public void onPlayerDied(SimPlayer player) {
+        if (deadPlayerId == 0) {
+            deadPlayerId = player.getId();
+        }
+    }
+
+    /**
+     * Records the input of every coming tick, as fed to the world.
+     *
+     * @param recording The recording, created with the configuration of the world, or null to stop recording.
+     */
+    public void setRecording(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Sets the action run after a tick in which a player died and the world reset the round.
+     *
+     * @param roundListener Receives the identifier of the dead player, 1 or 2, or null to remove the action.
+     */
+    public void setRoundListener(IntConsumer roundListener) {
+        this.roundListener = roundListener;
+    }
+
+    /**
+     * Sets the action run after the tick that finished the match, instead of the round action.
+     *
+     * @param matchListener The action, or null to remove it.
+     */
+    public void setMatchListener(Runnable matchListener) {
+        this.matchListener = matchListener;
+    }
+
+    /**
+     * Returns the world being played.
+     *
+     * @return The world, or null if no match is in progress.
+     */
+    public SimWorld getWorld() {
+        return world;
+    }
+}
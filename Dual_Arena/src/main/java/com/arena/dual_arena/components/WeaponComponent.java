@@ -2,27 +2,28 @@ package com.arena.dual_arena.components;
 
 import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
-import com.almasb.fxgl.entity.SpawnData;
-import com.almasb.fxgl.entity.component.Component;
 import com.almasb.fxgl.entity.components.CollidableComponent;
-import com.arena.dual_arena.models.weapons.*;
+import com.arena.dual_arena.models.weapons.Weapon;
+import com.arena.dual_arena.simulation.SimWeapon;
 import com.arena.dual_arena.utils.DebugMode;
+import com.arena.dual_arena.utils.Vec2;
 import javafx.geometry.Point2D;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 
 /**
- * Component for handling weapon-specific interactions and behaviors in the game.
- * This component manages weapon positioning, firing, and interactions with the game's control inputs.
+ * Component drawing a weapon of the {@link com.arena.dual_arena.simulation.SimWorld}, lying on the ground or
+ * carried by a player. The world decides where the weapon is, where it aims and when it fires; this component
+ * places and turns the sprite accordingly.
  */
-public class WeaponComponent extends Component {
+public class WeaponComponent extends FixedStepComponent {
     private final Weapon weapon;
     private final Point2D barrelOffset;
-    private long lastShotTime = 0;
+    private SimWeapon state;
     private Entity owner = null;
     private boolean isPickedUp = false;
     private Entity weaponOrigin;
-    static final float STICK_DEAD_ZONE = 0.2f;
+    private final Vec2 barrelPosition = new Vec2();
 
     /**
      * Constructs a WeaponComponent with a specific weapon and its barrel offset.
@@ -42,6 +43,7 @@ public class WeaponComponent extends Component {
      */
     @Override
     public void onAdded() {
+        super.onAdded();
         if (DebugMode.isDebugMode()) {
             weaponOrigin = FXGL.entityBuilder()
                     .at(entity.getCenter())
@@ -52,26 +54,54 @@ public class WeaponComponent extends Component {
     }
 
     /**
-     * Called every frame, updating the state of the weapon component.
-     * If the weapon is picked up by an owner, it updates the weapon's position to align with the owner and
-     * handles rotation based on the current control input (either mouse or controller).
+     * Called every simulation tick, after the world moved.
+     * Places the weapon where the world put it and turns it towards the aim of its owner,
+     * flipping the sprite so it is never drawn upside down.
      *
-     * @param tpf Time per frame, provided by the game engine, used for frame-rate-independent updates.
+     * @param dt Duration of the tick in seconds.
      */
     @Override
-    public void onUpdate(double tpf) {
-        if (isPickedUp && owner != null) {
-            // Center the weapon on the player's center position
-            entity.setPosition(
-                    owner.getCenter().subtract(
-                            entity.getWidth() / 2,
-                            entity.getHeight() / 2
-                    )
-            );
+    public void onFixedUpdate(double dt) {
+        if (state == null) {
+            return;
+        }
+        entity.setPosition(state.getX(), state.getY());
+        if (state.getOwner() != null) {
+            entity.setRotation(state.getRotation());
+            // Gère le retournement de l'arme
+            entity.setScaleX(-1);
+            entity.setScaleY(Math.cos(Math.toRadians(state.getRotation())) < 0 ? -1 : 1);
+        }
+    }
 
-            Point2D mousePosition = FXGL.getInput().getMousePositionWorld();
-//            rotateToMouse(mousePosition);
+    /**
+     * Binds the component to the weapon of the world it draws.
+     *
+     * @param state The weapon of the world.
+     */
+    public void bind(SimWeapon state) {
+        this.state = state;
+        entity.setPosition(state.getX(), state.getY());
+        snapToPosition();
+    }
+
+    /**
+     * Returns the weapon of the world drawn by this component.
+     *
+     * @return The simulated weapon, or null if the component is not bound.
+     */
+    public SimWeapon getState() {
+        return state;
+    }
 
+    /**
+     * Called every frame, moves the debug marker of the weapon origin.
+     *
+     * @param tpf Time per frame.
+     */
+    @Override
+    public void onUpdate(double tpf) {
+        if (isPickedUp && owner != null) {
             if (DebugMode.isDebugMode()) {
                 if (weaponOrigin != null) {
                     weaponOrigin.setPosition(entity.getCenter());
@@ -83,70 +113,42 @@ public class WeaponComponent extends Component {
                             .buildAndAttach();
                 }
             }
-            rotateWithController();
         }
     }
 
     /**
-     * Rotates the weapon based on controller input to align with the direction pointed by the game controller's right stick.
-     * This method considers a dead zone to prevent weapon rotation due to minimal stick displacements.
-     */
-    public void rotateWithController() {
-
-            PlayerComponent player = owner.getComponent(PlayerComponent.class);
-
-        float rightStickX = player.getRightStickX();
-        float rightStickY = player.getRightStickY();
-
-            if (Math.abs(rightStickX) > STICK_DEAD_ZONE || Math.abs(rightStickY) > STICK_DEAD_ZONE) {
-                    //Point2D weaponPosition = entity.getCenter();
-                    //Point2D stickDirection = new Point2D(rightStickX, rightStickY);
-
-                    // Calcule l'angle en fonction de la direction du stick
-                    double angle = Math.toDegrees(Math.atan2(rightStickY, rightStickX));
-                    //System.out.println(angle);
-                    entity.setRotation(angle);
-
-                    // Gère le retournement de l'arme
-                    if (rightStickX < 0) {
-                        entity.setScaleX(-1);
-                        entity.setScaleY(-1);
-                    } else {
-                        entity.setScaleX(-1);
-                        entity.setScaleY(1);
-                    }
-            }
-    }
-
-    /**
-     * Rotates the weapon to always point towards the mouse cursor, providing a direct aiming mechanism for the player.
+     * A carried weapon is drawn with the same offset as its owner, so it stays in the player's hands.
      *
-     * @param mousePosition The current position of the mouse in the game world.
+     * @param alpha Interpolation factor, 0 for the previous position and 1 for the current one.
      */
-    private void rotateToMouse(Point2D mousePosition) {
-        Point2D weaponPosition = entity.getCenter();
-        double angle = Math.toDegrees(Math.atan2(
-                mousePosition.getY() - weaponPosition.getY(),
-                mousePosition.getX() - weaponPosition.getX()
-        ));
-        entity.setRotation(angle);
-
-        if (mousePosition.getX() < weaponPosition.getX()) {
-            entity.setScaleX(-1);
-            entity.setScaleY(-1);
+    @Override
+    protected void interpolate(double alpha) {
+        if (isPickedUp && owner != null) {
+            PlayerComponent player = owner.getComponent(PlayerComponent.class);
+            entity.getViewComponent().getParent().setLayoutX(player.getRenderOffsetX());
+            entity.getViewComponent().getParent().setLayoutY(player.getRenderOffsetY());
         } else {
-            entity.setScaleX(-1);
-            entity.setScaleY(1);
+            super.interpolate(alpha);
         }
     }
 
     /**
      * Calculates the actual barrel position of the weapon, considering the current rotation.
-     * This position is where projectiles will originate from when the weapon fires.
+     * This position is the muzzle of the sprite, where the shots are seen leaving the weapon.
      *
      * @return The calculated barrel position as a {@link Point2D}.
      */
     public Point2D getBarrelPosition() {
+        return getBarrelPosition(barrelPosition).toPoint2D();
+    }
+
+    /**
+     * Calculates the barrel position of the weapon into a vector owned by the caller, without allocating.
+     *
+     * @param out The vector receiving the barrel position.
+     * @return The given vector.
+     */
+    public Vec2 getBarrelPosition(Vec2 out) {
         double angle = entity.getRotation();
         double cos = Math.cos(Math.toRadians(angle));
         double sin = Math.sin(Math.toRadians(angle));
@@ -154,12 +156,12 @@ public class WeaponComponent extends Component {
         double x = barrelOffset.getX() * cos - barrelOffset.getY() * sin;
         double y = barrelOffset.getX() * sin + barrelOffset.getY() * cos;
 
-        return entity.getCenter().add(x, y);
+        return out.setCenter(entity).add(x, y);
     }
 
     /**
      * Assigns a new owner to the weapon, marking it as picked up.
-     * This changes the weapon's state to "in use," allowing it to interact with other game mechanics like firing.
+     * The weapon is then drawn with the same interpolation offset as its owner.
      *
      * @param newOwner The entity that is picking up the weapon.
      */
@@ -170,7 +172,7 @@ public class WeaponComponent extends Component {
 
     /**
      * Releases the weapon from its current owner, resetting its state and position.
-     * This method is called when the weapon is dropped by the player, resetting its orientation and ready state.
+     * This method is called when the weapon is dropped by the player, resetting its orientation.
      */
     public void drop() {
         owner = null;
@@ -181,72 +183,6 @@ public class WeaponComponent extends Component {
         entity.setScaleY(1);
     }
 
-    /**
-     * Initiates firing the weapon's primary projectile if the weapon is currently picked up and ready to fire.
-     * This method checks the weapon's cooldown and fires a projectile if enough time has elapsed since the last shot.
-     *
-     * @param direction The direction in which to fire the projectile, typically towards a target or cursor position.
-     */
-    public void primaryFire(Point2D direction) {
-        if (!isPickedUp) return; // Can't fire if not picked up
-
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastShotTime >= weapon.getPrimaryFireRate()) {
-            lastShotTime = currentTime;
-            Point2D spawnPosition = entity.getCenter();
-
-            SpawnData spawnData = new SpawnData(spawnPosition)
-                    .put("direction", direction)
-                    .put("rangeMultiplier", weapon.getRangeMultiplier())
-                    .put("speedMultiplier", weapon.getSpeedMultiplier())
-                    .put("knockbackMultiplier", weapon.getKnockbackMultiplier())
-                    .put("owner", owner);
-
-            switch (weapon) {
-                case Gun gun -> FXGL.play("gun_shot.wav");
-                case Rifle rifle -> FXGL.play("rifle_shot.wav");
-                case Sniper sniper -> FXGL.play("sniper_shot.wav");
-                case RocketLauncher rocketLauncher -> FXGL.play("rocket_blast.wav");
-                default -> throw new IllegalStateException("Unexpected value: " + weapon);
-            }
-
-            FXGL.spawn(weapon.getPrimaryProjectileType(), spawnData);
-        }
-    }
-
-    /**
-     * Initiates firing the weapon's secondary projectile if the weapon is currently picked up and ready to fire.
-     * This method checks the weapon's cooldown for secondary fire and fires a projectile if enough time has elapsed since the last secondary shot.
-     *
-     * @param direction The direction in which to fire the secondary projectile.
-     */
-    public void secondaryFire(Point2D direction) {
-        if (!isPickedUp) return;
-
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastShotTime >= weapon.getSecondaryFireRate()) {
-            lastShotTime = currentTime;
-            Point2D spawnPosition = entity.getCenter();
-
-            SpawnData spawnData = new SpawnData(spawnPosition)
-                    .put("direction", direction)
-                    .put("rangeMultiplier", weapon.getRangeMultiplier())
-                    .put("speedMultiplier", weapon.getSpeedMultiplier())
-                    .put("knockbackMultiplier", weapon.getKnockbackMultiplier())
-                    .put("owner", owner);
-
-            switch (weapon) {
-                case Gun gun -> FXGL.play("gun_shot.wav");
-                case Rifle rifle -> FXGL.play("rifle_shot.wav");
-                case Sniper sniper -> FXGL.play("sniper_shot.wav");
-                case RocketLauncher rocketLauncher -> FXGL.play("rocket_blast.wav");
-                default -> throw new IllegalStateException("Unexpected value: " + weapon);
-            }
-
-            FXGL.spawn(weapon.getSecondaryProjectileType(), spawnData);
-        }
-    }
-
     /**
      * Checks if the weapon is currently picked up by an owner.
      *
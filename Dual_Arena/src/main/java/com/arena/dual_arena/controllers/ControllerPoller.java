@@ -0,0 +1,187 @@
+package com.arena.dual_arena.controllers;
+
+import net.java.games.input.Component;
+import net.java.games.input.Controller;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Polls the gamepads on a background thread at a fixed rate and publishes their state to the game thread.
+ * Each registered controller gets its own {@link InputRingBuffer}, filled by the polling thread and drained by
+ * the player reading it, so a slow USB poll never delays a frame.
+ * The components of a controller are looked up by name once at registration and then read directly,
+ * instead of draining the JInput event queue and matching names on every event.
+ */
+public class ControllerPoller implements Runnable {
+    /** Default number of polls per second. */
+    public static final int DEFAULT_POLL_RATE = 1000;
+    /** Number of snapshots a ring holds, about a quarter second at the default rate. */
+    public static final int RING_CAPACITY = 256;
+    /** Names of the XInput components, indexed like the axes of {@link ControllerState}. */
+    private static final String[] COMPONENT_NAMES = {"lx", "ly", "rx", "ry", "lb", "rb"};
+    /** JInput reports the vertical axes upside down. */
+    private static final float[] SIGNS = {1, -1, 1, -1, 1, 1};
+    private static ControllerPoller instance;
+
+    private final long periodNanos;
+    private final List<Device> devices = new CopyOnWriteArrayList<>();
+    private volatile Thread thread;
+    private volatile boolean running = false;
+
+    /**
+     * Controller polled by the background thread, with everything needed to read it without allocating.
+     */
+    private static final class Device {
+        private final Controller controller;
+        private final Component[] components = new Component[ControllerState.AXIS_COUNT];
+        private final float[] values = new float[ControllerState.AXIS_COUNT];
+        private final InputRingBuffer ring = new InputRingBuffer(RING_CAPACITY);
+
+        private Device(Controller controller) {
+            this.controller = controller;
+            for (Component component : controller.getComponents()) {
+                for (int axis = 0; axis < COMPONENT_NAMES.length; axis++) {
+                    if (COMPONENT_NAMES[axis].equals(component.getName())) {
+                        components[axis] = component;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructs a poller reading the controllers the given number of times per second.
+     *
+     * @param pollRate Number of polls per second.
+     */
+    public ControllerPoller(int pollRate) {
+        if (pollRate <= 0) {
+            throw new IllegalArgumentException("Poll rate must be positive: " + pollRate);
+        }
+        this.periodNanos = 1_000_000_000L / pollRate;
+    }
+
+    /**
+     * Returns the poller shared by the players, creating it on first use.
+     *
+     * @return The shared controller poller.
+     */
+    public static synchronized ControllerPoller get() {
+        if (instance == null) {
+            instance = new ControllerPoller(DEFAULT_POLL_RATE);
+        }
+        return instance;
+    }
+
+    /**
+     * Starts polling a controller, and the polling thread if it is not running yet.
+     * From then on the controller must only be touched by the polling thread.
+     *
+     * @param controller The controller to poll.
+     * @return The ring receiving the state of the controller, to be read by a single thread.
+     */
+    public synchronized InputRingBuffer register(Controller controller) {
+        Device device = new Device(controller);
+        devices.add(device);
+        start();
+        return device.ring;
+    }
+
+    /**
+     * Stops polling a controller. The polling thread stops with the last controller.
+     *
+     * @param controller The controller to forget.
+     */
+    public synchronized void unregister(Controller controller) {
+        devices.removeIf(device -> device.controller == controller);
+        if (devices.isEmpty()) {
+            stop();
+        }
+    }
+
+    /**
+     * Starts the polling thread if it is not running.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "controller-poller");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Stops the polling thread and waits for its current poll to finish,
+     * so the controllers and rings are no longer touched once this method returns.
+     */
+    public synchronized void stop() {
+        running = false;
+        Thread stopped = thread;
+        thread = null;
+        if (stopped != null && stopped != Thread.currentThread()) {
+            LockSupport.unpark(stopped);
+            try {
+                stopped.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Polls the controllers until stopped, keeping a fixed period between polls.
+     */
+    @Override
+    public void run() {
+        long nextPoll = System.nanoTime();
+        // A thread replaced by a quick stop and start must not keep polling next to the new one
+        while (running && thread == Thread.currentThread()) {
+            pollOnce();
+            nextPoll += periodNanos;
+            long now = System.nanoTime();
+            if (nextPoll > now) {
+                LockSupport.parkNanos(nextPoll - now);
+            } else {
+                // Skip the missed polls instead of running them back to back
+                nextPoll = now;
+            }
+        }
+    }
+
+    /**
+     * Polls every controller once and publishes a snapshot for each one that answered.
+     */
+    void pollOnce() {
+        for (Device device : devices) {
+            if (!device.controller.poll()) {
+                continue;
+            }
+            for (int axis = 0; axis < ControllerState.AXIS_COUNT; axis++) {
+                Component component = device.components[axis];
+                device.values[axis] = component != null ? component.getPollData() * SIGNS[axis] : 0;
+            }
+            device.ring.offer(System.nanoTime(), device.values);
+        }
+    }
+
+    /**
+     * Returns whether the polling thread is running.
+     * @return True while controllers are polled.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the number of controllers currently polled.
+     * @return The controller count.
+     */
+    public int getControllerCount() {
+        return devices.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.arena.dual_arena.controllers;
+
+/**
+ * Axes and triggers of a gamepad at a given instant, as read by the {@link ControllerPoller}.
+ * The game thread keeps one instance per player and refreshes it from the player's {@link InputRingBuffer},
+ * so reading the controller never allocates.
+ */
+public final class ControllerState {
+    /** Horizontal axis of the left stick, from -1 (left) to 1 (right). */
+    public static final int LEFT_X = 0;
+    /** Vertical axis of the left stick, from -1 (down) to 1 (up). */
+    public static final int LEFT_Y = 1;
+    /** Horizontal axis of the right stick, from -1 (left) to 1 (right). */
+    public static final int RIGHT_X = 2;
+    /** Vertical axis of the right stick, from -1 (down) to 1 (up). */
+    public static final int RIGHT_Y = 3;
+    /** Left bumper, 1 when pressed. */
+    public static final int LEFT_BUMPER = 4;
+    /** Right bumper, 1 when pressed. */
+    public static final int RIGHT_BUMPER = 5;
+    /** Number of values in a snapshot. */
+    public static final int AXIS_COUNT = 6;
+
+    private long timestampNanos;
+    private final float[] axes = new float[AXIS_COUNT];
+
+    /**
+     * Copies a snapshot stored in a flat array.
+     *
+     * @param timestampNanos Time of the poll, from {@link System#nanoTime()}.
+     * @param source         Array holding the values.
+     * @param offset         Index of the first value of the snapshot in the array.
+     */
+    void set(long timestampNanos, float[] source, int offset) {
+        this.timestampNanos = timestampNanos;
+        System.arraycopy(source, offset, axes, 0, AXIS_COUNT);
+    }
+
+    /**
+     * Returns the value of an axis.
+     *
+     * @param axis One of the axis constants of this class.
+     * @return The value of the axis.
+     */
+    public float getAxis(int axis) {
+        return axes[axis];
+    }
+
+    /**
+     * Returns when the controller was polled.
+     * @return The poll time, from {@link System#nanoTime()}.
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+}
@@ -0,0 +1,108 @@
+package com.arena.dual_arena.controllers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free ring buffer carrying controller snapshots from a single producer thread to a single consumer thread.
+ * Snapshots are stored in flat primitive arrays, so publishing and reading them never allocates.
+ * The producer only writes the tail and the consumer only writes the head; each side publishes its index
+ * with release semantics after touching the slots, which is all the synchronization needed.
+ * When the consumer falls behind, e.g. while the game is paused, new snapshots are dropped until it catches up.
+ */
+public class InputRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final long[] timestamps;
+    private final float[] axes;
+    /** Index of the next snapshot to read, only written by the consumer. */
+    private final AtomicLong head = new AtomicLong();
+    /** Index of the next snapshot to write, only written by the producer. */
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long droppedSnapshots = 0;
+
+    /**
+     * Constructs an empty ring.
+     *
+     * @param capacity Number of snapshots the ring can hold, a power of two.
+     */
+    public InputRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.axes = new float[capacity * ControllerState.AXIS_COUNT];
+    }
+
+    /**
+     * Publishes a snapshot. Must only be called by the producer thread.
+     *
+     * @param timestampNanos Time of the poll, from {@link System#nanoTime()}.
+     * @param values         The {@link ControllerState#AXIS_COUNT} values of the snapshot.
+     * @return False if the ring was full and the snapshot was dropped.
+     */
+    public boolean offer(long timestampNanos, float[] values) {
+        long index = tail.get();
+        if (index - head.getAcquire() >= capacity) {
+            droppedSnapshots++;
+            return false;
+        }
+        int slot = (int) index & mask;
+        timestamps[slot] = timestampNanos;
+        System.arraycopy(values, 0, axes, slot * ControllerState.AXIS_COUNT, ControllerState.AXIS_COUNT);
+        tail.setRelease(index + 1);
+        return true;
+    }
+
+    /**
+     * Reads the oldest snapshot. Must only be called by the consumer thread.
+     *
+     * @param state The state receiving the snapshot.
+     * @return False if the ring was empty, in which case the state is left untouched.
+     */
+    public boolean poll(ControllerState state) {
+        long index = head.get();
+        if (index >= tail.getAcquire()) {
+            return false;
+        }
+        int slot = (int) index & mask;
+        state.set(timestamps[slot], axes, slot * ControllerState.AXIS_COUNT);
+        head.setRelease(index + 1);
+        return true;
+    }
+
+    /**
+     * Reads every pending snapshot, leaving the most recent one in the state. Must only be called by the consumer thread.
+     *
+     * @param state The state receiving the snapshots.
+     * @return The number of snapshots read.
+     */
+    public int drainTo(ControllerState state) {
+        int count = 0;
+        while (poll(state)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of snapshots waiting to be read.
+     * @return The pending snapshot count.
+     */
+    public int size() {
+        return (int) (tail.getAcquire() - head.getAcquire());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of snapshots dropped because the ring was full.
+     * @return The dropped snapshot count.
+     */
+    public long getDroppedSnapshots() {
+        return droppedSnapshots;
+    }
+}
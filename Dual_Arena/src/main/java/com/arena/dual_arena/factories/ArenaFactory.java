@@ -5,10 +5,14 @@ import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.EntityFactory;
 import com.almasb.fxgl.entity.SpawnData;
 import com.almasb.fxgl.entity.Spawns;
-import com.almasb.fxgl.entity.components.CollidableComponent;
 import com.almasb.fxgl.physics.BoundingShape;
 import com.almasb.fxgl.physics.HitBox;
+import com.arena.dual_arena.level.CompiledArena;
+import com.arena.dual_arena.simulation.TerrainMap;
 import com.arena.dual_arena.types.EntityType;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
 
 /**
  * Factory class responsible for creating environmental features within the game's arena.
@@ -19,9 +23,10 @@ public class ArenaFactory implements EntityFactory {
     /**
      * Spawns a water entity using the provided spawn data.
      * The water entity is scaled to fit the game's arena dimensions, ensuring it integrates seamlessly into the game environment.
+     * It is not collidable: falls in the water are detected on the {@link TerrainMap}, which keeps the water out of the physics world.
      *
      * @param data The spawn data containing parameters such as width and height for the water entity.
-     * @return A newly created water entity that can interact with other game elements.
+     * @return A newly created water entity outlining the water area.
      */
     @Spawns("water")
     public Entity spawnWater(SpawnData data) {
@@ -33,7 +38,45 @@ public class ArenaFactory implements EntityFactory {
         return FXGL.entityBuilder(data)
                 .type(EntityType.WATER)
                 .bbox(new HitBox(BoundingShape.box(data.<Integer>get("width") * scaleX, data.<Integer>get("height") * scaleY)))
-                .with(new CollidableComponent(true))
+                .build();
+    }
+
+    /**
+     * Spawns the ground of a compiled arena: its tile layer drawn once on a canvas covering the window,
+     * below every other entity.
+     *
+     * @param data The spawn data, holding the {@link CompiledArena} under "arena".
+     * @return The arena entity.
+     */
+    @Spawns("arena")
+    public Entity spawnArena(SpawnData data) {
+        CompiledArena arena = data.get("arena");
+        Image tileset = new Image(CompiledArena.class.getResource("/assets/levels/" + arena.tilesetImage()).toExternalForm());
+        double scaleX = (double) FXGL.getAppWidth() / arena.mapWidth();
+        double scaleY = (double) FXGL.getAppHeight() / arena.mapHeight();
+
+        Canvas canvas = new Canvas(FXGL.getAppWidth(), FXGL.getAppHeight());
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        graphics.setImageSmoothing(false);
+        for (int row = 0; row < arena.rows(); row++) {
+            for (int column = 0; column < arena.columns(); column++) {
+                int index = arena.tile(column, row) - arena.firstGid();
+                if (index < 0) {
+                    continue;
+                }
+                // Bords arrondis au pixel pour éviter les joints entre tuiles à une échelle non entière
+                double left = Math.round(column * arena.tileWidth() * scaleX);
+                double top = Math.round(row * arena.tileHeight() * scaleY);
+                double right = Math.round((column + 1) * arena.tileWidth() * scaleX);
+                double bottom = Math.round((row + 1) * arena.tileHeight() * scaleY);
+                graphics.drawImage(tileset,
+                        (index % arena.tilesetColumns()) * arena.tileWidth(), (index / arena.tilesetColumns()) * arena.tileHeight(),
+                        arena.tileWidth(), arena.tileHeight(), left, top, right - left, bottom - top);
+            }
+        }
+        return FXGL.entityBuilder(data)
+                .view(canvas)
+                .zIndex(-1)
                 .build();
     }
 }
@@ -9,28 +9,34 @@ import com.almasb.fxgl.entity.components.CollidableComponent;
 import com.almasb.fxgl.physics.BoundingShape;
 import com.almasb.fxgl.physics.HitBox;
 import com.almasb.fxgl.texture.AnimatedTexture;
-import com.almasb.fxgl.texture.AnimationChannel;
+import com.arena.dual_arena.components.AnimationCullingComponent;
 import com.arena.dual_arena.components.FireballComponent;
+import com.arena.dual_arena.components.ParticleEmitter;
+import com.arena.dual_arena.components.ParticleSystem;
+import com.arena.dual_arena.jfr.SpawnEvent;
+import com.arena.dual_arena.simulation.GameRules;
 import com.arena.dual_arena.types.EntityType;
+import com.arena.dual_arena.utils.AssetRegistry;
 import javafx.geometry.Point2D;
-import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.transform.Scale;
 import javafx.util.Duration;
 
 public class HazardFactory implements EntityFactory {
+    /** Explosion radius at which the debris of an attack zone keep the speeds of their emitter. */
+    private static final double PARTICLE_REFERENCE_RADIUS = 60;
 
     /**
-     * Spawns an attack zone entity that gradually appears and then triggers an explosion.
-     * This method uses animation to fade in the attack zone over a specified duration and removes it after the animation.
+     * Spawns the view of an attack zone, a circle that gradually appears until the zone explodes.
+     * The zone is removed by the {@link com.arena.dual_arena.components.SimulationSystem} when the world turns it into an explosion.
      *
      * @param data The spawn data containing parameters like the radius of the attack zone.
      * @return A newly created attack zone entity with specified properties.
      */
     @Spawns("attackZone")
     public Entity createAttackZone(SpawnData data) {
-        final int duration = 3;
+        final double duration = GameRules.ATTACK_ZONE_DELAY;
         int radius = data.get("radius");
         Color customColor = Color.rgb(255, 160, 0, 0.4);
         Circle circle = new Circle(radius, customColor);
@@ -44,10 +50,6 @@ public class HazardFactory implements EntityFactory {
                 .duration(Duration.seconds(duration))
                 .fadeIn(circle)
                 .buildAndPlay();
-        FXGL.getGameTimer().runOnceAfter(()-> {
-            attackZone.removeFromWorld();
-            createCircleExplosion(attackZone.getX(), attackZone.getY(), radius);
-        },Duration.seconds(duration));
         return attackZone;
     }
     @Spawns("fireball")
@@ -58,9 +60,7 @@ public class HazardFactory implements EntityFactory {
         int oppositeY = data.get("oppositeY");
         double scaleFactor = 2;
 
-        Image sprite = FXGL.image("fireball.png");
-        AnimationChannel animatedSprite = new AnimationChannel(sprite,5,64,32, Duration.seconds(1),0,4);
-        AnimatedTexture texture = new AnimatedTexture(animatedSprite);
+        AnimatedTexture texture = new AnimatedTexture(AssetRegistry.channel(AssetRegistry.FIREBALL));
         texture.setTranslateX(-37*scaleFactor);
         texture.setTranslateY(-8*scaleFactor);
         texture.getTransforms().add(new Scale(scaleFactor, scaleFactor));
@@ -70,6 +70,7 @@ public class HazardFactory implements EntityFactory {
                 .type(EntityType.EXPLOSION)
                 .view(texture)
                 .with(new FireballComponent(oppositeX, oppositeY))
+                .with(new AnimationCullingComponent(texture, 64 * scaleFactor))
                 .bbox(new HitBox(BoundingShape.box(10*scaleFactor,13*scaleFactor)))
                 .with(new CollidableComponent(true))
                 .build();
@@ -91,29 +92,45 @@ public class HazardFactory implements EntityFactory {
      * @return The newly spawned attack zone entity.
      */
     public static Entity spawnCircleZone(int x, int y, int radius) {
-
-        return FXGL.spawn("attackZone", new SpawnData(x, y).put("radius", radius));
+        SpawnEvent event = new SpawnEvent();
+        event.begin();
+        Entity zone = FXGL.spawn("attackZone", new SpawnData(x, y).put("radius", radius));
+        event.commit("attackZone", zone);
+        return zone;
     }
     public static Entity spawnFireball(int x, int y, int oppositeX, int oppositeY) {
+        SpawnEvent event = new SpawnEvent();
+        event.begin();
+        Entity fireball = FXGL.spawn("fireball", new SpawnData(x, y).put("oppositeX", oppositeX).put("oppositeY", oppositeY));
+        event.commit("fireball", fireball);
+        return fireball;
+    }
 
-        return FXGL.spawn("fireball", new SpawnData(x, y).put("oppositeX", oppositeX).put("oppositeY", oppositeY));
+    /**
+     * Plays the sound and throws the debris of an attack zone exploding.
+     *
+     * @param x The x-coordinate for the center of the explosion.
+     * @param y The y-coordinate for the center of the explosion.
+     * @param rad The radius of the explosion.
+     */
+    public static void playExplosion(double x, double y, double rad) {
+        AssetRegistry.play("hazard_explosion.wav");
+        ParticleEmitter.HAZARD_EXPLOSION.burst(ParticleSystem.get(), x, y, rad / PARTICLE_REFERENCE_RADIUS);
     }
 
     /**
-     * Creates a visual explosion effect at a given location using an animated texture.
+     * Creates the view of an explosion at a given location using an animated texture, played once.
+     * The hitboxes outline the area where the world kills the players, for the debug view.
      *
      * @param x The x-coordinate for the center of the explosion.
      * @param y The y-coordinate for the center of the explosion.
      * @param rad The radius of the explosion effect.
+     * @return The explosion entity, already added to the game world.
      */
-    public static void createCircleExplosion(double x, double y, double rad) {
+    public static Entity createCircleExplosion(double x, double y, double rad) {
         double offset=1.5;
-        Image sprite = FXGL.image("explosion.png");
-        FXGL.play("hazard_explosion.wav");
-
-        AnimationChannel animatedSprite = new AnimationChannel(sprite,16,128,128, Duration.seconds(1),1,16);
 
-        AnimatedTexture texture = new AnimatedTexture(animatedSprite);
+        AnimatedTexture texture = new AnimatedTexture(AssetRegistry.channel(AssetRegistry.EXPLOSION));
 
         double scaleFactor = (double) rad * offset / 64;
         texture.getTransforms().add(new Scale(scaleFactor, scaleFactor));
@@ -133,8 +150,8 @@ public class HazardFactory implements EntityFactory {
                 .with(new CollidableComponent(true))
                 .build();
         texture.play();
-        texture.setOnCycleFinished(() -> FXGL.getGameWorld().removeEntity(animatedExplosion));
         FXGL.getGameWorld().addEntity(animatedExplosion);
+        return animatedExplosion;
     }
 
     /*
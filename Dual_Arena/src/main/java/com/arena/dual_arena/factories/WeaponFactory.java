@@ -9,21 +9,16 @@ import com.almasb.fxgl.entity.components.CollidableComponent;
 import com.arena.dual_arena.components.WeaponComponent;
 import com.arena.dual_arena.models.weapons.*;
 import com.arena.dual_arena.types.EntityType;
+import com.arena.dual_arena.utils.AssetRegistry;
 import javafx.geometry.Point2D;
-import javafx.util.Duration;
-
-import java.util.Random;
 
 /**
- * Factory class responsible for the creation and management of weapon entities in the game.
+ * Factory class responsible for the creation of weapon entities in the game.
  * This factory uses the FXGL framework to handle entity creation, ensuring each weapon is properly initialized with its specific components.
+ * Weapons are spawned by the {@link com.arena.dual_arena.components.SimulationSystem} when they appear in the world.
  */
 public class WeaponFactory implements EntityFactory {
 
-    private final Random random = new Random();
-    private final double dropTime=15;
-    private final int rocketTimer = 70;
-
     /**
      * Spawns a gun entity with specific attributes and visuals.
      * @param data The spawn data including the location and any other relevant information for spawning the gun.
@@ -79,52 +74,9 @@ public class WeaponFactory implements EntityFactory {
     private Entity createWeapon(SpawnData data, Weapon weapon, String spriteName, Point2D barrelOffset) {
         return FXGL.entityBuilder(data)
                 .type(EntityType.WEAPON)
-                .viewWithBBox(spriteName)
+                .viewWithBBox(AssetRegistry.texture(spriteName))
                 .with(new CollidableComponent(true))
                 .with(new WeaponComponent(weapon, barrelOffset))
                 .build();
     }
-
-    /**
-     * Spawns a random weapon at a given location.
-     * @param x The x-coordinate for the weapon spawn location.
-     * @param y The y-coordinate for the weapon spawn location.
-     */
-    public static void spawnRandomWeapon(double x, double y) {
-        String[] weaponTypes = {"gun", "rifle", "sniper", "rocket-launcher"};
-        String randomType = weaponTypes[(int)(Math.random() * weaponTypes.length)];
-        FXGL.spawn(randomType, new SpawnData(x, y));
-    }
-
-    /**
-     * Counts the number of weapon entities currently present in the game world.
-     * @return The count of weapon entities.
-     */
-    private int getWeaponCount() {
-        // Count the number of weapon in the world game;
-        return (int) FXGL.getGameWorld().getEntitiesByType(EntityType.WEAPON).size();
-    }
-
-    /**
-     * Starts an infinite loop that periodically spawns random weapons if there are fewer than three weapons present.
-     * Weapons are spawned at random locations within defined bounds.
-     */
-    public void InfiniteSpawner() {
-        FXGL.run(() -> {
-            if (getWeaponCount() < 4) {
-                int rx, ry;
-                rx = random.nextInt(FXGL.getAppWidth() * 8 / 25) + FXGL.getAppWidth() * 8 / 25;
-                ry = random.nextInt(FXGL.getAppHeight() * 7 / 14) + FXGL.getAppHeight() * 3 / 14;
-
-                spawnRandomWeapon(rx, ry);
-            }}, Duration.seconds(dropTime));
-
-    }
-    public void RocketSpawner() {
-        FXGL.run(() -> {
-            FXGL.spawn("rocket-launcher",FXGL.getAppWidth()/2, FXGL.getAppHeight()/2);
-            }, Duration.seconds(rocketTimer+random.nextInt(20)));
-
-    }
-
 }
@@ -0,0 +1,35 @@
+package com.arena.dual_arena.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded around the creation of an explosion, whether from a rocket or from a hazard zone.
+ */
+@Name("dualarena.Explosion")
+@Label("Explosion")
+@Description("Explosion effect created and applied to the players in range")
+public class ExplosionEvent extends GameplayEvent {
+    @Label("Radius")
+    double radius;
+
+    /**
+     * Ends the measure and commits the event if it is recorded.
+     *
+     * @param entityType Type of explosion, e.g. the projectile or hazard that caused it.
+     * @param x          X-coordinate of the center.
+     * @param y          Y-coordinate of the center.
+     * @param radius     Radius of the explosion.
+     */
+    public void commit(String entityType, double x, double y, double radius) {
+        end();
+        if (shouldCommit()) {
+            this.entityType = entityType;
+            this.x = x;
+            this.y = y;
+            this.radius = radius;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.arena.dual_arena.jfr;
+
+import com.almasb.fxgl.entity.Entity;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Java Flight Recorder events of the game. Each event measures its duration between
+ * {@link #begin()} and its commit, and carries the type and position of the entity concerned,
+ * so that gameplay spikes appear on the same timeline as GC, allocation and thread activity.
+ *
+ * <p>Events are cheap when recording is off: {@link #shouldCommit()} is false and the fields are never filled.
+ * Stack traces are disabled, the event name already tells where it comes from.</p>
+ */
+@Category({"Dual Arena", "Gameplay"})
+@StackTrace(false)
+public abstract class GameplayEvent extends Event {
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("X")
+    double x;
+
+    @Label("Y")
+    double y;
+
+    /**
+     * Fills the type and position from an entity.
+     *
+     * @param entity The entity concerned, or null if it could not be created.
+     */
+    void describe(Entity entity) {
+        if (entity != null) {
+            entityType = String.valueOf(entity.getType());
+            x = entity.getX();
+            y = entity.getY();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.arena.dual_arena.jfr;
+
+import com.almasb.fxgl.entity.Entity;
+import com.arena.dual_arena.types.EntityType;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when a projectile touches a player, including the explosion or knockback it causes.
+ */
+@Name("dualarena.ProjectileHit")
+@Label("Projectile Hit")
+@Description("Projectile colliding with a player")
+public class ProjectileHitEvent extends GameplayEvent {
+    @Label("Projectile")
+    String projectile;
+
+    @Label("Player")
+    int playerId;
+
+    /**
+     * Ends the measure and commits the event if it is recorded.
+     *
+     * @param projectile Name of the projectile kind.
+     * @param hit        The projectile entity, at the position of the impact.
+     * @param playerId   Identifier of the player that was hit.
+     */
+    public void commit(String projectile, Entity hit, int playerId) {
+        end();
+        if (shouldCommit()) {
+            this.projectile = projectile;
+            this.playerId = playerId;
+            describe(hit);
+            commit();
+        }
+    }
+
+    /**
+     * Ends the measure and commits the event if it is recorded, for a projectile that is not an entity.
+     *
+     * @param projectile Name of the projectile kind.
+     * @param x          X-coordinate of the projectile at the impact.
+     * @param y          Y-coordinate of the projectile at the impact.
+     * @param playerId   Identifier of the player that was hit.
+     */
+    public void commit(String projectile, double x, double y, int playerId) {
+        end();
+        if (shouldCommit()) {
+            this.projectile = projectile;
+            this.playerId = playerId;
+            this.entityType = EntityType.PROJECTILE.name();
+            this.x = x;
+            this.y = y;
+            commit();
+        }
+    }
+}
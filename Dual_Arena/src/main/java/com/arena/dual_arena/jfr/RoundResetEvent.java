@@ -0,0 +1,30 @@
+package com.arena.dual_arena.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded around the reset between two rounds, which removes and respawns most of the world at once.
+ */
+@Name("dualarena.RoundReset")
+@Label("Round Reset")
+@Description("Removal of the round entities and respawn of the players and weapons")
+public class RoundResetEvent extends GameplayEvent {
+    @Label("Entities Before Reset")
+    int entityCount;
+
+    /**
+     * Ends the measure and commits the event if it is recorded.
+     *
+     * @param entityCount Number of entities in the world when the round ended.
+     */
+    public void commit(int entityCount) {
+        end();
+        if (shouldCommit()) {
+            this.entityType = "ROUND";
+            this.entityCount = entityCount;
+            commit();
+        }
+    }
+}
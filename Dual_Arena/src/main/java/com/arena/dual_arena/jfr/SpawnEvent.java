@@ -0,0 +1,32 @@
+package com.arena.dual_arena.jfr;
+
+import com.almasb.fxgl.entity.Entity;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded around every gameplay spawn: projectiles fired by weapons and hazards started by the director.
+ */
+@Name("dualarena.Spawn")
+@Label("Spawn")
+@Description("Entity spawned through the FXGL factories during a round")
+public class SpawnEvent extends GameplayEvent {
+    @Label("Spawn Name")
+    String spawnName;
+
+    /**
+     * Ends the measure and commits the event if it is recorded.
+     *
+     * @param spawnName Name of the factory method used.
+     * @param spawned   The spawned entity.
+     */
+    public void commit(String spawnName, Entity spawned) {
+        end();
+        if (shouldCommit()) {
+            this.spawnName = spawnName;
+            describe(spawned);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.arena.dual_arena.level;
+
+import com.arena.dual_arena.simulation.TerrainMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles a Tiled map into a {@link CompiledArena} file, to be run whenever a map of the levels asset folder changes:
+ * <pre>
+ * java -cp target/classes com.arena.dual_arena.level.ArenaCompiler \
+ *     src/main/resources/assets/levels/arena.tmx src/main/resources/assets/levels/arena.arena
+ * </pre>
+ * Only orthogonal maps with a single CSV tile layer and a single tileset are supported.
+ * Objects of type {@value TerrainMap#WATER_TYPE} become the water mask and rectangles, objects of type
+ * {@value #SPAWN_TYPE} become spawn points.
+ */
+public class ArenaCompiler {
+    /** Type of the Tiled objects marking a spawn point. */
+    public static final String SPAWN_TYPE = "spawn";
+    /** Arena size the geometry is scaled for, the size of the game window. */
+    public static final float ARENA_WIDTH = 16 * 90;
+    public static final float ARENA_HEIGHT = 9 * 90;
+
+    private ArenaCompiler() {
+    }
+
+    /**
+     * Compiles a map.
+     *
+     * @param input       The TMX document.
+     * @param arenaWidth  Width of the arena the geometry is scaled for.
+     * @param arenaHeight Height of the arena the geometry is scaled for.
+     * @return The compiled arena.
+     * @throws IOException If the document cannot be read or is not a supported map.
+     */
+    public static CompiledArena compile(InputStream input, float arenaWidth, float arenaHeight) throws IOException {
+        int columns = -1;
+        int rows = -1;
+        int tileWidth = 0;
+        int tileHeight = 0;
+        String tilesetImage = null;
+        int firstGid = 1;
+        int tilesetColumns = 1;
+        short[] tiles = null;
+        TerrainMap terrain = null;
+        List<double[]> water = new ArrayList<>();
+        List<double[]> spawns = new ArrayList<>();
+        try {
+            XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(input);
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "map" -> {
+                        columns = (int) number(reader, "width");
+                        rows = (int) number(reader, "height");
+                        tileWidth = (int) number(reader, "tilewidth");
+                        tileHeight = (int) number(reader, "tileheight");
+                        terrain = new TerrainMap(columns * tileWidth, rows * tileHeight);
+                    }
+                    case "tileset" -> {
+                        firstGid = (int) number(reader, "firstgid");
+                        tilesetColumns = (int) number(reader, "columns");
+                    }
+                    case "image" -> tilesetImage = reader.getAttributeValue(null, "source");
+                    case "data" -> {
+                        if (!"csv".equals(reader.getAttributeValue(null, "encoding"))) {
+                            throw new IOException("Only CSV tile layers are supported");
+                        }
+                        tiles = parseCsv(reader.getElementText(), columns * rows);
+                    }
+                    case "object" -> {
+                        String type = reader.getAttributeValue(null, "type");
+                        double x = number(reader, "x");
+                        double y = number(reader, "y");
+                        if (TerrainMap.WATER_TYPE.equals(type) && terrain != null) {
+                            double width = number(reader, "width");
+                            double height = number(reader, "height");
+                            terrain.fill(x, y, width, height);
+                            water.add(new double[]{x, y, width, height});
+                        } else if (SPAWN_TYPE.equals(type)) {
+                            spawns.add(new double[]{x, y});
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid map document", e);
+        }
+        if (terrain == null || tiles == null || tilesetImage == null) {
+            throw new IOException("The map needs a map element, a tileset image and a tile layer");
+        }
+
+        double scaleX = arenaWidth / terrain.getWidth();
+        double scaleY = arenaHeight / terrain.getHeight();
+        return new CompiledArena(columns, rows, tileWidth, tileHeight, tiles, tilesetImage, firstGid, tilesetColumns,
+                terrain, arenaWidth, arenaHeight, flatten(water, scaleX, scaleY), flatten(spawns, scaleX, scaleY));
+    }
+
+    private static double number(XMLStreamReader reader, String name) throws IOException {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null) {
+            throw new IOException("Missing attribute " + name + " on " + reader.getLocalName());
+        }
+        return Double.parseDouble(value);
+    }
+
+    private static short[] parseCsv(String csv, int count) throws IOException {
+        String[] values = csv.trim().split("\\s*,\\s*");
+        if (values.length != count) {
+            throw new IOException("Expected " + count + " tiles, found " + values.length);
+        }
+        short[] tiles = new short[count];
+        for (int i = 0; i < count; i++) {
+            long gid = Long.parseLong(values[i]);
+            // Les tuiles retournées ou tournées gardent leurs drapeaux dans les bits de poids fort
+            if (gid > Short.MAX_VALUE) {
+                throw new IOException("Unsupported tile gid " + gid);
+            }
+            tiles[i] = (short) gid;
+        }
+        return tiles;
+    }
+
+    private static float[] flatten(List<double[]> shapes, double scaleX, double scaleY) {
+        float[] result = new float[shapes.stream().mapToInt(shape -> shape.length).sum()];
+        int i = 0;
+        for (double[] shape : shapes) {
+            for (int j = 0; j < shape.length; j++) {
+                result[i++] = (float) (shape[j] * (j % 2 == 0 ? scaleX : scaleY));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compiles the map given as first argument into the file given as second argument.
+     * The arena size can follow, it defaults to the size of the game window.
+     *
+     * @param args Map file, compiled file, then optionally the arena width and height.
+     * @throws IOException If the map cannot be read or the compiled file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 4) {
+            System.err.println("Usage: ArenaCompiler <map.tmx> <output.arena> [arenaWidth arenaHeight]");
+            System.exit(2);
+        }
+        float width = args.length == 4 ? Float.parseFloat(args[2]) : ARENA_WIDTH;
+        float height = args.length == 4 ? Float.parseFloat(args[3]) : ARENA_HEIGHT;
+        CompiledArena arena;
+        try (InputStream input = Files.newInputStream(Path.of(args[0]))) {
+            arena = compile(input, width, height);
+        }
+        Path output = Path.of(args[1]);
+        arena.write(output);
+        System.out.printf("%s: %dx%d tiles, %d water areas, %d spawn points, %d bytes%n", output,
+                arena.columns(), arena.rows(), arena.water().length / 4, arena.spawns().length / 2, Files.size(output));
+    }
+}
@@ -0,0 +1,252 @@
+package com.arena.dual_arena.level;
+
+import com.arena.dual_arena.simulation.TerrainMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Arena compiled from a Tiled map by the {@link ArenaCompiler}: everything the game needs to start a round,
+ * read straight from a binary file instead of parsing the XML and CSV of the map.
+ * Water areas and spawn points are stored already scaled to the arena size the map was compiled for,
+ * and are scaled again only if the game runs at another size.
+ *
+ * <p>File layout, big-endian: magic and version, tile grid size and tile size, the gids of the tile layer
+ * row by row, the tileset, the water mask of the {@link TerrainMap}, then the water rectangles and the spawn
+ * points in arena coordinates.</p>
+ *
+ * @param columns        Number of tile columns.
+ * @param rows           Number of tile rows.
+ * @param tileWidth      Width of a tile in map pixels.
+ * @param tileHeight     Height of a tile in map pixels.
+ * @param tiles          Gid of every tile, row by row, 0 for an empty cell.
+ * @param tilesetImage   File name of the tileset image, next to the map.
+ * @param firstGid       Gid of the first tile of the tileset.
+ * @param tilesetColumns Number of tile columns in the tileset image.
+ * @param terrain        Water mask, queried in map coordinates.
+ * @param arenaWidth     Width of the arena the geometry is scaled for.
+ * @param arenaHeight    Height of the arena the geometry is scaled for.
+ * @param water          Water rectangles as x, y, width and height, in arena coordinates.
+ * @param spawns         Spawn points as x and y, in arena coordinates.
+ */
+public record CompiledArena(int columns, int rows, int tileWidth, int tileHeight, short[] tiles,
+                            String tilesetImage, int firstGid, int tilesetColumns, TerrainMap terrain,
+                            float arenaWidth, float arenaHeight, float[] water, float[] spawns) {
+    /** File holding the compiled arena.tmx, in the levels asset folder. */
+    public static final String ARENA = "/assets/levels/arena.arena";
+    /** "DARN" */
+    private static final int MAGIC = 0x4441524E;
+    private static final short VERSION = 1;
+
+    /**
+     * Returns the width of the map.
+     *
+     * @return The width in map pixels.
+     */
+    public int mapWidth() {
+        return columns * tileWidth;
+    }
+
+    /**
+     * Returns the height of the map.
+     *
+     * @return The height in map pixels.
+     */
+    public int mapHeight() {
+        return rows * tileHeight;
+    }
+
+    /**
+     * Returns the gid of a tile.
+     *
+     * @param column Column of the tile.
+     * @param row    Row of the tile.
+     * @return The gid, 0 for an empty cell.
+     */
+    public int tile(int column, int row) {
+        return tiles[row * columns + column];
+    }
+
+    /**
+     * Returns the water rectangles scaled to an arena.
+     *
+     * @param width  Width of the arena.
+     * @param height Height of the arena.
+     * @return The rectangles as x, y, width and height.
+     */
+    public float[] water(double width, double height) {
+        return scaled(water, width / arenaWidth, height / arenaHeight);
+    }
+
+    /**
+     * Returns the spawn points scaled to an arena.
+     *
+     * @param width  Width of the arena.
+     * @param height Height of the arena.
+     * @return The points as x and y.
+     */
+    public float[] spawns(double width, double height) {
+        return scaled(spawns, width / arenaWidth, height / arenaHeight);
+    }
+
+    private static float[] scaled(float[] coordinates, double scaleX, double scaleY) {
+        if (scaleX == 1 && scaleY == 1) {
+            return coordinates.clone();
+        }
+        float[] result = new float[coordinates.length];
+        for (int i = 0; i < coordinates.length; i++) {
+            result[i] = (float) (coordinates[i] * (i % 2 == 0 ? scaleX : scaleY));
+        }
+        return result;
+    }
+
+    /**
+     * Serializes this arena.
+     *
+     * @return The content of the compiled file.
+     */
+    public ByteBuffer toBuffer() {
+        byte[] image = tilesetImage.getBytes(StandardCharsets.UTF_8);
+        long[] mask = terrain.copyMask();
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 2 + 8 + tiles.length * 2 + 2 + image.length + 4
+                + 8 + mask.length * 8 + 8 + 4 + water.length * 4 + 4 + spawns.length * 4);
+        buffer.putInt(MAGIC).putShort(VERSION);
+        buffer.putShort((short) columns).putShort((short) rows).putShort((short) tileWidth).putShort((short) tileHeight);
+        buffer.asShortBuffer().put(tiles);
+        buffer.position(buffer.position() + tiles.length * 2);
+        buffer.putShort((short) image.length).put(image);
+        buffer.putShort((short) firstGid).putShort((short) tilesetColumns);
+        buffer.putInt(terrain.getWidth()).putInt(terrain.getHeight());
+        buffer.asLongBuffer().put(mask);
+        buffer.position(buffer.position() + mask.length * 8);
+        buffer.putFloat(arenaWidth).putFloat(arenaHeight);
+        buffer.putInt(water.length / 4);
+        for (float value : water) {
+            buffer.putFloat(value);
+        }
+        buffer.putInt(spawns.length / 2);
+        for (float value : spawns) {
+            buffer.putFloat(value);
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Writes this arena to a file.
+     *
+     * @param file The compiled file to create or replace.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = toBuffer();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads an arena from the content of a compiled file.
+     *
+     * @param buffer The content, from its current position.
+     * @return The arena.
+     * @throws IOException If the content is not a compiled arena of a supported version.
+     */
+    public static CompiledArena read(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a compiled arena");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported compiled arena version " + version);
+            }
+            int columns = buffer.getShort();
+            int rows = buffer.getShort();
+            int tileWidth = buffer.getShort();
+            int tileHeight = buffer.getShort();
+            short[] tiles = new short[columns * rows];
+            buffer.asShortBuffer().get(tiles);
+            buffer.position(buffer.position() + tiles.length * 2);
+            byte[] image = new byte[buffer.getShort()];
+            buffer.get(image);
+            int firstGid = buffer.getShort();
+            int tilesetColumns = buffer.getShort();
+            int maskWidth = buffer.getInt();
+            int maskHeight = buffer.getInt();
+            long[] mask = new long[maskHeight * ((maskWidth + 63) >>> 6)];
+            buffer.asLongBuffer().get(mask);
+            buffer.position(buffer.position() + mask.length * 8);
+            float arenaWidth = buffer.getFloat();
+            float arenaHeight = buffer.getFloat();
+            float[] water = new float[buffer.getInt() * 4];
+            for (int i = 0; i < water.length; i++) {
+                water[i] = buffer.getFloat();
+            }
+            float[] spawns = new float[buffer.getInt() * 2];
+            for (int i = 0; i < spawns.length; i++) {
+                spawns[i] = buffer.getFloat();
+            }
+            return new CompiledArena(columns, rows, tileWidth, tileHeight, tiles,
+                    new String(image, StandardCharsets.UTF_8), firstGid, tilesetColumns,
+                    TerrainMap.fromMask(maskWidth, maskHeight, mask), arenaWidth, arenaHeight, water, spawns);
+        } catch (RuntimeException e) {
+            // BufferUnderflowException, NegativeArraySizeException... d'un fichier tronqué ou corrompu
+            throw new IOException("Corrupted compiled arena", e);
+        }
+    }
+
+    /**
+     * Loads a compiled arena. A file on disk is memory-mapped; a file inside a jar is read in one go.
+     *
+     * @param resource Location of the compiled file.
+     * @return The arena.
+     * @throws IOException If the file cannot be read or is not a compiled arena.
+     */
+    public static CompiledArena load(URL resource) throws IOException {
+        if ("file".equals(resource.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(resource.toURI()), StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return read(mapped);
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid location " + resource, e);
+            }
+        }
+        try (InputStream input = resource.openStream()) {
+            return read(ByteBuffer.wrap(input.readAllBytes()));
+        }
+    }
+
+    /**
+     * Loads the compiled arena.tmx from the classpath.
+     *
+     * @return The arena, or null if the map was not compiled.
+     * @throws IOException If the file cannot be read or is not a compiled arena.
+     */
+    public static CompiledArena loadArena() throws IOException {
+        URL resource = CompiledArena.class.getResource(ARENA);
+        return resource != null ? load(resource) : null;
+    }
+
+    /**
+     * Returns whether a compiled file holds this arena, byte for byte.
+     *
+     * @param file The compiled file.
+     * @return True if the file is up to date.
+     * @throws IOException If the file cannot be read.
+     */
+    public boolean matches(Path file) throws IOException {
+        return Files.exists(file) && ByteBuffer.wrap(Files.readAllBytes(file)).equals(toBuffer());
+    }
+}
@@ -0,0 +1,111 @@
+package com.arena.dual_arena.netcode;
+
+import com.arena.dual_arena.utils.SplitRandom;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Link that degrades the packets sent through another link, to try the netcode against a bad connection on a
+ * single machine: each packet is dropped with a given probability, otherwise held back for the latency plus
+ * a uniform jitter. Jitter reorders packets like a real network does.
+ * <p>
+ * Held packets are only handed to the wrapped link when the link is used, so {@link #send(byte[], int)} or
+ * {@link #receive(byte[])} must be called regularly, which a session does every frame.
+ */
+public class ConditionedLink implements PacketLink {
+    private final PacketLink link;
+    private final LongSupplier clock;
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double loss;
+    private final SplitRandom random;
+    private final PriorityQueue<Held> held = new PriorityQueue<>();
+    private long sequence = 0;
+    private long sent = 0;
+    private long dropped = 0;
+
+    /**
+     * Wraps a link.
+     *
+     * @param link         The link carrying the packets.
+     * @param clock        Source of the time in nanoseconds, {@code System::nanoTime} outside of tests.
+     * @param latencyNanos One-way delay added to every packet.
+     * @param jitterNanos  Largest random variation of the delay, either way.
+     * @param loss         Probability of dropping a packet, from 0 to 1.
+     * @param seed         Seed of the drops and the jitter.
+     */
+    public ConditionedLink(PacketLink link, LongSupplier clock, long latencyNanos, long jitterNanos, double loss, long seed) {
+        if (latencyNanos < 0 || jitterNanos < 0 || loss < 0 || loss > 1) {
+            throw new IllegalArgumentException("Invalid link conditions");
+        }
+        this.link = link;
+        this.clock = clock;
+        this.latencyNanos = latencyNanos;
+        this.jitterNanos = jitterNanos;
+        this.loss = loss;
+        this.random = new SplitRandom(seed);
+    }
+
+    @Override
+    public void send(byte[] data, int length) {
+        sent++;
+        if (random.nextDouble() < loss) {
+            dropped++;
+        } else {
+            long jitter = jitterNanos == 0 ? 0 : random.nextLong(-jitterNanos, jitterNanos + 1);
+            long delay = Math.max(0, latencyNanos + jitter);
+            held.add(new Held(clock.getAsLong() + delay, sequence++, Arrays.copyOf(data, length)));
+        }
+        flush();
+    }
+
+    @Override
+    public int receive(byte[] buffer) {
+        flush();
+        return link.receive(buffer);
+    }
+
+    /**
+     * Sends the held packets whose delay is over.
+     */
+    private void flush() {
+        long now = clock.getAsLong();
+        while (!held.isEmpty() && held.peek().dueNanos <= now) {
+            byte[] data = held.poll().data;
+            link.send(data, data.length);
+        }
+    }
+
+    @Override
+    public void close() {
+        link.close();
+    }
+
+    /**
+     * Returns the number of packets given to this link.
+     *
+     * @return The packet count, dropped ones included.
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    /**
+     * Returns the number of packets dropped on purpose.
+     *
+     * @return The dropped packet count.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    private record Held(long dueNanos, long sequence, byte[] data) implements Comparable<Held> {
+        @Override
+        public int compareTo(Held other) {
+            int byTime = Long.compare(dueNanos, other.dueNanos);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
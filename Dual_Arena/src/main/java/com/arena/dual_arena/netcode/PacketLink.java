@@ -0,0 +1,32 @@
+package com.arena.dual_arena.netcode;
+
+import java.io.Closeable;
+
+/**
+ * Unreliable, unordered datagram link to the other peer of an online match. Packets may be lost, duplicated or
+ * delivered out of order; {@link RollbackSession} copes with all three.
+ */
+public interface PacketLink extends Closeable {
+    /** Largest packet sent by a session, well under the usual MTU. */
+    int MAX_PACKET_BYTES = 512;
+
+    /**
+     * Sends a packet. It is copied before the call returns, so the array can be reused.
+     *
+     * @param data   The array holding the packet.
+     * @param length Number of bytes to send from the start of the array.
+     */
+    void send(byte[] data, int length);
+
+    /**
+     * Reads the next packet received, without waiting.
+     *
+     * @param buffer The array to copy the packet into, at least {@value #MAX_PACKET_BYTES} bytes long.
+     * @return The length of the packet, -1 if no packet is waiting.
+     */
+    int receive(byte[] buffer);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,160 @@
+package com.arena.dual_arena.netcode;
+
+import com.arena.dual_arena.simulation.BotInput;
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import com.arena.dual_arena.utils.LatencyHistogram;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Command line entry point playing an online bot match between two peers over UDP on the loopback interface,
+ * each in its own thread with its own {@link RollbackSession}, to try the netcode on a single machine.
+ * Usage: {@code RollbackMatch [--delay frames] [--window frames] [--latency ms] [--jitter ms] [--loss fraction]
+ * [--seconds s] [--seed n] [--port p]}.
+ * Latency, jitter and loss are added by a {@link ConditionedLink} to the packets sent by each peer, so the
+ * latency is one-way. The peers listen on {@code port} and {@code port + 1}.
+ * Prints how often each peer rolled back and what simulating the frames again cost, then checks that both peers
+ * ended the match in the same state.
+ */
+public class RollbackMatch {
+    private static final long SYNC_TIMEOUT_NANOS = 10_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int delay = 2;
+        int window = 8;
+        long latencyMillis = 40;
+        long jitterMillis = 10;
+        double loss = 0.05;
+        int seconds = 20;
+        long seed = 1;
+        int port = 7000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--delay" -> delay = Integer.parseInt(args[++i]);
+                case "--window" -> window = Integer.parseInt(args[++i]);
+                case "--latency" -> latencyMillis = Long.parseLong(args[++i]);
+                case "--jitter" -> jitterMillis = Long.parseLong(args[++i]);
+                case "--loss" -> loss = Double.parseDouble(args[++i]);
+                case "--seconds" -> seconds = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        SimulationConfig config = SimulationConfig.withSeed(seed);
+        long frames = (long) seconds * config.tickRate();
+        System.out.printf("%d frames à %d ticks/s, délai %d, fenêtre %d, latence %d ± %d ms, perte %.0f %%%n",
+                frames, config.tickRate(), delay, window, latencyMillis, jitterMillis, loss * 100);
+
+        AtomicInteger synchronizedPeers = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Peer[] peers = new Peer[2];
+        try {
+            List<Future<Peer>> futures = new ArrayList<>(2);
+            for (int player = 0; player < 2; player++) {
+                Peer peer = new Peer(config, player, delay, window, port, latencyMillis * 1_000_000, jitterMillis * 1_000_000,
+                        loss, seed * 31 + player);
+                futures.add(executor.submit(() -> peer.play(frames, synchronizedPeers)));
+            }
+            for (int player = 0; player < 2; player++) {
+                peers[player] = futures.get(player).get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Peer peer : peers) {
+            peer.printStats();
+        }
+        long hash0 = peers[0].session.getWorld().stateHash();
+        long hash1 = peers[1].session.getWorld().stateHash();
+        if (hash0 == hash1 && peers[0].session.isSynchronized() && peers[1].session.isSynchronized()) {
+            System.out.printf("États identiques après %d frames : %016x%n", frames, hash0);
+        } else {
+            System.out.printf("Désynchronisation : %016x contre %016x%n", hash0, hash1);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * One side of the match: a bot, a session and its link.
+     */
+    private static final class Peer {
+        private final int player;
+        private final ConditionedLink link;
+        private final RollbackSession session;
+        private final BotInput bot;
+        private final long tickNanos;
+
+        private Peer(SimulationConfig config, int player, int delay, int window, int port,
+                     long latencyNanos, long jitterNanos, double loss, long seed) throws Exception {
+            InetAddress loopback = InetAddress.getLoopbackAddress();
+            UdpLink udp = new UdpLink(new InetSocketAddress(loopback, port + player), new InetSocketAddress(loopback, port + 1 - player));
+            this.player = player;
+            this.link = new ConditionedLink(udp, System::nanoTime, latencyNanos, jitterNanos, loss, seed);
+            this.session = new RollbackSession(config, player, delay, window, link);
+            this.bot = new BotInput(seed);
+            this.tickNanos = 1_000_000_000L / config.tickRate();
+        }
+
+        /**
+         * Plays the frames at the tick rate, then keeps exchanging packets until both peers are synchronized.
+         */
+        private Peer play(long frames, AtomicInteger synchronizedPeers) {
+            try (link) {
+                PlayerInput input = new PlayerInput();
+                long next = System.nanoTime();
+                while (session.getFrame() < frames) {
+                    bot.poll(session.getWorld(), player, input);
+                    session.advance(input);
+                    next += tickNanos;
+                    waitUntil(next);
+                }
+
+                boolean synced = false;
+                long deadline = System.nanoTime() + SYNC_TIMEOUT_NANOS;
+                // On continue d'envoyer tant que l'autre pair attend encore nos dernières entrées ou notre acquittement
+                while (synchronizedPeers.get() < 2 && System.nanoTime() < deadline) {
+                    session.idle();
+                    if (!synced && session.isSynchronized()) {
+                        synced = true;
+                        synchronizedPeers.incrementAndGet();
+                    }
+                    next += tickNanos;
+                    waitUntil(next);
+                }
+            }
+            return this;
+        }
+
+        private static void waitUntil(long nanoTime) {
+            long wait = nanoTime - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+
+        private void printStats() {
+            long frames = session.getFrame();
+            long rollbacks = session.getRollbacks();
+            LatencyHistogram resimulation = session.getResimulationHistogram();
+            System.out.printf("Joueur %d : %d rollbacks sur %d frames (%.1f %%), profondeur moyenne %.1f, max %d, %d frames bloquées%n",
+                    player + 1, rollbacks, frames, 100.0 * rollbacks / frames,
+                    rollbacks == 0 ? 0 : (double) session.getResimulatedFrames() / rollbacks,
+                    session.getMaxRollbackDepth(), session.getStalls());
+            System.out.printf("  re-simulation par frame : moyenne %.3f ms, p99 %.3f ms, max %.3f ms ; %.1f µs par tick re-simulé%n",
+                    resimulation.getMeanMillis(), resimulation.percentileMillis(0.99), resimulation.getMaxMillis(),
+                    session.getResimulatedFrames() == 0 ? 0 : session.getResimulationNanos() / 1e3 / session.getResimulatedFrames());
+            System.out.printf("  paquets : %d envoyés, %d perdus%n", link.getSent(), link.getDropped());
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.arena.dual_arena.netcode;
+
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimPlayer;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import com.arena.dual_arena.utils.LatencyHistogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.arena.dual_arena.netcode.PacketLink.MAX_PACKET_BYTES;
+
+/**
+ * One side of a peer-to-peer online match with rollback. Each peer simulates the whole match locally and only
+ * the inputs cross the network. The local input is applied {@code inputDelay} frames after it was read, which
+ * gives it that long to reach the peer. When the remote input of a frame has not arrived yet, the session predicts
+ * that the remote player keeps doing what they did last and simulates on. Once the real input arrives and differs
+ * from the prediction, the world is restored from the snapshot of that frame and the frames since are simulated
+ * again with the right input, all before the next frame is shown.
+ * <p>
+ * The session never predicts more than {@code rollbackWindow} frames: past that, {@link #advance(PlayerInput)}
+ * stalls until the remote input catches up. A window of 0 plays in lockstep, with the input delay only.
+ * <p>
+ * Packets carry the frame the sender expects next from the receiver, acknowledging what it got, then every local
+ * input the receiver has not acknowledged yet. A lost packet is thus covered by the next one, without timers.
+ * Layout, big-endian: acknowledged frame (int), first frame (int), input count (byte), then the inputs as written
+ * by {@link PlayerInput#write(byte[], int)}.
+ * <p>
+ * A {@link SimWorld.Listener} set with {@link #setListener(SimWorld.Listener)} hears the frames simulated for the
+ * first time only. Frames simulated again after a rollback only report deaths, their shots and impacts having
+ * already been shown.
+ */
+public class RollbackSession {
+    public static final int MAX_INPUT_DELAY = 15;
+    public static final int MAX_ROLLBACK_WINDOW = 30;
+    private static final int HEADER_BYTES = 9;
+    private static final int INPUT_BYTES = PlayerInput.BYTES;
+    private static final int SNAPSHOT_BYTES = 8192;
+
+    private final SimWorld world;
+    private final int localPlayer;
+    private final int rollbackWindow;
+    private final PacketLink link;
+    /** Number of frames kept in the rings, enough for every input not acknowledged yet. */
+    private final int capacity;
+    private final byte[] localInputs;
+    private final byte[] remoteInputs;
+    /** Remote input each simulated frame was played with, received or predicted. */
+    private final byte[] playedInputs;
+    private final ByteBuffer[] snapshots;
+    private final PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+    private final byte[] packet = new byte[MAX_PACKET_BYTES];
+    private final ByteBuffer packetBuffer = ByteBuffer.wrap(packet);
+    private SimWorld.Listener listener;
+    /** Listener of the frames simulated again, forwarding the deaths only. */
+    private final SimWorld.Listener resimulationListener = new SimWorld.Listener() {
+        @Override
+        public void onPlayerDied(SimPlayer player) {
+            if (listener != null) {
+                listener.onPlayerDied(player);
+            }
+        }
+    };
+
+    /** Next frame to simulate. */
+    private long frame = 0;
+    /** Local inputs are known for the frames before this one. */
+    private long localEnd;
+    /** Remote inputs are known for the frames before this one. */
+    private long remoteEnd;
+    /** The peer has the local inputs of the frames before this one. */
+    private long remoteAck;
+    /** First simulated frame played with a wrong prediction, -1 if none. */
+    private long mispredicted = -1;
+
+    private long rollbacks = 0;
+    private long resimulatedFrames = 0;
+    private long maxRollbackDepth = 0;
+    private long stalls = 0;
+    private long pendingResimulationNanos = 0;
+    private long resimulationNanos = 0;
+    private final LatencyHistogram resimulation = new LatencyHistogram(5_000, 4000);
+
+    /**
+     * Starts a session at the first frame of a match.
+     *
+     * @param config         Settings of the match, identical on both peers.
+     * @param localPlayer    Index of the player controlled on this peer, 0 or 1.
+     * @param inputDelay     Frames between reading a local input and applying it.
+     * @param rollbackWindow Largest number of frames simulated ahead of the remote input.
+     * @param link           Link to the other peer.
+     */
+    public RollbackSession(SimulationConfig config, int localPlayer, int inputDelay, int rollbackWindow, PacketLink link) {
+        if (localPlayer != 0 && localPlayer != 1) {
+            throw new IllegalArgumentException("Invalid player: " + localPlayer);
+        }
+        if (inputDelay < 0 || inputDelay > MAX_INPUT_DELAY || rollbackWindow < 0 || rollbackWindow > MAX_ROLLBACK_WINDOW) {
+            throw new IllegalArgumentException("Input delay must be within [0, " + MAX_INPUT_DELAY
+                    + "] and rollback window within [0, " + MAX_ROLLBACK_WINDOW + "]");
+        }
+        if (inputDelay + rollbackWindow == 0) {
+            throw new IllegalArgumentException("Without input delay, the rollback window cannot be 0");
+        }
+        this.world = new SimWorld(config);
+        this.localPlayer = localPlayer;
+        this.rollbackWindow = rollbackWindow;
+        this.link = link;
+        // Aucun pair ne peut avoir plus de 2 * (fenêtre + délai) entrées d'avance sur ce que l'autre a acquitté
+        this.capacity = 2 * (rollbackWindow + inputDelay) + 8;
+        this.localInputs = new byte[capacity * INPUT_BYTES];
+        this.remoteInputs = new byte[capacity * INPUT_BYTES];
+        this.playedInputs = new byte[capacity * INPUT_BYTES];
+        this.snapshots = new ByteBuffer[capacity];
+        for (int i = 0; i < capacity; i++) {
+            snapshots[i] = ByteBuffer.allocate(SNAPSHOT_BYTES);
+        }
+        // Les premières frames du délai se jouent sans entrée des deux côtés
+        this.localEnd = inputDelay;
+        this.remoteEnd = inputDelay;
+        this.remoteAck = inputDelay;
+    }
+
+    /**
+     * Plays one frame: exchanges inputs with the peer, rolls back if a prediction was wrong, then simulates the
+     * next frame. When the session is already {@code rollbackWindow} frames ahead of the remote input, it stalls
+     * instead and the local input is dropped.
+     *
+     * @param localInput Input of the local player, read this frame. It is not modified.
+     * @return True if a frame was simulated, false if the session stalled.
+     */
+    public boolean advance(PlayerInput localInput) {
+        receive();
+        rollback();
+        if (frame >= remoteEnd + rollbackWindow) {
+            stalls++;
+            sendInputs();
+            return false;
+        }
+        localInput.write(localInputs, slot(localEnd) * INPUT_BYTES);
+        localEnd++;
+        sendInputs();
+
+        simulate(frame);
+        frame++;
+        resimulation.record(pendingResimulationNanos);
+        pendingResimulationNanos = 0;
+        return true;
+    }
+
+    /**
+     * Exchanges inputs with the peer and fixes the simulated frames, without simulating a new one.
+     * Used at the end of a match, to wait for the last remote inputs.
+     */
+    public void idle() {
+        receive();
+        rollback();
+        sendInputs();
+    }
+
+    private int slot(long frame) {
+        return (int) (frame % capacity);
+    }
+
+    /**
+     * Saves the world, then simulates a frame with the local input and the best known remote input.
+     */
+    private void simulate(long frame) {
+        ByteBuffer snapshot = snapshots[slot(frame)];
+        snapshot.clear();
+        world.saveSnapshot(snapshot);
+
+        int played = slot(frame) * INPUT_BYTES;
+        if (frame < remoteEnd) {
+            System.arraycopy(remoteInputs, played, playedInputs, played, INPUT_BYTES);
+        } else if (remoteEnd > 0) {
+            // Prédiction : le joueur distant garde sa dernière entrée connue
+            System.arraycopy(remoteInputs, slot(remoteEnd - 1) * INPUT_BYTES, playedInputs, played, INPUT_BYTES);
+        } else {
+            Arrays.fill(playedInputs, played, played + INPUT_BYTES, (byte) 0);
+        }
+        inputs[localPlayer].read(localInputs, played);
+        inputs[1 - localPlayer].read(playedInputs, played);
+        world.step(inputs);
+    }
+
+    /**
+     * Restores the world before the first wrong prediction and simulates the frames since again.
+     */
+    private void rollback() {
+        if (mispredicted < 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        world.setListener(resimulationListener);
+        world.restoreSnapshot(snapshots[slot(mispredicted)].flip());
+        for (long replayed = mispredicted; replayed < frame; replayed++) {
+            simulate(replayed);
+        }
+        world.setListener(listener);
+        long depth = frame - mispredicted;
+        mispredicted = -1;
+
+        long nanos = System.nanoTime() - start;
+        pendingResimulationNanos += nanos;
+        resimulationNanos += nanos;
+        rollbacks++;
+        resimulatedFrames += depth;
+        maxRollbackDepth = Math.max(maxRollbackDepth, depth);
+    }
+
+    private void receive() {
+        int length;
+        while ((length = link.receive(packet)) >= 0) {
+            if (length < HEADER_BYTES) {
+                continue;
+            }
+            long ack = packetBuffer.getInt(0);
+            long first = packetBuffer.getInt(4);
+            int count = packet[8] & 0xFF;
+            if (length != HEADER_BYTES + count * INPUT_BYTES || first < 0) {
+                continue;
+            }
+            remoteAck = Math.max(remoteAck, Math.min(ack, localEnd));
+
+            for (int i = 0; i < count; i++) {
+                long remoteFrame = first + i;
+                if (remoteFrame < remoteEnd) {
+                    continue;
+                }
+                // Un trou dans les entrées : le paquet suivant les renverra depuis le dernier acquittement
+                if (remoteFrame > remoteEnd || remoteFrame >= frame - rollbackWindow + capacity - 1) {
+                    break;
+                }
+                int offset = slot(remoteFrame) * INPUT_BYTES;
+                System.arraycopy(packet, HEADER_BYTES + i * INPUT_BYTES, remoteInputs, offset, INPUT_BYTES);
+                if (remoteFrame < frame && mispredicted < 0
+                        && !Arrays.equals(remoteInputs, offset, offset + INPUT_BYTES, playedInputs, offset, offset + INPUT_BYTES)) {
+                    mispredicted = remoteFrame;
+                }
+                remoteEnd++;
+            }
+        }
+    }
+
+    private void sendInputs() {
+        int count = (int) (localEnd - remoteAck);
+        if (count > capacity) {
+            throw new IllegalStateException(count + " inputs not acknowledged by the peer");
+        }
+        packetBuffer.putInt(0, (int) remoteEnd);
+        packetBuffer.putInt(4, (int) remoteAck);
+        packet[8] = (byte) count;
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(localInputs, slot(remoteAck + i) * INPUT_BYTES, packet, HEADER_BYTES + i * INPUT_BYTES, INPUT_BYTES);
+        }
+        link.send(packet, HEADER_BYTES + count * INPUT_BYTES);
+    }
+
+    /**
+     * Returns whether both peers have every input of the frames simulated so far, which then will never be
+     * simulated again: both worlds are in the same state.
+     *
+     * @return True if the simulated frames are final on both peers.
+     */
+    public boolean isSynchronized() {
+        return remoteEnd >= frame && remoteAck >= frame && mispredicted < 0;
+    }
+
+    /**
+     * Sets the listener notified of the frames simulated from now on.
+     *
+     * @param listener The listener, or null to remove it.
+     */
+    public void setListener(SimWorld.Listener listener) {
+        this.listener = listener;
+        world.setListener(listener);
+    }
+
+    /**
+     * Returns the world simulated by this peer, including the predicted frames.
+     *
+     * @return The world.
+     */
+    public SimWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Returns the number of frames simulated.
+     *
+     * @return The frame count.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * Returns the first frame not confirmed yet. Frames before it were simulated with the real remote input.
+     *
+     * @return The confirmed frame count.
+     */
+    public long getConfirmedFrame() {
+        return Math.min(remoteEnd, frame);
+    }
+
+    public int getLocalPlayer() {
+        return localPlayer;
+    }
+
+    public long getRollbacks() {
+        return rollbacks;
+    }
+
+    public long getResimulatedFrames() {
+        return resimulatedFrames;
+    }
+
+    public long getMaxRollbackDepth() {
+        return maxRollbackDepth;
+    }
+
+    /**
+     * Returns the number of calls to {@link #advance(PlayerInput)} that stalled on the remote input.
+     *
+     * @return The stall count.
+     */
+    public long getStalls() {
+        return stalls;
+    }
+
+    /**
+     * Returns the total time spent simulating frames again.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getResimulationNanos() {
+        return resimulationNanos;
+    }
+
+    /**
+     * Returns the time spent simulating frames again before each simulated frame, 0 for the frames without rollback.
+     *
+     * @return The histogram of the re-simulation cost per frame.
+     */
+    public LatencyHistogram getResimulationHistogram() {
+        return resimulation;
+    }
+}
@@ -0,0 +1,77 @@
+package com.arena.dual_arena.netcode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Link over a non-blocking UDP socket. Packets coming from another address than the peer are ignored.
+ */
+public class UdpLink implements PacketLink {
+    private final DatagramChannel channel;
+    private final SocketAddress peer;
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(MAX_PACKET_BYTES);
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(MAX_PACKET_BYTES);
+
+    /**
+     * Binds a socket and points it at the peer.
+     *
+     * @param localAddress Address to listen on, e.g. {@code 127.0.0.1:7000}.
+     * @param peer         Address of the other peer.
+     * @throws IOException If the socket cannot be bound.
+     */
+    public UdpLink(InetSocketAddress localAddress, InetSocketAddress peer) throws IOException {
+        this.channel = DatagramChannel.open();
+        this.peer = peer;
+        try {
+            channel.bind(localAddress);
+            channel.configureBlocking(false);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void send(byte[] data, int length) {
+        sendBuffer.clear();
+        sendBuffer.put(data, 0, length).flip();
+        try {
+            channel.send(sendBuffer, peer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int receive(byte[] buffer) {
+        try {
+            while (true) {
+                receiveBuffer.clear();
+                SocketAddress source = channel.receive(receiveBuffer);
+                if (source == null) {
+                    return -1;
+                }
+                if (source.equals(peer)) {
+                    int length = receiveBuffer.flip().remaining();
+                    receiveBuffer.get(buffer, 0, length);
+                    return length;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.arena.dual_arena.server;
+
+import com.arena.dual_arena.simulation.PlayerInput;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for the {@link MatchServer}: plays many scripted clients from a single socket, two per match,
+ * and measures the tick rate the server reaches in each match from the states it sends back. The scripted input
+ * changes every few ticks and is sent when it changes, plus every few ticks in case a packet was lost. A client
+ * whose match ended joins a new one, so the load stays constant.
+ * <p>
+ * Usage: {@code LoadClient [--host h] [--port p] [--matches n] [--ramp step] [--interval s] [--seconds s]}.
+ * Without {@code --ramp}, plays {@code matches} matches for {@code seconds} and prints the tick rate every
+ * interval. With {@code --ramp}, starts with {@code step} matches and adds {@code step} more every interval, until
+ * the mean tick rate falls under 95 % of the target, clients are left without a match or {@code matches} is
+ * reached, and prints the capacity found. The clients use a core of their own: for a meaningful capacity, run
+ * them on other cores or another machine than the server.
+ */
+public class LoadClient implements Closeable {
+    private static final long JOIN_RETRY_NANOS = 500_000_000L;
+    /** A match sending no state for this long is taken as over, its last state having been lost. */
+    private static final long SILENT_MATCH_NANOS = 2_000_000_000L;
+    private static final int RECEIVE_BUFFER_BYTES = 4 << 20;
+    private static final int INPUT_REFRESH_TICKS = 10;
+    private static final double HEALTHY_RATE = 0.95;
+
+    private final DatagramChannel channel;
+    private final InetSocketAddress server;
+    private final List<Client> clients = new ArrayList<>();
+    private final Map<Integer, Client> joining = new ConcurrentHashMap<>();
+    private final Map<Integer, MatchView> views = new ConcurrentHashMap<>();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final ByteBuffer packet = ByteBuffer.allocate(ServerProtocol.INPUT_BYTES);
+    private final byte[] inputBytes = new byte[PlayerInput.BYTES];
+    private final PlayerInput input = new PlayerInput();
+    private volatile int tickRate = 60;
+    private volatile int serverCores = 0;
+    private int nextNonce = 1;
+
+    /**
+     * A scripted player.
+     */
+    private static final class Client {
+        private final int script;
+        private volatile int nonce;
+        private volatile boolean welcomed = false;
+        private long joinSentNanos = 0;
+        private int matchId;
+        private int player;
+        private int token;
+        private long frame = 0;
+        private long lastSent = Long.MIN_VALUE;
+
+        private Client(int script) {
+            this.script = script;
+        }
+    }
+
+    /**
+     * What the clients saw of a match: its last tick, to measure the tick rate.
+     */
+    private static final class MatchView {
+        private volatile int tick;
+        private volatile boolean finished;
+        private volatile long lastStateNanos = System.nanoTime();
+        private int periodStartTick = -1;
+    }
+
+    /**
+     * Opens the socket of the clients.
+     *
+     * @param server Address of the server.
+     * @throws IOException If the socket cannot be opened.
+     */
+    public LoadClient(InetSocketAddress server) throws IOException {
+        this.server = server;
+        this.channel = DatagramChannel.open();
+        channel.setOption(StandardSocketOptions.SO_RCVBUF, RECEIVE_BUFFER_BYTES);
+        channel.bind(new InetSocketAddress(0));
+        Thread.ofPlatform().daemon().name("load-client").start(this::receive);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = "127.0.0.1";
+        int port = MatchServer.DEFAULT_PORT;
+        int matches = 100;
+        int ramp = 0;
+        int interval = 5;
+        int seconds = 30;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--host" -> host = args[++i];
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--matches" -> matches = Integer.parseInt(args[++i]);
+                case "--ramp" -> ramp = Integer.parseInt(args[++i]);
+                case "--interval" -> interval = Integer.parseInt(args[++i]);
+                case "--seconds" -> seconds = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        try (LoadClient load = new LoadClient(new InetSocketAddress(host, port))) {
+            if (ramp <= 0) {
+                load.addMatches(matches);
+                for (int elapsed = 0; elapsed < seconds; elapsed += interval) {
+                    load.play(interval);
+                }
+                return;
+            }
+            int healthy = 0;
+            boolean saturated = false;
+            for (int target = ramp; target <= matches; target += ramp) {
+                load.addMatches(ramp);
+                load.play(interval);
+                // Le premier intervalle après un ajout sert d'échauffement aux nouveaux matchs
+                double rate = load.play(interval);
+                // Des clients encore sans match après deux intervalles : le serveur ne suit plus les demandes
+                if (rate < HEALTHY_RATE * load.tickRate || load.getRejected() > 0 || load.joining.size() > 1) {
+                    saturated = true;
+                    break;
+                }
+                healthy = target;
+            }
+            System.out.printf("Capacité : %s%d matchs à %d ticks/s, %.1f matchs par cœur du serveur%n",
+                    saturated ? "" : "au moins ", healthy, load.tickRate, load.serverCores == 0 ? 0 : (double) healthy / load.serverCores);
+        }
+    }
+
+    /**
+     * Adds the clients of more matches. They join the server during the next {@link #play(double)}.
+     *
+     * @param matches Number of matches to add.
+     */
+    public void addMatches(int matches) {
+        for (int i = 0; i < matches * 2; i++) {
+            Client client = new Client(clients.size());
+            rejoin(client);
+            clients.add(client);
+        }
+    }
+
+    private void rejoin(Client client) {
+        client.welcomed = false;
+        client.nonce = nextNonce++;
+        client.joinSentNanos = 0;
+        joining.put(client.nonce, client);
+    }
+
+    /**
+     * Plays the scripted clients for a while, then prints the tick rate the server reached in their matches.
+     *
+     * @param seconds Duration to play.
+     * @return The mean tick rate of the matches, in ticks per second.
+     */
+    public double play(double seconds) throws IOException {
+        for (MatchView view : views.values()) {
+            view.periodStartTick = view.tick;
+        }
+        long tickNanos = 1_000_000_000L / tickRate;
+        long start = System.nanoTime();
+        long end = start + (long) (seconds * 1e9);
+        long next = start;
+        while (next < end) {
+            long now = System.nanoTime();
+            for (Client client : clients) {
+                step(client, now);
+            }
+            next += tickNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        double total = 0;
+        double worst = Double.MAX_VALUE;
+        int measured = 0;
+        for (MatchView view : views.values()) {
+            if (view.periodStartTick >= 0 && !view.finished) {
+                double rate = (view.tick - view.periodStartTick) / elapsed;
+                total += rate;
+                worst = Math.min(worst, rate);
+                measured++;
+            }
+        }
+        double mean = measured == 0 ? 0 : total / measured;
+        System.out.printf("%d matchs mesurés : %.1f ticks/s en moyenne, %.1f au pire (cible %d), %d clients en attente, %d refusés%n",
+                measured, mean, measured == 0 ? 0 : worst, tickRate, joining.size(), rejected.get());
+        return mean;
+    }
+
+    private void step(Client client, long now) throws IOException {
+        if (!client.welcomed) {
+            if (now - client.joinSentNanos > JOIN_RETRY_NANOS) {
+                client.joinSentNanos = now;
+                packet.clear();
+                packet.put(ServerProtocol.JOIN).putInt(client.nonce).flip();
+                channel.send(packet, server);
+            }
+            return;
+        }
+        MatchView view = views.get(client.matchId);
+        if (view == null || view.finished || now - view.lastStateNanos > SILENT_MATCH_NANOS) {
+            // Le premier des deux joueurs à voir la fin retire le match
+            views.remove(client.matchId);
+            rejoin(client);
+            return;
+        }
+        // Même script que les tests du rollback : l'entrée change toutes les 7 à 11 frames
+        long phase = client.frame / (7 + client.script % 5);
+        client.frame++;
+        if (phase == client.lastSent && client.frame % INPUT_REFRESH_TICKS != 0) {
+            return;
+        }
+        client.lastSent = phase;
+        input.setMove((phase % 3) - 1, ((phase / 3) % 3) - 1);
+        input.setAim(client.player == 0 ? 1 : -1, (phase % 5) / 4f);
+        input.setButtons(phase % 2 == 0, phase % 11 == 0, false);
+        input.write(inputBytes, 0);
+        packet.clear();
+        packet.put(ServerProtocol.INPUT).putInt(client.matchId).put((byte) client.player).putInt(client.token)
+                .put(inputBytes).flip();
+        channel.send(packet, server);
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocate(ServerProtocol.MAX_PACKET_BYTES);
+        while (true) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                continue;
+            }
+            buffer.flip();
+            if (!buffer.hasRemaining()) {
+                continue;
+            }
+            switch (buffer.get(0)) {
+                case ServerProtocol.WELCOME -> {
+                    Client client = buffer.remaining() == ServerProtocol.WELCOME_BYTES ? joining.remove(buffer.getInt(1)) : null;
+                    if (client != null) {
+                        client.matchId = buffer.getInt(5);
+                        client.player = buffer.get(9);
+                        client.token = buffer.getInt(10);
+                        tickRate = buffer.getInt(22);
+                        serverCores = buffer.getInt(26);
+                        views.putIfAbsent(client.matchId, new MatchView());
+                        client.frame = 0;
+                        client.lastSent = Long.MIN_VALUE;
+                        client.welcomed = true;
+                    }
+                }
+                case ServerProtocol.FULL -> {
+                    if (joining.containsKey(buffer.getInt(1))) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                case ServerProtocol.STATE -> {
+                    MatchView view = views.get(buffer.getInt(1));
+                    if (view != null) {
+                        view.tick = Math.max(view.tick, buffer.getInt(5));
+                        view.finished |= buffer.get(9) != 0;
+                        view.lastStateNanos = System.nanoTime();
+                    }
+                }
+                default -> {
+                    // Paquet inconnu, ignoré
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of requests to join turned away because the server was full.
+     *
+     * @return The refusal count.
+     */
+    public int getRejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,279 @@
+package com.arena.dual_arena.server;
+
+import com.arena.dual_arena.simulation.SimulationConfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authoritative server hosting many independent matches of the headless simulation over UDP. Clients ask to
+ * join and are paired two by two in the order they arrive; each match then runs on its own virtual thread, paced
+ * at the tick rate, and sends its state to both players. Ticks are simulated on the carrier threads of the virtual
+ * threads, one per core, so the number of matches a core holds is the tick duration budget divided by the time
+ * a tick takes.
+ * <p>
+ * Usage: {@code MatchServer [--port p] [--bind address] [--max-matches n] [--state-interval ticks]
+ * [--report seconds] [--seed n]}. Every report prints the active matches, the ticks per second they reach, the
+ * share of the tick budget used, the late ticks and the estimated capacity in matches per core.
+ * {@link LoadClient} plays scripted clients against it.
+ */
+public class MatchServer implements Closeable {
+    public static final int DEFAULT_PORT = 7777;
+    private static final long IDLE_TIMEOUT_NANOS = 10_000_000_000L;
+    private static final int RECEIVE_BUFFER_BYTES = 4 << 20;
+
+    private final DatagramChannel channel;
+    private final int maxMatches;
+    private final int stateInterval;
+    private final TickMetrics metrics;
+    private final Map<Integer, ServerMatch> matches = new ConcurrentHashMap<>();
+    /** Answers already sent, sent again when a client repeats its request. */
+    private final Map<JoinKey, byte[]> welcomes = new ConcurrentHashMap<>();
+    private final SecureRandom tokens = new SecureRandom();
+    private final ByteBuffer reply = ByteBuffer.allocate(ServerProtocol.WELCOME_BYTES);
+    private Thread receiver;
+    private JoinKey waiting;
+    private ServerMatch.Seat waitingSeat;
+    private int nextMatchId = 1;
+    private long nextSeed;
+    private int reportedMatches = 0;
+
+    private record JoinKey(SocketAddress address, int nonce) {
+    }
+
+    /**
+     * Binds the server socket. Nothing is received until {@link #start()}.
+     *
+     * @param address       Address to listen on, port 0 for any free port.
+     * @param maxMatches    Number of matches above which new clients are turned away.
+     * @param stateInterval Number of ticks between two states sent to the players.
+     * @param firstSeed     Seed of the first match, the following matches taking the next seeds.
+     * @throws IOException If the socket cannot be bound.
+     */
+    public MatchServer(InetSocketAddress address, int maxMatches, int stateInterval, long firstSeed) throws IOException {
+        if (maxMatches <= 0 || stateInterval <= 0) {
+            throw new IllegalArgumentException("Match count and state interval must be positive");
+        }
+        this.channel = DatagramChannel.open();
+        try {
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, RECEIVE_BUFFER_BYTES);
+            channel.bind(address);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.maxMatches = maxMatches;
+        this.stateInterval = stateInterval;
+        this.nextSeed = firstSeed;
+        this.metrics = new TickMetrics(SimulationConfig.withSeed(firstSeed).tickRate());
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = DEFAULT_PORT;
+        String bind = "0.0.0.0";
+        int maxMatches = 10_000;
+        int stateInterval = 3;
+        int reportSeconds = 5;
+        long seed = 1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--bind" -> bind = args[++i];
+                case "--max-matches" -> maxMatches = Integer.parseInt(args[++i]);
+                case "--state-interval" -> stateInterval = Integer.parseInt(args[++i]);
+                case "--report" -> reportSeconds = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        MatchServer server = new MatchServer(new InetSocketAddress(bind, port), maxMatches, stateInterval, seed);
+        int cores = Runtime.getRuntime().availableProcessors();
+        int interval = reportSeconds;
+        System.out.printf("Serveur sur %s, %d cœurs, %d matchs au plus%n", server.getAddress(), cores, maxMatches);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> server.printReport(interval, cores), interval, interval, TimeUnit.SECONDS);
+        server.start();
+        server.receiver.join();
+    }
+
+    private void printReport(double seconds, int cores) {
+        TickMetrics.Period period = metrics.takePeriod();
+        int active = matches.size();
+        // Les matchs ont pu commencer ou finir pendant la période : on prend la moyenne du début et de la fin
+        double meanMatches = (reportedMatches + active) / 2.0;
+        reportedMatches = active;
+        double ticksPerMatch = meanMatches == 0 ? 0 : period.ticks() / seconds / meanMatches;
+        System.out.printf("%d matchs (%.2f par cœur) à %.1f ticks/s, charge des cœurs %.1f %%, tick à %.2f %% du budget "
+                        + "(moyenne %.3f ms, p99 %.3f ms, max %.3f ms), %.2f %% de ticks en retard, %d envois échoués, "
+                        + "capacité estimée %.0f matchs par cœur%n",
+                active, (double) active / cores, ticksPerMatch, period.busyNanos() / (seconds * 1e9 * cores) * 100,
+                period.budgetUse() * 100, period.meanMillis(), period.percentileMillis(0.99), period.maxNanos() / 1e6,
+                period.lateShare() * 100, period.sendFailures(), period.matchesPerCore());
+    }
+
+    /**
+     * Starts receiving the requests and the input of the clients, on a thread of its own.
+     */
+    public void start() {
+        receiver = Thread.ofPlatform().name("match-server").start(this::receive);
+    }
+
+    private void receive() {
+        ByteBuffer packet = ByteBuffer.allocate(ServerProtocol.MAX_PACKET_BYTES);
+        while (true) {
+            SocketAddress source;
+            try {
+                packet.clear();
+                source = channel.receive(packet);
+            } catch (ClosedChannelException e) {
+                break;
+            } catch (IOException e) {
+                continue;
+            }
+            packet.flip();
+            if (!packet.hasRemaining()) {
+                continue;
+            }
+            switch (packet.get(0)) {
+                case ServerProtocol.JOIN -> join(source, packet);
+                case ServerProtocol.INPUT -> input(packet);
+                default -> {
+                    // Paquet inconnu, ignoré
+                }
+            }
+        }
+        for (ServerMatch match : matches.values()) {
+            match.stop();
+        }
+    }
+
+    private void join(SocketAddress source, ByteBuffer packet) {
+        if (packet.remaining() != ServerProtocol.JOIN_BYTES) {
+            return;
+        }
+        JoinKey key = new JoinKey(source, packet.getInt(1));
+        byte[] welcome = welcomes.get(key);
+        if (welcome != null) {
+            send(ByteBuffer.wrap(welcome), source);
+            return;
+        }
+        if (waiting != null && System.nanoTime() - waitingSeat.lastHeardNanos > IDLE_TIMEOUT_NANOS) {
+            waiting = null;
+        }
+        if (key.equals(waiting)) {
+            waitingSeat.lastHeardNanos = System.nanoTime();
+            return;
+        }
+        if (waiting == null && matches.size() >= maxMatches) {
+            reply.clear();
+            reply.put(ServerProtocol.FULL).putInt(key.nonce()).flip();
+            send(reply, source);
+            return;
+        }
+
+        ServerMatch.Seat seat = new ServerMatch.Seat(source, tokens.nextInt());
+        if (waiting == null) {
+            waiting = key;
+            waitingSeat = seat;
+            return;
+        }
+        JoinKey[] keys = {waiting, key};
+        ServerMatch.Seat[] seats = {waitingSeat, seat};
+        waiting = null;
+        waitingSeat = null;
+
+        int id = nextMatchId++;
+        SimulationConfig config = SimulationConfig.withSeed(nextSeed++);
+        ServerMatch match = new ServerMatch(id, config, seats, channel, metrics, stateInterval, IDLE_TIMEOUT_NANOS);
+        matches.put(id, match);
+        for (int player = 0; player < 2; player++) {
+            reply.clear();
+            reply.put(ServerProtocol.WELCOME).putInt(keys[player].nonce()).putInt(id).put((byte) player)
+                    .putInt(seats[player].token).putLong(config.seed()).putInt(config.tickRate())
+                    .putInt(Runtime.getRuntime().availableProcessors()).flip();
+            welcomes.put(keys[player], reply.array().clone());
+            send(reply, keys[player].address());
+        }
+        Thread.ofVirtual().name("match-" + id).start(() -> {
+            try {
+                match.run();
+            } finally {
+                matches.remove(id);
+                welcomes.remove(keys[0]);
+                welcomes.remove(keys[1]);
+            }
+        });
+    }
+
+    private void input(ByteBuffer packet) {
+        if (packet.remaining() != ServerProtocol.INPUT_BYTES) {
+            return;
+        }
+        ServerMatch match = matches.get(packet.getInt(1));
+        int player = packet.get(5);
+        if (match == null || (player != 0 && player != 1)) {
+            return;
+        }
+        ServerMatch.Seat seat = match.getSeat(player);
+        if (seat.token != packet.getInt(6)) {
+            return;
+        }
+        seat.input.set(ServerProtocol.packInput(packet.array(), 10));
+        seat.lastHeardNanos = System.nanoTime();
+    }
+
+    private void send(ByteBuffer data, SocketAddress target) {
+        try {
+            channel.send(data, target);
+        } catch (IOException e) {
+            // Le client n'est plus joignable, il redemandera
+        }
+    }
+
+    /**
+     * Returns the address the server listens on, with the port actually bound.
+     *
+     * @return The local address of the socket.
+     * @throws IOException If the socket is closed.
+     */
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) channel.getLocalAddress();
+    }
+
+    /**
+     * Returns the number of matches being played.
+     *
+     * @return The active match count.
+     */
+    public int getMatchCount() {
+        return matches.size();
+    }
+
+    public TickMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Stops receiving and ends every match after its current tick.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        for (ServerMatch match : matches.values()) {
+            match.stop();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.arena.dual_arena.server;
+
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A match hosted by the {@link MatchServer}, which owns the only copy of its world: clients send their input and
+ * receive the state. The match runs on its own thread at the tick rate of its configuration and plays, each tick,
+ * the last input received from each player. It ends when a player wins, when time runs out or when both players
+ * stopped sending input.
+ */
+class ServerMatch implements Runnable {
+    /** A match that falls further behind than this stops catching up and takes the current time as its pace. */
+    private static final int MAX_CATCH_UP_TICKS = 30;
+
+    private final int id;
+    private final SimWorld world;
+    private final Seat[] seats;
+    private final DatagramChannel channel;
+    private final TickMetrics metrics;
+    private final int stateInterval;
+    private final long idleTimeoutNanos;
+    private final PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+    private final byte[] inputBytes = new byte[PlayerInput.BYTES];
+    private final ByteBuffer state = ByteBuffer.allocate(ServerProtocol.MAX_PACKET_BYTES);
+    private volatile boolean stopped = false;
+
+    /**
+     * A player of the match: where to send the state and the last input received.
+     */
+    static final class Seat {
+        final SocketAddress address;
+        final int token;
+        /** Bytes of the last input, packed by {@link ServerProtocol#packInput(byte[], int)}. */
+        final AtomicLong input = new AtomicLong();
+        volatile long lastHeardNanos = System.nanoTime();
+        /** Number of states that could not be sent to this player. Only touched by the match thread. */
+        long sendFailures;
+
+        Seat(SocketAddress address, int token) {
+            this.address = address;
+            this.token = token;
+        }
+    }
+
+    /**
+     * Creates a match.
+     *
+     * @param id               Identifier of the match in the packets.
+     * @param config           Settings of the match.
+     * @param seats            The two players.
+     * @param channel          Socket of the server, shared by every match.
+     * @param metrics          Metrics receiving the duration of every tick.
+     * @param stateInterval    Number of ticks between two states sent to the players.
+     * @param idleTimeoutNanos Time without input from either player after which the match is abandoned.
+     */
+    ServerMatch(int id, SimulationConfig config, Seat[] seats, DatagramChannel channel, TickMetrics metrics,
+                int stateInterval, long idleTimeoutNanos) {
+        this.id = id;
+        this.world = new SimWorld(config);
+        this.seats = seats;
+        this.channel = channel;
+        this.metrics = metrics;
+        this.stateInterval = stateInterval;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+    }
+
+    @Override
+    public void run() {
+        long tickNanos = 1_000_000_000L / world.getConfig().tickRate();
+        long next = System.nanoTime();
+        while (!stopped && !world.isFinished()) {
+            long start = System.nanoTime();
+            long lateness = start - next;
+            tick();
+            metrics.record(System.nanoTime() - start, lateness);
+
+            if (start - Math.max(seats[0].lastHeardNanos, seats[1].lastHeardNanos) > idleTimeoutNanos) {
+                break;
+            }
+            next += tickNanos;
+            if (lateness > MAX_CATCH_UP_TICKS * tickNanos) {
+                next = start + tickNanos;
+            }
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        sendState(true);
+    }
+
+    private void tick() {
+        for (int i = 0; i < seats.length; i++) {
+            ServerProtocol.unpackInput(seats[i].input.get(), inputBytes);
+            inputs[i].read(inputBytes, 0);
+        }
+        world.step(inputs);
+        if (world.getTick() % stateInterval == 0) {
+            sendState(world.isFinished());
+        }
+    }
+
+    private void sendState(boolean finished) {
+        state.clear();
+        state.put(ServerProtocol.STATE).putInt(id).putInt((int) world.getTick()).put((byte) (finished ? 1 : 0));
+        int lengthPosition = state.position();
+        state.position(lengthPosition + 2);
+        int length = world.saveSnapshot(state);
+        state.putShort(lengthPosition, (short) length);
+        state.flip();
+        for (Seat seat : seats) {
+            try {
+                channel.send(state.rewind(), seat.address);
+            } catch (ClosedChannelException e) {
+                stopped = true;
+                return;
+            } catch (IOException e) {
+                // Un joueur injoignable ne doit pas arrêter le match : il recevra l'état suivant
+                metrics.recordSendFailure();
+                if (seat.sendFailures++ == 0) {
+                    System.err.println("Match " + id + " : impossible d'envoyer l'état à " + seat.address + " : " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Asks the match to end after its current tick.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    Seat getSeat(int player) {
+        return seats[player];
+    }
+
+    SimWorld getWorld() {
+        return world;
+    }
+}
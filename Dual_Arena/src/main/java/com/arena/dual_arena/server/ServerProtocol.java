@@ -0,0 +1,52 @@
+package com.arena.dual_arena.server;
+
+import com.arena.dual_arena.simulation.PlayerInput;
+
+/**
+ * Packets exchanged over UDP between the {@link MatchServer} and its clients, big-endian, each starting with
+ * its type:
+ * <ul>
+ *     <li>{@link #JOIN}, client: a number chosen by the client to recognize the answer. Sent again until answered.</li>
+ *     <li>{@link #WELCOME}, server: the client number, match id, player index, seat token, seed of the match,
+ *     tick rate and number of cores of the server.</li>
+ *     <li>{@link #FULL}, server: the client number, when the server already hosts as many matches as it can.</li>
+ *     <li>{@link #INPUT}, client: match id, player index, seat token, then the input as written by
+ *     {@link PlayerInput#write(byte[], int)}. Sent every tick; the server plays the last one received.</li>
+ *     <li>{@link #STATE}, server: match id, tick, whether the match is over, then the length and bytes of a world
+ *     snapshot, which a client restores with {@code SimWorld.restoreSnapshot}.</li>
+ * </ul>
+ */
+final class ServerProtocol {
+    static final byte JOIN = 1;
+    static final byte WELCOME = 2;
+    static final byte FULL = 3;
+    static final byte INPUT = 4;
+    static final byte STATE = 5;
+
+    static final int JOIN_BYTES = 1 + 4;
+    static final int WELCOME_BYTES = 1 + 4 + 4 + 1 + 4 + 8 + 4 + 4;
+    static final int INPUT_BYTES = 1 + 4 + 1 + 4 + PlayerInput.BYTES;
+    static final int STATE_HEADER_BYTES = 1 + 4 + 4 + 1 + 2;
+    /** Largest packet, a state with a snapshot of a busy arena. */
+    static final int MAX_PACKET_BYTES = 8192;
+
+    private ServerProtocol() {
+    }
+
+    /**
+     * Packs the bytes of an input in a long, so it can be handed between threads in a single atomic write.
+     */
+    static long packInput(byte[] data, int offset) {
+        long packed = 0;
+        for (int i = 0; i < PlayerInput.BYTES; i++) {
+            packed |= (data[offset + i] & 0xFFL) << (i * 8);
+        }
+        return packed;
+    }
+
+    static void unpackInput(long packed, byte[] out) {
+        for (int i = 0; i < PlayerInput.BYTES; i++) {
+            out[i] = (byte) (packed >>> (i * 8));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.arena.dual_arena.server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tick durations of every match of a server, recorded concurrently by the match threads and read by the reporter,
+ * which starts a new period with {@link #takePeriod()}. The states that could not be sent are counted as well.
+ * Recording never allocates or locks.
+ */
+public class TickMetrics {
+    /** Width of a histogram bucket. */
+    private static final long BUCKET_NANOS = 10_000;
+    private static final int BUCKET_COUNT = 2000;
+
+    private final long tickNanos;
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder lateTicks = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT + 1);
+
+    /**
+     * Constructs empty metrics.
+     *
+     * @param tickRate Ticks per second the matches aim for.
+     */
+    public TickMetrics(int tickRate) {
+        this.tickNanos = 1_000_000_000L / tickRate;
+    }
+
+    /**
+     * Records a tick.
+     *
+     * @param nanos         Time spent simulating and sending the tick.
+     * @param latenessNanos How long after its due time the tick started.
+     */
+    public void record(long nanos, long latenessNanos) {
+        ticks.increment();
+        busyNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        buckets.incrementAndGet((int) Math.min(BUCKET_COUNT, Math.max(0, nanos) / BUCKET_NANOS));
+        // Un tick commencé avec plus d'un tick de retard : la fréquence du match n'est plus tenue
+        if (latenessNanos > tickNanos) {
+            lateTicks.increment();
+        }
+    }
+
+    /**
+     * Records a state that could not be sent to a player.
+     */
+    public void recordSendFailure() {
+        sendFailures.increment();
+    }
+
+    /**
+     * Returns the metrics of the period since the last call and starts a new period. Ticks recorded during the
+     * call may land in either period.
+     *
+     * @return The metrics of the period.
+     */
+    public Period takePeriod() {
+        long count = ticks.sumThenReset();
+        long busy = busyNanos.sumThenReset();
+        long late = lateTicks.sumThenReset();
+        long failures = sendFailures.sumThenReset();
+        long max = maxNanos.getThenReset();
+        long[] counts = new long[BUCKET_COUNT + 1];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.getAndSet(i, 0);
+        }
+        return new Period(tickNanos, count, busy, late, failures, max, counts);
+    }
+
+    /**
+     * Tick metrics over a period.
+     *
+     * @param tickNanos    Duration of a tick at the target rate.
+     * @param ticks        Ticks simulated by all matches.
+     * @param busyNanos    Time spent in those ticks.
+     * @param lateTicks    Ticks started more than a tick after they were due.
+     * @param sendFailures States that could not be sent to a player.
+     * @param maxNanos     Longest tick.
+     * @param buckets      Number of ticks per duration bucket, the last one holding the longer ticks.
+     */
+    public record Period(long tickNanos, long ticks, long busyNanos, long lateTicks, long sendFailures, long maxNanos, long[] buckets) {
+
+        /**
+         * Returns the share of the tick duration a match spends simulating a tick, on average.
+         *
+         * @return The budget use, 1 for ticks as long as the tick period.
+         */
+        public double budgetUse() {
+            return ticks == 0 ? 0 : (double) busyNanos / ticks / tickNanos;
+        }
+
+        public double meanMillis() {
+            return ticks == 0 ? 0 : busyNanos / 1e6 / ticks;
+        }
+
+        /**
+         * Returns the tick duration under which the given fraction of the ticks fall.
+         *
+         * @param fraction The fraction, e.g. 0.99 for the 99th percentile.
+         * @return The percentile in milliseconds, approximated by the upper bound of its bucket.
+         */
+        public double percentileMillis(double fraction) {
+            long rank = (long) Math.ceil(fraction * ticks);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min((i + 1) * BUCKET_NANOS, maxNanos) / 1e6;
+                }
+            }
+            return maxNanos / 1e6;
+        }
+
+        public double lateShare() {
+            return ticks == 0 ? 0 : (double) lateTicks / ticks;
+        }
+
+        /**
+         * Estimates how many matches a core could run at the target rate, from the mean tick duration.
+         *
+         * @return The number of matches per core, 0 if no tick was recorded.
+         */
+        public double matchesPerCore() {
+            return busyNanos == 0 ? 0 : (double) tickNanos * ticks / busyNanos;
+        }
+    }
+}
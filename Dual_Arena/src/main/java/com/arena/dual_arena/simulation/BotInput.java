@@ -0,0 +1,49 @@
+package com.arena.dual_arena.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Simple seeded bot that walks towards the middle of the arena, aims at its opponent and keeps firing.
+ * It is deterministic for a given seed, which makes it usable for reproducible headless matches.
+ */
+public class BotInput implements InputSource {
+    private final SplittableRandom random;
+    private float wanderX;
+    private float wanderY;
+
+    /**
+     * Creates a bot.
+     *
+     * @param seed Seed of the random wandering of the bot.
+     */
+    public BotInput(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void poll(SimWorld world, int player, PlayerInput input) {
+        SimPlayer self = world.getPlayer(player);
+        SimPlayer opponent = world.getPlayer(1 - player);
+
+        if (world.getTick() % 30 == 0) {
+            wanderX = random.nextFloat() * 2 - 1;
+            wanderY = random.nextFloat() * 2 - 1;
+        }
+        double toCenterX = world.getConfig().width() / 2 - self.centerX();
+        double toCenterY = world.getConfig().height() / 2 - self.centerY();
+        double length = Math.max(1, Math.hypot(toCenterX, toCenterY));
+        float moveX = clamp((float) (toCenterX / length) * 0.5f + wanderX * 0.7f);
+        float moveY = clamp((float) (toCenterY / length) * 0.5f + wanderY * 0.7f);
+        input.setMove(moveX, moveY);
+
+        double aimX = opponent.centerX() - self.centerX();
+        double aimY = opponent.centerY() - self.centerY();
+        double aimLength = Math.max(1, Math.hypot(aimX, aimY));
+        input.setAim((float) (aimX / aimLength), (float) (aimY / aimLength));
+        input.setButtons(random.nextInt(4) != 0, random.nextInt(8) == 0, false);
+    }
+
+    private static float clamp(float value) {
+        return Math.max(-1, Math.min(1, value));
+    }
+}
@@ -0,0 +1,34 @@
+package com.arena.dual_arena.simulation;
+
+/**
+ * Axis-aligned rectangle used for the collisions of the simulation.
+ *
+ * @param x      Left edge.
+ * @param y      Top edge.
+ * @param width  Width of the rectangle.
+ * @param height Height of the rectangle.
+ */
+public record Box(double x, double y, double width, double height) {
+
+    /**
+     * Returns whether this rectangle overlaps another one given by its coordinates.
+     *
+     * @param otherX      Left edge of the other rectangle.
+     * @param otherY      Top edge of the other rectangle.
+     * @param otherWidth  Width of the other rectangle.
+     * @param otherHeight Height of the other rectangle.
+     * @return True if both rectangles overlap.
+     */
+    public boolean intersects(double otherX, double otherY, double otherWidth, double otherHeight) {
+        return intersects(x, y, width, height, otherX, otherY, otherWidth, otherHeight);
+    }
+
+    /**
+     * Returns whether two rectangles given by their coordinates overlap.
+     *
+     * @return True if both rectangles overlap.
+     */
+    public static boolean intersects(double x1, double y1, double w1, double h1, double x2, double y2, double w2, double h2) {
+        return x1 < x2 + w2 && x2 < x1 + w1 && y1 < y2 + h2 && y2 < y1 + h1;
+    }
+}
@@ -0,0 +1,223 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.models.weapons.Weapon;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decides when a weapon fires, on the game clock: the scheduler only moves forward when a simulation tick
+ * advances it, so pausing or slowing the game down pauses or slows the weapons down too.
+ * Each fire mode has its own cooldown. While a trigger is held the mode fires again as soon as its cooldown
+ * is over, at the exact moment inside the tick, so a trigger held for a given time always fires the same
+ * number of shots whatever the tick rate or the frame rate. Shots can also be queued as bursts, fired one
+ * cooldown apart without holding the trigger.
+ * When both modes fire during the same tick, shots are delivered in the order they are due.
+ */
+public final class FireScheduler {
+    /** Index of the primary fire mode. */
+    public static final int PRIMARY = 0;
+    /** Index of the secondary fire mode. */
+    public static final int SECONDARY = 1;
+    private static final int MODES = 2;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * Receives the shots fired during a tick.
+     */
+    @FunctionalInterface
+    public interface ShotListener {
+        /**
+         * Called for each shot, in the order the shots are due.
+         *
+         * @param mode      The fire mode, {@link #PRIMARY} or {@link #SECONDARY}.
+         * @param lateNanos Time between the moment the shot was due and the end of the tick.
+         */
+        void onShot(int mode, long lateNanos);
+    }
+
+    private final long[] cooldownNanos = new long[MODES];
+    /** Time left before each mode can fire again, from the start of the next tick. */
+    private final long[] readyInNanos = new long[MODES];
+    private final boolean[] held = new boolean[MODES];
+    private final int[] queued = new int[MODES];
+    private long shots = 0;
+
+    /**
+     * Constructs a scheduler ready to fire in both modes.
+     *
+     * @param primaryCooldownMillis   Time between two primary shots, in milliseconds.
+     * @param secondaryCooldownMillis Time between two secondary shots, in milliseconds.
+     */
+    public FireScheduler(double primaryCooldownMillis, double secondaryCooldownMillis) {
+        if (primaryCooldownMillis <= 0 || secondaryCooldownMillis <= 0) {
+            throw new IllegalArgumentException("Cooldowns must be positive: " + primaryCooldownMillis + ", " + secondaryCooldownMillis);
+        }
+        cooldownNanos[PRIMARY] = Math.round(primaryCooldownMillis * NANOS_PER_MILLI);
+        cooldownNanos[SECONDARY] = Math.round(secondaryCooldownMillis * NANOS_PER_MILLI);
+    }
+
+    /**
+     * Constructs a scheduler with the fire rates of a weapon, given in milliseconds between shots.
+     *
+     * @param weapon The weapon.
+     * @return A scheduler ready to fire.
+     */
+    public static FireScheduler of(Weapon weapon) {
+        return new FireScheduler(weapon.getPrimaryFireRate(), weapon.getSecondaryFireRate());
+    }
+
+    /**
+     * Converts the duration of a tick to the nanoseconds used by {@link #update(long, ShotListener)}.
+     *
+     * @param dt Duration of the tick in seconds.
+     * @return The duration in nanoseconds.
+     */
+    public static long tickNanos(double dt) {
+        return Math.round(dt * 1e9);
+    }
+
+    /**
+     * Presses or releases the trigger of a fire mode. A pressed trigger fires on every tick its cooldown allows.
+     *
+     * @param mode    The fire mode.
+     * @param pressed True while the trigger is held.
+     */
+    public void setTrigger(int mode, boolean pressed) {
+        held[mode] = pressed;
+    }
+
+    /**
+     * Queues shots fired one cooldown apart, whether the trigger is held or not.
+     *
+     * @param mode  The fire mode.
+     * @param count Number of shots to add to the queue.
+     */
+    public void queueBurst(int mode, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative burst: " + count);
+        }
+        queued[mode] += count;
+    }
+
+    /**
+     * Advances the game clock by one tick and fires every shot due during it.
+     *
+     * @param tickNanos Duration of the tick in nanoseconds.
+     * @param listener  Receives the shots, in the order they are due.
+     * @return The number of shots fired during the tick.
+     */
+    public int update(long tickNanos, ShotListener listener) {
+        int fired = 0;
+        while (true) {
+            // Le prochain tir dû parmi les deux modes, le principal d'abord en cas d'égalité
+            int next = -1;
+            long nextAt = tickNanos;
+            for (int mode = 0; mode < MODES; mode++) {
+                if (held[mode] || queued[mode] > 0) {
+                    long at = Math.max(readyInNanos[mode], 0);
+                    if (at < nextAt) {
+                        next = mode;
+                        nextAt = at;
+                    }
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            if (queued[next] > 0) {
+                queued[next]--;
+            }
+            readyInNanos[next] = nextAt + cooldownNanos[next];
+            fired++;
+            shots++;
+            listener.onShot(next, tickNanos - nextAt);
+        }
+        for (int mode = 0; mode < MODES; mode++) {
+            // Un mode au repos ne met pas de tirs de côté
+            readyInNanos[mode] = Math.max(readyInNanos[mode] - tickNanos, 0);
+        }
+        return fired;
+    }
+
+    /**
+     * Releases both triggers, empties the queues and makes both modes ready to fire.
+     */
+    public void reset() {
+        for (int mode = 0; mode < MODES; mode++) {
+            held[mode] = false;
+            queued[mode] = 0;
+            readyInNanos[mode] = 0;
+        }
+    }
+
+    /**
+     * Returns whether a mode would fire at the start of the next tick.
+     *
+     * @param mode The fire mode.
+     * @return True if the cooldown of the mode is over.
+     */
+    public boolean isReady(int mode) {
+        return readyInNanos[mode] == 0;
+    }
+
+    /**
+     * Returns whether a trigger is held or shots are queued, i.e. whether the next tick may fire.
+     *
+     * @return True if a shot is requested in any mode.
+     */
+    public boolean isRequested() {
+        for (int mode = 0; mode < MODES; mode++) {
+            if (held[mode] || queued[mode] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the triggers, queues and cooldowns of both modes, for a snapshot of the world.
+     *
+     * @param out The buffer to write to.
+     */
+    void save(ByteBuffer out) {
+        out.put((byte) ((held[PRIMARY] ? 1 : 0) | (held[SECONDARY] ? 2 : 0)));
+        for (int mode = 0; mode < MODES; mode++) {
+            SnapshotCodec.putVarLong(out, readyInNanos[mode]);
+            SnapshotCodec.putVarInt(out, queued[mode]);
+        }
+        SnapshotCodec.putVarLong(out, shots);
+    }
+
+    /**
+     * Reads back the state written by {@link #save(ByteBuffer)}.
+     *
+     * @param in The buffer to read from.
+     */
+    void restore(ByteBuffer in) {
+        byte triggers = in.get();
+        held[PRIMARY] = (triggers & 1) != 0;
+        held[SECONDARY] = (triggers & 2) != 0;
+        for (int mode = 0; mode < MODES; mode++) {
+            readyInNanos[mode] = SnapshotCodec.getVarLong(in);
+            queued[mode] = SnapshotCodec.getVarInt(in);
+        }
+        shots = SnapshotCodec.getVarLong(in);
+    }
+
+    public boolean isTriggerHeld(int mode) {
+        return held[mode];
+    }
+
+    public int getQueued(int mode) {
+        return queued[mode];
+    }
+
+    /**
+     * Returns the number of shots fired since the scheduler was created.
+     *
+     * @return The shot count.
+     */
+    public long getShots() {
+        return shots;
+    }
+}
@@ -0,0 +1,113 @@
+package com.arena.dual_arena.simulation;
+
+/**
+ * Constants and formulas of the gameplay rules applied by {@link SimWorld}.
+ * The FXGL components render the state of the simulation and only read these values to size their views.
+ */
+public final class GameRules {
+    /** Tick rate for which the per-tick amounts below are defined. Other rates scale them with {@link #perStep}. */
+    public static final int REFERENCE_TICK_RATE = 60;
+
+    /** Distance in pixels a player moves per tick when the stick is fully tilted. */
+    public static final double MOVE_SPEED = 2;
+    /** Factor applied every tick to the glide that follows a movement. */
+    public static final double GLIDE_DECAY = 0.9;
+    /** Glide speed under which the player is considered idle. */
+    public static final double GLIDE_STOP_SPEED = 1;
+    /** Stick displacement under which movement input is ignored. */
+    public static final double MOVE_DEAD_ZONE = 0.3;
+    /** Stick displacement under which aiming input is ignored. */
+    public static final double AIM_DEAD_ZONE = 0.2;
+
+    /** Factor applied every tick to the knockback velocity of a player. */
+    public static final double KNOCKBACK_DECAY = 0.95;
+    /** Knockback speed under which the knockback ends. */
+    public static final double KNOCKBACK_STOP_SPEED = 0.1;
+
+    /** Weight of the right stick when steering a guided rocket. */
+    public static final double GUIDED_STEERING = 0.1;
+    /** Distance from the screen edge after which projectiles are removed. */
+    public static final double OFFSCREEN_MARGIN = 100;
+    /** Base radius of a rocket explosion, before the projectile multiplier. */
+    public static final double EXPLOSION_BASE_RADIUS = 100;
+
+    /** Speed of a fireball in pixels per second. */
+    public static final double FIREBALL_SPEED = 300;
+    /** Distance to its target under which a fireball disappears. */
+    public static final double FIREBALL_ARRIVAL_DISTANCE = 20;
+    /** Time in seconds an attack zone stays on the ground before exploding. */
+    public static final double ATTACK_ZONE_DELAY = 3;
+    /** Time in seconds an attack zone explosion stays deadly. */
+    public static final double EXPLOSION_DURATION = 1;
+    /** Maximum number of hazards alive at the same time, attack zones, explosions and fireballs included. */
+    public static final int HAZARD_BUDGET = 6;
+    /** Maximum number of attack zone events running together in a round. */
+    public static final int MAX_ZONE_EVENTS = 3;
+    /** Maximum number of fireball events running together in a round. */
+    public static final int MAX_FIREBALL_EVENTS = 3;
+    /** Time in seconds after which a round gets one more attack zone event. */
+    public static final double ZONE_ESCALATION_INTERVAL = 60;
+    /** Time in seconds after which a round gets one more fireball event. */
+    public static final double FIREBALL_ESCALATION_INTERVAL = 40;
+
+    private GameRules() {
+    }
+
+    /**
+     * Scales an amount defined per reference tick, such as a distance, to a tick of the given duration.
+     *
+     * @param amountPerTick Amount applied every tick at the reference tick rate.
+     * @param dt            Duration of the tick in seconds.
+     * @return The amount to apply for this tick.
+     */
+    public static double perStep(double amountPerTick, double dt) {
+        return amountPerTick * dt * REFERENCE_TICK_RATE;
+    }
+
+    /**
+     * Compounds a factor applied every reference tick, such as a velocity decay, over a tick of the given duration.
+     *
+     * @param factorPerTick Factor applied every tick at the reference tick rate.
+     * @param dt            Duration of the tick in seconds.
+     * @return The factor to apply for this tick.
+     */
+    public static double decayPerStep(double factorPerTick, double dt) {
+        return Math.pow(factorPerTick, dt * REFERENCE_TICK_RATE);
+    }
+
+    /**
+     * Computes the radius of a rocket explosion.
+     *
+     * @param scale                     Scale of the projectile entity.
+     * @param explosionRadiusMultiplier Explosion radius multiplier of the projectile.
+     * @return The explosion radius in pixels.
+     */
+    public static double explosionRadius(double scale, float explosionRadiusMultiplier) {
+        return (scale + EXPLOSION_BASE_RADIUS) * explosionRadiusMultiplier;
+    }
+
+    /**
+     * Computes the knockback applied by an explosion to a player at a given distance. Closer players are pushed harder.
+     *
+     * @param knockback         Knockback of the projectile.
+     * @param distance          Distance between the explosion center and the player center.
+     * @param radius            Radius of the explosion.
+     * @param knockbackFalloff  Explosion knockback falloff of the projectile.
+     * @return The knockback force to apply.
+     */
+    public static float explosionForce(float knockback, double distance, double radius, float knockbackFalloff) {
+        return knockback * (1 - (float) (distance / radius)) * knockbackFalloff;
+    }
+
+    /**
+     * Returns whether a stick is tilted enough to count as input.
+     *
+     * @param x        Horizontal value of the stick.
+     * @param y        Vertical value of the stick.
+     * @param deadZone The dead zone of the stick.
+     * @return True if one of the axes is beyond the dead zone.
+     */
+    public static boolean isOutsideDeadZone(double x, double y, double deadZone) {
+        return Math.abs(x) > deadZone || Math.abs(y) > deadZone;
+    }
+}
@@ -0,0 +1,95 @@
+package com.arena.dual_arena.simulation;
+
+/**
+ * Runs a complete match in a {@link SimWorld} as fast as possible, without rendering or sleeping between ticks.
+ * The input of the players can be recorded in an {@link InputRecording} to replay the match later.
+ */
+public class HeadlessMatch {
+    private final SimWorld world;
+    private final InputSource[] sources;
+    private final PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+    private InputRecording recording;
+
+    /**
+     * Creates a match.
+     *
+     * @param config  Settings of the match.
+     * @param player1 Input of the left player.
+     * @param player2 Input of the right player.
+     */
+    public HeadlessMatch(SimulationConfig config, InputSource player1, InputSource player2) {
+        this.world = new SimWorld(config);
+        this.sources = new InputSource[]{player1, player2};
+    }
+
+    /**
+     * Records the input of both players from the next tick on.
+     *
+     * @return The recording, filled as the match runs.
+     */
+    public InputRecording record() {
+        if (recording == null) {
+            recording = new InputRecording(world.getConfig());
+        }
+        return recording;
+    }
+
+    /**
+     * Simulates the match until a player wins or time runs out.
+     *
+     * @return The result of the match.
+     */
+    public MatchResult run() {
+        while (step()) {
+            // Aucune pause entre les ticks
+        }
+        return getResult();
+    }
+
+    /**
+     * Simulates the match until a player wins, time runs out or a number of ticks is reached,
+     * e.g. the length of a recording.
+     *
+     * @param maxTicks Number of ticks after which the simulation stops.
+     * @return The result of the match at that point.
+     */
+    public MatchResult run(long maxTicks) {
+        while (world.getTick() < maxTicks && step()) {
+            // Aucune pause entre les ticks
+        }
+        return getResult();
+    }
+
+    /**
+     * Polls the players and simulates one tick.
+     *
+     * @return False once the match is over.
+     */
+    public boolean step() {
+        if (world.isFinished()) {
+            return false;
+        }
+        for (int i = 0; i < sources.length; i++) {
+            sources[i].poll(world, i, inputs[i]);
+        }
+        if (recording != null) {
+            recording.record(inputs);
+        }
+        world.step(inputs);
+        return !world.isFinished();
+    }
+
+    /**
+     * Returns the result of the match in its current state.
+     *
+     * @return The result, final once {@link #step()} returned false.
+     */
+    public MatchResult getResult() {
+        return new MatchResult(world.getConfig().seed(), world.getTick(), world.getRounds(),
+                world.getScore(0), world.getScore(1), world.stateHash());
+    }
+
+    public SimWorld getWorld() {
+        return world;
+    }
+}
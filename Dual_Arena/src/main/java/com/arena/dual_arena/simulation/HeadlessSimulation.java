@@ -0,0 +1,89 @@
+package com.arena.dual_arena.simulation;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command line entry point running many bot matches in parallel without a window.
+ * Usage: {@code HeadlessSimulation [matches] [threads] [firstSeed] [recordDirectory]}.
+ * Prints the result of every match and the throughput in matches per minute. With a record directory,
+ * the input of every match is saved there as {@code match-<seed>.darp}, to be played again by {@link InputReplay}.
+ */
+public class HeadlessSimulation {
+
+    public static void main(String[] args) throws Exception {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long firstSeed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        Path recordDirectory = args.length > 3 ? Path.of(args[3]) : null;
+        if (recordDirectory != null) {
+            Files.createDirectories(recordDirectory);
+        }
+
+        long start = System.nanoTime();
+        List<MatchResult> results = runMatches(matches, threads, firstSeed, recordDirectory);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long ticks = 0;
+        for (MatchResult result : results) {
+            System.out.println(result);
+            ticks += result.ticks();
+        }
+        System.out.printf("%d matches, %d ticks in %.2f s on %d threads: %.0f matches/min, %.0f ticks/s%n",
+                matches, ticks, seconds, threads, matches / seconds * 60, ticks / seconds);
+    }
+
+    /**
+     * Runs bot matches with consecutive seeds on a thread pool.
+     *
+     * @param matches   Number of matches to run.
+     * @param threads   Number of worker threads.
+     * @param firstSeed Seed of the first match.
+     * @return The results, in seed order.
+     */
+    public static List<MatchResult> runMatches(int matches, int threads, long firstSeed) throws Exception {
+        return runMatches(matches, threads, firstSeed, null);
+    }
+
+    /**
+     * Runs bot matches with consecutive seeds on a thread pool, recording their input.
+     *
+     * @param matches         Number of matches to run.
+     * @param threads         Number of worker threads.
+     * @param firstSeed       Seed of the first match.
+     * @param recordDirectory Directory receiving the recording of every match, or null to record nothing.
+     * @return The results, in seed order.
+     */
+    public static List<MatchResult> runMatches(int matches, int threads, long firstSeed, Path recordDirectory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<MatchResult>> futures = new ArrayList<>();
+            for (int i = 0; i < matches; i++) {
+                long seed = firstSeed + i;
+                futures.add(executor.submit(() -> {
+                    HeadlessMatch match = new HeadlessMatch(SimulationConfig.withSeed(seed),
+                            new BotInput(seed * 2), new BotInput(seed * 2 + 1));
+                    if (recordDirectory == null) {
+                        return match.run();
+                    }
+                    InputRecording recording = match.record();
+                    MatchResult result = match.run();
+                    recording.save(recordDirectory.resolve("match-" + seed + InputRecording.EXTENSION));
+                    return result;
+                }));
+            }
+            List<MatchResult> results = new ArrayList<>();
+            for (Future<MatchResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
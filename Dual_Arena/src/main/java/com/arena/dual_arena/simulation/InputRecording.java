@@ -0,0 +1,319 @@
+package com.arena.dual_arena.simulation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Log of the input of both players for every tick of a match, with the settings and the seed of the match,
+ * so the match can be played again without rendering, as fast as the simulation allows.
+ * <p>
+ * Inputs are stored as written by {@link PlayerInput#write(byte[], int)}: {@value #PLAYER_BYTES} bytes per player. Consecutive ticks with the same input for both players are stored
+ * once with their count, so a player standing still costs almost nothing. Recording quantizes the input in
+ * place, which makes the recorded match play exactly what its replay will.
+ * <p>
+ * File layout, big-endian: magic {@code DARP}, version, tick rate, arena width and height, seed, rounds to win,
+ * maximum ticks, number of ticks, then the runs: a variable-length count followed by the input of both players.
+ */
+public final class InputRecording {
+    /** "DARP", first bytes of a recording file. */
+    public static final int MAGIC = 0x44415250;
+    public static final int VERSION = 1;
+    /** Extension of the recording files. */
+    public static final String EXTENSION = ".darp";
+    /** Bytes of one player input: four stick axes and the buttons. */
+    public static final int PLAYER_BYTES = PlayerInput.BYTES;
+    private static final int TICK_BYTES = PLAYER_BYTES * 2;
+
+    private final SimulationConfig config;
+    private byte[] runs = new byte[1024];
+    private int size = 0;
+    private final byte[] current = new byte[TICK_BYTES];
+    private final byte[] next = new byte[TICK_BYTES];
+    private int runLength = 0;
+    private long ticks = 0;
+
+    /**
+     * Starts an empty recording.
+     *
+     * @param config Settings of the recorded match, including the seed of its random generators.
+     */
+    public InputRecording(SimulationConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Appends the input of both players for one tick. The inputs are rounded to the recorded precision in place,
+     * so the tick must be simulated with them after this call.
+     *
+     * @param inputs The input of each player, in player order.
+     */
+    public void record(PlayerInput[] inputs) {
+        for (int player = 0; player < 2; player++) {
+            inputs[player].write(next, player * PLAYER_BYTES);
+            inputs[player].read(next, player * PLAYER_BYTES);
+        }
+        if (runLength > 0 && Arrays.equals(current, next)) {
+            runLength++;
+        } else {
+            flushRun();
+            System.arraycopy(next, 0, current, 0, TICK_BYTES);
+            runLength = 1;
+        }
+        ticks++;
+    }
+
+    private void flushRun() {
+        if (runLength == 0) {
+            return;
+        }
+        ensureCapacity(5 + TICK_BYTES);
+        // Longueur de la série sur 7 bits par octet, le bit de poids fort annonce la suite
+        int length = runLength;
+        while (length >= 0x80) {
+            runs[size++] = (byte) (length | 0x80);
+            length >>>= 7;
+        }
+        runs[size++] = (byte) length;
+        System.arraycopy(current, 0, runs, size, TICK_BYTES);
+        size += TICK_BYTES;
+        runLength = 0;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > runs.length) {
+            runs = Arrays.copyOf(runs, Math.max(runs.length * 2, size + extra));
+        }
+    }
+
+    /**
+     * Returns the runs recorded so far, including the one still growing.
+     */
+    private byte[] encodedRuns() {
+        int pending = runLength;
+        flushRun();
+        byte[] encoded = Arrays.copyOf(runs, size);
+        if (pending > 0) {
+            // La dernière série peut encore s'allonger : on la retire du tampon
+            size -= TICK_BYTES + varIntSize(pending);
+            runLength = pending;
+        }
+        return encoded;
+    }
+
+    private static int varIntSize(int value) {
+        int bytes = 1;
+        while (value >= 0x80) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns a source replaying the recorded input of a player. Each call starts from the first tick, and the
+     * source only sees the ticks recorded before the call. Past the end of the recording, the player lets go of
+     * everything.
+     *
+     * @param player Index of the player, 0 or 1.
+     * @return A source for a {@link HeadlessMatch}.
+     */
+    public InputSource player(int player) {
+        if (player != 0 && player != 1) {
+            throw new IllegalArgumentException("Invalid player: " + player);
+        }
+        return new Replay(encodedRuns(), player * PLAYER_BYTES);
+    }
+
+    /**
+     * Plays the recorded match again, without rendering and as fast as possible.
+     *
+     * @return The result of the replayed match, equal to the result of the recorded one.
+     */
+    public MatchResult replay() {
+        return new HeadlessMatch(config, player(0), player(1)).run(ticks);
+    }
+
+    /**
+     * Writes the recording.
+     *
+     * @param output The stream to write to. It is not closed.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void write(OutputStream output) throws IOException {
+        byte[] encoded = encodedRuns();
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(config.tickRate());
+        data.writeDouble(config.width());
+        data.writeDouble(config.height());
+        data.writeLong(config.seed());
+        data.writeInt(config.roundsToWin());
+        data.writeLong(config.maxTicks());
+        data.writeLong(ticks);
+        data.writeInt(encoded.length);
+        data.write(encoded);
+        data.flush();
+    }
+
+    /**
+     * Reads a recording written by {@link #write(OutputStream)}.
+     *
+     * @param input The stream to read from. It is not closed.
+     * @return The recording, which can be replayed or extended.
+     * @throws IOException If the stream cannot be read or is not a recording of this version.
+     */
+    public static InputRecording read(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an input recording");
+        }
+        int version = data.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported recording version " + version);
+        }
+        SimulationConfig config = new SimulationConfig(data.readInt(), data.readDouble(), data.readDouble(),
+                data.readLong(), data.readInt(), data.readLong());
+        long ticks = data.readLong();
+        int length = data.readInt();
+        if (ticks < 0 || length < 0) {
+            throw new IOException("Corrupted recording header");
+        }
+        byte[] encoded = data.readNBytes(length);
+        if (encoded.length != length) {
+            throw new IOException("Truncated recording: " + encoded.length + " of " + length + " bytes");
+        }
+
+        InputRecording recording = new InputRecording(config);
+        recording.runs = Arrays.copyOf(encoded, Math.max(encoded.length, 16));
+        recording.size = encoded.length;
+        recording.ticks = ticks;
+        if (recording.countTicks() != ticks) {
+            throw new IOException("Corrupted recording: runs do not add up to " + ticks + " ticks");
+        }
+        return recording;
+    }
+
+    private long countTicks() throws IOException {
+        long count = 0;
+        int position = 0;
+        while (position < size) {
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position >= size || shift > 28) {
+                    throw new IOException("Corrupted run length at " + position);
+                }
+                b = runs[position++];
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            position += TICK_BYTES;
+            count += length;
+        }
+        if (position != size) {
+            throw new IOException("Truncated run at the end of the recording");
+        }
+        return count;
+    }
+
+    /**
+     * Writes the recording to a file, replacing it if it exists.
+     *
+     * @param file The file, usually with the {@value #EXTENSION} extension.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        try (OutputStream output = Files.newOutputStream(file)) {
+            write(output);
+        }
+    }
+
+    /**
+     * Reads a recording from a file.
+     *
+     * @param file The file written by {@link #save(Path)}.
+     * @return The recording.
+     * @throws IOException If the file cannot be read or is not a recording.
+     */
+    public static InputRecording load(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return read(input);
+        }
+    }
+
+    /**
+     * Returns the recording in its file format.
+     *
+     * @return The bytes written by {@link #write(OutputStream)}.
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            write(output);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return output.toByteArray();
+    }
+
+    public SimulationConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the number of ticks recorded.
+     *
+     * @return The tick count.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Reads the runs of a recording back for one player, one tick per poll.
+     */
+    private static final class Replay implements InputSource {
+        private final byte[] runs;
+        private final int playerOffset;
+        private int position = 0;
+        private int remaining = 0;
+        private int stateOffset = -1;
+
+        private Replay(byte[] runs, int playerOffset) {
+            this.runs = runs;
+            this.playerOffset = playerOffset;
+        }
+
+        @Override
+        public void poll(SimWorld world, int player, PlayerInput input) {
+            if (remaining == 0) {
+                if (position >= runs.length) {
+                    input.clear();
+                    return;
+                }
+                int length = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = runs[position++];
+                    length |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                remaining = length;
+                stateOffset = position;
+                position += TICK_BYTES;
+            }
+            remaining--;
+            input.read(runs, stateOffset + playerOffset);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.arena.dual_arena.simulation;
+
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Command line entry point replaying an {@link InputRecording} without a window.
+ * Usage: {@code InputReplay <file.darp> [--realtime] [--repeat N]}.
+ * By default the match is replayed as fast as possible; {@code --realtime} paces the ticks at the recorded
+ * tick rate instead. {@code --repeat} replays the match several times, as a fixed workload to compare the
+ * speed of the simulation between two versions of the game.
+ * Prints the result of the match, whose state hash identifies it, and the replay speed in ticks per second.
+ */
+public class InputReplay {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: InputReplay <file" + InputRecording.EXTENSION + "> [--realtime] [--repeat N]");
+            System.exit(1);
+        }
+        InputRecording recording = InputRecording.load(Path.of(args[0]));
+        boolean realtime = false;
+        int repeat = 1;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--realtime" -> realtime = true;
+                case "--repeat" -> repeat = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        SimulationConfig config = recording.getConfig();
+        System.out.printf("%d ticks à %d ticks/s, graine %d%n", recording.getTicks(), config.tickRate(), config.seed());
+
+        for (int run = 0; run < repeat; run++) {
+            long start = System.nanoTime();
+            MatchResult result = realtime ? replayRealtime(recording) : recording.replay();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s en %.3f s : %.0f ticks/s%n", result, seconds, result.ticks() / seconds);
+        }
+    }
+
+    /**
+     * Replays a recording at the speed it was played, sleeping until each tick is due.
+     *
+     * @param recording The recording.
+     * @return The result of the match.
+     */
+    public static MatchResult replayRealtime(InputRecording recording) {
+        HeadlessMatch match = new HeadlessMatch(recording.getConfig(), recording.player(0), recording.player(1));
+        long tickNanos = 1_000_000_000L / recording.getConfig().tickRate();
+        long next = System.nanoTime();
+        while (match.getWorld().getTick() < recording.getTicks() && match.step()) {
+            next += tickNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        return match.getResult();
+    }
+}
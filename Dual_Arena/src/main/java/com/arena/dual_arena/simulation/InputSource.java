@@ -0,0 +1,17 @@
+package com.arena.dual_arena.simulation;
+
+/**
+ * Provides the input of a player for every simulation tick, in place of a gamepad.
+ */
+@FunctionalInterface
+public interface InputSource {
+
+    /**
+     * Fills the input of a player for the coming tick.
+     *
+     * @param world  The world, in the state of the end of the previous tick.
+     * @param player Index of the player the input is for.
+     * @param input  The input to fill.
+     */
+    void poll(SimWorld world, int player, PlayerInput input);
+}
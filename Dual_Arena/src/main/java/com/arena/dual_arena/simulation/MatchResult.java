@@ -0,0 +1,23 @@
+package com.arena.dual_arena.simulation;
+
+/**
+ * Outcome of a headless match.
+ *
+ * @param seed      Seed of the match.
+ * @param ticks     Number of ticks simulated.
+ * @param rounds    Number of rounds played.
+ * @param score1    Rounds won by player 1.
+ * @param score2    Rounds won by player 2.
+ * @param stateHash Hash of the final world state, identical for two runs of the same match.
+ */
+public record MatchResult(long seed, long ticks, int rounds, int score1, int score2, long stateHash) {
+
+    /**
+     * Returns the winner of the match.
+     *
+     * @return 1 or 2, or 0 if the match ended in a draw.
+     */
+    public int winner() {
+        return Integer.compare(score1, score2) > 0 ? 1 : score1 == score2 ? 0 : 2;
+    }
+}
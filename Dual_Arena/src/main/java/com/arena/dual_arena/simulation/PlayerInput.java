@@ -0,0 +1,147 @@
+package com.arena.dual_arena.simulation;
+
+/**
+ * Input state of one player for a single simulation tick.
+ * Mirrors the values read from a gamepad: the left stick moves, the right stick aims,
+ * the triggers fire and a button drops the weapon.
+ */
+public class PlayerInput {
+    /** Size of an input written by {@link #write(byte[], int)}: four stick axes and the buttons. */
+    public static final int BYTES = 5;
+    private static final float AXIS_SCALE = 127f;
+    private static final int PRIMARY_FIRE = 1;
+    private static final int SECONDARY_FIRE = 1 << 1;
+    private static final int DROP_WEAPON = 1 << 2;
+    private float moveX;
+    private float moveY;
+    private float aimX;
+    private float aimY;
+    private boolean primaryFire;
+    private boolean secondaryFire;
+    private boolean dropWeapon;
+
+    /**
+     * Sets the left stick position.
+     *
+     * @param moveX Horizontal value, from -1 (left) to 1 (right).
+     * @param moveY Vertical value, from -1 (up) to 1 (down).
+     */
+    public void setMove(float moveX, float moveY) {
+        this.moveX = moveX;
+        this.moveY = moveY;
+    }
+
+    /**
+     * Sets the right stick position.
+     *
+     * @param aimX Horizontal value, from -1 (left) to 1 (right).
+     * @param aimY Vertical value, from -1 (up) to 1 (down).
+     */
+    public void setAim(float aimX, float aimY) {
+        this.aimX = aimX;
+        this.aimY = aimY;
+    }
+
+    /**
+     * Sets the state of the buttons.
+     *
+     * @param primaryFire   True if the primary fire trigger is pressed.
+     * @param secondaryFire True if the secondary fire trigger is pressed.
+     * @param dropWeapon    True if the drop button is pressed.
+     */
+    public void setButtons(boolean primaryFire, boolean secondaryFire, boolean dropWeapon) {
+        this.primaryFire = primaryFire;
+        this.secondaryFire = secondaryFire;
+        this.dropWeapon = dropWeapon;
+    }
+
+    /**
+     * Copies another input state into this one.
+     *
+     * @param other The input to copy.
+     */
+    public void set(PlayerInput other) {
+        setMove(other.moveX, other.moveY);
+        setAim(other.aimX, other.aimY);
+        setButtons(other.primaryFire, other.secondaryFire, other.dropWeapon);
+    }
+
+    /**
+     * Writes the input on {@value #BYTES} bytes: a signed byte per stick axis and a bit per button.
+     *
+     * @param out    The array to write to.
+     * @param offset Index of the first byte.
+     */
+    public void write(byte[] out, int offset) {
+        out[offset] = axis(moveX);
+        out[offset + 1] = axis(moveY);
+        out[offset + 2] = axis(aimX);
+        out[offset + 3] = axis(aimY);
+        out[offset + 4] = (byte) ((primaryFire ? PRIMARY_FIRE : 0) | (secondaryFire ? SECONDARY_FIRE : 0)
+                | (dropWeapon ? DROP_WEAPON : 0));
+    }
+
+    /**
+     * Reads an input written by {@link #write(byte[], int)}.
+     *
+     * @param in     The array to read from.
+     * @param offset Index of the first byte.
+     */
+    public void read(byte[] in, int offset) {
+        setMove(in[offset] / AXIS_SCALE, in[offset + 1] / AXIS_SCALE);
+        setAim(in[offset + 2] / AXIS_SCALE, in[offset + 3] / AXIS_SCALE);
+        int buttons = in[offset + 4];
+        setButtons((buttons & PRIMARY_FIRE) != 0, (buttons & SECONDARY_FIRE) != 0, (buttons & DROP_WEAPON) != 0);
+    }
+
+    /**
+     * Rounds a stick value to the precision of {@link #write(byte[], int)}.
+     *
+     * @param value The value, from -1 to 1.
+     * @return The value read back.
+     */
+    public static float quantize(float value) {
+        return axis(value) / AXIS_SCALE;
+    }
+
+    private static byte axis(float value) {
+        return (byte) Math.round(Math.max(-1f, Math.min(1f, value)) * AXIS_SCALE);
+    }
+
+    /**
+     * Releases every stick and button.
+     */
+    public void clear() {
+        setMove(0, 0);
+        setAim(0, 0);
+        setButtons(false, false, false);
+    }
+
+    public float getMoveX() {
+        return moveX;
+    }
+
+    public float getMoveY() {
+        return moveY;
+    }
+
+    public float getAimX() {
+        return aimX;
+    }
+
+    public float getAimY() {
+        return aimY;
+    }
+
+    public boolean isPrimaryFire() {
+        return primaryFire;
+    }
+
+    public boolean isSecondaryFire() {
+        return secondaryFire;
+    }
+
+    public boolean isDropWeapon() {
+        return dropWeapon;
+    }
+}
@@ -0,0 +1,104 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.models.projectiles.*;
+import com.arena.dual_arena.models.weapons.Weapon;
+
+/**
+ * Projectiles available in the simulation, with the scale and scaled sprite size used in the game.
+ */
+public enum ProjectileKind {
+    /** Bullet pushing the target away. */
+    BULLET("bullet", 3, 7, 3, false, false),
+    /** Bullet pulling the target towards the shooter. */
+    REVERSED_BULLET("reversed-bullet", 3, 7, 3, false, false),
+    /** Rocket exploding at the end of its range or on impact. */
+    ROCKET("rocket", 1, 40, 16, true, false),
+    /** Rocket whose explosion pulls players towards its center. */
+    REVERSED_ROCKET("reversed-rocket", 1, 40, 16, true, true),
+    /** Rocket steered with the right stick of its owner. */
+    GUIDED_ROCKET("guided-rocket", 3, 9, 8, true, false);
+
+    private static final ProjectileKind[] VALUES = values();
+
+    private final String spawnName;
+    private final double scale;
+    private final double width;
+    private final double height;
+    private final boolean explosive;
+    private final boolean reversedExplosion;
+
+    ProjectileKind(String spawnName, double scale, double spriteWidth, double spriteHeight, boolean explosive, boolean reversedExplosion) {
+        this.spawnName = spawnName;
+        this.scale = scale;
+        this.width = spriteWidth * scale;
+        this.height = spriteHeight * scale;
+        this.explosive = explosive;
+        this.reversedExplosion = reversedExplosion;
+    }
+
+    /**
+     * Finds the projectile kind spawned under the given name, as used by weapon models.
+     *
+     * @param spawnName The spawn name of the projectile.
+     * @return The matching projectile kind.
+     */
+    public static ProjectileKind fromSpawnName(String spawnName) {
+        for (ProjectileKind kind : VALUES) {
+            if (kind.spawnName.equals(spawnName)) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unknown projectile: " + spawnName);
+    }
+
+    /**
+     * Creates the projectile model fired by a weapon.
+     *
+     * @param weapon The weapon providing the range, speed and knockback multipliers.
+     * @return A new projectile model.
+     */
+    public Projectile createProjectile(Weapon weapon) {
+        float range = weapon.getRangeMultiplier();
+        float speed = weapon.getSpeedMultiplier();
+        float knockback = weapon.getKnockbackMultiplier();
+        return switch (this) {
+            case BULLET -> new Bullet(speed, knockback);
+            case REVERSED_BULLET -> new ReversedBullet(speed, knockback);
+            case ROCKET -> new Rocket(range, speed, knockback);
+            case REVERSED_ROCKET -> new ReversedRocket(range, speed, knockback);
+            case GUIDED_ROCKET -> new GuidedRocket(range, speed, knockback);
+        };
+    }
+
+    public String getSpawnName() {
+        return spawnName;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns whether the projectile explodes instead of pushing the player it hits.
+     * @return True for rockets.
+     */
+    public boolean isExplosive() {
+        return explosive;
+    }
+
+    /**
+     * Returns whether the explosion pulls players towards its center.
+     * @return True for reversed rockets.
+     */
+    public boolean isReversedExplosion() {
+        return reversedExplosion;
+    }
+}
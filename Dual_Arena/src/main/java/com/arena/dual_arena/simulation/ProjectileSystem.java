@@ -0,0 +1,517 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.models.projectiles.Projectile;
+import com.arena.dual_arena.utils.SpatialGrid;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Projectiles of a {@link SimWorld}, stored as rows of flat primitive arrays instead of one object each, for modes
+ * with tens of thousands of bullets on screen. Kinds, owners, positions, directions, speeds, ranges and the
+ * distance flown are stored column by column and advanced in a single loop per tick; the game draws them all
+ * on one canvas. Guided rockets are steered by their owner's right stick, bullets push the player they hit,
+ * rockets explode on impact or at the end of their range, and projectiles leaving the arena are dropped.
+ * Hits and blasts only test the players found near the projectile in a {@link SpatialGrid}.
+ *
+ * <p>Removed projectiles are replaced by the last row, so the arrays stay packed. The rows act as a pool: a shot
+ * reuses the free row left by a removed projectile, and the arrays only grow when a shot finds them full,
+ * up to {@link #MAX_CAPACITY}; shots fired beyond are dropped and counted. {@link #getPoolStats()} gives the
+ * share of shots served without growing.
+ * The system of a world must only be changed by that world.</p>
+ */
+public class ProjectileSystem {
+    /** Number of rows allocated by a new world. */
+    public static final int DEFAULT_CAPACITY = 64;
+    /** Maximum number of projectiles alive at once, enough for bullet-hell modes. */
+    public static final int MAX_CAPACITY = 65_536;
+    private static final ProjectileKind[] KINDS = ProjectileKind.values();
+    private static final WeaponKind[] WEAPON_KINDS = WeaponKind.values();
+    /** Projectile models by kind and weapon kind: every shot of a weapon has the same speed, range and knockback. */
+    private static final Projectile[][] MODELS = new Projectile[KINDS.length][WEAPON_KINDS.length];
+    private static final SimWorld.Listener NO_LISTENER = new SimWorld.Listener() {
+    };
+
+    static {
+        for (WeaponKind weaponKind : WEAPON_KINDS) {
+            for (ProjectileKind kind : KINDS) {
+                MODELS[kind.ordinal()][weaponKind.ordinal()] = kind.createProjectile(weaponKind.createWeapon());
+            }
+        }
+    }
+
+    private final SimPlayer[] players;
+    private final SpatialGrid<SimPlayer> playerGrid = new SpatialGrid<>(SpatialGrid.DEFAULT_CELL_SIZE, SimPlayer.LOCATOR);
+    // Réutilisée par chaque requête de la grille
+    private final List<SimPlayer> candidates = new ArrayList<>();
+    private final double width;
+    private final double height;
+    private byte[] kinds;
+    private byte[] weaponKinds;
+    private byte[] owners;
+    private double[] x;
+    private double[] y;
+    private double[] previousX;
+    private double[] previousY;
+    private double[] directionX;
+    private double[] directionY;
+    private double[] distanceTraveled;
+    private float[] speed;
+    private float[] range;
+    private long[] firstTickNanos;
+    private int count = 0;
+    private long dropped = 0;
+    private long requests = 0;
+    private long hits = 0;
+    private SimWorld.Listener listener = NO_LISTENER;
+
+    /**
+     * Constructs an empty system.
+     *
+     * @param capacity Number of rows allocated at first.
+     * @param width    Width of the arena, projectiles being dropped a little beyond it.
+     * @param height   Height of the arena.
+     * @param players  The players projectiles can hit, indexed like the players of the world.
+     */
+    public ProjectileSystem(int capacity, double width, double height, SimPlayer... players) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        this.players = players;
+        for (SimPlayer player : players) {
+            playerGrid.insert(player);
+        }
+        this.width = width;
+        this.height = height;
+        kinds = new byte[capacity];
+        weaponKinds = new byte[capacity];
+        owners = new byte[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        previousX = new double[capacity];
+        previousY = new double[capacity];
+        directionX = new double[capacity];
+        directionY = new double[capacity];
+        distanceTraveled = new double[capacity];
+        speed = new float[capacity];
+        range = new float[capacity];
+        firstTickNanos = new long[capacity];
+    }
+
+    private void grow(int capacity) {
+        kinds = Arrays.copyOf(kinds, capacity);
+        weaponKinds = Arrays.copyOf(weaponKinds, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        directionX = Arrays.copyOf(directionX, capacity);
+        directionY = Arrays.copyOf(directionY, capacity);
+        distanceTraveled = Arrays.copyOf(distanceTraveled, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        range = Arrays.copyOf(range, capacity);
+        firstTickNanos = Arrays.copyOf(firstTickNanos, capacity);
+    }
+
+    /**
+     * Statistics of the rows used as a pool of projectiles.
+     *
+     * @param requests  Number of shots fired.
+     * @param hits      Number of shots stored in a free row, without growing the arrays.
+     * @param capacity  Number of rows allocated.
+     * @param available Number of free rows.
+     */
+    public record PoolStats(long requests, long hits, int capacity, int available) {
+        /**
+         * Returns the share of shots stored in a free row.
+         *
+         * @return The hit rate between 0 and 1, or 0 if nothing was fired yet.
+         */
+        public double hitRate() {
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+
+        /**
+         * Returns the number of shots that had to grow the arrays or were dropped.
+         *
+         * @return The miss count.
+         */
+        public long misses() {
+            return requests - hits;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("projectiles: pool=%d capacity=%d requests=%d hit rate=%.1f%%",
+                    available, capacity, requests, hitRate() * 100);
+        }
+    }
+
+    /**
+     * Sets the listener notified of the hits and explosions of the next updates.
+     *
+     * @param listener The listener, or null to remove it.
+     */
+    public void setListener(SimWorld.Listener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+    }
+
+    /**
+     * Fires a projectile.
+     *
+     * @param kind       The projectile kind, giving its size and explosion.
+     * @param weaponKind The kind of weapon firing it, giving its speed, range and knockback.
+     * @param owner      Index of the player who fired. It cannot be hit by its own projectile.
+     * @param x          X-coordinate of the top-left corner of the projectile.
+     * @param y          Y-coordinate of the top-left corner of the projectile.
+     * @param directionX X-coordinate of the unit direction of the projectile.
+     * @param directionY Y-coordinate of the unit direction of the projectile.
+     * @param flightNanos Time the projectile flies during its first update, from the moment it was due to the end
+     *                    of the tick, or -1 to fly a whole tick.
+     * @return The index of the projectile, or -1 if the system is full and the shot was dropped.
+     */
+    public int spawn(ProjectileKind kind, WeaponKind weaponKind, int owner, double x, double y,
+                     double directionX, double directionY, long flightNanos) {
+        requests++;
+        if (count < kinds.length) {
+            hits++;
+        }
+        return add(kind, weaponKind, owner, x, y, directionX, directionY, flightNanos);
+    }
+
+    private int add(ProjectileKind kind, WeaponKind weaponKind, int owner, double x, double y,
+                    double directionX, double directionY, long flightNanos) {
+        if (count == kinds.length) {
+            if (count == MAX_CAPACITY) {
+                dropped++;
+                return -1;
+            }
+            grow(Math.min(count * 2, MAX_CAPACITY));
+        }
+        Projectile model = MODELS[kind.ordinal()][weaponKind.ordinal()];
+        int i = count++;
+        kinds[i] = (byte) kind.ordinal();
+        weaponKinds[i] = (byte) weaponKind.ordinal();
+        owners[i] = (byte) owner;
+        this.x[i] = x;
+        this.y[i] = y;
+        previousX[i] = x;
+        previousY[i] = y;
+        this.directionX[i] = directionX;
+        this.directionY[i] = directionY;
+        distanceTraveled[i] = 0;
+        speed[i] = model.getSpeed();
+        range[i] = model.getRange();
+        firstTickNanos[i] = flightNanos;
+        return i;
+    }
+
+    /**
+     * Advances every projectile by one tick: steering, movement, hits, range and arena bounds.
+     *
+     * @param dt Duration of the tick in seconds.
+     */
+    public void update(double dt) {
+        double minX = -GameRules.OFFSCREEN_MARGIN;
+        double minY = -GameRules.OFFSCREEN_MARGIN;
+        double maxX = width + GameRules.OFFSCREEN_MARGIN;
+        double maxY = height + GameRules.OFFSCREEN_MARGIN;
+        for (SimPlayer player : players) {
+            playerGrid.update(player);
+        }
+
+        // Parcours à rebours : le projectile qui remplace un projectile retiré a déjà été avancé
+        for (int i = count - 1; i >= 0; i--) {
+            double seconds = dt;
+            boolean firstTick = firstTickNanos[i] >= 0;
+            if (firstTick) {
+                seconds = firstTickNanos[i] / 1e9;
+                firstTickNanos[i] = -1;
+            }
+            double distance = speed[i] * seconds;
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+
+            ProjectileKind kind = KINDS[kinds[i]];
+            if (kind == ProjectileKind.GUIDED_ROCKET) {
+                steer(i, players[owners[i]].input);
+            }
+            double px = x[i] + directionX[i] * distance;
+            double py = y[i] + directionY[i] * distance;
+            x[i] = px;
+            y[i] = py;
+            distanceTraveled[i] += distance;
+            if (firstTick) {
+                // Le tir n'a pas d'image précédente : il est dessiné là où il est arrivé
+                previousX[i] = px;
+                previousY[i] = py;
+            }
+
+            if (hitPlayer(i, kind)) {
+                remove(i);
+            } else if (range[i] > 0 && distanceTraveled[i] >= range[i]) {
+                if (kind.isExplosive()) {
+                    explode(i, kind);
+                }
+                remove(i);
+            } else if (px < minX || px > maxX || py < minY || py > maxY) {
+                remove(i);
+            }
+        }
+    }
+
+    private void steer(int i, PlayerInput input) {
+        if (GameRules.isOutsideDeadZone(input.getAimX(), input.getAimY(), GameRules.AIM_DEAD_ZONE)) {
+            double length = Math.hypot(input.getAimX(), input.getAimY());
+            double dx = directionX[i] + input.getAimX() / length * GameRules.GUIDED_STEERING;
+            double dy = directionY[i] + input.getAimY() / length * GameRules.GUIDED_STEERING;
+            double newLength = Math.hypot(dx, dy);
+            directionX[i] = dx / newLength;
+            directionY[i] = dy / newLength;
+        }
+    }
+
+    private boolean hitPlayer(int i, ProjectileKind kind) {
+        playerGrid.query(x[i], y[i], x[i] + kind.getWidth(), y[i] + kind.getHeight(), null, candidates);
+        // Le premier joueur dans l'ordre du monde est touché, quel que soit l'ordre de la grille
+        SimPlayer hit = null;
+        for (int c = 0; c < candidates.size(); c++) {
+            SimPlayer player = candidates.get(c);
+            if (player.id - 1 != owners[i] && (hit == null || player.id < hit.id)
+                    && player.intersects(x[i], y[i], kind.getWidth(), kind.getHeight())) {
+                hit = player;
+            }
+        }
+        if (hit == null) {
+            return false;
+        }
+        if (kind.isExplosive()) {
+            explode(i, kind);
+        } else {
+            hit.applyKnockback(directionX[i], directionY[i], model(i).getKnockback());
+            listener.onProjectileHit(kind, x[i] + kind.getWidth() / 2, y[i] + kind.getHeight() / 2, hit);
+        }
+        return true;
+    }
+
+    /**
+     * Pushes every player within the blast radius of a rocket, or pulls them for a reversed rocket.
+     */
+    private void explode(int i, ProjectileKind kind) {
+        Projectile model = model(i);
+        double centerX = x[i] + kind.getWidth() / 2;
+        double centerY = y[i] + kind.getHeight() / 2;
+        double radius = GameRules.explosionRadius(kind.getScale(), model.getExplosionRadiusMultiplier());
+        playerGrid.queryRadius(centerX, centerY, radius, null, candidates);
+        for (int c = 0; c < candidates.size(); c++) {
+            SimPlayer player = candidates.get(c);
+            double dx = player.centerX() - centerX;
+            double dy = player.centerY() - centerY;
+            double distance = Math.hypot(dx, dy);
+            if (distance <= radius) {
+                float force = GameRules.explosionForce(model.getKnockback(), distance, radius, model.getExplosionKnockbackFalloff());
+                double sign = kind.isReversedExplosion() ? -1 : 1;
+                double length = distance == 0 ? 1 : distance;
+                player.applyKnockback(sign * dx / length, sign * dy / length, force);
+            }
+        }
+        listener.onProjectileExploded(kind, centerX, centerY, radius);
+    }
+
+    private Projectile model(int i) {
+        return MODELS[kinds[i]][weaponKinds[i]];
+    }
+
+    /**
+     * Removes a projectile by moving the last one into its row.
+     */
+    private void remove(int i) {
+        int last = --count;
+        if (i == last) {
+            return;
+        }
+        kinds[i] = kinds[last];
+        weaponKinds[i] = weaponKinds[last];
+        owners[i] = owners[last];
+        x[i] = x[last];
+        y[i] = y[last];
+        previousX[i] = previousX[last];
+        previousY[i] = previousY[last];
+        directionX[i] = directionX[last];
+        directionY[i] = directionY[last];
+        distanceTraveled[i] = distanceTraveled[last];
+        speed[i] = speed[last];
+        range[i] = range[last];
+        firstTickNanos[i] = firstTickNanos[last];
+    }
+
+    /**
+     * Removes every projectile.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Mixes the positions and directions of the projectiles into a hash of the world state.
+     */
+    long hash(long hash) {
+        for (int i = 0; i < count; i++) {
+            hash = 31 * hash + Double.hashCode(x[i]);
+            hash = 31 * hash + Double.hashCode(y[i]);
+            hash = 31 * hash + Double.hashCode(directionX[i]);
+            hash = 31 * hash + Double.hashCode(directionY[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * Writes the projectiles into a snapshot. Speeds and ranges are not written: they follow from the kinds.
+     */
+    void save(ByteBuffer out) {
+        SnapshotCodec.putVarInt(out, count);
+        for (int i = 0; i < count; i++) {
+            out.put(kinds[i]);
+            out.put(weaponKinds[i]);
+            out.put(owners[i]);
+            out.putDouble(x[i]);
+            out.putDouble(y[i]);
+            out.putDouble(directionX[i]);
+            out.putDouble(directionY[i]);
+            out.putDouble(distanceTraveled[i]);
+        }
+    }
+
+    /**
+     * Replaces the projectiles by those of a snapshot written by {@link #save(ByteBuffer)}.
+     */
+    void restore(ByteBuffer in) {
+        clear();
+        int restored = SnapshotCodec.getVarInt(in);
+        for (int n = 0; n < restored; n++) {
+            ProjectileKind kind = KINDS[in.get()];
+            WeaponKind weaponKind = WEAPON_KINDS[in.get()];
+            int owner = in.get();
+            // Rejouer un snapshot n'est pas un tir : les statistiques du pool ne bougent pas
+            int i = add(kind, weaponKind, owner, in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble(), -1);
+            distanceTraveled[i] = in.getDouble();
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of rows allocated, which grows with the number of projectiles alive at once.
+     * @return The current capacity.
+     */
+    public int getCapacity() {
+        return kinds.length;
+    }
+
+    /**
+     * Returns the number of shots dropped because the system was full.
+     * @return The dropped shot count.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Returns how many shots were stored in a free row since the system was created.
+     * @return The statistics of the pool.
+     */
+    public PoolStats getPoolStats() {
+        return new PoolStats(requests, hits, kinds.length, kinds.length - count);
+    }
+
+    public ProjectileKind getKind(int i) {
+        return KINDS[kinds[i]];
+    }
+
+    /**
+     * Returns the kind of weapon that fired a projectile.
+     *
+     * @param i The projectile index.
+     * @return The weapon kind.
+     */
+    public WeaponKind getWeaponKind(int i) {
+        return WEAPON_KINDS[weaponKinds[i]];
+    }
+
+    /**
+     * Returns the player who fired a projectile.
+     *
+     * @param i The projectile index.
+     * @return The owner.
+     */
+    public SimPlayer getOwner(int i) {
+        return players[owners[i]];
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    /**
+     * Returns the x-coordinate of a projectile at the end of the previous tick.
+     *
+     * @param i The projectile index.
+     * @return The previous x-coordinate, the current one during the tick it was fired in.
+     */
+    public double getPreviousX(int i) {
+        return previousX[i];
+    }
+
+    public double getPreviousY(int i) {
+        return previousY[i];
+    }
+
+    /**
+     * Returns the x-coordinate of a projectile between its previous and current tick, for drawing.
+     *
+     * @param i     The projectile index.
+     * @param alpha Interpolation factor, 0 for the previous position and 1 for the current one.
+     * @return The interpolated x-coordinate.
+     */
+    public double getRenderX(int i, double alpha) {
+        return previousX[i] + (x[i] - previousX[i]) * alpha;
+    }
+
+    /**
+     * Returns the y-coordinate of a projectile between its previous and current tick, for drawing.
+     *
+     * @param i     The projectile index.
+     * @param alpha Interpolation factor, 0 for the previous position and 1 for the current one.
+     * @return The interpolated y-coordinate.
+     */
+    public double getRenderY(int i, double alpha) {
+        return previousY[i] + (y[i] - previousY[i]) * alpha;
+    }
+
+    public double getDirectionX(int i) {
+        return directionX[i];
+    }
+
+    public double getDirectionY(int i) {
+        return directionY[i];
+    }
+
+    /**
+     * Returns the speed of a projectile.
+     *
+     * @param i The projectile index.
+     * @return The speed in pixels per second.
+     */
+    public float getSpeed(int i) {
+        return speed[i];
+    }
+}
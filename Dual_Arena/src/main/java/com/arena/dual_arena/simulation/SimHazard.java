@@ -0,0 +1,108 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.utils.SpatialGrid;
+
+/**
+ * State of an environmental hazard in the simulation.
+ */
+public class SimHazard {
+    /**
+     * The different hazards spawned by the random attack events.
+     */
+    public enum Type {
+        /** Warning circle that explodes after a delay. */
+        ATTACK_ZONE,
+        /** Deadly explosion left by an attack zone. */
+        EXPLOSION,
+        /** Deadly fireball crossing the arena. */
+        FIREBALL
+    }
+
+    /** Size of the fireball hitbox. */
+    static final double FIREBALL_WIDTH = 10 * 2;
+    static final double FIREBALL_HEIGHT = 13 * 2;
+    /** Locates hazards in a {@link SpatialGrid} by the center of their hitbox. */
+    static final SpatialGrid.Locator<SimHazard> LOCATOR = new SpatialGrid.Locator<>() {
+        @Override
+        public double centerX(SimHazard hazard) {
+            return hazard.type == Type.FIREBALL ? hazard.x + FIREBALL_WIDTH / 2 : hazard.x;
+        }
+
+        @Override
+        public double centerY(SimHazard hazard) {
+            return hazard.type == Type.FIREBALL ? hazard.y + FIREBALL_HEIGHT / 2 : hazard.y;
+        }
+    };
+
+    final int id;
+    final Type type;
+    double x;
+    double y;
+    final double radius;
+    final double targetX;
+    final double targetY;
+    long remainingTicks;
+
+    SimHazard(int id, Type type, double x, double y, double radius, double targetX, double targetY, long remainingTicks) {
+        this.id = id;
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.radius = radius;
+        this.targetX = targetX;
+        this.targetY = targetY;
+        this.remainingTicks = remainingTicks;
+    }
+
+    /**
+     * Returns whether the hazard kills the given player.
+     * Explosions use the same three boxes forming a cross as the game, fireballs their sprite box.
+     */
+    boolean hits(SimPlayer player) {
+        return switch (type) {
+            case ATTACK_ZONE -> false;
+            case FIREBALL -> player.intersects(x, y, FIREBALL_WIDTH, FIREBALL_HEIGHT);
+            case EXPLOSION -> {
+                double rectSide = radius * Math.sqrt(3);
+                double squareSide = radius * Math.sqrt(2);
+                yield player.intersects(x - rectSide / 2, y - radius / 2, rectSide, radius)
+                        || player.intersects(x - squareSide / 2, y - squareSide / 2, squareSide, squareSide)
+                        || player.intersects(x - radius / 2, y - rectSide / 2, radius, rectSide);
+            }
+        };
+    }
+
+    /**
+     * Returns the identifier of the hazard, unique in its world and kept by snapshots.
+     * An attack zone and the explosion it turns into have different identifiers.
+     *
+     * @return The hazard identifier.
+     */
+    public int getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public double getTargetX() {
+        return targetX;
+    }
+
+    public double getTargetY() {
+        return targetY;
+    }
+}
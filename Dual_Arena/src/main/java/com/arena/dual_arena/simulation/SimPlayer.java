@@ -0,0 +1,125 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.utils.SpatialGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * State of a player in the simulation, rendered by {@code PlayerComponent} and {@code PlayerAnimationComponent}.
+ */
+public class SimPlayer {
+    /** Locates players in a {@link SpatialGrid} by the center of their hitbox. */
+    static final SpatialGrid.Locator<SimPlayer> LOCATOR = new SpatialGrid.Locator<>() {
+        @Override
+        public double centerX(SimPlayer player) {
+            return player.centerX();
+        }
+
+        @Override
+        public double centerY(SimPlayer player) {
+            return player.centerY();
+        }
+    };
+
+    final int id;
+    double x;
+    double y;
+    double glideX;
+    double glideY;
+    double knockbackX;
+    double knockbackY;
+    SimWeapon weapon;
+    final PlayerInput input = new PlayerInput();
+    List<SimWeapon> touchingWeapons = new ArrayList<>();
+    List<SimWeapon> previouslyTouchingWeapons = new ArrayList<>();
+
+    SimPlayer(int id, double x, double y) {
+        this.id = id;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Pushes the player, adding to any knockback already in progress.
+     *
+     * @param directionX     Horizontal component of the knockback direction.
+     * @param directionY     Vertical component of the knockback direction.
+     * @param knockbackForce Magnitude of the knockback.
+     */
+    public void applyKnockback(double directionX, double directionY, float knockbackForce) {
+        knockbackX += directionX * knockbackForce;
+        knockbackY += directionY * knockbackForce;
+    }
+
+    double centerX() {
+        return x + SimulationConfig.PLAYER_HITBOX_X + SimulationConfig.PLAYER_HITBOX_WIDTH / 2;
+    }
+
+    double centerY() {
+        return y + SimulationConfig.PLAYER_HITBOX_Y + SimulationConfig.PLAYER_HITBOX_HEIGHT / 2;
+    }
+
+    /**
+     * Returns whether the feet hitbox of the player touches water.
+     *
+     * @param terrain The terrain scaled to the arena.
+     * @return True if the player fell in the water.
+     */
+    boolean isOverWater(TerrainMap terrain) {
+        return terrain.overlapsWater(x + SimulationConfig.PLAYER_HITBOX_X, y + SimulationConfig.PLAYER_HITBOX_Y,
+                SimulationConfig.PLAYER_HITBOX_WIDTH, SimulationConfig.PLAYER_HITBOX_HEIGHT);
+    }
+
+    boolean intersects(double otherX, double otherY, double otherWidth, double otherHeight) {
+        return Box.intersects(x + SimulationConfig.PLAYER_HITBOX_X, y + SimulationConfig.PLAYER_HITBOX_Y,
+                SimulationConfig.PLAYER_HITBOX_WIDTH, SimulationConfig.PLAYER_HITBOX_HEIGHT,
+                otherX, otherY, otherWidth, otherHeight);
+    }
+
+    /**
+     * Retrieves the unique identifier for this player.
+     *
+     * @return 1 for the left player, 2 for the right player.
+     */
+    public int getId() {
+        return id;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Returns the horizontal speed of the glide that follows a movement.
+     * @return The glide speed in pixels per tick at the reference tick rate, 0 once the player stopped.
+     */
+    public double getGlideX() {
+        return glideX;
+    }
+
+    public double getGlideY() {
+        return glideY;
+    }
+
+    public double getKnockbackX() {
+        return knockbackX;
+    }
+
+    public double getKnockbackY() {
+        return knockbackY;
+    }
+
+    /**
+     * Retrieves the weapon carried by the player.
+     *
+     * @return The equipped weapon, or null if the player is unarmed.
+     */
+    public SimWeapon getWeapon() {
+        return weapon;
+    }
+}
@@ -0,0 +1,100 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.models.weapons.Weapon;
+import com.arena.dual_arena.utils.SpatialGrid;
+
+/**
+ * State of a weapon in the simulation, lying on the ground or carried by a player.
+ */
+public class SimWeapon {
+    /** Locates weapons in a {@link SpatialGrid} by the center of their sprite. */
+    static final SpatialGrid.Locator<SimWeapon> LOCATOR = new SpatialGrid.Locator<>() {
+        @Override
+        public double centerX(SimWeapon weapon) {
+            return weapon.centerX();
+        }
+
+        @Override
+        public double centerY(SimWeapon weapon) {
+            return weapon.centerY();
+        }
+    };
+
+    final int id;
+    final WeaponKind kind;
+    final Weapon weapon;
+    double x;
+    double y;
+    double rotation;
+    SimPlayer owner;
+    boolean removed;
+    final FireScheduler scheduler;
+    // Résolus une fois : un tir ne cherche pas son projectile par nom
+    private final ProjectileKind primaryKind;
+    private final ProjectileKind secondaryKind;
+
+    SimWeapon(int id, WeaponKind kind, double x, double y) {
+        this.id = id;
+        this.kind = kind;
+        this.weapon = kind.createWeapon();
+        this.scheduler = FireScheduler.of(weapon);
+        this.primaryKind = ProjectileKind.fromSpawnName(weapon.getPrimaryProjectileType());
+        this.secondaryKind = ProjectileKind.fromSpawnName(weapon.getSecondaryProjectileType());
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Returns the kind of projectile fired by a mode.
+     *
+     * @param mode {@link FireScheduler#PRIMARY} or {@link FireScheduler#SECONDARY}.
+     * @return The projectile kind.
+     */
+    ProjectileKind projectileKind(int mode) {
+        return mode == FireScheduler.PRIMARY ? primaryKind : secondaryKind;
+    }
+
+    double centerX() {
+        return x + kind.getWidth() / 2;
+    }
+
+    double centerY() {
+        return y + kind.getHeight() / 2;
+    }
+
+    /**
+     * Returns the identifier of the weapon, unique in its world and kept by snapshots.
+     * @return The weapon identifier.
+     */
+    public int getId() {
+        return id;
+    }
+
+    public WeaponKind getKind() {
+        return kind;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Returns the aiming angle of the weapon.
+     * @return The rotation in degrees, 0 pointing right.
+     */
+    public double getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Returns the player carrying the weapon.
+     * @return The owner, or null if the weapon lies on the ground.
+     */
+    public SimPlayer getOwner() {
+        return owner;
+    }
+}
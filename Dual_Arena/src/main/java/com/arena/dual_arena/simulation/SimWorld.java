@@ -0,0 +1,883 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.utils.RandomStreams;
+import com.arena.dual_arena.utils.SpatialGrid;
+import com.arena.dual_arena.utils.SplitRandom;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Deterministic simulation of a match, the only implementation of the rules of the game: movement, knockback,
+ * weapons, projectiles, hazards and water. Plain Java state is advanced in fixed ticks, so matches run the same
+ * in the FXGL game, whose components only render this state, and without a window, a controller or a JavaFX thread.
+ * Two worlds created with the same configuration and fed the same inputs always end in the same state.
+ * The whole state can be saved to a compact binary snapshot and restored, including the random generators,
+ * so a restored world goes on exactly like the world it was saved from.
+ * Weapons and hazards keep their identifier across ticks and snapshots, so a renderer can match its views to them.
+ * Pickups and hazard contacts only test the weapons and hazards found near the player in a {@link SpatialGrid}.
+ */
+public class SimWorld {
+    private static final WeaponKind[] RANDOM_WEAPONS = WeaponKind.values();
+    private static final SimHazard.Type[] HAZARD_TYPES = SimHazard.Type.values();
+    /** Version of the snapshot format, first byte of every snapshot. */
+    public static final int SNAPSHOT_VERSION = 2;
+    // Bits des indicateurs des snapshots
+    private static final int OWNED = 1;
+    private static final int REMOVED = 1 << 1;
+    private static final int ROTATED = 1 << 2;
+    private static final int GLIDING = 1;
+    private static final int KNOCKED_BACK = 1 << 1;
+    private static final int ARMED = 1 << 2;
+    private static final Listener NO_LISTENER = new Listener() {
+    };
+    /** Cell size of the hazard grid: explosions reach up to 0.87 times their radius, at most 89 pixels, from their center. */
+    private static final double HAZARD_CELL_SIZE = 2 * SpatialGrid.DEFAULT_CELL_SIZE;
+    private static final Comparator<SimWeapon> BY_ID = Comparator.comparingInt(weapon -> weapon.id);
+
+    /**
+     * Receives what happens during a tick, so the game can play sounds and effects and record JFR events.
+     * Called from {@link #step(PlayerInput[])}; the world must not be changed from a listener.
+     */
+    public interface Listener {
+        /**
+         * Called when a weapon fires.
+         *
+         * @param player     The player holding the weapon.
+         * @param weapon     The kind of weapon firing.
+         * @param projectile The kind of projectile fired.
+         */
+        default void onShot(SimPlayer player, WeaponKind weapon, ProjectileKind projectile) {
+        }
+
+        /**
+         * Called when a bullet hits a player and pushes them away. The bullet is removed from the world.
+         *
+         * @param projectile The kind of bullet.
+         * @param x          X-coordinate of the center of the bullet.
+         * @param y          Y-coordinate of the center of the bullet.
+         * @param target     The player hit.
+         */
+        default void onProjectileHit(ProjectileKind projectile, double x, double y, SimPlayer target) {
+        }
+
+        /**
+         * Called when a rocket explodes on a player or at the end of its range. The rocket is removed from the world.
+         *
+         * @param projectile The kind of rocket.
+         * @param x          X-coordinate of the center of the explosion.
+         * @param y          Y-coordinate of the center of the explosion.
+         * @param radius     Radius of the explosion.
+         */
+        default void onProjectileExploded(ProjectileKind projectile, double x, double y, double radius) {
+        }
+
+        /**
+         * Called when an attack zone or a fireball appears.
+         *
+         * @param hazard The new hazard.
+         */
+        default void onHazardSpawned(SimHazard hazard) {
+        }
+
+        /**
+         * Called when an attack zone turns into an explosion.
+         *
+         * @param explosion The explosion replacing the zone.
+         */
+        default void onHazardExploded(SimHazard explosion) {
+        }
+
+        /**
+         * Called when a player fell in the water or was hit by a hazard, before the round is reset.
+         *
+         * @param player The dead player.
+         */
+        default void onPlayerDied(SimPlayer player) {
+        }
+    }
+
+    private final SimulationConfig config;
+    private final RandomStreams streams;
+    private final SplitRandom weaponRandom;
+    private final TerrainMap terrain;
+    private final SimPlayer[] players = new SimPlayer[2];
+    private final int[] scores = new int[2];
+    private final List<SimWeapon> weapons = new ArrayList<>();
+    private final ProjectileSystem projectiles;
+    private final List<SimHazard> hazards = new ArrayList<>();
+    private final SpatialGrid<SimWeapon> weaponGrid = new SpatialGrid<>(SpatialGrid.DEFAULT_CELL_SIZE, SimWeapon.LOCATOR);
+    private final SpatialGrid<SimHazard> hazardGrid = new SpatialGrid<>(HAZARD_CELL_SIZE, SimHazard.LOCATOR);
+    // Réutilisées par chaque requête des grilles
+    private final List<SimWeapon> weaponCandidates = new ArrayList<>();
+    private final List<SimHazard> hazardCandidates = new ArrayList<>();
+    private final List<AttackEvent> zoneEvents = new ArrayList<>();
+    private final List<AttackEvent> fireballEvents = new ArrayList<>();
+    private final long weaponSpawnInterval;
+    private final long rocketSpawnInterval;
+    private final long zoneEscalationInterval;
+    private final long fireballEscalationInterval;
+    private final FireScheduler.ShotListener shotListener = this::fire;
+    // Joueur dont l'arme est en train de tirer, lu par le listener de tir
+    private SimPlayer firingPlayer;
+    private Listener listener = NO_LISTENER;
+    private int nextId;
+    private long tick;
+    private long roundStartTick;
+    private int rounds;
+    private long skippedAttacks;
+
+    /**
+     * Creates a world in the state of a new game: both players on their spawn with a gun, and the first attack zone event started.
+     *
+     * @param config The settings of the match.
+     */
+    public SimWorld(SimulationConfig config) {
+        this(config, config.terrain());
+    }
+
+    /**
+     * Creates a world in the state of a new game on a given terrain, such as the compiled arena loaded by the game.
+     *
+     * @param config  The settings of the match.
+     * @param terrain The water of the arena, in arena coordinates.
+     */
+    public SimWorld(SimulationConfig config, TerrainMap terrain) {
+        this.config = config;
+        // Mêmes familles de tirages que le jeu : un flux pour les armes, un par événement d'attaque
+        this.streams = new RandomStreams(config.seed());
+        this.weaponRandom = streams.stream(RandomStreams.WEAPONS);
+        this.terrain = terrain;
+        this.weaponSpawnInterval = config.ticks(15);
+        this.rocketSpawnInterval = config.ticks(70 + weaponRandom.nextInt(20));
+        this.zoneEscalationInterval = config.ticks(GameRules.ZONE_ESCALATION_INTERVAL);
+        this.fireballEscalationInterval = config.ticks(GameRules.FIREBALL_ESCALATION_INTERVAL);
+
+        for (int i = 0; i < players.length; i++) {
+            double[] spawn = config.spawnPosition(i);
+            players[i] = new SimPlayer(i + 1, spawn[0], spawn[1]);
+            addWeapon(new SimWeapon(nextId++, WeaponKind.GUN, spawn[0], spawn[1]));
+        }
+        this.projectiles = new ProjectileSystem(ProjectileSystem.DEFAULT_CAPACITY, config.width(), config.height(), players);
+        startZoneEvent();
+    }
+
+    /**
+     * Sets the listener notified of the shots, impacts, hazards and deaths of the next ticks.
+     *
+     * @param listener The listener, or null to remove it.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+        projectiles.setListener(listener);
+    }
+
+    /**
+     * Advances the world by one tick.
+     *
+     * @param inputs The input of each player for this tick, indexed like the players.
+     * @return The index of the player who won the round during this tick, -1 if the round goes on or ended in a draw.
+     */
+    public int step(PlayerInput[] inputs) {
+        tick++;
+
+        for (int i = 0; i < players.length; i++) {
+            updatePlayer(i, inputs[i]);
+        }
+        updateWeapons();
+        projectiles.update(1.0 / config.tickRate());
+        updateHazards();
+        runSchedules();
+        return checkDeaths();
+    }
+
+    /**
+     * Runs the part of a tick that moves a player: knockback, movement, shots, weapon drop, pickup and glide.
+     * Called by {@link #step(PlayerInput[])} for each player; public so that the benchmarks can measure this path alone.
+     *
+     * @param index The index of the player.
+     * @param input The input of the player for this tick.
+     */
+    public void updatePlayer(int index, PlayerInput input) {
+        SimPlayer player = players[index];
+        player.input.set(input);
+        updatePlayer(player);
+    }
+
+    private void updatePlayer(SimPlayer player) {
+        double dt = 1.0 / config.tickRate();
+        if (player.knockbackX != 0 || player.knockbackY != 0) {
+            player.x += player.knockbackX * dt;
+            player.y += player.knockbackY * dt;
+            double decay = GameRules.decayPerStep(GameRules.KNOCKBACK_DECAY, dt);
+            player.knockbackX *= decay;
+            player.knockbackY *= decay;
+            if (Math.hypot(player.knockbackX, player.knockbackY) < GameRules.KNOCKBACK_STOP_SPEED) {
+                player.knockbackX = 0;
+                player.knockbackY = 0;
+            }
+        }
+
+        PlayerInput input = player.input;
+        if (GameRules.isOutsideDeadZone(input.getMoveX(), input.getMoveY(), GameRules.MOVE_DEAD_ZONE)) {
+            player.x += GameRules.perStep(input.getMoveX() * GameRules.MOVE_SPEED, dt);
+            player.y += GameRules.perStep(input.getMoveY() * GameRules.MOVE_SPEED, dt);
+            // Le joueur continue de glisser quand le déplacement s'arrête
+            player.glideX = input.getMoveX() * GameRules.MOVE_SPEED;
+            player.glideY = input.getMoveY() * GameRules.MOVE_SPEED;
+        }
+        if (player.weapon != null) {
+            FireScheduler scheduler = player.weapon.scheduler;
+            scheduler.setTrigger(FireScheduler.PRIMARY, input.isPrimaryFire());
+            scheduler.setTrigger(FireScheduler.SECONDARY, input.isSecondaryFire());
+            firingPlayer = player;
+            scheduler.update(FireScheduler.tickNanos(dt), shotListener);
+            if (input.isDropWeapon()) {
+                scheduler.setTrigger(FireScheduler.PRIMARY, false);
+                scheduler.setTrigger(FireScheduler.SECONDARY, false);
+                player.weapon.owner = null;
+                player.weapon.rotation = 0;
+                player.weapon = null;
+            }
+        }
+        checkWeaponPickup(player);
+
+        player.x += GameRules.perStep(player.glideX, dt);
+        player.y += GameRules.perStep(player.glideY, dt);
+        if (player.glideX != 0 || player.glideY != 0) {
+            double decay = GameRules.decayPerStep(GameRules.GLIDE_DECAY, dt);
+            player.glideX = (float) (player.glideX * decay);
+            player.glideY = (float) (player.glideY * decay);
+            if (Math.abs(player.glideX) < GameRules.GLIDE_STOP_SPEED && Math.abs(player.glideY) < GameRules.GLIDE_STOP_SPEED) {
+                player.glideX = 0;
+                player.glideY = 0;
+            }
+        }
+    }
+
+    /**
+     * Spawns a projectile shot by the weapon of the player being updated.
+     *
+     * @param mode      The fire mode.
+     * @param lateNanos Time between the moment the shot was due and the end of the tick.
+     */
+    private void fire(int mode, long lateNanos) {
+        SimPlayer player = firingPlayer;
+        SimWeapon weapon = player.weapon;
+        ProjectileKind kind = weapon.projectileKind(mode);
+        double radians = Math.toRadians(weapon.rotation);
+        // Le tir part au moment exact où il était dû : il ne vole que la fin du tick
+        projectiles.spawn(kind, weapon.kind, player.id - 1, player.centerX(), player.centerY(), Math.cos(radians), Math.sin(radians), lateNanos);
+        listener.onShot(player, weapon.kind, kind);
+    }
+
+    /**
+     * Picks up a free weapon on the first tick of contact, dropping the weapon held so far.
+     */
+    private void checkWeaponPickup(SimPlayer player) {
+        player.touchingWeapons.clear();
+        queryHitbox(weaponGrid, player, weaponCandidates);
+        for (int i = 0; i < weaponCandidates.size(); i++) {
+            SimWeapon weapon = weaponCandidates.get(i);
+            if (player.intersects(weapon.x, weapon.y, weapon.kind.getWidth(), weapon.kind.getHeight())) {
+                player.touchingWeapons.add(weapon);
+            }
+        }
+        // Ordre de la liste des armes, comme sans la grille : la dernière arme touchée est celle qui est gardée
+        player.touchingWeapons.sort(BY_ID);
+        for (SimWeapon weapon : player.touchingWeapons) {
+            if (weapon.owner == null && !weapon.removed && !player.previouslyTouchingWeapons.contains(weapon)) {
+                if (player.weapon != null) {
+                    player.weapon.removed = true;
+                }
+                player.weapon = weapon;
+                weapon.owner = player;
+            }
+        }
+        List<SimWeapon> swap = player.previouslyTouchingWeapons;
+        player.previouslyTouchingWeapons = player.touchingWeapons;
+        player.touchingWeapons = swap;
+    }
+
+    private static <T> void queryHitbox(SpatialGrid<T> grid, SimPlayer player, List<T> out) {
+        double minX = player.x + SimulationConfig.PLAYER_HITBOX_X;
+        double minY = player.y + SimulationConfig.PLAYER_HITBOX_Y;
+        grid.query(minX, minY, minX + SimulationConfig.PLAYER_HITBOX_WIDTH, minY + SimulationConfig.PLAYER_HITBOX_HEIGHT, null, out);
+    }
+
+    private void addWeapon(SimWeapon weapon) {
+        weapons.add(weapon);
+        weaponGrid.insert(weapon);
+    }
+
+    /**
+     * Runs the part of a tick that removes the replaced weapons and moves and aims the carried ones.
+     * Called by {@link #step(PlayerInput[])} after the players; public so that the benchmarks can measure this path alone.
+     */
+    public void updateWeapons() {
+        for (SimWeapon weapon : weapons) {
+            if (weapon.removed) {
+                weaponGrid.remove(weapon);
+            }
+        }
+        weapons.removeIf(weapon -> weapon.removed);
+        for (SimWeapon weapon : weapons) {
+            SimPlayer owner = weapon.owner;
+            if (owner == null) {
+                continue;
+            }
+            weapon.x = owner.centerX() - weapon.kind.getWidth() / 2;
+            weapon.y = owner.centerY() - weapon.kind.getHeight() / 2;
+            weaponGrid.update(weapon);
+            PlayerInput input = owner.input;
+            if (GameRules.isOutsideDeadZone(input.getAimX(), input.getAimY(), GameRules.AIM_DEAD_ZONE)) {
+                weapon.rotation = Math.toDegrees(Math.atan2(input.getAimY(), input.getAimX()));
+            }
+        }
+    }
+
+    /**
+     * Runs the part of a tick that counts down the attack zones and explosions and moves the fireballs.
+     * Called by {@link #step(PlayerInput[])} after the projectiles; public so that the benchmarks can measure this path alone.
+     */
+    public void updateHazards() {
+        double dt = 1.0 / config.tickRate();
+        for (int i = hazards.size() - 1; i >= 0; i--) {
+            SimHazard hazard = hazards.get(i);
+            switch (hazard.type) {
+                case ATTACK_ZONE -> {
+                    if (--hazard.remainingTicks <= 0) {
+                        SimHazard explosion = new SimHazard(nextId++, SimHazard.Type.EXPLOSION, hazard.x, hazard.y, hazard.radius, 0, 0,
+                                config.ticks(GameRules.EXPLOSION_DURATION));
+                        hazards.set(i, explosion);
+                        hazardGrid.remove(hazard);
+                        hazardGrid.insert(explosion);
+                        listener.onHazardExploded(explosion);
+                    }
+                }
+                case EXPLOSION -> {
+                    if (--hazard.remainingTicks <= 0) {
+                        hazards.remove(i);
+                        hazardGrid.remove(hazard);
+                    }
+                }
+                case FIREBALL -> {
+                    double dx = hazard.targetX - hazard.x;
+                    double dy = hazard.targetY - hazard.y;
+                    double length = Math.hypot(dx, dy);
+                    if (length <= GameRules.FIREBALL_ARRIVAL_DISTANCE) {
+                        hazards.remove(i);
+                        hazardGrid.remove(hazard);
+                    } else {
+                        hazard.x += dx / length * GameRules.FIREBALL_SPEED * dt;
+                        hazard.y += dy / length * GameRules.FIREBALL_SPEED * dt;
+                        hazardGrid.update(hazard);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the timers started by the game: weapon spawns, rocket launcher drops and the random attack events,
+     * which escalate during a round up to a maximum and skip their attack while the hazard budget is reached.
+     */
+    private void runSchedules() {
+        if (tick > config.ticks(1) && (tick - config.ticks(1)) % weaponSpawnInterval == 0 && weapons.size() < 4) {
+            int appWidth = (int) config.width();
+            int appHeight = (int) config.height();
+            double x = weaponRandom.nextInt(appWidth * 8 / 25) + appWidth * 8 / 25;
+            double y = weaponRandom.nextInt(appHeight * 7 / 14) + appHeight * 3 / 14;
+            addWeapon(new SimWeapon(nextId++, RANDOM_WEAPONS[weaponRandom.nextInt(RANDOM_WEAPONS.length)], x, y));
+        }
+        if (tick > config.ticks(1) && (tick - config.ticks(1)) % rocketSpawnInterval == 0) {
+            addWeapon(new SimWeapon(nextId++, WeaponKind.ROCKET_LAUNCHER, (int) config.width() / 2, (int) config.height() / 2));
+        }
+        long roundTicks = tick - roundStartTick;
+        if (roundTicks % zoneEscalationInterval == 0 && zoneEvents.size() < GameRules.MAX_ZONE_EVENTS) {
+            startZoneEvent();
+        }
+        if (roundTicks % fireballEscalationInterval == 0 && fireballEvents.size() < GameRules.MAX_FIREBALL_EVENTS) {
+            AttackEvent event = new AttackEvent(streams.stream(RandomStreams.HAZARDS));
+            event.nextTick = tick + fireballDelay(event.random);
+            fireballEvents.add(event);
+        }
+        for (AttackEvent event : zoneEvents) {
+            if (event.nextTick == tick) {
+                if (hazards.size() < GameRules.HAZARD_BUDGET) {
+                    spawnAttackZone(event.random);
+                } else {
+                    skippedAttacks++;
+                }
+                event.nextTick = tick + zoneDelay(event.random);
+            }
+        }
+        for (AttackEvent event : fireballEvents) {
+            if (event.nextTick == tick) {
+                if (hazards.size() < GameRules.HAZARD_BUDGET) {
+                    spawnFireball(event.random);
+                } else {
+                    skippedAttacks++;
+                }
+                event.nextTick = tick + fireballDelay(event.random);
+            }
+        }
+    }
+
+    private void startZoneEvent() {
+        AttackEvent event = new AttackEvent(streams.stream(RandomStreams.HAZARDS));
+        event.nextTick = tick + zoneDelay(event.random);
+        zoneEvents.add(event);
+    }
+
+    private long zoneDelay(RandomGenerator random) {
+        return config.ticks(random.nextDouble() * 2 + 1);
+    }
+
+    private long fireballDelay(RandomGenerator random) {
+        return config.ticks(random.nextDouble() * 4 + 0.1);
+    }
+
+    private void spawnAttackZone(RandomGenerator random) {
+        int width = (int) config.width();
+        int height = (int) config.height();
+        int x = random.nextInt(width * 18 / 25) + width * 3 / 25;
+        int y = random.nextInt(height * 7 / 14) + height * 3 / 14;
+        int radius = 40 + random.nextInt(50);
+        addHazard(new SimHazard(nextId++, SimHazard.Type.ATTACK_ZONE, x, y, radius, 0, 0, config.ticks(GameRules.ATTACK_ZONE_DELAY)));
+    }
+
+    /**
+     * Launches a fireball from a random edge towards the opposite one.
+     */
+    private void spawnFireball(RandomGenerator random) {
+        int width = (int) config.width();
+        int height = (int) config.height();
+        int x, y, oppositeX, oppositeY;
+        switch (random.nextInt(4)) {
+            case 0 -> {
+                x = 0;
+                y = random.nextInt(height);
+                oppositeX = width;
+                oppositeY = (y < height / 2) ? random.nextInt(height - y) + y : y - random.nextInt(y);
+            }
+            case 1 -> {
+                x = width;
+                y = random.nextInt(height);
+                oppositeX = 0;
+                oppositeY = (y < height / 2) ? random.nextInt(height - y) + y : y - random.nextInt(y);
+            }
+            case 2 -> {
+                y = 0;
+                x = random.nextInt(width);
+                oppositeY = height;
+                oppositeX = (x < width / 2) ? random.nextInt(width - x) + x : x - random.nextInt(x);
+            }
+            default -> {
+                y = height;
+                x = random.nextInt(width);
+                oppositeY = 0;
+                oppositeX = (x < width / 2) ? random.nextInt(width - x) + x : x - random.nextInt(x);
+            }
+        }
+        addHazard(new SimHazard(nextId++, SimHazard.Type.FIREBALL, x, y, 0, oppositeX, oppositeY, 0));
+    }
+
+    private void addHazard(SimHazard hazard) {
+        hazards.add(hazard);
+        hazardGrid.insert(hazard);
+        listener.onHazardSpawned(hazard);
+    }
+
+    /**
+     * Ends the round if a player fell in the water or was hit by a hazard.
+     *
+     * @return The index of the round winner, or -1.
+     */
+    private int checkDeaths() {
+        boolean firstDead = isDead(players[0]);
+        boolean secondDead = isDead(players[1]);
+        if (!firstDead && !secondDead) {
+            return -1;
+        }
+        if (firstDead) {
+            listener.onPlayerDied(players[0]);
+        }
+        if (secondDead) {
+            listener.onPlayerDied(players[1]);
+        }
+        int winner = -1;
+        if (firstDead != secondDead) {
+            winner = firstDead ? 1 : 0;
+            scores[winner]++;
+        }
+        rounds++;
+        resetRound();
+        return winner;
+    }
+
+    private boolean isDead(SimPlayer player) {
+        if (player.isOverWater(terrain)) {
+            return true;
+        }
+        queryHitbox(hazardGrid, player, hazardCandidates);
+        for (int i = 0; i < hazardCandidates.size(); i++) {
+            if (hazardCandidates.get(i).hits(player)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Puts the players back on their spawn with a new gun, clears the weapons and hazards and restarts
+     * the attack events of the round.
+     */
+    private void resetRound() {
+        weapons.clear();
+        hazards.clear();
+        weaponGrid.clear();
+        hazardGrid.clear();
+        zoneEvents.clear();
+        fireballEvents.clear();
+        roundStartTick = tick;
+        startZoneEvent();
+        for (int i = 0; i < players.length; i++) {
+            SimPlayer player = players[i];
+            double[] spawn = config.spawnPosition(i);
+            player.x = spawn[0];
+            player.y = spawn[1];
+            player.knockbackX = 0;
+            player.knockbackY = 0;
+            player.glideX = 0;
+            player.glideY = 0;
+            player.weapon = null;
+            player.previouslyTouchingWeapons.clear();
+            addWeapon(new SimWeapon(nextId++, WeaponKind.GUN, spawn[0], spawn[1]));
+        }
+    }
+
+    /**
+     * Returns whether the match is over, either because a player won enough rounds or because time ran out.
+     *
+     * @return True if the match is finished.
+     */
+    public boolean isFinished() {
+        return tick >= config.maxTicks() || scores[0] >= config.roundsToWin() || scores[1] >= config.roundsToWin();
+    }
+
+    /**
+     * Computes a hash of the whole world state, used to check that two runs stayed identical.
+     *
+     * @return A hash of the positions, velocities, scores and entities of the world.
+     */
+    public long stateHash() {
+        long hash = tick;
+        for (SimPlayer player : players) {
+            hash = mix(hash, player.x, player.y, player.knockbackX, player.knockbackY);
+            hash = mix(hash, player.glideX, player.glideY, player.weapon == null ? -1 : weapons.indexOf(player.weapon), 0);
+        }
+        for (SimWeapon weapon : weapons) {
+            hash = mix(hash, weapon.x, weapon.y, weapon.rotation, weapon.kind.ordinal());
+        }
+        hash = projectiles.hash(hash);
+        for (SimHazard hazard : hazards) {
+            hash = mix(hash, hazard.x, hazard.y, hazard.radius, hazard.remainingTicks);
+        }
+        return 31 * hash + scores[0] * 1000L + scores[1];
+    }
+
+    private static long mix(long hash, double a, double b, double c, double d) {
+        hash = 31 * hash + Double.hashCode(a);
+        hash = 31 * hash + Double.hashCode(b);
+        hash = 31 * hash + Double.hashCode(c);
+        return 31 * hash + Double.hashCode(d);
+    }
+
+    public SimulationConfig getConfig() {
+        return config;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the number of rounds won by a player.
+     *
+     * @param index Index of the player, 0 or 1.
+     * @return The score of the player.
+     */
+    public int getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Returns a player of the match.
+     *
+     * @param index Index of the player, 0 for the left player and 1 for the right player.
+     * @return The player state.
+     */
+    public SimPlayer getPlayer(int index) {
+        return players[index];
+    }
+
+    public List<SimWeapon> getWeapons() {
+        return Collections.unmodifiableList(weapons);
+    }
+
+    /**
+     * Returns the projectiles in flight, to be read only.
+     *
+     * @return The projectile system of the world.
+     */
+    public ProjectileSystem getProjectiles() {
+        return projectiles;
+    }
+
+    public List<SimHazard> getHazards() {
+        return Collections.unmodifiableList(hazards);
+    }
+
+    /**
+     * Returns the number of random attack events running in the current round.
+     *
+     * @return The number of attack zone and fireball events.
+     */
+    public int getAttackEventCount() {
+        return zoneEvents.size() + fireballEvents.size();
+    }
+
+    /**
+     * Returns the number of attacks skipped because the hazard budget was reached since this world was created.
+     * This is a statistic of the world, not part of its state: it is neither hashed nor saved in snapshots.
+     *
+     * @return The number of skipped attacks.
+     */
+    public long getSkippedAttacks() {
+        return skippedAttacks;
+    }
+
+    /**
+     * Writes the whole state of the world into a buffer: scores and timers, random generators, attack events,
+     * players, weapons with their cooldowns, projectiles and hazards. Positions and velocities are written with
+     * all their bits so that a restored world is identical; counts, ticks and the coordinates of the attack
+     * zones take one or two bytes. A round between two players fits in a few hundred bytes.
+     * The buffer can be reused from one snapshot to the next.
+     *
+     * @param out The buffer, written from its position.
+     * @return The number of bytes written.
+     * @throws java.nio.BufferOverflowException If the buffer is too small.
+     */
+    public int saveSnapshot(ByteBuffer out) {
+        int start = out.position();
+        out.put((byte) SNAPSHOT_VERSION);
+        out.putLong(config.seed());
+        SnapshotCodec.putVarLong(out, tick);
+        SnapshotCodec.putVarLong(out, tick - roundStartTick);
+        SnapshotCodec.putVarInt(out, rounds);
+        SnapshotCodec.putVarInt(out, scores[0]);
+        SnapshotCodec.putVarInt(out, scores[1]);
+        SnapshotCodec.putVarInt(out, nextId);
+        SnapshotCodec.putRandom(out, weaponRandom);
+        SnapshotCodec.putRandom(out, streams.family(RandomStreams.HAZARDS));
+        saveEvents(out, zoneEvents);
+        saveEvents(out, fireballEvents);
+
+        // Boucles indexées : un snapshot n'alloue rien
+        SnapshotCodec.putVarInt(out, weapons.size());
+        for (int i = 0; i < weapons.size(); i++) {
+            SimWeapon weapon = weapons.get(i);
+            SnapshotCodec.putVarInt(out, weapon.id);
+            out.put((byte) weapon.kind.ordinal());
+            out.put((byte) ((weapon.owner != null ? OWNED : 0) | (weapon.removed ? REMOVED : 0) | (weapon.rotation != 0 ? ROTATED : 0)));
+            if (weapon.owner != null) {
+                out.put((byte) (weapon.owner.id - 1));
+            }
+            out.putDouble(weapon.x);
+            out.putDouble(weapon.y);
+            if (weapon.rotation != 0) {
+                out.putDouble(weapon.rotation);
+            }
+            weapon.scheduler.save(out);
+        }
+
+        for (SimPlayer player : players) {
+            boolean gliding = player.glideX != 0 || player.glideY != 0;
+            boolean knockedBack = player.knockbackX != 0 || player.knockbackY != 0;
+            out.put((byte) ((gliding ? GLIDING : 0) | (knockedBack ? KNOCKED_BACK : 0) | (player.weapon != null ? ARMED : 0)));
+            out.putDouble(player.x);
+            out.putDouble(player.y);
+            if (gliding) {
+                out.putDouble(player.glideX);
+                out.putDouble(player.glideY);
+            }
+            if (knockedBack) {
+                out.putDouble(player.knockbackX);
+                out.putDouble(player.knockbackY);
+            }
+            if (player.weapon != null) {
+                SnapshotCodec.putVarInt(out, weapons.indexOf(player.weapon));
+            }
+            // Les armes déjà retirées du monde ne peuvent plus être ramassées : inutile de les garder
+            List<SimWeapon> touchingWeapons = player.previouslyTouchingWeapons;
+            int touching = 0;
+            for (int i = 0; i < touchingWeapons.size(); i++) {
+                touching += weapons.contains(touchingWeapons.get(i)) ? 1 : 0;
+            }
+            SnapshotCodec.putVarInt(out, touching);
+            for (int i = 0; i < touchingWeapons.size(); i++) {
+                int index = weapons.indexOf(touchingWeapons.get(i));
+                if (index >= 0) {
+                    SnapshotCodec.putVarInt(out, index);
+                }
+            }
+        }
+
+        projectiles.save(out);
+
+        SnapshotCodec.putVarInt(out, hazards.size());
+        for (int i = 0; i < hazards.size(); i++) {
+            SimHazard hazard = hazards.get(i);
+            SnapshotCodec.putVarInt(out, hazard.id);
+            out.put((byte) hazard.type.ordinal());
+            if (hazard.type == SimHazard.Type.FIREBALL) {
+                out.putDouble(hazard.x);
+                out.putDouble(hazard.y);
+                SnapshotCodec.putIntegral(out, hazard.targetX);
+                SnapshotCodec.putIntegral(out, hazard.targetY);
+            } else {
+                // Les zones et leurs explosions sont placées au pixel près
+                SnapshotCodec.putIntegral(out, hazard.x);
+                SnapshotCodec.putIntegral(out, hazard.y);
+                SnapshotCodec.putIntegral(out, hazard.radius);
+                SnapshotCodec.putVarLong(out, hazard.remainingTicks);
+            }
+        }
+        return out.position() - start;
+    }
+
+    private void saveEvents(ByteBuffer out, List<AttackEvent> events) {
+        SnapshotCodec.putVarInt(out, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            AttackEvent event = events.get(i);
+            SnapshotCodec.putVarLong(out, event.nextTick - tick);
+            SnapshotCodec.putRandom(out, event.random);
+        }
+    }
+
+    /**
+     * Replaces the state of this world by a snapshot written by {@link #saveSnapshot(ByteBuffer)} from a world
+     * with the same configuration.
+     *
+     * @param in The buffer, read from its position up to the end of the snapshot.
+     * @throws IllegalArgumentException If the snapshot has another version or comes from another match.
+     */
+    public void restoreSnapshot(ByteBuffer in) {
+        int version = in.get();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version);
+        }
+        long seed = in.getLong();
+        if (seed != config.seed()) {
+            throw new IllegalArgumentException("Snapshot of another match: seed " + seed + " instead of " + config.seed());
+        }
+        tick = SnapshotCodec.getVarLong(in);
+        roundStartTick = tick - SnapshotCodec.getVarLong(in);
+        rounds = SnapshotCodec.getVarInt(in);
+        scores[0] = SnapshotCodec.getVarInt(in);
+        scores[1] = SnapshotCodec.getVarInt(in);
+        nextId = SnapshotCodec.getVarInt(in);
+        SnapshotCodec.getRandom(in, weaponRandom);
+        SnapshotCodec.getRandom(in, streams.family(RandomStreams.HAZARDS));
+        restoreEvents(in, zoneEvents);
+        restoreEvents(in, fireballEvents);
+
+        weapons.clear();
+        weaponGrid.clear();
+        int weaponCount = SnapshotCodec.getVarInt(in);
+        for (int i = 0; i < weaponCount; i++) {
+            int id = SnapshotCodec.getVarInt(in);
+            SimWeapon weapon = new SimWeapon(id, RANDOM_WEAPONS[in.get()], 0, 0);
+            int flags = in.get();
+            weapon.owner = (flags & OWNED) != 0 ? players[in.get()] : null;
+            weapon.removed = (flags & REMOVED) != 0;
+            weapon.x = in.getDouble();
+            weapon.y = in.getDouble();
+            weapon.rotation = (flags & ROTATED) != 0 ? in.getDouble() : 0;
+            weapon.scheduler.restore(in);
+            addWeapon(weapon);
+        }
+
+        for (SimPlayer player : players) {
+            int flags = in.get();
+            player.x = in.getDouble();
+            player.y = in.getDouble();
+            player.glideX = (flags & GLIDING) != 0 ? in.getDouble() : 0;
+            player.glideY = (flags & GLIDING) != 0 ? in.getDouble() : 0;
+            player.knockbackX = (flags & KNOCKED_BACK) != 0 ? in.getDouble() : 0;
+            player.knockbackY = (flags & KNOCKED_BACK) != 0 ? in.getDouble() : 0;
+            player.weapon = (flags & ARMED) != 0 ? weapons.get(SnapshotCodec.getVarInt(in)) : null;
+            player.touchingWeapons.clear();
+            player.previouslyTouchingWeapons.clear();
+            int touching = SnapshotCodec.getVarInt(in);
+            for (int i = 0; i < touching; i++) {
+                player.previouslyTouchingWeapons.add(weapons.get(SnapshotCodec.getVarInt(in)));
+            }
+        }
+
+        projectiles.restore(in);
+
+        hazards.clear();
+        hazardGrid.clear();
+        int hazardCount = SnapshotCodec.getVarInt(in);
+        for (int i = 0; i < hazardCount; i++) {
+            int id = SnapshotCodec.getVarInt(in);
+            SimHazard.Type type = HAZARD_TYPES[in.get()];
+            SimHazard hazard;
+            if (type == SimHazard.Type.FIREBALL) {
+                double x = in.getDouble();
+                double y = in.getDouble();
+                hazard = new SimHazard(id, type, x, y, 0, SnapshotCodec.getVarInt(in), SnapshotCodec.getVarInt(in), 0);
+            } else {
+                hazard = new SimHazard(id, type, SnapshotCodec.getVarInt(in), SnapshotCodec.getVarInt(in),
+                        SnapshotCodec.getVarInt(in), 0, 0, SnapshotCodec.getVarLong(in));
+            }
+            hazards.add(hazard);
+            hazardGrid.insert(hazard);
+        }
+    }
+
+    private void restoreEvents(ByteBuffer in, List<AttackEvent> events) {
+        events.clear();
+        int count = SnapshotCodec.getVarInt(in);
+        for (int i = 0; i < count; i++) {
+            // Le flux sera remplacé par l'état lu : inutile de le tirer de la famille des dangers
+            AttackEvent event = new AttackEvent(new SplitRandom(0));
+            event.nextTick = tick + SnapshotCodec.getVarLong(in);
+            SnapshotCodec.getRandom(in, event.random);
+            events.add(event);
+        }
+    }
+
+    /**
+     * A random attack event of the round, drawing from its own stream so the events of a round do not disturb each other.
+     */
+    private static final class AttackEvent {
+        private final SplitRandom random;
+        /** Tick of the next attack. */
+        private long nextTick;
+
+        private AttackEvent(SplitRandom random) {
+            this.random = random;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.arena.dual_arena.simulation;
+
+/**
+ * Settings of a match, played in the game window or headless.
+ *
+ * @param tickRate    Number of simulation ticks per second of game time.
+ * @param width       Width of the arena in pixels, same as the game window.
+ * @param height      Height of the arena in pixels, same as the game window.
+ * @param seed        Seed of the random generator driving hazards and weapon spawns.
+ * @param roundsToWin Number of rounds a player must win to end the match.
+ * @param maxTicks    Number of ticks after which the match ends even if nobody won.
+ */
+public record SimulationConfig(int tickRate, double width, double height, long seed, int roundsToWin, long maxTicks) {
+    /** Offset of the player hitbox from the player position. */
+    public static final double PLAYER_HITBOX_X = 5;
+    public static final double PLAYER_HITBOX_Y = 15;
+    /** Size of the player hitbox, the feet of the sprite. */
+    public static final double PLAYER_HITBOX_WIDTH = 15 * 2 - 5 * 2;
+    public static final double PLAYER_HITBOX_HEIGHT = 28 * 2 - 25;
+
+    /**
+     * Creates the configuration matching the game window with a given seed.
+     *
+     * @param seed Seed of the random generator.
+     * @return A configuration running at 60 ticks per second in a 1440x810 arena, for 5 winning rounds or 10 minutes.
+     */
+    public static SimulationConfig withSeed(long seed) {
+        return new SimulationConfig(60, 16 * 90, 9 * 90, seed, 5, 60 * 60 * 10);
+    }
+
+    /**
+     * Returns the water of arena.tmx stretched over the arena, as done by the game.
+     *
+     * @return The terrain queried in arena coordinates.
+     */
+    public TerrainMap terrain() {
+        return TerrainMap.arena().scaledTo(width, height);
+    }
+
+    /**
+     * Returns the spawn position of a player, as used by the game when a round starts.
+     *
+     * @param index Index of the player, 0 or 1.
+     * @return The x and y coordinates of the player.
+     */
+    public double[] spawnPosition(int index) {
+        int appWidth = (int) width;
+        int appHeight = (int) height;
+        double x = index == 0 ? appWidth / 5 - 16 * 2 : appWidth - appWidth / 5 - 16 * 2;
+        return new double[]{x, appHeight / 2 - 28 * 2};
+    }
+
+    /**
+     * Converts a duration in seconds into a number of ticks.
+     *
+     * @param seconds The duration in seconds.
+     * @return The number of ticks, at least one.
+     */
+    public long ticks(double seconds) {
+        return Math.max(1, Math.round(seconds * tickRate));
+    }
+}
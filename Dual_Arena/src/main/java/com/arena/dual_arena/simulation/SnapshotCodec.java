@@ -0,0 +1,69 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.utils.SplitRandom;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact encodings shared by the snapshots of the simulation: variable-length integers, taking one byte
+ * for values under 128, and the state of the random generators.
+ */
+final class SnapshotCodec {
+
+    private SnapshotCodec() {
+    }
+
+    static void putVarLong(ByteBuffer out, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        while (value >= 0x80) {
+            out.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Corrupted variable-length integer");
+            }
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    static void putVarInt(ByteBuffer out, int value) {
+        putVarLong(out, value);
+    }
+
+    static int getVarInt(ByteBuffer in) {
+        return Math.toIntExact(getVarLong(in));
+    }
+
+    /**
+     * Writes a coordinate known to hold an integer, e.g. the center of an attack zone, on a variable-length integer.
+     */
+    static void putIntegral(ByteBuffer out, double value) {
+        int integral = (int) value;
+        if (integral != value || integral < 0) {
+            throw new IllegalStateException("Not a positive integer: " + value);
+        }
+        putVarInt(out, integral);
+    }
+
+    static void putRandom(ByteBuffer out, SplitRandom random) {
+        out.putLong(random.getState());
+        out.putLong(random.getGamma());
+    }
+
+    static void getRandom(ByteBuffer in, SplitRandom random) {
+        random.setState(in.getLong(), in.getLong());
+    }
+}
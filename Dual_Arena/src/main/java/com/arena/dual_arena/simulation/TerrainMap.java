@@ -0,0 +1,263 @@
+package com.arena.dual_arena.simulation;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Water mask of a Tiled map, compiled into one bit per map pixel so that "is this box over water" is answered
+ * with a few word tests instead of colliding entities in the physics world.
+ * The mask is kept in map coordinates and queries are made in arena coordinates, scaled by the ratio between
+ * the arena and the map, so the result does not depend on the window size.
+ * Everything outside the map counts as water.
+ */
+public final class TerrainMap {
+    /** Map of the arena, in the levels asset folder. */
+    public static final String ARENA = "/assets/levels/arena.tmx";
+    /** Type of the Tiled objects outlining the water. */
+    public static final String WATER_TYPE = "water";
+    private static TerrainMap arena;
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] water;
+    private final double mapPerArenaX;
+    private final double mapPerArenaY;
+
+    /**
+     * Constructs a map without water, queried in map coordinates.
+     *
+     * @param width  Width of the map in pixels.
+     * @param height Height of the map in pixels.
+     */
+    public TerrainMap(int width, int height) {
+        this(width, height, new long[height * ((width + 63) >>> 6)], 1, 1);
+    }
+
+    /**
+     * Constructs a map from a water mask, as stored by a compiled arena.
+     *
+     * @param width  Width of the map in pixels.
+     * @param height Height of the map in pixels.
+     * @param mask   One bit per pixel, row by row, each row starting on a new word.
+     * @return The terrain, queried in map coordinates.
+     */
+    public static TerrainMap fromMask(int width, int height, long[] mask) {
+        if (mask.length != height * ((width + 63) >>> 6)) {
+            throw new IllegalArgumentException("Mask of " + mask.length + " words for a map of " + width + "x" + height);
+        }
+        return new TerrainMap(width, height, mask, 1, 1);
+    }
+
+    private TerrainMap(int width, int height, long[] water, double mapPerArenaX, double mapPerArenaY) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid map size: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.water = water;
+        this.mapPerArenaX = mapPerArenaX;
+        this.mapPerArenaY = mapPerArenaY;
+    }
+
+    /**
+     * Returns the terrain of arena.tmx, read once from the classpath.
+     *
+     * @return The arena terrain, queried in map coordinates.
+     */
+    public static TerrainMap arena() {
+        if (arena == null) {
+            try (InputStream input = TerrainMap.class.getResourceAsStream(ARENA)) {
+                if (input == null) {
+                    throw new IOException("Missing map " + ARENA);
+                }
+                arena = read(input);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return arena;
+    }
+
+    /**
+     * Reads a Tiled map and marks its water objects in a new terrain.
+     * The size of the terrain is the size of the tile layer, in pixels.
+     *
+     * @param input The TMX document.
+     * @return The terrain, queried in map coordinates.
+     * @throws IOException If the document cannot be read or has no map element.
+     */
+    public static TerrainMap read(InputStream input) throws IOException {
+        try {
+            XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(input);
+            TerrainMap terrain = null;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "map" -> terrain = new TerrainMap(
+                            intAttribute(reader, "width") * intAttribute(reader, "tilewidth"),
+                            intAttribute(reader, "height") * intAttribute(reader, "tileheight"));
+                    case "object" -> {
+                        if (terrain != null && WATER_TYPE.equals(reader.getAttributeValue(null, "type"))) {
+                            terrain.fill(doubleAttribute(reader, "x"), doubleAttribute(reader, "y"),
+                                    doubleAttribute(reader, "width"), doubleAttribute(reader, "height"));
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            reader.close();
+            if (terrain == null) {
+                throw new IOException("No map element in the document");
+            }
+            return terrain;
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid map document", e);
+        }
+    }
+
+    private static int intAttribute(XMLStreamReader reader, String name) throws IOException {
+        return (int) doubleAttribute(reader, name);
+    }
+
+    private static double doubleAttribute(XMLStreamReader reader, String name) throws IOException {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null) {
+            throw new IOException("Missing attribute " + name + " on " + reader.getLocalName());
+        }
+        return Double.parseDouble(value);
+    }
+
+    /**
+     * Marks a rectangle of the map as water. A pixel is water if its center lies in the rectangle.
+     *
+     * @param x          Left edge in map pixels.
+     * @param y          Top edge in map pixels.
+     * @param areaWidth  Width in map pixels.
+     * @param areaHeight Height in map pixels.
+     */
+    public void fill(double x, double y, double areaWidth, double areaHeight) {
+        int minX = Math.max(0, (int) Math.ceil(x - 0.5));
+        int minY = Math.max(0, (int) Math.ceil(y - 0.5));
+        int maxX = Math.min(width, (int) Math.ceil(x + areaWidth - 0.5));
+        int maxY = Math.min(height, (int) Math.ceil(y + areaHeight - 0.5));
+        for (int row = minY; row < maxY; row++) {
+            for (int column = minX; column < maxX; column++) {
+                water[row * wordsPerRow + (column >>> 6)] |= 1L << column;
+            }
+        }
+    }
+
+    /**
+     * Returns a view of this terrain queried in the coordinates of an arena the map is stretched over.
+     * The view shares the water mask of this terrain.
+     *
+     * @param arenaWidth  Width of the arena.
+     * @param arenaHeight Height of the arena.
+     * @return The scaled terrain.
+     */
+    public TerrainMap scaledTo(double arenaWidth, double arenaHeight) {
+        return new TerrainMap(width, height, water, width / arenaWidth, height / arenaHeight);
+    }
+
+    /**
+     * Returns whether a point is over water.
+     *
+     * @param x X-coordinate in the arena.
+     * @param y Y-coordinate in the arena.
+     * @return True if the point is over water or outside the map.
+     */
+    public boolean isWater(double x, double y) {
+        int column = (int) Math.floor(x * mapPerArenaX);
+        int row = (int) Math.floor(y * mapPerArenaY);
+        if (column < 0 || row < 0 || column >= width || row >= height) {
+            return true;
+        }
+        return (water[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    /**
+     * Returns whether any part of a box is over water, such as the feet hitbox of a player.
+     * Every map pixel the box touches is tested, one row of up to 64 pixels per word.
+     *
+     * @param x         Left edge in the arena.
+     * @param y         Top edge in the arena.
+     * @param boxWidth  Width in the arena.
+     * @param boxHeight Height in the arena.
+     * @return True if the box touches water or leaves the map.
+     */
+    public boolean overlapsWater(double x, double y, double boxWidth, double boxHeight) {
+        int minColumn = (int) Math.floor(x * mapPerArenaX);
+        int minRow = (int) Math.floor(y * mapPerArenaY);
+        int maxColumn = (int) Math.ceil((x + boxWidth) * mapPerArenaX) - 1;
+        int maxRow = (int) Math.ceil((y + boxHeight) * mapPerArenaY) - 1;
+        if (minColumn < 0 || minRow < 0 || maxColumn >= width || maxRow >= height) {
+            return true;
+        }
+        int firstWord = minColumn >>> 6;
+        int lastWord = maxColumn >>> 6;
+        long firstMask = -1L << minColumn;
+        long lastMask = -1L >>> (63 - (maxColumn & 63));
+        for (int row = minRow; row <= maxRow; row++) {
+            int offset = row * wordsPerRow;
+            for (int word = firstWord; word <= lastWord; word++) {
+                long mask = -1L;
+                if (word == firstWord) {
+                    mask &= firstMask;
+                }
+                if (word == lastWord) {
+                    mask &= lastMask;
+                }
+                if ((water[offset + word] & mask) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the width of the map.
+     *
+     * @return The width in map pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the map.
+     *
+     * @return The height in map pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns a copy of the water mask, in the layout expected by {@link #fromMask(int, int, long[])}.
+     *
+     * @return The mask words.
+     */
+    public long[] copyMask() {
+        return water.clone();
+    }
+
+    /**
+     * Returns the memory held by the water mask.
+     *
+     * @return The size of the mask in bytes.
+     */
+    public long getMaskBytes() {
+        return water.length * (long) Long.BYTES;
+    }
+}
@@ -0,0 +1,55 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.models.weapons.*;
+
+import java.util.function.Supplier;
+
+/**
+ * Weapons available in the simulation, with the size of the sprite used for their hitbox in the game.
+ */
+public enum WeaponKind {
+    /** Desert Eagle spawned with every player. */
+    GUN("gun", 48, 32, Gun::new),
+    /** Fast firing rifle. */
+    RIFLE("rifle", 65, 32, Rifle::new),
+    /** Slow and powerful sniper. */
+    SNIPER("sniper", 82, 32, Sniper::new),
+    /** Rocket launcher dropped in the middle of the arena. */
+    ROCKET_LAUNCHER("rocket-launcher", 64, 25, RocketLauncher::new);
+
+    private final String spawnName;
+    private final double width;
+    private final double height;
+    private final Supplier<Weapon> factory;
+
+    WeaponKind(String spawnName, double width, double height, Supplier<Weapon> factory) {
+        this.spawnName = spawnName;
+        this.width = width;
+        this.height = height;
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the name used to spawn this weapon in the FXGL game.
+     * @return The spawn name.
+     */
+    public String getSpawnName() {
+        return spawnName;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Creates the weapon model holding the fire rates and projectile multipliers.
+     * @return A new weapon model.
+     */
+    public Weapon createWeapon() {
+        return factory.get();
+    }
+}
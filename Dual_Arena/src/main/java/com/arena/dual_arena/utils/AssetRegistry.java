@@ -0,0 +1,245 @@
+package com.arena.dual_arena.utils;
+
+import com.almasb.fxgl.audio.Sound;
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.texture.AnimationChannel;
+import com.almasb.fxgl.texture.FrameData;
+import com.almasb.fxgl.texture.Texture;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.util.Duration;
+import kotlin.Pair;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Central registry of the sounds, images and animation channels used during gameplay.
+ * Everything is loaded and decoded once by {@link #preload()} when the game starts, and the same
+ * instances are then shared by every entity, so spawning a projectile, a fireball or an explosion
+ * never touches the disk or decodes an image in the middle of a frame.
+ * Assets requested before preloading are loaded on first use and cached the same way.
+ *
+ * <p>Gameplay sprites are not loaded one file each: they are packed by the {@link AtlasPacker} into the few
+ * pages of the {@link TextureAtlas}, and every texture and animation frame is a region of a page, so all
+ * sprites of the arena are drawn from the same handful of images.</p>
+ */
+public class AssetRegistry {
+    /** Animation of a fireball crossing the arena. */
+    public static final String FIREBALL = "fireball";
+    /** Animation of the explosion ending an attack zone. */
+    public static final String EXPLOSION = "explosion";
+    /** Idle animation of a player. */
+    public static final String PLAYER_IDLE = "player_idle";
+    /** Walking animation of a player. */
+    public static final String PLAYER_WALK = "player_walk";
+
+    private static final String[] SOUNDS = {
+            "gun_shot.wav", "rifle_shot.wav", "sniper_shot.wav", "rocket_blast.wav",
+            "rocket_explosion.wav", "hazard_explosion.wav"
+    };
+    private static final String[] CHANNELS = {FIREBALL, EXPLOSION, PLAYER_IDLE, PLAYER_WALK};
+
+    private static final Map<String, Sound> sounds = new HashMap<>();
+    private static final Map<String, Image> images = new HashMap<>();
+    private static final Map<String, AnimationChannel> channels = new HashMap<>();
+    private static final List<AssetReport> reports = new ArrayList<>();
+
+    /**
+     * Load time and memory footprint of a single asset.
+     *
+     * @param name        The asset name.
+     * @param kind        The kind of asset: sound, image or animation.
+     * @param loadMillis  Time spent loading and decoding the asset, in milliseconds.
+     * @param memoryBytes Estimated memory held by the asset, in bytes.
+     */
+    public record AssetReport(String name, String kind, double loadMillis, long memoryBytes) {
+        @Override
+        public String toString() {
+            return String.format("%-10s %-24s %8.2f ms %10d bytes", kind, name, loadMillis, memoryBytes);
+        }
+    }
+
+    /**
+     * Loads and decodes every gameplay asset. Should be called once before the first entity is spawned.
+     */
+    public static void preload() {
+        for (String name : SOUNDS) {
+            sound(name);
+        }
+        for (String page : TextureAtlas.gameplay().getPages()) {
+            image(page);
+        }
+        for (String name : CHANNELS) {
+            channel(name);
+        }
+    }
+
+    /**
+     * Returns the shared sound with the given file name.
+     *
+     * @param name File name of the sound in the sounds asset folder.
+     * @return The loaded sound.
+     */
+    public static Sound sound(String name) {
+        Sound sound = sounds.get(name);
+        if (sound == null) {
+            sound = load(name, "sound", () -> FXGL.getAssetLoader().loadSound(name),
+                    loaded -> resourceSize("/assets/sounds/" + name));
+            sounds.put(name, sound);
+        }
+        return sound;
+    }
+
+    /**
+     * Plays the shared sound with the given file name.
+     *
+     * @param name File name of the sound in the sounds asset folder.
+     */
+    public static void play(String name) {
+        FXGL.getAudioPlayer().playSound(sound(name));
+    }
+
+    /**
+     * Returns the shared, already decoded image with the given file name.
+     *
+     * @param name File name of the image in the textures asset folder.
+     * @return The decoded image.
+     */
+    public static Image image(String name) {
+        Image image = images.get(name);
+        if (image == null) {
+            // Decoded images are stored as 32 bits per pixel
+            image = load(name, "image", () -> FXGL.image(name),
+                    loaded -> (long) loaded.getWidth() * (long) loaded.getHeight() * 4);
+            images.put(name, image);
+        }
+        return image;
+    }
+
+    /**
+     * Returns the atlas page holding a gameplay sprite.
+     *
+     * @param sprite File name of the sprite before packing.
+     * @return The decoded page.
+     */
+    public static Image page(String sprite) {
+        return image(TextureAtlas.gameplay().getPages().get(TextureAtlas.gameplay().region(sprite).page()));
+    }
+
+    /**
+     * Returns the area of its atlas page a gameplay sprite occupies.
+     *
+     * @param sprite File name of the sprite before packing.
+     * @return The viewport of the sprite in its page.
+     */
+    public static Rectangle2D viewport(String sprite) {
+        TextureAtlas.Region region = TextureAtlas.gameplay().region(sprite);
+        return new Rectangle2D(region.x(), region.y(), region.width(), region.height());
+    }
+
+    /**
+     * Creates a texture showing a gameplay sprite. Textures share the decoded atlas page and only differ
+     * by their viewport, so their size is the size of the sprite.
+     *
+     * @param sprite File name of the sprite before packing.
+     * @return A new texture node.
+     */
+    public static Texture texture(String sprite) {
+        Texture texture = new Texture(page(sprite));
+        texture.setViewport(viewport(sprite));
+        return texture;
+    }
+
+    /**
+     * Returns the shared animation channel with the given name.
+     * Animation channels only describe frames of an image, so a single instance can drive any number of textures.
+     *
+     * @param name One of the animation names declared by this class.
+     * @return The animation channel.
+     */
+    public static AnimationChannel channel(String name) {
+        AnimationChannel channel = channels.get(name);
+        if (channel == null) {
+            // Channels share the image of their sprite sheet and only hold frame positions
+            channel = load(name, "animation", () -> createChannel(name), loaded -> 0);
+            channels.put(name, channel);
+        }
+        return channel;
+    }
+
+    /**
+     * Returns the load report of every asset loaded so far.
+     *
+     * @return A copy of the reports, in loading order.
+     */
+    public static List<AssetReport> getReports() {
+        return new ArrayList<>(reports);
+    }
+
+    /**
+     * Prints the load time and memory footprint of every asset loaded so far.
+     */
+    public static void printReport() {
+        long totalBytes = 0;
+        double totalMillis = 0;
+        for (AssetReport report : reports) {
+            System.out.println(report);
+            totalBytes += report.memoryBytes();
+            totalMillis += report.loadMillis();
+        }
+        System.out.printf("%d assets loaded in %.2f ms, %d bytes%n", reports.size(), totalMillis, totalBytes);
+    }
+
+    private static AnimationChannel createChannel(String name) {
+        return switch (name) {
+            case FIREBALL -> atlasChannel("fireball.png", 5, 64, 32, Duration.seconds(1), 0, 4);
+            case EXPLOSION -> atlasChannel("explosion.png", 16, 128, 128, Duration.seconds(1), 1, 16);
+            case PLAYER_IDLE -> atlasChannel("player_idle_2.png", 8, 15*2, 28*2, Duration.seconds(1), 0, 7);
+            case PLAYER_WALK -> atlasChannel("player_walk_2.png", 8, 16*2, 27*2, Duration.seconds(1), 0, 7);
+            default -> throw new IllegalArgumentException("Unknown animation: " + name);
+        };
+    }
+
+    /**
+     * Creates a channel over a sprite sheet packed in the atlas, with the frames laid out as in the sheet
+     * file but offset by the position of the sheet in its page.
+     */
+    private static AnimationChannel atlasChannel(String sheet, int framesPerRow, int frameWidth, int frameHeight,
+                                                 Duration duration, int startFrame, int endFrame) {
+        TextureAtlas.Region region = TextureAtlas.gameplay().region(sheet);
+        List<Pair<Integer, FrameData>> frames = new ArrayList<>();
+        for (int frame = startFrame; frame <= endFrame; frame++) {
+            int x = region.x() + frame % framesPerRow * frameWidth;
+            int y = region.y() + frame / framesPerRow * frameHeight;
+            frames.add(new Pair<>(frame, new FrameData(x, y, frameWidth, frameHeight)));
+        }
+        return new AnimationChannel(page(sheet), duration, frames);
+    }
+
+    private static <T> T load(String name, String kind, Supplier<T> loader, ToLongFunction<T> memory) {
+        long start = System.nanoTime();
+        T asset = loader.get();
+        double loadMillis = (System.nanoTime() - start) / 1_000_000.0;
+        reports.add(new AssetReport(name, kind, loadMillis, memory.applyAsLong(asset)));
+        return asset;
+    }
+
+    private static long resourceSize(String path) {
+        URL url = AssetRegistry.class.getResource(path);
+        if (url == null) {
+            return 0;
+        }
+        try {
+            return url.openConnection().getContentLengthLong();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
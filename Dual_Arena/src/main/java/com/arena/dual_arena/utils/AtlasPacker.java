@@ -0,0 +1,188 @@
+package com.arena.dual_arena.utils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Packs the gameplay sprites into the pages of the {@link TextureAtlas}, to be run whenever one of them changes:
+ * <pre>
+ * java -cp target/classes com.arena.dual_arena.utils.AtlasPacker src/main/resources/assets/textures
+ * </pre>
+ * Sprites are sorted from the tallest and placed in rows with a {@link SpriteSheet#PADDING} gap, on a page
+ * whose width is chosen to waste as few pixels as possible. A sprite too wide for a page, such as the
+ * explosion strip, gets a page of its own, at the exact size of the sprite, rather than stretching the shared one.
+ */
+public class AtlasPacker {
+    /** Base name of the index and page files. */
+    public static final String ATLAS_NAME = "gameplay";
+    /** Largest width and height of a shared page. */
+    public static final int MAX_PAGE_SIZE = 1024;
+    /** Sprites packed into the gameplay atlas, in the order of the index. */
+    public static final List<String> SPRITES = List.of(
+            "DEagle_0.png", "FAMAS_00.png", "AWP_00.png", "Six12SD_0.png",
+            "bullet.png", "reversed_bullet.png", "rocket.png", "reversed_rocket.png", "guided_rocket.png",
+            "fireball.png", "explosion.png", "player_idle_2.png", "player_walk_2.png");
+
+    private AtlasPacker() {
+    }
+
+    /**
+     * Places sprites into pages, without touching any pixel.
+     *
+     * @param name    Base name of the page files.
+     * @param sprites File name of each sprite.
+     * @param widths  Width of each sprite.
+     * @param heights Height of each sprite.
+     * @return The atlas index, listing the sprites in the given order.
+     * @throws IOException If the sprites do not fit in a single shared page.
+     */
+    public static TextureAtlas layout(String name, List<String> sprites, int[] widths, int[] heights) throws IOException {
+        int count = sprites.size();
+        Integer[] order = IntStream.range(0, count).boxed()
+                .sorted(Comparator.<Integer>comparingInt(i -> -heights[i]).thenComparingInt(i -> -widths[i]))
+                .toArray(Integer[]::new);
+        List<Integer> shared = new ArrayList<>();
+        List<Integer> oversized = new ArrayList<>();
+        for (int i : order) {
+            (widths[i] + 2 * SpriteSheet.PADDING > MAX_PAGE_SIZE ? oversized : shared).add(i);
+        }
+
+        int[] sharedWidths = shared.stream().mapToInt(i -> widths[i]).toArray();
+        int[] sharedHeights = shared.stream().mapToInt(i -> heights[i]).toArray();
+        int[] x = new int[shared.size()];
+        int[] y = new int[shared.size()];
+        int bestWidth = 0;
+        int bestHeight = 0;
+        int narrowest = IntStream.of(sharedWidths).max().orElse(0) + 2 * SpriteSheet.PADDING;
+        // Essaie chaque largeur de page et garde celle qui perd le moins de pixels
+        for (int maxWidth = narrowest; maxWidth <= MAX_PAGE_SIZE; maxWidth++) {
+            int pageWidth = SpriteSheet.layout(sharedWidths, sharedHeights, maxWidth, x, y);
+            int pageHeight = pageHeight(sharedHeights, y);
+            if (pageHeight <= MAX_PAGE_SIZE
+                    && (bestWidth == 0 || (long) pageWidth * pageHeight < (long) bestWidth * bestHeight)) {
+                bestWidth = pageWidth;
+                bestHeight = pageHeight;
+            }
+        }
+        if (!shared.isEmpty() && bestWidth == 0) {
+            throw new IOException("The sprites do not fit in a page of " + MAX_PAGE_SIZE + " pixels");
+        }
+
+        List<String> pages = new ArrayList<>();
+        List<int[]> pageSizes = new ArrayList<>();
+        Map<String, TextureAtlas.Region> placed = new LinkedHashMap<>();
+        if (!shared.isEmpty()) {
+            SpriteSheet.layout(sharedWidths, sharedHeights, bestWidth, x, y);
+            for (int n = 0; n < shared.size(); n++) {
+                int i = shared.get(n);
+                placed.put(sprites.get(i), new TextureAtlas.Region(0, x[n], y[n], widths[i], heights[i]));
+            }
+            pages.add(name + "_0.png");
+            pageSizes.add(new int[]{bestWidth, bestHeight});
+        }
+        for (int i : oversized) {
+            // Seul sur sa page, le sprite n'a pas de voisin qui pourrait déborder : pas de marge
+            placed.put(sprites.get(i), new TextureAtlas.Region(pages.size(), 0, 0, widths[i], heights[i]));
+            pages.add(name + "_" + pages.size() + ".png");
+            pageSizes.add(new int[]{widths[i], heights[i]});
+        }
+
+        Map<String, TextureAtlas.Region> regions = new LinkedHashMap<>();
+        for (String sprite : sprites) {
+            regions.put(sprite, placed.get(sprite));
+        }
+        return new TextureAtlas(pages, pageSizes.stream().mapToInt(size -> size[0]).toArray(),
+                pageSizes.stream().mapToInt(size -> size[1]).toArray(), regions);
+    }
+
+    private static int pageHeight(int[] heights, int[] y) {
+        int height = 0;
+        for (int i = 0; i < heights.length; i++) {
+            height = Math.max(height, y[i] + heights[i] + SpriteSheet.PADDING);
+        }
+        return height;
+    }
+
+    /**
+     * Reads the gameplay sprites of a folder and lays them out.
+     *
+     * @param folder The textures folder.
+     * @param images Receives the decoded sprites, by file name.
+     * @return The atlas index.
+     * @throws IOException If a sprite cannot be read.
+     */
+    public static TextureAtlas layout(Path folder, Map<String, BufferedImage> images) throws IOException {
+        int[] widths = new int[SPRITES.size()];
+        int[] heights = new int[SPRITES.size()];
+        for (int i = 0; i < SPRITES.size(); i++) {
+            BufferedImage image = ImageIO.read(folder.resolve(SPRITES.get(i)).toFile());
+            if (image == null) {
+                throw new IOException("Not an image: " + SPRITES.get(i));
+            }
+            images.put(SPRITES.get(i), image);
+            widths[i] = image.getWidth();
+            heights[i] = image.getHeight();
+        }
+        return layout(ATLAS_NAME, SPRITES, widths, heights);
+    }
+
+    /**
+     * Copies the sprites into the pages of an atlas.
+     *
+     * @param atlas  The atlas index.
+     * @param images The decoded sprites, by file name.
+     * @return One image per page, transparent outside the sprites.
+     */
+    public static List<BufferedImage> draw(TextureAtlas atlas, Map<String, BufferedImage> images) {
+        List<BufferedImage> pages = new ArrayList<>();
+        for (int page = 0; page < atlas.getPages().size(); page++) {
+            pages.add(new BufferedImage(atlas.getPageWidth(page), atlas.getPageHeight(page), BufferedImage.TYPE_INT_ARGB));
+        }
+        atlas.getRegions().forEach((name, region) -> {
+            BufferedImage sprite = images.get(name);
+            int[] pixels = sprite.getRGB(0, 0, region.width(), region.height(), null, 0, region.width());
+            pages.get(region.page()).setRGB(region.x(), region.y(), region.width(), region.height(), pixels, 0, region.width());
+        });
+        return pages;
+    }
+
+    /**
+     * Packs the gameplay sprites of the folder given as argument and writes the index and pages next to them.
+     *
+     * @param args The textures folder.
+     * @throws IOException If a sprite cannot be read or the atlas cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: AtlasPacker <textures folder>");
+            System.exit(2);
+        }
+        Path folder = Path.of(args[0]);
+        Map<String, BufferedImage> images = new LinkedHashMap<>();
+        TextureAtlas atlas = layout(folder, images);
+        List<BufferedImage> pages = draw(atlas, images);
+        long spriteBytes = 0;
+        for (BufferedImage image : images.values()) {
+            spriteBytes += (long) image.getWidth() * image.getHeight() * 4;
+        }
+        long pageBytes = 0;
+        for (int page = 0; page < pages.size(); page++) {
+            ImageIO.write(pages.get(page), "png", folder.resolve(atlas.getPages().get(page)).toFile());
+            pageBytes += (long) atlas.getPageWidth(page) * atlas.getPageHeight(page) * 4;
+            System.out.printf("%s: %dx%d%n", atlas.getPages().get(page), atlas.getPageWidth(page), atlas.getPageHeight(page));
+        }
+        Files.writeString(folder.resolve(ATLAS_NAME + ".atlas"), atlas.format(), StandardCharsets.UTF_8);
+        System.out.printf("%d sprites in %d pages, %d decoded bytes instead of %d%n",
+                images.size(), pages.size(), pageBytes, spriteBytes);
+    }
+}
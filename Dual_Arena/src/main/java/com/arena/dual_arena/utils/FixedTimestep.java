@@ -0,0 +1,99 @@
+package com.arena.dual_arena.utils;
+
+/**
+ * Accumulator turning the variable duration of rendered frames into a whole number of simulation ticks.
+ * Each frame adds its duration to the accumulator and the simulation runs one tick for every full tick
+ * duration available, so gameplay advances at the same rate whatever the frame rate is.
+ * The time left in the accumulator gives the interpolation factor used to draw entities between their
+ * last two simulated positions.
+ */
+public final class FixedTimestep {
+    /**
+     * Maximum number of ticks run for a single frame. After a long stall the backlog is dropped instead of
+     * being caught up, which slows the game down for a moment rather than freezing it for good.
+     */
+    public static final int MAX_STEPS_PER_FRAME = 8;
+
+    private int tickRate;
+    private double stepSeconds;
+    private double accumulator;
+    private long tick;
+
+    /**
+     * Constructs a timestep running the given number of ticks per second of game time.
+     *
+     * @param tickRate Number of simulation ticks per second.
+     */
+    public FixedTimestep(int tickRate) {
+        setTickRate(tickRate);
+    }
+
+    /**
+     * Changes the simulation rate and drops the time accumulated so far.
+     *
+     * @param tickRate Number of simulation ticks per second.
+     */
+    public void setTickRate(int tickRate) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        this.tickRate = tickRate;
+        this.stepSeconds = 1.0 / tickRate;
+        this.accumulator = 0;
+    }
+
+    /**
+     * Adds the duration of a frame and returns how many ticks must be simulated for it.
+     *
+     * @param frameSeconds Duration of the frame in seconds.
+     * @return The number of ticks to run, between 0 and {@link #MAX_STEPS_PER_FRAME}.
+     */
+    public int advance(double frameSeconds) {
+        accumulator += Math.max(0, frameSeconds);
+        int steps = (int) (accumulator / stepSeconds);
+        if (steps > MAX_STEPS_PER_FRAME) {
+            steps = MAX_STEPS_PER_FRAME;
+            accumulator = steps * stepSeconds;
+        }
+        accumulator = Math.max(0, accumulator - steps * stepSeconds);
+        tick += steps;
+        return steps;
+    }
+
+    /**
+     * Returns how far the rendered frame is between the last simulated tick and the next one.
+     *
+     * @return The interpolation factor, from 0 (last tick) included to 1 (next tick) excluded.
+     */
+    public double getAlpha() {
+        return Math.min(accumulator / stepSeconds, 1);
+    }
+
+    /**
+     * Drops the accumulated time and restarts the tick count, e.g. when a new game starts.
+     */
+    public void reset() {
+        accumulator = 0;
+        tick = 0;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Returns the duration of a tick.
+     * @return The tick duration in seconds.
+     */
+    public double getStepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * Returns the number of ticks simulated since the last reset.
+     * @return The tick count.
+     */
+    public long getTick() {
+        return tick;
+    }
+}
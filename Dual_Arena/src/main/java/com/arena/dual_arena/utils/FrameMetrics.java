@@ -0,0 +1,339 @@
+package com.arena.dual_arena.utils;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.EntityWorldListener;
+import com.arena.dual_arena.types.EntityType;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records where the time of each frame goes, to find the source of hitches in real sessions.
+ * Every frame records its total duration, the time spent simulating, the time spent in each kind of
+ * fixed-step component, the garbage collection time and the number of entities of each {@link EntityType}.
+ * The whole tick of the {@code SimWorld}, projectiles included, is measured in its own section named after it.
+ * Durations go into {@link LatencyHistogram}s summarized on the debug overlay, and the last frames are kept
+ * in a preallocated table so that a round can be dumped to CSV with the context of every hitch.
+ * Recording a frame never allocates. Every method must be called from the JavaFX thread.
+ */
+public class FrameMetrics implements EntityWorldListener {
+    /** Number of frames kept for the CSV dump, five minutes at 60 frames per second. */
+    public static final int FRAME_HISTORY = 18_000;
+    /** Maximum number of component sections, one per fixed-step component class. */
+    public static final int MAX_SECTIONS = 12;
+    /** Width of a histogram bucket, 0.1 ms. */
+    private static final long BUCKET_NANOS = 100_000;
+    /** Number of histogram buckets, covering 100 ms. */
+    private static final int BUCKET_COUNT = 1000;
+    /** Width of a bar of the overlay distribution, 2 ms. */
+    private static final int BAR_MILLIS = 2;
+    /** Number of bars of the overlay distribution, the last one gathering every longer frame. */
+    private static final int DISTRIBUTION_BARS = 16;
+    private static final String BARS = " ▁▂▃▄▅▆▇█";
+    private static final int TYPE_COUNT = EntityType.values().length;
+    /** Columns of a frame row: frame time, simulation time, GC time, then the sections and the entity counts. */
+    private static final int FIXED_COLUMNS = 3;
+    private static final int ROW_WIDTH = FIXED_COLUMNS + MAX_SECTIONS + TYPE_COUNT;
+    private static FrameMetrics instance;
+
+    private final LatencyHistogram frameHistogram = new LatencyHistogram(BUCKET_NANOS, BUCKET_COUNT);
+    private final LatencyHistogram simulationHistogram = new LatencyHistogram(BUCKET_NANOS, BUCKET_COUNT);
+    private final LatencyHistogram gcHistogram = new LatencyHistogram(BUCKET_NANOS, BUCKET_COUNT);
+    private final List<String> sectionNames = new ArrayList<>();
+    private final LatencyHistogram[] sectionHistograms = new LatencyHistogram[MAX_SECTIONS];
+    private final long[] sectionNanos = new long[MAX_SECTIONS];
+    private final int[] entityCounts = new int[TYPE_COUNT];
+    private final int[] maxEntityCounts = new int[TYPE_COUNT];
+    private final GarbageCollectorMXBean[] collectors;
+    private final long[] rows = new long[FRAME_HISTORY * ROW_WIDTH];
+    private long frames = 0;
+    private long lastFrameStart = 0;
+    private long lastGcMillis;
+
+    /**
+     * Constructs an empty recorder watching the garbage collectors of the running JVM.
+     */
+    public FrameMetrics() {
+        collectors = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+        lastGcMillis = totalGcMillis();
+    }
+
+    /**
+     * Returns the recorder shared by the game, creating it on first use.
+     *
+     * @return The shared frame metrics.
+     */
+    public static FrameMetrics get() {
+        if (instance == null) {
+            instance = new FrameMetrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the section measuring the components of the given name, creating it on first use.
+     * Components past {@link #MAX_SECTIONS} share the last section.
+     *
+     * @param name Name of the section, usually the simple name of a component class.
+     * @return The index of the section, to be passed to {@link #addSectionTime(int, long)}.
+     */
+    public int section(String name) {
+        int index = sectionNames.indexOf(name);
+        if (index >= 0) {
+            return index;
+        }
+        if (sectionNames.size() == MAX_SECTIONS) {
+            return MAX_SECTIONS - 1;
+        }
+        sectionNames.add(name);
+        sectionHistograms[sectionNames.size() - 1] = new LatencyHistogram(BUCKET_NANOS, BUCKET_COUNT);
+        return sectionNames.size() - 1;
+    }
+
+    /**
+     * Adds time spent in a section during the current frame.
+     *
+     * @param section The section index.
+     * @param nanos   The time spent, in nanoseconds.
+     */
+    public void addSectionTime(int section, long nanos) {
+        sectionNanos[section] += nanos;
+    }
+
+    /**
+     * Closes the current frame: records its duration, the simulation and section times and the GC time
+     * since the previous frame, and stores them with the entity counts in the frame history.
+     *
+     * @param frameStartNanos When the frame started, from {@link System#nanoTime()}.
+     * @param simulationNanos Time spent simulating during the frame.
+     */
+    public void recordFrame(long frameStartNanos, long simulationNanos) {
+        long frameNanos = lastFrameStart == 0 ? 0 : frameStartNanos - lastFrameStart;
+        lastFrameStart = frameStartNanos;
+        long gcMillis = totalGcMillis();
+        long gcNanos = (gcMillis - lastGcMillis) * 1_000_000;
+        lastGcMillis = gcMillis;
+
+        if (frameNanos > 0) {
+            frameHistogram.record(frameNanos);
+        }
+        simulationHistogram.record(simulationNanos);
+        if (gcNanos > 0) {
+            gcHistogram.record(gcNanos);
+        }
+
+        int row = (int) (frames % FRAME_HISTORY) * ROW_WIDTH;
+        rows[row] = frameNanos;
+        rows[row + 1] = simulationNanos;
+        rows[row + 2] = gcNanos;
+        for (int i = 0; i < MAX_SECTIONS; i++) {
+            if (sectionHistograms[i] != null) {
+                sectionHistograms[i].record(sectionNanos[i]);
+            }
+            rows[row + FIXED_COLUMNS + i] = sectionNanos[i];
+            sectionNanos[i] = 0;
+        }
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            rows[row + FIXED_COLUMNS + MAX_SECTIONS + i] = entityCounts[i];
+        }
+        frames++;
+    }
+
+    private long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    @Override
+    public void onEntityAdded(Entity entity) {
+        if (entity.getType() instanceof EntityType type) {
+            int count = ++entityCounts[type.ordinal()];
+            maxEntityCounts[type.ordinal()] = Math.max(maxEntityCounts[type.ordinal()], count);
+        }
+    }
+
+    @Override
+    public void onEntityRemoved(Entity entity) {
+        if (entity.getType() instanceof EntityType type && entityCounts[type.ordinal()] > 0) {
+            entityCounts[type.ordinal()]--;
+        }
+    }
+
+    /**
+     * Returns the number of entities of a type currently in the world.
+     *
+     * @param type The entity type.
+     * @return The entity count.
+     */
+    public int getEntityCount(EntityType type) {
+        return entityCounts[type.ordinal()];
+    }
+
+    public LatencyHistogram getFrameHistogram() {
+        return frameHistogram;
+    }
+
+    public LatencyHistogram getSimulationHistogram() {
+        return simulationHistogram;
+    }
+
+    public LatencyHistogram getGcHistogram() {
+        return gcHistogram;
+    }
+
+    /**
+     * Returns the histogram of a section.
+     *
+     * @param name Name of the section.
+     * @return The histogram, or null if no component of that name was measured.
+     */
+    public LatencyHistogram getSectionHistogram(String name) {
+        int index = sectionNames.indexOf(name);
+        return index < 0 ? null : sectionHistograms[index];
+    }
+
+    /**
+     * Returns the number of frames recorded since the last reset.
+     * @return The frame count.
+     */
+    public long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * Builds the text shown on the debug overlay: the percentiles of every measure, the distribution of
+     * frame times in 2 ms bars and the entity counts.
+     *
+     * @return The overlay text.
+     */
+    public String formatSummary() {
+        StringBuilder text = new StringBuilder("Images (ms)       p50    p99  p99.9    max");
+        appendLine(text, "image", frameHistogram);
+        appendLine(text, "simulation", simulationHistogram);
+        for (int i = 0; i < sectionNames.size(); i++) {
+            appendLine(text, "  " + sectionNames.get(i), sectionHistograms[i]);
+        }
+        appendLine(text, "GC", gcHistogram);
+
+        text.append("\n0 ms |").append(distribution()).append("| ").append(DISTRIBUTION_BARS * BAR_MILLIS).append("+ ms");
+        text.append("\nEntités");
+        for (EntityType type : EntityType.values()) {
+            if (maxEntityCounts[type.ordinal()] > 0) {
+                text.append(' ').append(type.name().toLowerCase(Locale.ROOT)).append('=').append(entityCounts[type.ordinal()]);
+            }
+        }
+        return text.toString();
+    }
+
+    private static void appendLine(StringBuilder text, String label, LatencyHistogram histogram) {
+        text.append(String.format(Locale.ROOT, "%n%-14s %6.2f %6.2f %6.2f %6.2f", label, histogram.percentileMillis(0.5),
+                histogram.percentileMillis(0.99), histogram.percentileMillis(0.999), histogram.getMaxMillis()));
+    }
+
+    /**
+     * Draws the frame time distribution as a line of bars, the last one gathering the longest frames.
+     */
+    private String distribution() {
+        long[] counts = frameHistogram.getBucketCounts();
+        int bucketsPerBar = (int) (BAR_MILLIS * 1_000_000L / frameHistogram.getBucketNanos());
+        long[] bars = new long[DISTRIBUTION_BARS];
+        for (int i = 0; i < counts.length; i++) {
+            bars[Math.min(i / bucketsPerBar, bars.length - 1)] += counts[i];
+        }
+        long highest = Arrays.stream(bars).max().orElse(0);
+        StringBuilder line = new StringBuilder();
+        for (long bar : bars) {
+            int level = highest == 0 ? 0 : (int) Math.ceil((double) bar / highest * (BARS.length() - 1));
+            line.append(BARS.charAt(level));
+        }
+        return line.toString();
+    }
+
+    /**
+     * Writes the summary of every measure and the history of the last frames to a CSV file.
+     * The first section has one line per measure; the second one line per frame, oldest first.
+     *
+     * @param file The file to create or overwrite.
+     * @throws IOException If the file cannot be written.
+     */
+    public void exportCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("measure,count,p50_ms,p99_ms,p999_ms,max_ms,mean_ms");
+            exportLine(out, "frame", frameHistogram);
+            exportLine(out, "simulation", simulationHistogram);
+            for (int i = 0; i < sectionNames.size(); i++) {
+                exportLine(out, sectionNames.get(i), sectionHistograms[i]);
+            }
+            exportLine(out, "gc", gcHistogram);
+
+            out.println();
+            StringBuilder header = new StringBuilder("frame,frame_ms,simulation_ms,gc_ms");
+            for (String name : sectionNames) {
+                header.append(',').append(name).append("_ms");
+            }
+            for (EntityType type : EntityType.values()) {
+                header.append(',').append(type.name().toLowerCase(Locale.ROOT));
+            }
+            out.println(header);
+
+            long first = Math.max(0, frames - FRAME_HISTORY);
+            for (long frame = first; frame < frames; frame++) {
+                int row = (int) (frame % FRAME_HISTORY) * ROW_WIDTH;
+                StringBuilder line = new StringBuilder().append(frame);
+                for (int column = 0; column < FIXED_COLUMNS; column++) {
+                    line.append(',').append(String.format(Locale.ROOT, "%.3f", rows[row + column] / 1e6));
+                }
+                for (int i = 0; i < sectionNames.size(); i++) {
+                    line.append(',').append(String.format(Locale.ROOT, "%.3f", rows[row + FIXED_COLUMNS + i] / 1e6));
+                }
+                for (int i = 0; i < TYPE_COUNT; i++) {
+                    line.append(',').append(rows[row + FIXED_COLUMNS + MAX_SECTIONS + i]);
+                }
+                out.println(line);
+            }
+        }
+    }
+
+    private static void exportLine(PrintWriter out, String name, LatencyHistogram histogram) {
+        out.printf(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n", name, histogram.getCount(), histogram.percentileMillis(0.5),
+                histogram.percentileMillis(0.99), histogram.percentileMillis(0.999), histogram.getMaxMillis(), histogram.getMeanMillis());
+    }
+
+    /**
+     * Forgets the recorded frames and histograms, e.g. once a round has been dumped.
+     * Sections and live entity counts are kept.
+     */
+    public void reset() {
+        frameHistogram.clear();
+        simulationHistogram.clear();
+        gcHistogram.clear();
+        for (LatencyHistogram histogram : sectionHistograms) {
+            if (histogram != null) {
+                histogram.clear();
+            }
+        }
+        Arrays.fill(sectionNanos, 0);
+        System.arraycopy(entityCounts, 0, maxEntityCounts, 0, TYPE_COUNT);
+        frames = 0;
+        lastFrameStart = 0;
+    }
+
+    /**
+     * Forgets the entity counts, e.g. when a new game starts with an empty world.
+     */
+    public void clearEntityCounts() {
+        Arrays.fill(entityCounts, 0);
+        Arrays.fill(maxEntityCounts, 0);
+    }
+}
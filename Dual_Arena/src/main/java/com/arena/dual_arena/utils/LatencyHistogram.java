@@ -0,0 +1,126 @@
+package com.arena.dual_arena.utils;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations with fixed-width buckets, cheap enough to record into every frame.
+ * Recording never allocates; percentiles are approximated by the upper bound of the bucket they fall in.
+ * Durations beyond the last bucket are counted in an overflow bucket and still tracked by the maximum.
+ */
+public class LatencyHistogram {
+    private final long bucketNanos;
+    private final long[] buckets;
+    private long overflow;
+    private long count;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+
+    /**
+     * Constructs an empty histogram.
+     *
+     * @param bucketNanos Width of a bucket in nanoseconds.
+     * @param bucketCount Number of buckets, the histogram covering {@code bucketNanos * bucketCount}.
+     */
+    public LatencyHistogram(long bucketNanos, int bucketCount) {
+        if (bucketNanos <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket width and count must be positive");
+        }
+        this.bucketNanos = bucketNanos;
+        this.buckets = new long[bucketCount];
+    }
+
+    /**
+     * Records a duration. Negative durations, caused by a clock read out of order, count as zero.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        long bucket = nanos / bucketNanos;
+        if (bucket < buckets.length) {
+            buckets[(int) bucket]++;
+        } else {
+            overflow++;
+        }
+        count++;
+        totalNanos += nanos;
+        minNanos = Math.min(minNanos, nanos);
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Returns the duration under which the given fraction of the recorded durations fall.
+     *
+     * @param fraction The fraction, e.g. 0.99 for the 99th percentile.
+     * @return The percentile in milliseconds, 0 if nothing was recorded.
+     */
+    public double percentileMillis(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * count);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min((i + 1) * bucketNanos, maxNanos) / 1e6;
+            }
+        }
+        return maxNanos / 1e6;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the recorded durations.
+     * @return The mean in milliseconds, 0 if nothing was recorded.
+     */
+    public double getMeanMillis() {
+        return count == 0 ? 0 : totalNanos / 1e6 / count;
+    }
+
+    /**
+     * Returns the shortest recorded duration.
+     * @return The minimum in milliseconds, 0 if nothing was recorded.
+     */
+    public double getMinMillis() {
+        return count == 0 ? 0 : minNanos / 1e6;
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     * @return The maximum in milliseconds.
+     */
+    public double getMaxMillis() {
+        return maxNanos / 1e6;
+    }
+
+    public long getBucketNanos() {
+        return bucketNanos;
+    }
+
+    /**
+     * Returns a copy of the bucket counts, the last entry holding the durations beyond the last bucket.
+     * @return The counts, one per bucket plus the overflow.
+     */
+    public long[] getBucketCounts() {
+        long[] counts = Arrays.copyOf(buckets, buckets.length + 1);
+        counts[buckets.length] = overflow;
+        return counts;
+    }
+
+    /**
+     * Forgets every recorded duration.
+     */
+    public void clear() {
+        Arrays.fill(buckets, 0);
+        overflow = 0;
+        count = 0;
+        totalNanos = 0;
+        minNanos = Long.MAX_VALUE;
+        maxNanos = 0;
+    }
+}
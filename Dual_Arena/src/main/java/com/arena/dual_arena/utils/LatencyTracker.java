@@ -0,0 +1,291 @@
+package com.arena.dual_arena.utils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Measures how long a fire input takes to become a projectile on screen, for each player.
+ * A trace starts when a trigger or fire key is pressed and collects one timestamp per {@link Stage}:
+ * <ol>
+ *     <li>{@link Stage#DEVICE}: the controller poll that first saw the trigger pressed, or the key event;</li>
+ *     <li>{@link Stage#POLL}: the game thread reading that state;</li>
+ *     <li>{@link Stage#DISPATCH}: the simulation asking the weapon to fire;</li>
+ *     <li>{@link Stage#SPAWN}: the projectile entity spawned;</li>
+ *     <li>{@link Stage#RENDER}: the first frame drawn after the spawn.</li>
+ * </ol>
+ * The time between consecutive stages and the total are recorded in one histogram per player.
+ * A press that does not fire, e.g. because the weapon is cooling down or the trigger was released before the
+ * next tick, is dropped and only counted. A trace still waiting for its tick after {@link #TRACE_TIMEOUT_NANOS}
+ * is dropped too, so a later shot is never measured from an old press.
+ * Every method must be called from the JavaFX thread.
+ */
+public class LatencyTracker {
+    /** Width of a histogram bucket, 0.25 ms. */
+    private static final long BUCKET_NANOS = 250_000;
+    /** Number of histogram buckets, covering 250 ms. */
+    private static final int BUCKET_COUNT = 1000;
+    /** Age after which a press that has not reached the simulation is dropped, the range of the histograms. */
+    public static final long TRACE_TIMEOUT_NANOS = BUCKET_NANOS * BUCKET_COUNT;
+    private static LatencyTracker instance;
+
+    private final Map<Integer, PlayerLatency> players = new TreeMap<>();
+
+    /**
+     * Steps of the input path, in the order they happen.
+     */
+    public enum Stage {
+        DEVICE, POLL, DISPATCH, SPAWN, RENDER
+    }
+
+    /**
+     * Segments recorded in the histograms: the time spent reaching each stage from the previous one, and the total.
+     */
+    public enum Segment {
+        DEVICE_TO_POLL("device>poll"),
+        POLL_TO_DISPATCH("poll>dispatch"),
+        DISPATCH_TO_SPAWN("dispatch>spawn"),
+        SPAWN_TO_RENDER("spawn>render"),
+        TOTAL("total");
+
+        private final String label;
+
+        Segment(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Trace in progress and histograms of a player.
+     */
+    private static final class PlayerLatency {
+        private final long[] stamps = new long[Stage.values().length];
+        private final LatencyHistogram[] histograms = new LatencyHistogram[Segment.values().length];
+        private boolean tracing = false;
+        private long droppedInputs = 0;
+
+        private PlayerLatency() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram(BUCKET_NANOS, BUCKET_COUNT);
+            }
+        }
+
+        private boolean reached(Stage stage) {
+            return stamps[stage.ordinal()] != 0;
+        }
+    }
+
+    /**
+     * Returns the tracker shared by the game, creating it on first use.
+     *
+     * @return The shared latency tracker.
+     */
+    public static LatencyTracker get() {
+        if (instance == null) {
+            instance = new LatencyTracker();
+        }
+        return instance;
+    }
+
+    private PlayerLatency player(int playerId) {
+        return players.computeIfAbsent(playerId, id -> new PlayerLatency());
+    }
+
+    /**
+     * Starts a trace when a fire input is pressed. Ignored while the previous press of the player is still traced,
+     * unless that press timed out before reaching the simulation.
+     *
+     * @param playerId    The player pressing the input.
+     * @param deviceNanos When the press was seen by the device poll, from {@link System#nanoTime()}.
+     * @param pollNanos   When the game thread read the press.
+     */
+    public void onInput(int playerId, long deviceNanos, long pollNanos) {
+        PlayerLatency latency = player(playerId);
+        if (latency.tracing) {
+            if (!isStale(latency, pollNanos)) {
+                return;
+            }
+            drop(latency);
+        }
+        latency.tracing = true;
+        latency.stamps[Stage.DEVICE.ordinal()] = deviceNanos;
+        latency.stamps[Stage.POLL.ordinal()] = pollNanos;
+    }
+
+    /**
+     * Ends the trace of a player whose trigger was released before the simulation asked the weapon to fire,
+     * e.g. after a tap shorter than a tick. A trace already dispatched goes on until its frame is drawn.
+     *
+     * @param playerId The player releasing the input.
+     */
+    public void onRelease(int playerId) {
+        PlayerLatency latency = players.get(playerId);
+        if (latency != null && latency.tracing && !latency.reached(Stage.DISPATCH)) {
+            drop(latency);
+        }
+    }
+
+    /**
+     * Marks the moment the simulation asks the weapon of the player to fire.
+     * A press older than {@link #TRACE_TIMEOUT_NANOS} is dropped instead.
+     *
+     * @param playerId The firing player.
+     * @param nanos    Current time, from {@link System#nanoTime()}.
+     */
+    public void onDispatch(int playerId, long nanos) {
+        PlayerLatency latency = players.get(playerId);
+        if (latency == null || !latency.tracing || latency.reached(Stage.DISPATCH)) {
+            return;
+        }
+        if (isStale(latency, nanos)) {
+            drop(latency);
+        } else {
+            latency.stamps[Stage.DISPATCH.ordinal()] = nanos;
+        }
+    }
+
+    private static boolean isStale(PlayerLatency latency, long nanos) {
+        return !latency.reached(Stage.DISPATCH) && nanos - latency.stamps[Stage.POLL.ordinal()] > TRACE_TIMEOUT_NANOS;
+    }
+
+    /**
+     * Marks the end of a fire request. The trace waits for the next frame if a projectile spawned,
+     * and is dropped otherwise.
+     *
+     * @param playerId The firing player.
+     * @param spawned  True if the weapon spawned a projectile.
+     * @param nanos    Current time, from {@link System#nanoTime()}.
+     */
+    public void onFire(int playerId, boolean spawned, long nanos) {
+        PlayerLatency latency = players.get(playerId);
+        if (latency == null || !latency.tracing || !latency.reached(Stage.DISPATCH) || latency.reached(Stage.SPAWN)) {
+            return;
+        }
+        if (spawned) {
+            latency.stamps[Stage.SPAWN.ordinal()] = nanos;
+        } else {
+            drop(latency);
+        }
+    }
+
+    /**
+     * Completes the traces whose projectile spawned, once the frame showing it has been laid out for rendering.
+     *
+     * @param nanos Current time, from {@link System#nanoTime()}.
+     */
+    public void onFrameRendered(long nanos) {
+        for (PlayerLatency latency : players.values()) {
+            if (latency.tracing && latency.reached(Stage.SPAWN)) {
+                latency.stamps[Stage.RENDER.ordinal()] = nanos;
+                long[] stamps = latency.stamps;
+                for (int stage = 1; stage < stamps.length; stage++) {
+                    latency.histograms[stage - 1].record(stamps[stage] - stamps[stage - 1]);
+                }
+                latency.histograms[Segment.TOTAL.ordinal()].record(stamps[Stage.RENDER.ordinal()] - stamps[Stage.DEVICE.ordinal()]);
+                reset(latency);
+            }
+        }
+    }
+
+    private static void drop(PlayerLatency latency) {
+        latency.droppedInputs++;
+        reset(latency);
+    }
+
+    private static void reset(PlayerLatency latency) {
+        latency.tracing = false;
+        Arrays.fill(latency.stamps, 0);
+    }
+
+    /**
+     * Returns the histogram of a segment for a player.
+     *
+     * @param playerId The player.
+     * @param segment  The segment.
+     * @return The histogram, empty if the player never fired.
+     */
+    public LatencyHistogram getHistogram(int playerId, Segment segment) {
+        return player(playerId).histograms[segment.ordinal()];
+    }
+
+    /**
+     * Returns the number of presses of a player that did not fire.
+     *
+     * @param playerId The player.
+     * @return The dropped press count.
+     */
+    public long getDroppedInputs(int playerId) {
+        PlayerLatency latency = players.get(playerId);
+        return latency == null ? 0 : latency.droppedInputs;
+    }
+
+    /**
+     * Builds the text shown on the debug overlay: the median, 95th and 99th percentiles of every segment per player.
+     *
+     * @return The overlay text.
+     */
+    public String formatSummary() {
+        StringBuilder text = new StringBuilder("Latence tir (ms) p50 / p95 / p99");
+        players.forEach((id, latency) -> {
+            text.append("\nJoueur ").append(id).append(" (").append(latency.histograms[Segment.TOTAL.ordinal()].getCount()).append(" tirs)");
+            for (Segment segment : Segment.values()) {
+                LatencyHistogram histogram = latency.histograms[segment.ordinal()];
+                text.append(String.format(Locale.ROOT, "%n  %-15s %6.2f / %6.2f / %6.2f", segment.getLabel(),
+                        histogram.percentileMillis(0.5), histogram.percentileMillis(0.95), histogram.percentileMillis(0.99)));
+            }
+        });
+        return text.toString();
+    }
+
+    /**
+     * Writes the statistics and bucket counts of every histogram to a CSV file.
+     * The first section has one line per player and segment; the second one line per non-empty bucket.
+     *
+     * @param file The file to create or overwrite.
+     * @throws IOException If the file cannot be written.
+     */
+    public void exportCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("player,segment,count,dropped,min_ms,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+            players.forEach((id, latency) -> {
+                for (Segment segment : Segment.values()) {
+                    LatencyHistogram histogram = latency.histograms[segment.ordinal()];
+                    out.printf(Locale.ROOT, "%d,%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n", id, segment.getLabel(),
+                            histogram.getCount(), latency.droppedInputs, histogram.getMinMillis(), histogram.getMeanMillis(),
+                            histogram.percentileMillis(0.5), histogram.percentileMillis(0.95),
+                            histogram.percentileMillis(0.99), histogram.getMaxMillis());
+                }
+            });
+
+            out.println();
+            out.println("player,segment,bucket_start_ms,count");
+            players.forEach((id, latency) -> {
+                for (Segment segment : Segment.values()) {
+                    LatencyHistogram histogram = latency.histograms[segment.ordinal()];
+                    long[] counts = histogram.getBucketCounts();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] > 0) {
+                            out.printf(Locale.ROOT, "%d,%s,%.2f,%d%n", id, segment.getLabel(), i * histogram.getBucketNanos() / 1e6, counts[i]);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Forgets every trace and histogram.
+     */
+    public void clear() {
+        players.clear();
+    }
+}
@@ -0,0 +1,102 @@
+package com.arena.dual_arena.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out the random generators of the game, all derived from the seed of the match.
+ * Each subsystem (hazards, weapon spawns, music, particles) has its own family of streams, so the draws of one
+ * subsystem never shift those of another: a match is reproducible from its seed alone, whatever the order the
+ * subsystems are created in. Every call to {@link #stream(String)} splits a new, independent generator from the
+ * family of the subsystem, e.g. one per hazard event.
+ * <p>
+ * The streams are {@link SplitRandom}s, which are not synchronized: a stream must stay on the thread using it.
+ * Their state can be saved, so a snapshot of the simulation restores its draws too.
+ * Headless simulations running in parallel each create their own instance instead of sharing a generator.
+ */
+public final class RandomStreams {
+    /** Random attack events: delays, positions and sizes of the hazards. */
+    public static final String HAZARDS = "hazards";
+    /** Weapon and rocket launcher spawns. */
+    public static final String WEAPONS = "weapons";
+    /** Choice of the music tracks. */
+    public static final String MUSIC = "music";
+    /** Speeds, angles and colors of the particles. */
+    public static final String PARTICLES = "particles";
+
+    private static RandomStreams instance;
+
+    private final long seed;
+    private final Map<String, SplitRandom> families = new HashMap<>();
+
+    /**
+     * Constructs the streams of a match.
+     *
+     * @param seed Seed of the match.
+     */
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the streams of the current game, seeded from the clock until {@link #reseed(long)} is called.
+     *
+     * @return The shared streams.
+     */
+    public static RandomStreams get() {
+        if (instance == null) {
+            instance = new RandomStreams(System.nanoTime());
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared streams by new ones for a match. Generators handed out before keep their sequence.
+     *
+     * @param seed Seed of the match.
+     * @return The new shared streams.
+     */
+    public static RandomStreams reseed(long seed) {
+        instance = new RandomStreams(seed);
+        return instance;
+    }
+
+    /**
+     * Splits a new generator from the family of a subsystem. For a given seed, the n-th generator of a subsystem
+     * always produces the same sequence.
+     *
+     * @param subsystem Name of the subsystem, e.g. {@link #HAZARDS}.
+     * @return A generator owned by the caller.
+     */
+    public SplitRandom stream(String subsystem) {
+        return family(subsystem).split();
+    }
+
+    /**
+     * Returns the generator the streams of a subsystem are split from, e.g. to save its state.
+     *
+     * @param subsystem Name of the subsystem.
+     * @return The generator of the family, created on first use.
+     */
+    public SplitRandom family(String subsystem) {
+        SplitRandom family = families.get(subsystem);
+        if (family == null) {
+            family = new SplitRandom(seed ^ mix(subsystem.hashCode()));
+            families.put(subsystem, family);
+        }
+        return family;
+    }
+
+    /**
+     * Spreads the bits of the subsystem name over the seed, so similar names give unrelated families.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
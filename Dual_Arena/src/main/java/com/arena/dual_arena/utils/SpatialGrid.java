@@ -0,0 +1,222 @@
+package com.arena.dual_arena.utils;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform spatial hash covering the arena, used as a broad phase for proximity queries
+ * such as projectile hits, explosion knockback, weapon pickups and hazard contacts.
+ * Each tracked item is binned by the cell containing its center and is only moved to another
+ * bucket when it crosses a cell border, so keeping the grid up to date costs almost nothing per tick.
+ * Queries only visit the buckets covering the requested area, which makes their cost grow with the
+ * number of nearby items instead of the number of items in the world.
+ *
+ * @param <T> The type of the tracked items.
+ */
+public class SpatialGrid<T> {
+    /** Default cell size in pixels, larger than every tracked hitbox. */
+    public static final double DEFAULT_CELL_SIZE = 64;
+    private static final int BUCKET_COUNT = 1024;
+    /** Items a bucket holds before growing, allocated up front so that moving into a new cell does not allocate. */
+    private static final int BUCKET_CAPACITY = 4;
+
+    private final double cellSize;
+    private final Locator<? super T> locator;
+    private final List<List<T>> buckets = new ArrayList<>(BUCKET_COUNT);
+    private final Map<T, Slot<T>> slots = new IdentityHashMap<>();
+
+    /**
+     * Tells the grid where an item is and what it is.
+     *
+     * @param <T> The type of the located items.
+     */
+    public interface Locator<T> {
+        /**
+         * Returns the X-coordinate of the center of an item.
+         *
+         * @param item The item.
+         * @return The X-coordinate of its center.
+         */
+        double centerX(T item);
+
+        /**
+         * Returns the Y-coordinate of the center of an item.
+         *
+         * @param item The item.
+         * @return The Y-coordinate of its center.
+         */
+        double centerY(T item);
+
+        /**
+         * Returns the type used to filter the queries.
+         *
+         * @param item The item.
+         * @return The type of the item, null by default.
+         */
+        default Object typeOf(T item) {
+            return null;
+        }
+    }
+
+    /**
+     * Position of a tracked item in the grid, kept between ticks so moves are incremental.
+     */
+    private static final class Slot<T> {
+        private int cellX;
+        private int cellY;
+        private List<T> bucket;
+    }
+
+    /**
+     * Constructs an empty grid with the given cell size.
+     *
+     * @param cellSize Width and height of a cell in pixels. Items are expected to reach at most this far from their center.
+     * @param locator  Gives the center and the type of the items.
+     */
+    public SpatialGrid(double cellSize, Locator<? super T> locator) {
+        this.cellSize = cellSize;
+        this.locator = locator;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.add(new ArrayList<>(BUCKET_CAPACITY));
+        }
+    }
+
+    /**
+     * Starts tracking an item. Inserting an item twice only refreshes its cell.
+     *
+     * @param item The item to track.
+     */
+    public void insert(T item) {
+        if (slots.containsKey(item)) {
+            update(item);
+            return;
+        }
+        Slot<T> slot = new Slot<>();
+        slot.cellX = cellOf(locator.centerX(item));
+        slot.cellY = cellOf(locator.centerY(item));
+        slot.bucket = bucketOf(slot.cellX, slot.cellY);
+        slot.bucket.add(item);
+        slots.put(item, slot);
+    }
+
+    /**
+     * Moves a tracked item to the bucket matching its current position.
+     * Does nothing if the item did not leave its cell or is not tracked.
+     *
+     * @param item The item that may have moved.
+     */
+    public void update(T item) {
+        Slot<T> slot = slots.get(item);
+        if (slot == null) {
+            return;
+        }
+        int cellX = cellOf(locator.centerX(item));
+        int cellY = cellOf(locator.centerY(item));
+        if (cellX == slot.cellX && cellY == slot.cellY) {
+            return;
+        }
+        List<T> bucket = bucketOf(cellX, cellY);
+        if (bucket != slot.bucket) {
+            slot.bucket.remove(item);
+            bucket.add(item);
+            slot.bucket = bucket;
+        }
+        slot.cellX = cellX;
+        slot.cellY = cellY;
+    }
+
+    /**
+     * Stops tracking an item.
+     *
+     * @param item The item to forget.
+     */
+    public void remove(T item) {
+        Slot<T> slot = slots.remove(item);
+        if (slot != null) {
+            slot.bucket.remove(item);
+        }
+    }
+
+    /**
+     * Forgets every tracked item.
+     */
+    public void clear() {
+        slots.clear();
+        buckets.forEach(List::clear);
+    }
+
+    /**
+     * Returns the number of tracked items.
+     *
+     * @return The number of items in the grid.
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Collects the tracked items of a given type whose center lies in one of the cells touched by the area,
+     * extended by one cell on each side so that items overlapping the area from a neighbouring cell are found.
+     * The result is a candidate list: callers still run their exact collision or distance test.
+     * Its order depends on the cells and on the order of the moves, not on the order of insertion.
+     *
+     * @param minX Left edge of the area.
+     * @param minY Top edge of the area.
+     * @param maxX Right edge of the area.
+     * @param maxY Bottom edge of the area.
+     * @param type The item type to keep, or null to keep every type.
+     * @param out  List receiving the candidates. It is cleared first so callers can reuse it between ticks.
+     * @return The {@code out} list.
+     */
+    public List<T> query(double minX, double minY, double maxX, double maxY, Object type, List<T> out) {
+        out.clear();
+        int fromX = cellOf(minX) - 1;
+        int fromY = cellOf(minY) - 1;
+        int toX = cellOf(maxX) + 1;
+        int toY = cellOf(maxY) + 1;
+
+        for (int cellY = fromY; cellY <= toY; cellY++) {
+            for (int cellX = fromX; cellX <= toX; cellX++) {
+                List<T> bucket = bucketOf(cellX, cellY);
+                for (int i = 0; i < bucket.size(); i++) {
+                    T candidate = bucket.get(i);
+                    // Different cells can share a bucket, so keep only items really inside this cell
+                    Slot<T> slot = slots.get(candidate);
+                    if (slot.cellX != cellX || slot.cellY != cellY) {
+                        continue;
+                    }
+                    if (type == null || type.equals(locator.typeOf(candidate))) {
+                        out.add(candidate);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Collects the tracked items of a given type that may be within a radius of a point.
+     *
+     * @param x      X-coordinate of the center.
+     * @param y      Y-coordinate of the center.
+     * @param radius Radius of the area.
+     * @param type   The item type to keep, or null to keep every type.
+     * @param out    List receiving the candidates.
+     * @return The {@code out} list.
+     * @see #query(double, double, double, double, Object, List)
+     */
+    public List<T> queryRadius(double x, double y, double radius, Object type, List<T> out) {
+        return query(x - radius, y - radius, x + radius, y + radius, type, out);
+    }
+
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private List<T> bucketOf(int cellX, int cellY) {
+        int hash = cellX * 73856093 ^ cellY * 19349663;
+        return buckets.get(hash & (BUCKET_COUNT - 1));
+    }
+}
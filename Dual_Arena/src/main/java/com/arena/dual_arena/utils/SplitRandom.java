@@ -0,0 +1,104 @@
+package com.arena.dual_arena.utils;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Splittable, non-synchronized random generator following the SplitMix64 algorithm of {@link java.util.SplittableRandom},
+ * whose state can be read and written back. Snapshots of the simulation save the state of every generator,
+ * so a restored world draws the same numbers as the world it was saved from.
+ */
+public final class SplitRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+    private long gamma;
+
+    /**
+     * Constructs a generator from a seed.
+     *
+     * @param seed The seed.
+     */
+    public SplitRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private SplitRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Splits a new generator off this one. Its sequence is independent of the sequence of this generator.
+     *
+     * @return The new generator.
+     */
+    public SplitRandom split() {
+        return new SplitRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        // Un gamma trop régulier donne des suites de mauvaise qualité
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+
+    /**
+     * Returns the position of the generator in its sequence.
+     *
+     * @return The state, to give back to {@link #setState(long, long)} with the gamma.
+     */
+    public long getState() {
+        return seed;
+    }
+
+    /**
+     * Returns the step of the sequence of the generator, fixed when it was split.
+     *
+     * @return The gamma.
+     */
+    public long getGamma() {
+        return gamma;
+    }
+
+    /**
+     * Moves the generator to a saved point of a sequence.
+     *
+     * @param state The state returned by {@link #getState()}.
+     * @param gamma The gamma returned by {@link #getGamma()}, odd.
+     */
+    public void setState(long state, long gamma) {
+        if ((gamma & 1) == 0) {
+            throw new IllegalArgumentException("Gamma must be odd: " + gamma);
+        }
+        this.seed = state;
+        this.gamma = gamma;
+    }
+}
@@ -0,0 +1,158 @@
+package com.arena.dual_arena.utils;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Several sprites copied side by side into a single image, so a canvas can draw all of them
+ * from the same texture instead of switching between one image per sprite.
+ * Sprites are placed in rows from left to right, a new row starting when the current one is full,
+ * with a transparent gap between them so that scaled sprites do not bleed into their neighbours.
+ */
+public final class SpriteSheet {
+    /** Transparent pixels kept around every sprite. */
+    public static final int PADDING = 1;
+    /** Width of the sheet, sprites wider than this widen the sheet instead. */
+    public static final int MAX_WIDTH = 512;
+
+    private final Image image;
+    private final int[] regionX;
+    private final int[] regionY;
+    private final int[] regionWidth;
+    private final int[] regionHeight;
+
+    private SpriteSheet(Image image, int[] regionX, int[] regionY, int[] regionWidth, int[] regionHeight) {
+        this.image = image;
+        this.regionX = regionX;
+        this.regionY = regionY;
+        this.regionWidth = regionWidth;
+        this.regionHeight = regionHeight;
+    }
+
+    /**
+     * Copies the given sprites into a new sheet. Sprites keep their index in the sheet.
+     *
+     * @param sprites The decoded sprites.
+     * @return The sprite sheet.
+     */
+    public static SpriteSheet pack(Image... sprites) {
+        return pack(sprites, new Rectangle2D[sprites.length]);
+    }
+
+    /**
+     * Copies areas of the given images into a new sheet, such as sprites of an atlas page.
+     * Sprites keep their index in the sheet.
+     *
+     * @param sprites The decoded images.
+     * @param sources The area of each image to copy, null to copy the whole image.
+     * @return The sprite sheet.
+     */
+    public static SpriteSheet pack(Image[] sprites, Rectangle2D[] sources) {
+        int count = sprites.length;
+        int[] widths = new int[count];
+        int[] heights = new int[count];
+        int[] sourceX = new int[count];
+        int[] sourceY = new int[count];
+        for (int i = 0; i < count; i++) {
+            Rectangle2D source = sources[i];
+            widths[i] = (int) Math.ceil(source != null ? source.getWidth() : sprites[i].getWidth());
+            heights[i] = (int) Math.ceil(source != null ? source.getHeight() : sprites[i].getHeight());
+            sourceX[i] = source != null ? (int) source.getMinX() : 0;
+            sourceY[i] = source != null ? (int) source.getMinY() : 0;
+        }
+        int[] x = new int[count];
+        int[] y = new int[count];
+        int sheetWidth = layout(widths, heights, MAX_WIDTH, x, y);
+        int sheetHeight = 0;
+        for (int i = 0; i < count; i++) {
+            sheetHeight = Math.max(sheetHeight, y[i] + heights[i] + PADDING);
+        }
+
+        WritableImage sheet = new WritableImage(Math.max(sheetWidth, 1), Math.max(sheetHeight, 1));
+        PixelWriter writer = sheet.getPixelWriter();
+        for (int i = 0; i < count; i++) {
+            writer.setPixels(x[i], y[i], widths[i], heights[i], sprites[i].getPixelReader(), sourceX[i], sourceY[i]);
+        }
+        return new SpriteSheet(sheet, x, y, widths, heights);
+    }
+
+    /**
+     * Places sprites in rows, in order, and returns the width of the sheet.
+     *
+     * @param widths   Width of each sprite.
+     * @param heights  Height of each sprite.
+     * @param maxWidth Width after which a new row is started.
+     * @param outX     Receives the x-coordinate of each sprite in the sheet.
+     * @param outY     Receives the y-coordinate of each sprite in the sheet.
+     * @return The width of the sheet, gaps included.
+     */
+    static int layout(int[] widths, int[] heights, int maxWidth, int[] outX, int[] outY) {
+        int sheetWidth = 0;
+        int rowX = PADDING;
+        int rowY = PADDING;
+        int rowHeight = 0;
+        for (int i = 0; i < widths.length; i++) {
+            if (rowX > PADDING && rowX + widths[i] + PADDING > maxWidth) {
+                rowX = PADDING;
+                rowY += rowHeight + PADDING;
+                rowHeight = 0;
+            }
+            outX[i] = rowX;
+            outY[i] = rowY;
+            rowX += widths[i] + PADDING;
+            rowHeight = Math.max(rowHeight, heights[i]);
+            sheetWidth = Math.max(sheetWidth, rowX);
+        }
+        return sheetWidth;
+    }
+
+    /**
+     * Creates a plain disc with a smoothed edge, to be packed with the other sprites.
+     *
+     * @param diameter Diameter of the disc in pixels.
+     * @param color    Color of the disc.
+     * @return The disc image.
+     */
+    public static Image disc(int diameter, Color color) {
+        WritableImage disc = new WritableImage(diameter, diameter);
+        PixelWriter writer = disc.getPixelWriter();
+        double radius = diameter / 2.0;
+        for (int py = 0; py < diameter; py++) {
+            for (int px = 0; px < diameter; px++) {
+                double dx = px + 0.5 - radius;
+                double dy = py + 0.5 - radius;
+                // Un pixel de transition sur le bord du disque
+                double coverage = Math.min(1, Math.max(0, radius - Math.sqrt(dx * dx + dy * dy) + 0.5));
+                writer.setColor(px, py, Color.color(color.getRed(), color.getGreen(), color.getBlue(), color.getOpacity() * coverage));
+            }
+        }
+        return disc;
+    }
+
+    /**
+     * Draws a sprite of the sheet with its top left corner at the origin of the current transform.
+     *
+     * @param graphics The graphics context to draw into.
+     * @param sprite   Index of the sprite in the sheet.
+     * @param x        X-coordinate of the sprite in the current transform.
+     * @param y        Y-coordinate of the sprite in the current transform.
+     * @param width    Drawn width.
+     * @param height   Drawn height.
+     */
+    public void draw(GraphicsContext graphics, int sprite, double x, double y, double width, double height) {
+        graphics.drawImage(image, regionX[sprite], regionY[sprite], regionWidth[sprite], regionHeight[sprite],
+                x, y, width, height);
+    }
+
+    public Image getImage() {
+        return image;
+    }
+
+    public int getSpriteCount() {
+        return regionX.length;
+    }
+}
@@ -0,0 +1,175 @@
+package com.arena.dual_arena.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the atlas pages built by the {@link AtlasPacker}: the name of every page image and the region
+ * each gameplay sprite occupies in it. The index only holds positions, the pages themselves are decoded
+ * by the {@link AssetRegistry} like any other image.
+ *
+ * <p>The index is a text file with one entry per line: {@code page <file> <width> <height>} declares the
+ * next page, {@code sprite <file> <page> <x> <y> <width> <height>} places a sprite in a page.
+ * Lines starting with {@code #} are comments.</p>
+ */
+public final class TextureAtlas {
+    /** Index of the gameplay atlas, in the textures asset folder. */
+    public static final String GAMEPLAY = "/assets/textures/gameplay.atlas";
+    private static TextureAtlas gameplay;
+
+    /**
+     * Position of a sprite in the atlas.
+     *
+     * @param page   Index of the page holding the sprite.
+     * @param x      Left edge in the page, in pixels.
+     * @param y      Top edge in the page, in pixels.
+     * @param width  Width of the sprite in pixels.
+     * @param height Height of the sprite in pixels.
+     */
+    public record Region(int page, int x, int y, int width, int height) {
+    }
+
+    private final List<String> pages;
+    private final int[] pageWidths;
+    private final int[] pageHeights;
+    private final Map<String, Region> regions;
+
+    /**
+     * Constructs an atlas index.
+     *
+     * @param pages       File name of each page image.
+     * @param pageWidths  Width of each page in pixels.
+     * @param pageHeights Height of each page in pixels.
+     * @param regions     Region of each sprite, by sprite file name, in packing order.
+     */
+    public TextureAtlas(List<String> pages, int[] pageWidths, int[] pageHeights, Map<String, Region> regions) {
+        this.pages = List.copyOf(pages);
+        this.pageWidths = pageWidths.clone();
+        this.pageHeights = pageHeights.clone();
+        this.regions = Collections.unmodifiableMap(new LinkedHashMap<>(regions));
+    }
+
+    /**
+     * Returns the gameplay atlas, read once from the classpath.
+     *
+     * @return The gameplay atlas index.
+     */
+    public static TextureAtlas gameplay() {
+        if (gameplay == null) {
+            try (InputStream input = TextureAtlas.class.getResourceAsStream(GAMEPLAY)) {
+                if (input == null) {
+                    throw new IOException("Missing atlas " + GAMEPLAY);
+                }
+                gameplay = read(input);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return gameplay;
+    }
+
+    /**
+     * Reads an atlas index.
+     *
+     * @param input The index file.
+     * @return The atlas index.
+     * @throws IOException If the file cannot be read or an entry is malformed.
+     */
+    public static TextureAtlas read(InputStream input) throws IOException {
+        List<String> pages = new ArrayList<>();
+        List<int[]> sizes = new ArrayList<>();
+        Map<String, Region> regions = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            try {
+                if (fields[0].equals("page") && fields.length == 4) {
+                    pages.add(fields[1]);
+                    sizes.add(new int[]{Integer.parseInt(fields[2]), Integer.parseInt(fields[3])});
+                } else if (fields[0].equals("sprite") && fields.length == 7) {
+                    Region region = new Region(Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+                            Integer.parseInt(fields[4]), Integer.parseInt(fields[5]), Integer.parseInt(fields[6]));
+                    if (region.page() < 0 || region.page() >= pages.size()) {
+                        throw new IOException("Sprite " + fields[1] + " placed in an undeclared page, line " + number);
+                    }
+                    regions.put(fields[1], region);
+                } else {
+                    throw new IOException("Invalid atlas entry, line " + number + ": " + line);
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid number in atlas, line " + number + ": " + line, e);
+            }
+        }
+        int[] widths = sizes.stream().mapToInt(size -> size[0]).toArray();
+        int[] heights = sizes.stream().mapToInt(size -> size[1]).toArray();
+        return new TextureAtlas(pages, widths, heights, regions);
+    }
+
+    /**
+     * Formats this atlas as the content of an index file.
+     *
+     * @return The index, one entry per line.
+     */
+    public String format() {
+        StringBuilder index = new StringBuilder("# Generated by AtlasPacker, do not edit\n");
+        for (int page = 0; page < pages.size(); page++) {
+            index.append("page ").append(pages.get(page)).append(' ')
+                    .append(pageWidths[page]).append(' ').append(pageHeights[page]).append('\n');
+        }
+        regions.forEach((name, region) -> index.append("sprite ").append(name).append(' ')
+                .append(region.page()).append(' ').append(region.x()).append(' ').append(region.y()).append(' ')
+                .append(region.width()).append(' ').append(region.height()).append('\n'));
+        return index.toString();
+    }
+
+    /**
+     * Returns the region of a sprite.
+     *
+     * @param name File name of the sprite before packing.
+     * @return The region of the sprite.
+     * @throws IllegalArgumentException If the sprite is not in the atlas.
+     */
+    public Region region(String name) {
+        Region region = regions.get(name);
+        if (region == null) {
+            throw new IllegalArgumentException("Sprite not in the atlas: " + name);
+        }
+        return region;
+    }
+
+    public boolean contains(String name) {
+        return regions.containsKey(name);
+    }
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public List<String> getPages() {
+        return pages;
+    }
+
+    public int getPageWidth(int page) {
+        return pageWidths[page];
+    }
+
+    public int getPageHeight(int page) {
+        return pageHeights[page];
+    }
+}
@@ -0,0 +1,143 @@
+package com.arena.dual_arena.utils;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.components.BoundingBoxComponent;
+import javafx.geometry.Point2D;
+
+/**
+ * Mutable 2D vector of primitive doubles, used on the per-tick paths instead of {@link Point2D}.
+ * Every operation modifies the vector in place and returns it so calls can be chained, which lets
+ * a component keep a few vectors as scratch fields and reuse them every tick without allocating.
+ * The arithmetic is the same as {@link Point2D}'s, so replacing one with the other does not change the gameplay.
+ *
+ * <p>A vector must not be shared between threads nor kept by the callee when passed as an output parameter.</p>
+ */
+public final class Vec2 {
+    public double x;
+    public double y;
+
+    /**
+     * Constructs a zero vector.
+     */
+    public Vec2() {
+    }
+
+    /**
+     * Constructs a vector with the given coordinates.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     */
+    public Vec2(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public Vec2 set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    public Vec2 set(Vec2 other) {
+        return set(other.x, other.y);
+    }
+
+    public Vec2 set(Point2D point) {
+        return set(point.getX(), point.getY());
+    }
+
+    public Vec2 setZero() {
+        return set(0, 0);
+    }
+
+    /**
+     * Sets this vector to the unit vector of an angle, as used by FXGL rotations.
+     *
+     * @param degrees The angle in degrees, clockwise from the x-axis on screen.
+     * @return This vector.
+     */
+    public Vec2 setAngle(double degrees) {
+        double radians = Math.toRadians(degrees);
+        return set(Math.cos(radians), Math.sin(radians));
+    }
+
+    /**
+     * Sets this vector to the center of an entity's bounding box, like {@link Entity#getCenter()}.
+     *
+     * @param entity The entity.
+     * @return This vector.
+     */
+    public Vec2 setCenter(Entity entity) {
+        BoundingBoxComponent bbox = entity.getBoundingBoxComponent();
+        return set(bbox.getWidth() / 2 + bbox.getMinXWorld(), bbox.getHeight() / 2 + bbox.getMinYWorld());
+    }
+
+    public Vec2 add(double dx, double dy) {
+        return set(x + dx, y + dy);
+    }
+
+    /**
+     * Adds another vector multiplied by a factor.
+     *
+     * @param other  The vector to add.
+     * @param factor The factor applied to the other vector.
+     * @return This vector.
+     */
+    public Vec2 addScaled(Vec2 other, double factor) {
+        return set(x + other.x * factor, y + other.y * factor);
+    }
+
+    public Vec2 subtract(double dx, double dy) {
+        return set(x - dx, y - dy);
+    }
+
+    public Vec2 scale(double factor) {
+        return set(x * factor, y * factor);
+    }
+
+    /**
+     * Scales this vector to a length of 1. A zero vector stays zero, as with {@link Point2D#normalize()}.
+     *
+     * @return This vector.
+     */
+    public Vec2 normalize() {
+        double length = length();
+        if (length == 0.0) {
+            return setZero();
+        }
+        return set(x / length, y / length);
+    }
+
+    public double length() {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    public double lengthSquared() {
+        return x * x + y * y;
+    }
+
+    public double distance(double otherX, double otherY) {
+        double dx = otherX - x;
+        double dy = otherY - y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public boolean isZero() {
+        return x == 0.0 && y == 0.0;
+    }
+
+    /**
+     * Copies this vector into a new immutable point, for the FXGL and JavaFX APIs that need one.
+     *
+     * @return A new point with the same coordinates.
+     */
+    public Point2D toPoint2D() {
+        return new Point2D(x, y);
+    }
+
+    @Override
+    public String toString() {
+        return "Vec2(" + x + ", " + y + ")";
+    }
+}
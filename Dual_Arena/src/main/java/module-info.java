@@ -4,6 +4,10 @@ module com.arena.dual_arena {
 
     requires com.almasb.fxgl.all;
     requires jdk.jconsole;
+    requires java.management;
+    requires jdk.jfr;
+    requires java.xml;
+    requires java.desktop;
     requires jinput;
     requires com.almasb.fxgl.entity;
     requires de.ralleytn.plugins.jinput.xinput;
@@ -17,6 +21,9 @@ module com.arena.dual_arena {
     opens com.arena.dual_arena.models.projectiles;
     opens com.arena.dual_arena.factories;
     opens com.arena.dual_arena.types;
+    exports com.arena.dual_arena.simulation;
+    exports com.arena.dual_arena.netcode;
+    exports com.arena.dual_arena.server;
     opens assets.levels;
     opens assets.textures;
     opens assets.sounds;
@@ -0,0 +1,89 @@
+package com.arena.dual_arena.components;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.texture.AnimatedTexture;
+import com.almasb.fxgl.texture.AnimationChannel;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.WritableImage;
+import javafx.util.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimationCullingComponentTest {
+    private static final Rectangle2D SCREEN = new Rectangle2D(0, 0, 1440, 810);
+
+    @Test
+    void testEntityInsideTheScreenIsShown() {
+        assertTrue(AnimationCullingComponent.isShown(true, 1, 720, 405, 64, SCREEN));
+    }
+
+    @Test
+    void testMarginKeepsEntitiesOnTheEdgeShown() {
+        assertTrue(AnimationCullingComponent.isShown(true, 1, -50, 405, 64, SCREEN),
+                "Une boule de feu qui entre par le bord gauche doit rester animée.");
+        assertTrue(AnimationCullingComponent.isShown(true, 1, 720, 870, 64, SCREEN));
+        assertFalse(AnimationCullingComponent.isShown(true, 1, -100, 405, 64, SCREEN));
+        assertFalse(AnimationCullingComponent.isShown(true, 1, 1600, 900, 64, SCREEN));
+    }
+
+    @Test
+    void testHiddenEntityIsNotShown() {
+        assertFalse(AnimationCullingComponent.isShown(false, 1, 720, 405, 64, SCREEN));
+        assertFalse(AnimationCullingComponent.isShown(true, 0, 720, 405, 64, SCREEN),
+                "Une entité transparente ne doit pas être animée.");
+    }
+
+    @Test
+    void testCullingStopsAndResumesTheAnimation() {
+        AnimationChannel channel = channel();
+        AnimatedTexture texture = new AnimatedTexture(channel);
+        texture.loop();
+        Entity entity = new Entity();
+        AnimationCullingComponent culling = new AnimationCullingComponent(texture, 64);
+        entity.addComponent(culling);
+        entity.setPosition(720, 405);
+        texture.onUpdate(0.3);
+        assertNotEquals(0, texture.getViewport().getMinX(), "L'animation devrait tourner à l'écran.");
+
+        entity.setPosition(-500, 405);
+        culling.cull(SCREEN);
+        texture.onUpdate(0.3);
+        assertTrue(culling.isCulled());
+        assertEquals(0, texture.getViewport().getMinX(), "L'animation hors de l'écran devrait être arrêtée.");
+
+        entity.setPosition(720, 405);
+        culling.cull(SCREEN);
+        texture.onUpdate(0.3);
+        assertFalse(culling.isCulled());
+        assertSame(channel, texture.getAnimationChannel(), "L'animation devrait reprendre le même canal.");
+        assertNotEquals(0, texture.getViewport().getMinX(), "L'animation devrait reprendre en revenant à l'écran.");
+    }
+
+    @Test
+    void testChannelChangedWhileCulledIsStoppedAndResumed() {
+        AnimatedTexture texture = new AnimatedTexture(channel());
+        texture.loop();
+        Entity entity = new Entity();
+        AnimationCullingComponent culling = new AnimationCullingComponent(texture, 64);
+        entity.addComponent(culling);
+        entity.setPosition(-500, 405);
+        culling.cull(SCREEN);
+
+        AnimationChannel other = channel();
+        texture.loopAnimationChannel(other);
+        culling.cull(SCREEN);
+        texture.onUpdate(0.3);
+        assertEquals(0, texture.getViewport().getMinX(), "Le nouveau canal hors de l'écran devrait être arrêté.");
+
+        entity.setPosition(720, 405);
+        culling.cull(SCREEN);
+        texture.onUpdate(0.3);
+        assertSame(other, texture.getAnimationChannel(), "L'animation devrait reprendre le dernier canal demandé.");
+        assertNotEquals(0, texture.getViewport().getMinX());
+    }
+
+    private static AnimationChannel channel() {
+        return new AnimationChannel(new WritableImage(64, 16), 4, 16, 16, Duration.seconds(1), 0, 3);
+    }
+}
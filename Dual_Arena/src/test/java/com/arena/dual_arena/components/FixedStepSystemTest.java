@@ -0,0 +1,91 @@
+package com.arena.dual_arena.components;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.GameWorld;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedStepSystemTest {
+
+    private static final double SPEED = 100;
+
+    private FixedStepSystem system;
+    private GameWorld world;
+
+    /**
+     * Composant de test avançant l'entité à vitesse constante et comptant les ticks.
+     */
+    private static class MovingComponent extends FixedStepComponent {
+        private int ticks = 0;
+
+        @Override
+        public void onFixedUpdate(double dt) {
+            entity.translateX(SPEED * dt);
+            ticks++;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        system = FixedStepSystem.get();
+        system.setTickRate(50);
+        system.reset();
+        world = new GameWorld();
+    }
+
+    private MovingComponent spawn() {
+        MovingComponent component = new MovingComponent();
+        Entity entity = new Entity();
+        entity.addComponent(component);
+        world.addEntity(entity);
+        return component;
+    }
+
+    @Test
+    void testTicksDoNotDependOnFrameRate() {
+        MovingComponent smooth = spawn();
+        for (int i = 0; i < 100; i++) {
+            system.update(0.01);
+        }
+        double smoothX = smooth.getEntity().getX();
+        int smoothTicks = smooth.ticks;
+
+        system.reset();
+        MovingComponent choppy = spawn();
+        for (int i = 0; i < 10; i++) {
+            system.update(0.1);
+        }
+
+        assertEquals(50, smoothTicks, "Une seconde devrait donner 50 ticks.");
+        assertEquals(smoothTicks, choppy.ticks, "Le nombre de ticks ne devrait pas dépendre de la durée des images.");
+        assertEquals(smoothX, choppy.getEntity().getX(), 1e-9, "La position ne devrait pas dépendre de la durée des images.");
+    }
+
+    @Test
+    void testViewIsInterpolatedBetweenTicks() {
+        MovingComponent component = spawn();
+
+        system.update(0.03);
+
+        assertEquals(1, component.ticks, "Un seul tick devrait être simulé.");
+        assertEquals(2, component.getEntity().getX(), 1e-9, "L'entité devrait être à sa position simulée.");
+        assertEquals(-1, component.getRenderOffsetX(), 1e-9, "La vue devrait être à mi-chemin entre les deux derniers ticks.");
+        assertEquals(-1, component.getEntity().getViewComponent().getParent().getLayoutX(), 1e-9, "La vue devrait être décalée.");
+
+        component.snapToPosition();
+        assertEquals(0, component.getEntity().getViewComponent().getParent().getLayoutX(), "La vue devrait revenir sur l'entité.");
+    }
+
+    @Test
+    void testRemovedComponentIsNotUpdated() {
+        MovingComponent component = spawn();
+        world.removeEntity(component.getEntity());
+        world.onUpdate(0.02);
+
+        system.update(0.1);
+
+        assertEquals(0, component.ticks, "Un composant retiré ne devrait plus être simulé.");
+    }
+}
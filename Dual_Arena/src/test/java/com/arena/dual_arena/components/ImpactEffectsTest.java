@@ -0,0 +1,62 @@
+package com.arena.dual_arena.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImpactEffectsTest {
+
+    private ParticleSystem particles;
+    private ImpactEffects effects;
+
+    @BeforeEach
+    void setUp() {
+        particles = new ParticleSystem(256, new Random(1));
+        effects = new ImpactEffects(4, particles);
+    }
+
+    @Test
+    void testFlashFadesOutAndIsRemoved() {
+        effects.flash(100, 50);
+        assertEquals(1, effects.getCount());
+        assertEquals(ImpactEffects.FLASH, effects.getType(0));
+        assertEquals(ImpactEffects.FLASH_RADIUS, effects.getRadius(0));
+        assertEquals(1.0, effects.getOpacity(0), 1e-9, "Le flash doit être opaque à sa création");
+        assertEquals(ParticleEmitter.BULLET_IMPACT.count(), particles.getCount(), "Le flash doit projeter des étincelles");
+
+        effects.update(ImpactEffects.FADE_DURATION / 2);
+        assertEquals(0.5, effects.getOpacity(0), 1e-9, "Le flash doit s'estomper linéairement");
+
+        effects.update(ImpactEffects.FADE_DURATION / 2);
+        assertEquals(0, effects.getCount(), "Le flash doit disparaître une fois estompé");
+    }
+
+    @Test
+    void testRemovalKeepsRemainingEffects() {
+        effects.add(ImpactEffects.FLASH, 1, 1, 5);
+        effects.update(ImpactEffects.FADE_DURATION / 2);
+        effects.add(ImpactEffects.EXPLOSION, 2, 2, 80);
+        effects.update(ImpactEffects.FADE_DURATION / 2);
+
+        assertEquals(1, effects.getCount());
+        assertEquals(ImpactEffects.EXPLOSION, effects.getType(0));
+        assertEquals(2, effects.getX(0));
+        assertEquals(80, effects.getRadius(0));
+    }
+
+    @Test
+    void testEffectsBeyondCapacityAreDropped() {
+        for (int i = 0; i < 6; i++) {
+            effects.flash(i, i);
+        }
+        assertEquals(4, effects.getCount());
+        assertEquals(2, effects.getDropped());
+
+        effects.clear();
+        assertEquals(0, effects.getCount());
+        assertEquals(0, effects.add(ImpactEffects.FLASH, 0, 0, 5));
+    }
+}
@@ -0,0 +1,86 @@
+package com.arena.dual_arena.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticleSystemTest {
+
+    private static final double DT = 1.0 / 60;
+    /** Émetteur déterministe : dix particules à 100 px/s, vers l'avant, sans freinage. */
+    private static final ParticleEmitter STRAIGHT = new ParticleEmitter(10, 100, 100, 0.5, 0.5, 4, 4, 1, 0,
+            ParticleSystem.WHITE, ParticleSystem.WHITE);
+
+    private ParticleSystem particles;
+
+    @BeforeEach
+    void setUp() {
+        particles = new ParticleSystem(16, new Random(7));
+    }
+
+    @Test
+    void testParticlesMoveAndFadeOut() {
+        assertEquals(10, STRAIGHT.emit(particles, 50, 50, 1, 0));
+
+        particles.update(0.25);
+        assertEquals(75, particles.getX(0), 1e-3, "Les particules doivent avancer dans la direction d'émission");
+        assertEquals(50, particles.getY(0), 1e-3);
+        assertEquals(0.5, particles.getOpacity(0), 1e-6, "Les particules doivent s'estomper avec leur vie");
+
+        particles.update(0.25);
+        assertEquals(0, particles.getCount(), "Les particules doivent disparaître à la fin de leur vie");
+    }
+
+    @Test
+    void testDragSlowsParticlesDown() {
+        ParticleEmitter braked = new ParticleEmitter(1, 100, 100, 2, 2, 4, 4, 0.25, 0, ParticleSystem.RED, ParticleSystem.RED);
+        braked.emit(particles, 0, 0, 0, 1);
+
+        for (int i = 0; i < 60; i++) {
+            particles.update(DT);
+        }
+        assertEquals(25, particles.getVelocityY(0), 0.01, "Il doit rester 25 % de la vitesse après une seconde");
+        assertEquals(0, particles.getVelocityX(0), 1e-3);
+        assertEquals(ParticleSystem.RED, particles.getColor(0));
+    }
+
+    @Test
+    void testDropNewPolicyKeepsLiveParticles() {
+        particles.setOverflowPolicy(ParticleSystem.OverflowPolicy.DROP_NEW);
+        STRAIGHT.emit(particles, 0, 0, 1, 0);
+        int emitted = STRAIGHT.emit(particles, 500, 500, 1, 0);
+
+        assertEquals(6, emitted);
+        assertEquals(16, particles.getCount());
+        assertEquals(4, particles.getDropped());
+        assertEquals(0, particles.getX(0), 1e-6, "Les particules existantes ne doivent pas être remplacées");
+    }
+
+    @Test
+    void testReplaceRoundRobinPolicyRecyclesParticles() {
+        particles.setOverflowPolicy(ParticleSystem.OverflowPolicy.REPLACE_ROUND_ROBIN);
+        STRAIGHT.emit(particles, 0, 0, 1, 0);
+        int emitted = STRAIGHT.emit(particles, 500, 500, 1, 0);
+
+        assertEquals(10, emitted);
+        assertEquals(16, particles.getCount(), "La capacité ne doit jamais être dépassée");
+        assertEquals(4, particles.getReplaced());
+        assertEquals(0, particles.getDropped());
+        assertEquals(500, particles.getX(0), 1e-6, "Les premières particules doivent être remplacées en premier");
+    }
+
+    @Test
+    void testBurstsStayWithinCapacity() {
+        for (int i = 0; i < 100; i++) {
+            ParticleEmitter.HAZARD_EXPLOSION.burst(particles, i, i, 1.5);
+            particles.update(DT);
+        }
+        assertTrue(particles.getCount() <= particles.getCapacity());
+
+        particles.clear();
+        assertEquals(0, particles.getCount());
+    }
+}
@@ -0,0 +1,75 @@
+package com.arena.dual_arena.components;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.entity.Entity;
+import com.arena.dual_arena.FXGLTestBase;
+import com.arena.dual_arena.factories.HazardFactory;
+import com.arena.dual_arena.factories.WeaponFactory;
+import com.arena.dual_arena.netcode.PacketLink;
+import com.arena.dual_arena.netcode.RollbackSession;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationSystemTest extends FXGLTestBase {
+
+    /**
+     * Lien sans pair : les paquets envoyés sont perdus et aucun n'est reçu.
+     */
+    private static final class SilentLink implements PacketLink {
+        @Override
+        public void send(byte[] data, int length) {
+        }
+
+        @Override
+        public int receive(byte[] buffer) {
+            return -1;
+        }
+    }
+
+    @BeforeAll
+    static void setUp() {
+        // Les armes et les dangers du monde sont dessinés par des entités FXGL
+        FXGL.getGameWorld().addEntityFactory(new WeaponFactory());
+        FXGL.getGameWorld().addEntityFactory(new HazardFactory());
+    }
+
+    private static Entity spawnPlayer() {
+        Entity entity = new Entity();
+        entity.addComponent(new PlayerComponent());
+        return entity;
+    }
+
+    @AfterEach
+    void tearDown() {
+        SimulationSystem.get().stop();
+        FixedStepSystem.get().reset();
+    }
+
+    @Test
+    void testOnlineMatchReadsTheControlsOfTheLocalPlayer() {
+        SimulationConfig config = SimulationConfig.withSeed(42);
+        RollbackSession session = new RollbackSession(config, 1, 2, 8, new SilentLink());
+        Entity first = spawnPlayer();
+        Entity second = spawnPlayer();
+        FixedStepSystem.get().setTickRate(config.tickRate());
+        FixedStepSystem.get().reset();
+        SimulationSystem.get().startOnline(session, first, second);
+
+        double firstX = session.getWorld().getPlayer(0).getX();
+        double secondX = session.getWorld().getPlayer(1).getX();
+        // Seul le joueur 2 est local : le stick du joueur 1 ne doit pas être lu
+        first.getComponent(PlayerComponent.class).setXvalue(1);
+        second.getComponent(PlayerComponent.class).setXvalue(-1);
+        for (int i = 0; i < 8; i++) {
+            FixedStepSystem.get().update(1.0 / config.tickRate());
+        }
+
+        assertTrue(session.getFrame() > 2, "La session devrait avoir simulé des frames après le délai d'entrée.");
+        assertTrue(session.getWorld().getPlayer(1).getX() < secondX, "Le joueur local devrait suivre ses propres contrôles.");
+        assertEquals(firstX, session.getWorld().getPlayer(0).getX(), "Le joueur distant ne devrait pas suivre les contrôles locaux.");
+    }
+}
@@ -0,0 +1,186 @@
+package com.arena.dual_arena.controllers;
+
+import net.java.games.input.Component;
+import net.java.games.input.Controller;
+import net.java.games.input.EventQueue;
+import net.java.games.input.Rumbler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControllerPollerTest {
+
+    private ControllerPoller poller;
+    private FakeController controller;
+
+    /**
+     * Axe de manette dont la valeur est fixée par le test.
+     */
+    private record FakeComponent(String name, Map<String, Float> values) implements Component {
+        @Override
+        public Identifier getIdentifier() {
+            return null;
+        }
+
+        @Override
+        public boolean isRelative() {
+            return false;
+        }
+
+        @Override
+        public boolean isAnalog() {
+            return true;
+        }
+
+        @Override
+        public float getDeadZone() {
+            return 0;
+        }
+
+        @Override
+        public float getPollData() {
+            return values.getOrDefault(name, 0f);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Manette XInput simulée, qui peut être débranchée.
+     */
+    private static class FakeController implements Controller {
+        private final Map<String, Float> values = new HashMap<>();
+        private final Component[] components;
+        private boolean connected = true;
+
+        FakeController() {
+            String[] names = {"lx", "ly", "rx", "ry", "lb", "rb", "a"};
+            components = new Component[names.length];
+            for (int i = 0; i < names.length; i++) {
+                components[i] = new FakeComponent(names[i], values);
+            }
+        }
+
+        @Override
+        public Controller[] getControllers() {
+            return new Controller[0];
+        }
+
+        @Override
+        public Type getType() {
+            return Type.GAMEPAD;
+        }
+
+        @Override
+        public Component[] getComponents() {
+            return components;
+        }
+
+        @Override
+        public Component getComponent(Component.Identifier id) {
+            return null;
+        }
+
+        @Override
+        public Rumbler[] getRumblers() {
+            return new Rumbler[0];
+        }
+
+        @Override
+        public boolean poll() {
+            return connected;
+        }
+
+        @Override
+        public void setEventQueueSize(int size) {
+        }
+
+        @Override
+        public EventQueue getEventQueue() {
+            return new EventQueue(1);
+        }
+
+        @Override
+        public PortType getPortType() {
+            return PortType.USB;
+        }
+
+        @Override
+        public int getPortNumber() {
+            return 0;
+        }
+
+        @Override
+        public String getName() {
+            return "Fake XInput";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        poller = new ControllerPoller(1000);
+        controller = new FakeController();
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.stop();
+    }
+
+    @Test
+    void testAxesAreMappedAndVerticalAxesInverted() {
+        InputRingBuffer ring = poller.register(controller);
+        poller.stop();
+        ring.drainTo(new ControllerState());
+        controller.values.put("lx", 0.75f);
+        controller.values.put("ly", 0.5f);
+        controller.values.put("ry", -1f);
+        controller.values.put("rb", 1f);
+
+        poller.pollOnce();
+        ControllerState state = new ControllerState();
+
+        assertTrue(ring.poll(state), "Un instantané devrait être publié.");
+        assertEquals(0.75f, state.getAxis(ControllerState.LEFT_X), "L'axe horizontal devrait être recopié.");
+        assertEquals(-0.5f, state.getAxis(ControllerState.LEFT_Y), "L'axe vertical gauche devrait être inversé.");
+        assertEquals(1f, state.getAxis(ControllerState.RIGHT_Y), "L'axe vertical droit devrait être inversé.");
+        assertEquals(1f, state.getAxis(ControllerState.RIGHT_BUMPER), "La gâchette droite devrait être recopiée.");
+        assertTrue(state.getTimestampNanos() > 0, "L'instantané devrait être horodaté.");
+    }
+
+    @Test
+    void testDisconnectedControllerPublishesNothing() {
+        InputRingBuffer ring = poller.register(controller);
+        poller.stop();
+        ring.drainTo(new ControllerState());
+        controller.connected = false;
+
+        poller.pollOnce();
+
+        assertEquals(0, ring.size(), "Une manette débranchée ne devrait rien publier.");
+    }
+
+    @Test
+    void testThreadPublishesAndStopsWithLastController() throws InterruptedException {
+        InputRingBuffer ring = poller.register(controller);
+        assertTrue(poller.isRunning(), "Le thread devrait démarrer avec la première manette.");
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (ring.size() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(ring.size() > 0, "Le thread devrait publier l'état de la manette.");
+
+        poller.unregister(controller);
+        assertFalse(poller.isRunning(), "Le thread devrait s'arrêter avec la dernière manette.");
+        assertEquals(0, poller.getControllerCount(), "Aucune manette ne devrait rester enregistrée.");
+    }
+}
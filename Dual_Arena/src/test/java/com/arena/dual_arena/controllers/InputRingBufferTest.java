@@ -0,0 +1,82 @@
+package com.arena.dual_arena.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputRingBufferTest {
+
+    private InputRingBuffer ring;
+    private ControllerState state;
+    private float[] values;
+
+    @BeforeEach
+    void setUp() {
+        ring = new InputRingBuffer(4);
+        state = new ControllerState();
+        values = new float[ControllerState.AXIS_COUNT];
+    }
+
+    @Test
+    void testSnapshotsAreReadInOrder() {
+        values[ControllerState.LEFT_X] = 0.5f;
+        ring.offer(10, values);
+        values[ControllerState.LEFT_X] = -1f;
+        ring.offer(20, values);
+
+        assertTrue(ring.poll(state), "Un instantané devrait être disponible.");
+        assertEquals(10, state.getTimestampNanos(), "Le plus ancien instantané devrait être lu en premier.");
+        assertEquals(0.5f, state.getAxis(ControllerState.LEFT_X), "La valeur de l'axe devrait être conservée.");
+        assertEquals(1, ring.drainTo(state), "Il devrait rester un instantané.");
+        assertEquals(-1f, state.getAxis(ControllerState.LEFT_X), "Le dernier instantané devrait rester dans l'état.");
+        assertFalse(ring.poll(state), "Le tampon devrait être vide.");
+    }
+
+    @Test
+    void testFullRingDropsNewSnapshots() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i, values), "Le tampon ne devrait pas encore être plein.");
+        }
+
+        assertFalse(ring.offer(4, values), "Un tampon plein devrait refuser l'instantané.");
+        assertEquals(1, ring.getDroppedSnapshots(), "L'instantané refusé devrait être compté.");
+        assertEquals(4, ring.drainTo(state), "Les instantanés acceptés devraient tous être lus.");
+        assertTrue(ring.offer(5, values), "Le tampon devrait accepter de nouveau des instantanés.");
+    }
+
+    @Test
+    void testCapacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new InputRingBuffer(6), "Une capacité qui n'est pas une puissance de deux devrait être refusée.");
+    }
+
+    @Test
+    void testSnapshotsCrossThreadsWithoutTearing() throws InterruptedException {
+        InputRingBuffer shared = new InputRingBuffer(64);
+        int total = 200_000;
+        Thread producer = new Thread(() -> {
+            float[] snapshot = new float[ControllerState.AXIS_COUNT];
+            for (int i = 0; i < total; ) {
+                java.util.Arrays.fill(snapshot, i);
+                if (shared.offer(i, snapshot)) {
+                    i++;
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+        producer.start();
+
+        long expected = 0;
+        while (expected < total) {
+            if (shared.poll(state)) {
+                assertEquals(expected, state.getTimestampNanos(), "Les instantanés devraient arriver dans l'ordre.");
+                for (int axis = 0; axis < ControllerState.AXIS_COUNT; axis++) {
+                    assertEquals((float) expected, state.getAxis(axis), "Un instantané ne devrait pas être mélangé avec un autre.");
+                }
+                expected++;
+            }
+        }
+        producer.join();
+    }
+}
@@ -29,7 +29,7 @@ public class ArenaFactoryTest extends FXGLTestBase {
         assertNotNull(water, "L'entité 'water' ne devrait pas être nulle.");
         assertEquals(EntityType.WATER, water.getType(), "Le type d'entité devrait être WATER.");
 
-        assertTrue(water.hasComponent(CollidableComponent.class), "L'entité 'water' devrait être collidable.");
+        assertFalse(water.hasComponent(CollidableComponent.class), "L'entité 'water' ne devrait plus être collidable, les chutes passent par la carte du terrain.");
 
         assertEquals(100, water.getX(), "La position X de l'entité 'water' devrait être correcte.");
         assertEquals(150, water.getY(), "La position Y de l'entité 'water' devrait être correcte.");
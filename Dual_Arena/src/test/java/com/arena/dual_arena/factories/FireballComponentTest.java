@@ -2,6 +2,10 @@ package com.arena.dual_arena.factories;
 
 import com.almasb.fxgl.entity.Entity;
 import com.arena.dual_arena.components.FireballComponent;
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimHazard;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -10,44 +14,55 @@ class FireballComponentTest {
 
     private FireballComponent fireballComponent;
     private Entity fireballEntity;
+    private SimWorld world;
+    private SimHazard fireball;
+    private final PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
 
     @BeforeEach
     void setUp() {
+        world = new SimWorld(SimulationConfig.withSeed(1));
+        world.setListener(new SimWorld.Listener() {
+            @Override
+            public void onHazardSpawned(SimHazard hazard) {
+                if (fireball == null && hazard.getType() == SimHazard.Type.FIREBALL) {
+                    fireball = hazard;
+                }
+            }
+        });
+        // Les boules de feu n'arrivent qu'après un moment de manche
+        while (fireball == null && !world.isFinished()) {
+            world.step(inputs);
+        }
+        assertNotNull(fireball, "Une boule de feu devrait apparaître pendant la partie.");
+
         fireballEntity = new Entity();
-        fireballComponent = new FireballComponent(100, 100); // Position cible
-        fireballEntity.setPosition(50, 50); // Position initiale
+        fireballComponent = new FireballComponent(fireball.getTargetX(), fireball.getTargetY()); // Position cible
         fireballEntity.addComponent(fireballComponent);
+        fireballComponent.bind(fireball);
     }
 
     @Test
     void testMovementTowardsTarget() {
-        double tpf = 0.016; // Environ 60 FPS (1/60)
-        fireballComponent.onUpdate(tpf);
-
-        double x = fireballEntity.getX();
-        double y = fireballEntity.getY();
-        assertTrue(x > 50 && x <= 100, "La position X devrait se rapprocher de 100.");
-        assertTrue(y > 50 && y <= 100, "La position Y devrait se rapprocher de 100.");
-    }
+        double startX = fireballEntity.getX();
+        double startY = fireballEntity.getY();
+        double startDistance = Math.hypot(fireball.getTargetX() - startX, fireball.getTargetY() - startY);
 
-    @Test
-    void testEntityRemovalWhenCloseToTarget() {
-        fireballEntity.setPosition(99, 99);
-
-        double tpf = 0.016;
-        fireballComponent.onUpdate(tpf);
+        world.step(inputs);
+        fireballComponent.onFixedUpdate(1.0 / 60);
 
-        assertTrue(fireballComponent.isRemoved(), "La fireball devrait être supprimée lorsqu'elle atteint la cible.");
+        double distance = Math.hypot(fireball.getTargetX() - fireballEntity.getX(), fireball.getTargetY() - fireballEntity.getY());
+        assertTrue(distance < startDistance, "La boule de feu devrait se rapprocher de sa cible.");
+        assertEquals(fireball.getX(), fireballEntity.getX(), "La boule de feu devrait être dessinée là où le monde l'a placée.");
+        assertEquals(fireball.getY(), fireballEntity.getY(), "La boule de feu devrait être dessinée là où le monde l'a placée.");
     }
 
     @Test
-    void testNoMovementIfAtTarget() {
-        fireballEntity.setPosition(100, 100);
-
-        double tpf = 0.016;
-        fireballComponent.onUpdate(tpf);
+    void testRemovedFromWorldWhenCloseToTarget() {
+        while (world.getHazards().contains(fireball) && !world.isFinished()) {
+            world.step(inputs);
+        }
 
-        assertTrue(fireballComponent.isRemoved(), "La fireball devrait être supprimée si elle est déjà à la position cible.");
+        assertFalse(world.getHazards().contains(fireball), "La boule de feu devrait disparaître du monde lorsqu'elle atteint la cible.");
     }
 }
 
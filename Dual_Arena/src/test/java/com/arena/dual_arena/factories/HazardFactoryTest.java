@@ -4,10 +4,10 @@ import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.SpawnData;
 import com.arena.dual_arena.FXGLTestBase;
+import com.arena.dual_arena.simulation.GameRules;
 import com.arena.dual_arena.types.EntityType;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
-import javafx.util.Duration;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -60,14 +60,17 @@ public class HazardFactoryTest extends FXGLTestBase {
     }
 
     @Test
-    void testAttackZoneRemoval() {
-        SpawnData data = new SpawnData(100, 100).put("radius", 50);
-        Entity attackZone = hazardFactory.createAttackZone(data);
+    void testAttackZoneStaysUntilRemoved() {
+        Entity attackZone = HazardFactory.spawnCircleZone(100, 100, 50);
+
+        // C'est le monde simulé qui décide quand la zone explose
+        FXGL.getGameWorld().onUpdate(GameRules.ATTACK_ZONE_DELAY + 0.1);
+        assertTrue(getGameWorld().getEntities().contains(attackZone),
+                "La zone d'attaque ne devrait pas se retirer d'elle-même.");
 
-        FXGL.getGameTimer().runOnceAfter(() -> {
-            assertFalse(getGameWorld().getEntities().contains(attackZone),
-                    "La zone d'attaque devrait être retirée après la durée spécifiée.");
-        }, Duration.seconds(3.1)); // Ajout d'un léger décalage pour s'assurer que l'action a eu lieu
+        attackZone.removeFromWorld();
+        assertFalse(getGameWorld().getEntities().contains(attackZone),
+                "La zone d'attaque devrait être retirée quand le monde la fait exploser.");
     }
 }
 
@@ -1,22 +1,20 @@
 package com.arena.dual_arena.factories;
-import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.SpawnData;
 import com.arena.dual_arena.FXGLTestBase;
 import com.arena.dual_arena.components.PlayerAnimationComponent;
 import com.arena.dual_arena.components.PlayerComponent;
-import com.arena.dual_arena.components.ProjectileComponent;
 import com.arena.dual_arena.components.WeaponComponent;
-import com.arena.dual_arena.models.projectiles.Bullet;
-import com.arena.dual_arena.models.projectiles.Projectile;
-import com.arena.dual_arena.models.weapons.RocketLauncher;
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimWeapon;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
 import com.arena.dual_arena.types.EntityType;
 import javafx.geometry.Point2D;
 import javafx.scene.input.KeyCode;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
-import static com.almasb.fxgl.dsl.FXGL.getGameWorld;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class PlayerFactoryTest extends FXGLTestBase {
@@ -101,171 +99,73 @@ public class PlayerFactoryTest extends FXGLTestBase {
 
     }
 
-    @Test
-    public void testInfiniteSpawner() {
-        getGameWorld().getEntitiesByType(EntityType.WEAPON).forEach(getGameWorld()::removeEntity);
-
-        weaponFactory = new WeaponFactory();
-        // Démarre le spawner
-        weaponFactory.InfiniteSpawner();
-
-        assertEquals(0, getGameWorld().getEntitiesByType(EntityType.WEAPON).size(),
-                "Il ne devrait y avoir aucune arme au début");
-
-
-    }
-
-    @Test
-    public void testRandomWeaponSpawn() {
-        getGameWorld().getEntitiesByType(EntityType.WEAPON).forEach(getGameWorld()::removeEntity);
-        FXGL.getGameWorld().addEntityFactory(new WeaponFactory());
-        double x = 300;
-        double y = 300;
-
-        WeaponFactory.spawnRandomWeapon(x, y);
-
-        var weapons = getGameWorld().getEntitiesByType(EntityType.WEAPON);
-        assertEquals(1, weapons.size(), "Une arme devrait être créée");
-
-        Entity weapon = weapons.get(0);
-        assertTrue(weapon.hasComponent(WeaponComponent.class), "L'arme devrait avoir un WeaponComponent");
-    }
-
     @Test
     public void collisionWeapon(){
 
         weaponFactory = new WeaponFactory();
         Entity rifle = weaponFactory.spawnRifle(new SpawnData(100, 100));
+        WeaponComponent weaponComponent = rifle.getComponent(WeaponComponent.class);
 
-        PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
-
-
-        assertNull(playerComponent.getEquippedWeapon(), "Le weapon ne devrait pas être équipé");
-        playerComponent.pickupWeapon(rifle);
-
-        assertNotNull(playerComponent.getEquippedWeapon(), "Le weapon du player devrait être équipé");
-
-        Entity gun = weaponFactory.spawnGun(new SpawnData(100, 100));
-
-        playerComponent.pickupWeapon(gun);
-
-        WeaponComponent weaponComponent = gun.getComponent(WeaponComponent.class);
-
-        assertNotEquals(playerComponent.getEquippedWeapon(), rifle, "Le player devrait changer d'arme");
+        assertFalse(weaponComponent.isPickedUp(), "Le weapon ne devrait pas être équipé");
+        weaponComponent.pickup(player);
 
+        assertTrue(weaponComponent.isPickedUp(), "Le weapon du player devrait être équipé");
         assertEquals(weaponComponent.getOwner(), player, "Le player devrait être le porteur d'arme");
 
-        playerComponent.dropWeapon();
+        weaponComponent.drop();
 
-        assertNull(playerComponent.getEquippedWeapon(), "Le weapon devrait être drop.");
+        assertNull(weaponComponent.getOwner(), "Le weapon devrait être drop.");
+        assertEquals(0, rifle.getRotation(), "L'arme posée ne devrait plus être tournée.");
     }
 
     @Test
     void testRotateWeaponWithController_RightStickRight() {
-        weaponFactory = new WeaponFactory();
-
-
-        PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
-
-        Entity gun = weaponFactory.spawnGun(new SpawnData(100, 100));
-
-        playerComponent.pickupWeapon(gun);
+        Entity gun = drawAimedGun(1, 0);
 
-        WeaponComponent weaponComponent = gun.getComponent(WeaponComponent.class);
-        playerComponent.setXvalue(1.0);
-        playerComponent.setYvalue(0.0);
-
-        weaponComponent.rotateWithController();
-
-        assertEquals(0.0, playerComponent.getEquippedWeapon().getRotation(), "L'arme devrait être orientée à 0° lorsque le joystick pointe vers la droite.");
-        assertEquals(1, playerComponent.getEquippedWeapon().getScaleX(), "L'arme devrait être mise à l'échelle correcte sur X.");
-        assertEquals(1, playerComponent.getEquippedWeapon().getScaleY(), "L'arme devrait être mise à l'échelle correcte sur Y.");
+        assertEquals(0.0, gun.getRotation(), 0.1, "L'arme devrait être orientée à 0° lorsque le joystick pointe vers la droite.");
+        assertEquals(-1, gun.getScaleX(), "L'arme devrait être mise à l'échelle correcte sur X.");
+        assertEquals(1, gun.getScaleY(), "L'arme devrait être mise à l'échelle correcte sur Y.");
     }
 
     @Test
     void testRotateWeaponWithController_RightStickUp() {
-        weaponFactory = new WeaponFactory();
-
-
-        PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
-
-        Entity gun = weaponFactory.spawnGun(new SpawnData(100, 100));
+        Entity gun = drawAimedGun(0, -1);
 
-        playerComponent.pickupWeapon(gun);
-
-        WeaponComponent weaponComponent = gun.getComponent(WeaponComponent.class);
-        playerComponent.setXvalue(0.0);
-        playerComponent.setYvalue(-1.0);
-
-        weaponComponent.rotateWithController();
-
-        assertEquals(0.0, playerComponent.getEquippedWeapon().getRotation(), 0.1, "L'arme devrait être orientée à -90° lorsque le joystick pointe vers le haut.");
+        assertEquals(-90.0, gun.getRotation(), 0.1, "L'arme devrait être orientée à -90° lorsque le joystick pointe vers le haut.");
     }
 
     @Test
     void testRotateWeaponWithController_RightStickDiagonal() {
-        weaponFactory = new WeaponFactory();
-
-        PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
-
-        Entity gun = weaponFactory.spawnGun(new SpawnData(100, 100));
+        Entity gun = drawAimedGun(1, 1);
 
-        playerComponent.pickupWeapon(gun);
-
-        WeaponComponent weaponComponent = gun.getComponent(WeaponComponent.class);
-        playerComponent.setXvalue(1.0);
-        playerComponent.setYvalue(1.0);
-
-        weaponComponent.rotateWithController();
-
-        assertEquals(0.0, playerComponent.getEquippedWeapon().getRotation(), 0.1, "L'arme devrait être orientée à 45° lorsque le joystick pointe en diagonale haut-droite.");
+        assertEquals(45.0, gun.getRotation(), 0.1, "L'arme devrait être orientée à 45° lorsque le joystick pointe en diagonale bas-droite.");
     }
 
     @Test
-    void testProjectileSpawn() {
-        SpawnData spawnData = new SpawnData(200, 200).put("direction", new Point2D(1, 0));
-        Projectile projectile = new Bullet(2, 5);
+    void testRotateWeaponWithController_RightStickLeft() {
+        Entity gun = drawAimedGun(-1, 0);
 
-        Entity projectileEntity = FXGL.entityBuilder(spawnData)
-                .type(EntityType.PROJECTILE)
-                .with(new ProjectileComponent(projectile, spawnData.get("direction"), player))
-                .buildAndAttach();
-
-        assertTrue(getGameWorld().getEntitiesByType(EntityType.PROJECTILE).contains(projectileEntity),
-                "Le projectile devrait être ajouté au GameWorld.");
+        assertEquals(180.0, gun.getRotation(), 0.1, "L'arme devrait être orientée à 180° lorsque le joystick pointe vers la gauche.");
+        assertEquals(-1, gun.getScaleY(), "L'arme ne devrait pas être dessinée à l'envers.");
     }
-    @Test
-    void testProjectileMovement() {
-        Point2D direction = new Point2D(1, 0).normalize(); // Vers la droite
-        Projectile projectile = new Bullet(3, 5); // Exemple de projectile avec une vitesse de 300 px/s
-
-        Entity projectileEntity = FXGL.entityBuilder()
-                .at(100, 100)
-                .type(EntityType.PROJECTILE)
-                .with(new ProjectileComponent(projectile, direction, player))
-                .buildAndAttach();
 
-        projectileEntity.getComponent(ProjectileComponent.class).onUpdate(1.0);
+    /**
+     * Lets the first player of a world pick up its gun while aiming, then draws that gun.
+     */
+    private Entity drawAimedGun(float aimX, float aimY) {
+        SimWorld world = new SimWorld(SimulationConfig.withSeed(1));
+        PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+        inputs[0].setAim(aimX, aimY);
+        world.step(inputs);
+        SimWeapon state = world.getPlayer(0).getWeapon();
+        assertNotNull(state, "Le joueur devrait avoir ramassé son arme.");
 
-        assertEquals(1600, projectileEntity.getX(), 0.1, "Le projectile devrait se déplacer de 300 pixels en 1 seconde.");
-        assertEquals(100, projectileEntity.getY(), 0.1, "Le projectile ne devrait pas changer de position en Y.");
-    }
-
-    @Test
-    void testProjectileMaxRange() {
-        Projectile projectile = new Bullet(3, 5);
-        Entity projectileEntity = FXGL.entityBuilder()
-                .at(100, 100)
-                .type(EntityType.PROJECTILE)
-                .with(new ProjectileComponent(projectile, new Point2D(1, 0), player))
-                .buildAndAttach();
-
-        for (int i = 0; i < 2; i++) {
-            projectileEntity.getComponent(ProjectileComponent.class).onUpdate(1.0); // Chaque update = 1 seconde
-        }
-
-        assertFalse(getGameWorld().getEntities().contains(projectileEntity),
-                "Le projectile devrait être supprimé après avoir parcouru sa portée maximale.");
+        weaponFactory = new WeaponFactory();
+        Entity gun = weaponFactory.spawnGun(new SpawnData(state.getX(), state.getY()));
+        WeaponComponent weaponComponent = gun.getComponent(WeaponComponent.class);
+        weaponComponent.bind(state);
+        weaponComponent.pickup(player);
+        weaponComponent.onFixedUpdate(1.0 / 60);
+        return gun;
     }
-
 }
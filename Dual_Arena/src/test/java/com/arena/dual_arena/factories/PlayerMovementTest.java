@@ -3,11 +3,16 @@ package com.arena.dual_arena.factories;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.SpawnData;
 import com.arena.dual_arena.components.PlayerComponent;
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
 import javafx.scene.input.KeyCode;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PlayerMovementTest {
 
@@ -16,6 +21,8 @@ public class PlayerMovementTest {
     private static Entity player;
     private WeaponFactory weaponFactory;
     private static PlayerComponent playerComponent;
+    private SimWorld world;
+    private final PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
 
     @BeforeAll
     static void setUp() {
@@ -39,40 +46,53 @@ public class PlayerMovementTest {
 
     }
 
+    @BeforeEach
+    void bindPlayer() {
+        world = new SimWorld(SimulationConfig.withSeed(1));
+        playerComponent.bind(world.getPlayer(0));
+    }
+
+    /**
+     * Moves the player of the world for one tick, then lets the component draw it.
+     */
+    private void move(float moveX, float moveY) {
+        inputs[0].setMove(moveX, moveY);
+        world.step(inputs);
+        playerComponent.onFixedUpdate(1.0 / 60);
+    }
+
     @Test
     void testMoveUp() {
-        playerComponent.setYvalue(1); // Valeur négative pour aller vers le haut
-        playerComponent.move(); // Appelle la mise à jour avec un tpf (time per frame)
+        double startY = player.getY();
+        move(0, -1);
 
         // Vérifie que la position Y a diminué
-        assertEquals(398, player.getY(),
-                "La position Y devrait diminuer après un mouvement vers le haut.");
+        assertTrue(player.getY() < startY, "La position Y devrait diminuer après un mouvement vers le haut.");
+        assertEquals(world.getPlayer(0).getY(), player.getY(), "Le joueur devrait être dessiné là où le monde l'a placé.");
     }
 
     @Test
     void testMoveDown() {
-        playerComponent.setYvalue(-1); // Valeur positive pour aller vers le bas
-        playerComponent.move();
+        double startY = player.getY();
+        move(0, 1);
 
-        assertEquals(398, player.getY(),
-                "La position Y devrait augmenter après un mouvement vers le bas.");
+        assertTrue(player.getY() > startY, "La position Y devrait augmenter après un mouvement vers le bas.");
     }
 
     @Test
     void testMoveLeft() {
-        playerComponent.setXvalue(-1);
-        playerComponent.move();
+        double startX = player.getX();
+        move(-1, 0);
 
-        assertEquals(298, player.getX(),
-                "La position X devrait diminuer après un mouvement vers la gauche.");
+        assertTrue(player.getX() < startX, "La position X devrait diminuer après un mouvement vers la gauche.");
     }
 
     @Test
     void testMoveRight() {
-        playerComponent.setXvalue(1); // Valeur positive pour aller vers la droite
-        playerComponent.move();
+        double startX = player.getX();
+        move(1, 0);
 
-        assertEquals(298 , player.getX(),
-                "La position X devrait augmenter après un mouvement vers la droite.");
+        assertTrue(player.getX() > startX, "La position X devrait augmenter après un mouvement vers la droite.");
+        assertEquals(world.getPlayer(0).getX(), player.getX(), "Le joueur devrait être dessiné là où le monde l'a placé.");
     }
 }
@@ -0,0 +1,80 @@
+package com.arena.dual_arena.jfr;
+
+import com.almasb.fxgl.entity.Entity;
+import com.arena.dual_arena.types.EntityType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameplayEventTest {
+
+    @Test
+    void testEventsAreRecordedWithTypeAndPosition(@TempDir Path directory) throws IOException {
+        Entity projectile = new Entity();
+        projectile.setType(EntityType.PROJECTILE);
+        projectile.setPosition(120, 80);
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(SpawnEvent.class).withoutThreshold();
+            recording.enable(ProjectileHitEvent.class).withoutThreshold();
+            recording.enable(ExplosionEvent.class).withoutThreshold();
+            recording.enable(RoundResetEvent.class).withoutThreshold();
+            recording.start();
+
+            SpawnEvent spawn = new SpawnEvent();
+            spawn.begin();
+            spawn.commit("bullet", projectile);
+            ProjectileHitEvent hit = new ProjectileHitEvent();
+            hit.begin();
+            hit.commit("Bullet", projectile, 2);
+            ExplosionEvent explosion = new ExplosionEvent();
+            explosion.begin();
+            explosion.commit("Rocket", 10, 20, 64);
+            RoundResetEvent reset = new RoundResetEvent();
+            reset.begin();
+            reset.commit(42);
+
+            recording.stop();
+            Path file = directory.resolve("gameplay.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        RecordedEvent spawned = find(events, "dualarena.Spawn");
+        assertEquals("PROJECTILE", spawned.getString("entityType"), "Le type de l'entité devrait être enregistré.");
+        assertEquals("bullet", spawned.getString("spawnName"), "Le nom de l'apparition devrait être enregistré.");
+        assertEquals(120, spawned.getDouble("x"), 1e-9, "La position devrait être enregistrée.");
+        assertFalse(spawned.getDuration().isNegative(), "La durée devrait être mesurée.");
+
+        assertEquals(2, find(events, "dualarena.ProjectileHit").getInt("playerId"), "Le joueur touché devrait être enregistré.");
+        assertEquals(64, find(events, "dualarena.Explosion").getDouble("radius"), 1e-9, "Le rayon devrait être enregistré.");
+        assertEquals(42, find(events, "dualarena.RoundReset").getInt("entityCount"), "Le nombre d'entités devrait être enregistré.");
+    }
+
+    @Test
+    void testDisabledEventsAreNotFilled() {
+        Entity projectile = new Entity();
+        projectile.setType(EntityType.PROJECTILE);
+        SpawnEvent spawn = new SpawnEvent();
+        spawn.begin();
+        spawn.commit("bullet", projectile);
+
+        assertNull(spawn.entityType, "Un événement non enregistré ne devrait pas être rempli.");
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Événement absent : " + name));
+    }
+}
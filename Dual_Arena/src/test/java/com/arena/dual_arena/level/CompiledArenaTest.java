@@ -0,0 +1,75 @@
+package com.arena.dual_arena.level;
+
+import com.arena.dual_arena.simulation.TerrainMap;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledArenaTest {
+
+    private static CompiledArena compileArena() throws IOException {
+        try (InputStream input = CompiledArenaTest.class.getResourceAsStream(TerrainMap.ARENA)) {
+            return ArenaCompiler.compile(input, ArenaCompiler.ARENA_WIDTH, ArenaCompiler.ARENA_HEIGHT);
+        }
+    }
+
+    @Test
+    void testCompiledFileIsUpToDate() throws IOException {
+        byte[] stored;
+        try (InputStream input = CompiledArenaTest.class.getResourceAsStream(CompiledArena.ARENA)) {
+            assertNotNull(input, "arena.arena devrait être présent dans les ressources.");
+            stored = input.readAllBytes();
+        }
+        assertEquals(compileArena().toBuffer(), ByteBuffer.wrap(stored),
+                "arena.arena n'est plus à jour, relancer ArenaCompiler sur arena.tmx.");
+    }
+
+    @Test
+    void testLoadedArenaMatchesTheMap() throws IOException {
+        CompiledArena arena = CompiledArena.loadArena();
+
+        assertEquals(25, arena.columns());
+        assertEquals(14, arena.rows());
+        assertEquals(800, arena.mapWidth());
+        assertEquals(448, arena.mapHeight());
+        assertEquals(10, arena.tile(0, 0), "Le coin de la carte devrait être une tuile d'eau.");
+        assertEquals(4, arena.tile(12, 7), "Le centre de la carte devrait être une tuile d'herbe.");
+        assertEquals("tiles.png", arena.tilesetImage());
+        assertEquals(4, arena.water().length / 4);
+
+        TerrainMap compiled = arena.terrain().scaledTo(1440, 810);
+        TerrainMap parsed = TerrainMap.arena().scaledTo(1440, 810);
+        for (int x = 0; x < 1440; x += 7) {
+            for (int y = 0; y < 810; y += 7) {
+                assertEquals(parsed.isWater(x, y), compiled.isWater(x, y), "Terrain différent en " + x + ", " + y);
+            }
+        }
+    }
+
+    @Test
+    void testGeometryIsPreScaled() throws IOException {
+        CompiledArena arena = compileArena();
+        float[] water = arena.water();
+
+        assertEquals(0, water[0], 1e-3);
+        assertEquals(69.3637 * 1.8, water[2], 1e-3, "La largeur devrait être à l'échelle de la fenêtre.");
+        assertEquals(810, water[3], 1e-3, "La hauteur devrait être à l'échelle de la fenêtre.");
+        assertEquals(69.3637, arena.water(800, 448)[2], 1e-3, "La géométrie devrait se remettre à l'échelle d'une autre fenêtre.");
+    }
+
+    @Test
+    void testCorruptedFileIsRejected() throws IOException {
+        ByteBuffer content = compileArena().toBuffer();
+
+        ByteBuffer truncated = content.duplicate().limit(100);
+        assertThrows(IOException.class, () -> CompiledArena.read(truncated));
+
+        ByteBuffer wrongMagic = ByteBuffer.allocate(content.remaining()).put(content.duplicate()).flip();
+        wrongMagic.putInt(0, 0);
+        assertThrows(IOException.class, () -> CompiledArena.read(wrongMagic));
+    }
+}
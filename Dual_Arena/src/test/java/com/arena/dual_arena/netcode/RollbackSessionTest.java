@@ -0,0 +1,226 @@
+package com.arena.dual_arena.netcode;
+
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.ProjectileKind;
+import com.arena.dual_arena.simulation.SimPlayer;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import com.arena.dual_arena.simulation.WeaponKind;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollbackSessionTest {
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+
+    /**
+     * Link delivering packets in memory to its other end.
+     */
+    private static final class MemoryLink implements PacketLink {
+        private final Queue<byte[]> inbox = new ArrayDeque<>();
+        private MemoryLink other;
+
+        private static MemoryLink[] pair() {
+            MemoryLink first = new MemoryLink();
+            MemoryLink second = new MemoryLink();
+            first.other = second;
+            second.other = first;
+            return new MemoryLink[]{first, second};
+        }
+
+        @Override
+        public void send(byte[] data, int length) {
+            other.inbox.add(Arrays.copyOf(data, length));
+        }
+
+        @Override
+        public int receive(byte[] buffer) {
+            byte[] data = inbox.poll();
+            if (data == null) {
+                return -1;
+            }
+            System.arraycopy(data, 0, buffer, 0, data.length);
+            return data.length;
+        }
+    }
+
+    /**
+     * Input of a player that changes every few frames, so the predictions are often wrong.
+     */
+    private static void script(int player, long frame, PlayerInput input) {
+        long phase = frame / (7 + player * 4);
+        input.setMove((phase % 3) - 1, ((phase / 3) % 3) - 1);
+        input.setAim(player == 0 ? 1 : -1, (phase % 5) / 4f);
+        input.setButtons(phase % 2 == 0, phase % 11 == 0, false);
+    }
+
+    /**
+     * Plays the scripted inputs on two peers over a degraded link, then until both peers are synchronized.
+     */
+    private static RollbackSession[] play(SimulationConfig config, int delay, int window, long frames, long latencyMillis, double loss) {
+        return play(config, delay, window, frames, latencyMillis, loss, world -> null);
+    }
+
+    private static RollbackSession[] play(SimulationConfig config, int delay, int window, long frames, long latencyMillis, double loss,
+                                          Function<SimWorld, SimWorld.Listener> listeners) {
+        long[] now = {0};
+        LongSupplier clock = () -> now[0];
+        MemoryLink[] links = MemoryLink.pair();
+        RollbackSession[] sessions = new RollbackSession[2];
+        for (int player = 0; player < 2; player++) {
+            ConditionedLink link = new ConditionedLink(links[player], clock, latencyMillis * 1_000_000, 15_000_000, loss, player);
+            sessions[player] = new RollbackSession(config, player, delay, window, link);
+            sessions[player].setListener(listeners.apply(sessions[player].getWorld()));
+        }
+        PlayerInput input = new PlayerInput();
+        for (int step = 0; step < frames * 10 && (sessions[0].getFrame() < frames || sessions[1].getFrame() < frames); step++) {
+            now[0] += TICK_NANOS;
+            for (int player = 0; player < 2; player++) {
+                if (sessions[player].getFrame() < frames) {
+                    script(player, sessions[player].getFrame(), input);
+                    sessions[player].advance(input);
+                } else {
+                    sessions[player].idle();
+                }
+            }
+        }
+        for (int step = 0; step < 1000 && !(sessions[0].isSynchronized() && sessions[1].isSynchronized()); step++) {
+            now[0] += TICK_NANOS;
+            sessions[0].idle();
+            sessions[1].idle();
+        }
+        return sessions;
+    }
+
+    /**
+     * Simulates the scripted inputs without network, each input applied {@code delay} frames after it was read.
+     */
+    private static SimWorld playLocally(SimulationConfig config, int delay, long frames) {
+        return playLocally(config, delay, frames, world -> null);
+    }
+
+    private static SimWorld playLocally(SimulationConfig config, int delay, long frames, Function<SimWorld, SimWorld.Listener> listener) {
+        SimWorld world = new SimWorld(config);
+        world.setListener(listener.apply(world));
+        PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+        byte[] bytes = new byte[PlayerInput.BYTES];
+        for (long frame = 0; frame < frames; frame++) {
+            for (int player = 0; player < 2; player++) {
+                inputs[player].clear();
+                if (frame >= delay) {
+                    script(player, frame - delay, inputs[player]);
+                }
+                inputs[player].write(bytes, 0);
+                inputs[player].read(bytes, 0);
+            }
+            world.step(inputs);
+        }
+        return world;
+    }
+
+    @Test
+    void testPeersEndLikeALocalMatch() {
+        SimulationConfig config = SimulationConfig.withSeed(4);
+        RollbackSession[] sessions = play(config, 2, 8, 900, 50, 0.1);
+
+        long expected = playLocally(config, 2, 900).stateHash();
+        for (RollbackSession session : sessions) {
+            assertTrue(session.isSynchronized(), "Les deux pairs devraient avoir reçu toutes les entrées.");
+            assertEquals(900, session.getFrame());
+            assertEquals(expected, session.getWorld().stateHash(),
+                    "Après les rollbacks, chaque pair devrait être dans l'état du match joué en local.");
+            assertTrue(session.getRollbacks() > 0, "Avec 50 ms de latence, des prédictions devraient échouer.");
+            assertTrue(session.getMaxRollbackDepth() <= 8);
+        }
+    }
+
+    @Test
+    void testZeroWindowPlaysInLockstep() {
+        SimulationConfig config = SimulationConfig.withSeed(9);
+        RollbackSession[] sessions = play(config, 3, 0, 300, 30, 0.05);
+
+        long expected = playLocally(config, 3, 300).stateHash();
+        for (RollbackSession session : sessions) {
+            assertEquals(0, session.getRollbacks(), "Sans fenêtre, rien n'est prédit donc rien n'est rejoué.");
+            assertTrue(session.getStalls() > 0);
+            assertEquals(expected, session.getWorld().stateHash());
+        }
+    }
+
+    /**
+     * Listener counting the shots and deaths it hears, and checking that it never hears a tick twice.
+     */
+    private static final class CountingListener implements SimWorld.Listener {
+        private final SimWorld world;
+        private long lastTick;
+        private boolean tickHeardAgain;
+        private int shots;
+        private int deaths;
+
+        private CountingListener(SimWorld world) {
+            this.world = world;
+        }
+
+        @Override
+        public void onShot(SimPlayer player, WeaponKind weapon, ProjectileKind projectile) {
+            tickHeardAgain |= world.getTick() < lastTick;
+            lastTick = world.getTick();
+            shots++;
+        }
+
+        @Override
+        public void onPlayerDied(SimPlayer player) {
+            deaths++;
+        }
+    }
+
+    @Test
+    void testListenerHearsEveryFrameOnce() {
+        SimulationConfig config = SimulationConfig.withSeed(9);
+        CountingListener[] listeners = new CountingListener[2];
+        int[] created = {0};
+
+        play(config, 3, 0, 600, 30, 0.05, world -> listeners[created[0]++] = new CountingListener(world));
+        CountingListener[] local = new CountingListener[1];
+        playLocally(config, 3, 600, world -> local[0] = new CountingListener(world));
+
+        assertTrue(local[0].shots > 0, "Les joueurs scriptés devraient tirer.");
+        for (CountingListener listener : listeners) {
+            assertEquals(local[0].shots, listener.shots, "Chaque tir devrait être entendu une seule fois, comme en local.");
+            assertEquals(local[0].deaths, listener.deaths);
+        }
+    }
+
+    @Test
+    void testResimulatedFramesAreSilent() {
+        SimulationConfig config = SimulationConfig.withSeed(4);
+        CountingListener[] listeners = new CountingListener[2];
+        int[] created = {0};
+
+        RollbackSession[] sessions = play(config, 2, 8, 900, 50, 0.1, world -> listeners[created[0]++] = new CountingListener(world));
+
+        for (int player = 0; player < 2; player++) {
+            assertTrue(sessions[player].getResimulatedFrames() > 0);
+            assertTrue(listeners[player].shots > 0);
+            assertFalse(listeners[player].tickHeardAgain, "Les tirs des frames rejouées ne devraient pas être entendus une seconde fois.");
+        }
+    }
+
+    @Test
+    void testInvalidSettingsAreRejected() {
+        SimulationConfig config = SimulationConfig.withSeed(1);
+        MemoryLink link = MemoryLink.pair()[0];
+
+        assertThrows(IllegalArgumentException.class, () -> new RollbackSession(config, 0, 0, 0, link),
+                "Sans délai ni fenêtre, aucun pair ne pourrait avancer.");
+        assertThrows(IllegalArgumentException.class, () -> new RollbackSession(config, 2, 2, 8, link));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RollbackSession(config, 0, 2, RollbackSession.MAX_ROLLBACK_WINDOW + 1, link));
+    }
+}
@@ -0,0 +1,92 @@
+package com.arena.dual_arena.server;
+
+import com.arena.dual_arena.simulation.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchServerTest {
+
+    private static MatchServer startServer(int maxMatches) throws IOException {
+        MatchServer server = new MatchServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), maxMatches, 3, 1);
+        server.start();
+        return server;
+    }
+
+    @Test
+    void testClientsArePairedIntoTickingMatches() throws IOException {
+        try (MatchServer server = startServer(10); LoadClient load = new LoadClient(server.getAddress())) {
+            load.addMatches(2);
+            load.play(0.5);
+            double rate = load.play(1);
+
+            assertEquals(2, server.getMatchCount(), "Quatre clients devraient former deux matchs.");
+            assertTrue(rate > 0, "Les clients devraient recevoir l'état de leur match.");
+            TickMetrics.Period period = server.getMetrics().takePeriod();
+            assertTrue(period.ticks() > 0);
+            assertTrue(period.budgetUse() < 1, "Deux matchs ne devraient pas épuiser le budget d'un tick.");
+        }
+    }
+
+    @Test
+    void testFullServerTurnsClientsAway() throws IOException {
+        try (MatchServer server = startServer(1); LoadClient load = new LoadClient(server.getAddress())) {
+            load.addMatches(2);
+            load.play(1);
+
+            assertEquals(1, server.getMatchCount());
+            assertTrue(load.getRejected() > 0, "Le serveur plein devrait refuser les clients en trop.");
+        }
+    }
+
+    @Test
+    void testTickMetricsMeasureTheBudget() {
+        TickMetrics metrics = new TickMetrics(50);
+        for (int i = 0; i < 99; i++) {
+            metrics.record(5_000_000, 0);
+        }
+        metrics.record(15_000_000, 30_000_000);
+
+        TickMetrics.Period period = metrics.takePeriod();
+
+        assertEquals(100, period.ticks());
+        assertEquals(0.255, period.budgetUse(), 1e-9, "Un tick de 20 ms est occupé 5,1 ms en moyenne.");
+        assertEquals(5.0, period.percentileMillis(0.5), 0.02);
+        assertEquals(15.0, period.percentileMillis(1), 0.02);
+        assertEquals(0.01, period.lateShare(), 1e-9);
+        assertEquals(20 / 5.1, period.matchesPerCore(), 1e-9);
+        assertEquals(0, metrics.takePeriod().ticks(), "Chaque période repart de zéro.");
+    }
+
+    @Test
+    void testUnreachablePlayerDoesNotStopTheMatch() throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (DatagramChannel channel = DatagramChannel.open().bind(new InetSocketAddress(loopback, 0));
+             DatagramChannel client = DatagramChannel.open().bind(new InetSocketAddress(loopback, 0))) {
+            // Envoyer vers l'adresse de diffusion sans SO_BROADCAST échoue à chaque état
+            ServerMatch.Seat[] seats = {
+                    new ServerMatch.Seat(client.getLocalAddress(), 1),
+                    new ServerMatch.Seat(new InetSocketAddress("255.255.255.255", 9), 2)
+            };
+            TickMetrics metrics = new TickMetrics(60);
+            ServerMatch match = new ServerMatch(1, SimulationConfig.withSeed(1), seats, channel, metrics, 1, Long.MAX_VALUE / 2);
+            Thread thread = Thread.ofPlatform().start(match);
+
+            client.receive(ByteBuffer.allocate(ServerProtocol.MAX_PACKET_BYTES));
+            Thread.sleep(200);
+            assertTrue(thread.isAlive(), "Le match devrait continuer malgré le joueur injoignable.");
+            match.stop();
+            thread.join();
+
+            TickMetrics.Period period = metrics.takePeriod();
+            assertTrue(period.sendFailures() > 1, "Chaque envoi échoué devrait être compté.");
+            assertTrue(period.ticks() > 1, "Le match devrait avoir continué à avancer.");
+        }
+    }
+}
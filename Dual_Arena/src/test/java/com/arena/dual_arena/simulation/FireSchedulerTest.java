@@ -0,0 +1,93 @@
+package com.arena.dual_arena.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FireSchedulerTest {
+
+    /**
+     * Holds the primary trigger for a duration split into ticks and returns the number of shots fired.
+     */
+    private static int holdPrimary(FireScheduler scheduler, long durationNanos, long tickNanos) {
+        scheduler.setTrigger(FireScheduler.PRIMARY, true);
+        int shots = 0;
+        for (long elapsed = 0; elapsed < durationNanos; elapsed += tickNanos) {
+            shots += scheduler.update(tickNanos, (mode, late) -> { });
+        }
+        return shots;
+    }
+
+    @Test
+    void testHeldTriggerFiresTheSameWhateverTheTickRate() {
+        long second = 1_000_000_000L;
+        // 300 ms entre deux tirs : 0, 300, 600 et 900 ms
+        assertEquals(4, holdPrimary(new FireScheduler(300, 1000), second, second / 60));
+        assertEquals(4, holdPrimary(new FireScheduler(300, 1000), second, second / 30));
+        assertEquals(4, holdPrimary(new FireScheduler(300, 1000), second, second / 2),
+                "Une image lente ne doit pas faire perdre de tirs.");
+        assertEquals(4, holdPrimary(new FireScheduler(300, 1000), second, second),
+                "Plusieurs tirs peuvent partir pendant un seul tick.");
+    }
+
+    @Test
+    void testModesHaveTheirOwnCooldown() {
+        FireScheduler scheduler = new FireScheduler(500, 1000);
+        long tick = 1_000_000_000L / 60;
+
+        scheduler.setTrigger(FireScheduler.PRIMARY, true);
+        assertEquals(1, scheduler.update(tick, (mode, late) -> { }));
+        scheduler.setTrigger(FireScheduler.PRIMARY, false);
+        scheduler.setTrigger(FireScheduler.SECONDARY, true);
+
+        assertEquals(1, scheduler.update(tick, (mode, late) -> { }),
+                "Le tir secondaire ne doit pas attendre la recharge du tir principal.");
+        assertFalse(scheduler.isReady(FireScheduler.PRIMARY));
+    }
+
+    @Test
+    void testShotsOfATickComeInTheOrderTheyAreDue() {
+        FireScheduler scheduler = new FireScheduler(400, 300);
+        scheduler.setTrigger(FireScheduler.PRIMARY, true);
+        scheduler.setTrigger(FireScheduler.SECONDARY, true);
+        List<String> shots = new ArrayList<>();
+
+        scheduler.update(1_000_000_000L, (mode, late) -> shots.add(mode + "@" + (1000 - late / 1_000_000)));
+
+        // Principal à 0, 400, 800 ms ; secondaire à 0, 300, 600, 900 ms
+        assertEquals(List.of("0@0", "1@0", "1@300", "0@400", "1@600", "0@800", "1@900"), shots);
+    }
+
+    @Test
+    void testReleasedTriggerDoesNotStoreShots() {
+        FireScheduler scheduler = new FireScheduler(300, 1000);
+        long tick = 1_000_000_000L / 60;
+
+        assertEquals(0, scheduler.update(tick * 100, (mode, late) -> { }));
+        scheduler.setTrigger(FireScheduler.PRIMARY, true);
+
+        assertEquals(1, scheduler.update(tick, (mode, late) -> { }),
+                "Une gâchette relâchée longtemps ne doit tirer qu'une fois en étant pressée.");
+    }
+
+    @Test
+    void testBurstIsFiredOneCooldownApart() {
+        FireScheduler scheduler = new FireScheduler(100, 1000);
+        long tick = 1_000_000_000L / 60;
+        scheduler.queueBurst(FireScheduler.PRIMARY, 3);
+
+        int shots = 0;
+        for (int i = 0; i < 60; i++) {
+            shots += scheduler.update(tick, (mode, late) -> { });
+            if (i == 0) {
+                assertEquals(2, scheduler.getQueued(FireScheduler.PRIMARY));
+            }
+        }
+
+        assertEquals(3, shots, "Une rafale tire exactement le nombre de tirs demandés.");
+        assertFalse(scheduler.isRequested());
+    }
+}
@@ -0,0 +1,93 @@
+package com.arena.dual_arena.simulation;
+
+import com.arena.dual_arena.level.CompiledArena;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputRecordingTest {
+
+    @Test
+    void testReplayGivesTheSameMatch() throws IOException {
+        HeadlessMatch match = new HeadlessMatch(SimulationConfig.withSeed(11), new BotInput(3), new BotInput(4));
+        InputRecording recording = match.record();
+        MatchResult recorded = match.run();
+
+        InputRecording read = InputRecording.read(new ByteArrayInputStream(recording.toByteArray()));
+
+        assertEquals(recorded.ticks(), read.getTicks());
+        assertEquals(recording.getConfig(), read.getConfig(), "L'enregistrement garde les réglages et la graine du match.");
+        assertEquals(recorded, read.replay(), "Le match rejoué devrait finir dans le même état.");
+        assertEquals(recorded, recording.replay());
+    }
+
+    @Test
+    void testReplayGivesTheMatchPlayedOnTheCompiledArena() throws IOException {
+        // Comme le jeu : le monde joue sur l'arène compilée, chaque tick est enregistré avant d'être simulé
+        SimulationConfig config = SimulationConfig.withSeed(12);
+        SimWorld world = new SimWorld(config, CompiledArena.loadArena().terrain().scaledTo(config.width(), config.height()));
+        InputRecording recording = new InputRecording(config);
+        BotInput bot1 = new BotInput(5);
+        BotInput bot2 = new BotInput(6);
+        PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+        while (!world.isFinished()) {
+            bot1.poll(world, 0, inputs[0]);
+            bot2.poll(world, 1, inputs[1]);
+            recording.record(inputs);
+            world.step(inputs);
+        }
+
+        MatchResult replayed = recording.replay();
+
+        assertEquals(world.getTick(), replayed.ticks());
+        assertEquals(world.getRounds(), replayed.rounds());
+        assertEquals(world.stateHash(), replayed.stateHash(), "Le rejeu devrait redonner exactement la partie jouée.");
+    }
+
+    @Test
+    void testUnchangedInputIsStoredOnce() {
+        InputRecording recording = new InputRecording(SimulationConfig.withSeed(1));
+        PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+        inputs[0].setMove(1, 0);
+        int empty = recording.toByteArray().length;
+
+        for (int i = 0; i < 1000; i++) {
+            recording.record(inputs);
+        }
+
+        assertTrue(recording.toByteArray().length - empty <= 2 + 2 * InputRecording.PLAYER_BYTES,
+                "Mille ticks identiques devraient tenir en une seule série.");
+    }
+
+    @Test
+    void testRecordingQuantizesInPlace() {
+        InputRecording recording = new InputRecording(SimulationConfig.withSeed(1));
+        PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+        inputs[0].setMove(0.3333f, -2f);
+        inputs[1].setButtons(false, true, true);
+
+        recording.record(inputs);
+
+        assertEquals(PlayerInput.quantize(0.3333f), inputs[0].getMoveX());
+        assertEquals(-1f, inputs[0].getMoveY(), "Les sticks sont bornés à [-1, 1].");
+        PlayerInput replayed = new PlayerInput();
+        recording.player(1).poll(null, 1, replayed);
+        assertTrue(replayed.isSecondaryFire() && replayed.isDropWeapon() && !replayed.isPrimaryFire());
+    }
+
+    @Test
+    void testCorruptedRecordingIsRejected() {
+        InputRecording recording = new InputRecording(SimulationConfig.withSeed(1));
+        recording.record(new PlayerInput[]{new PlayerInput(), new PlayerInput()});
+        byte[] bytes = recording.toByteArray();
+
+        assertThrows(IOException.class, () -> InputRecording.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))));
+        bytes[0] = 'X';
+        assertThrows(IOException.class, () -> InputRecording.read(new ByteArrayInputStream(bytes)),
+                "Un fichier qui n'est pas un enregistrement doit être refusé.");
+    }
+}
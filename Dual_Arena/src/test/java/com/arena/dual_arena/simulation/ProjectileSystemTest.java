@@ -0,0 +1,173 @@
+package com.arena.dual_arena.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectileSystemTest {
+
+    private static final double DT = 1.0 / 60;
+
+    private SimPlayer owner;
+    private SimPlayer target;
+    private ProjectileSystem system;
+    private int impacts;
+    private int explosions;
+
+    @BeforeEach
+    void setUp() {
+        owner = new SimPlayer(1, 100, 100);
+        target = new SimPlayer(2, 300, 100);
+        system = new ProjectileSystem(4, 1000, 600, owner, target);
+        system.setListener(new SimWorld.Listener() {
+            @Override
+            public void onProjectileHit(ProjectileKind projectile, double x, double y, SimPlayer player) {
+                impacts++;
+            }
+
+            @Override
+            public void onProjectileExploded(ProjectileKind projectile, double x, double y, double radius) {
+                explosions++;
+            }
+        });
+    }
+
+    /**
+     * Moves both players far from the paths of the projectiles.
+     */
+    private void movePlayersAway() {
+        owner.x = 600;
+        owner.y = 500;
+        target.x = 700;
+        target.y = 500;
+    }
+
+    @Test
+    void testProjectilesMoveUntilTheyLeaveTheArena() {
+        movePlayersAway();
+        int index = system.spawn(ProjectileKind.BULLET, WeaponKind.RIFLE, 0, 900, 100, 1, 0, -1);
+
+        system.update(0.1);
+        assertEquals(950, system.getX(index), 1e-9, "La balle devrait avancer de 50 pixels.");
+        assertEquals(925, system.getRenderX(index, 0.5), 1e-9, "L'affichage devrait être interpolé entre deux ticks.");
+
+        for (int i = 0; i < 4; i++) {
+            system.update(0.1);
+        }
+        assertEquals(0, system.getCount(), "La balle sortie de l'arène devrait être retirée.");
+    }
+
+    @Test
+    void testShotFiredInsideTickStartsAhead() {
+        movePlayersAway();
+        int index = system.spawn(ProjectileKind.BULLET, WeaponKind.RIFLE, 0, 100, 100, 1, 0, 10_000_000L);
+
+        system.update(DT);
+
+        assertEquals(105, system.getX(index), 1e-9, "La balle devrait avoir parcouru la fin du tick.");
+        assertEquals(105, system.getRenderX(index, 0), 1e-9, "La balle ne devrait pas être dessinée depuis le canon.");
+    }
+
+    @Test
+    void testBulletPushesTheHitPlayerButNotItsOwner() {
+        system.spawn(ProjectileKind.BULLET, WeaponKind.RIFLE, 0, 110, 120, 1, 0, -1);
+        system.spawn(ProjectileKind.BULLET, WeaponKind.RIFLE, 0, 290, 120, 1, 0, -1);
+        system.update(DT);
+
+        assertEquals(1, system.getCount(), "Seule la balle touchant la cible devrait disparaître.");
+        assertEquals(1, impacts, "L'impact devrait être signalé.");
+        assertTrue(target.getKnockbackX() > 0, "La cible devrait être repoussée.");
+        assertEquals(0, owner.getKnockbackX(), "Le tireur ne devrait pas être touché.");
+        assertEquals(0, owner.getKnockbackY(), "Le tireur ne devrait pas être touché.");
+    }
+
+    @Test
+    void testRocketExplodesAtTheEndOfItsRange() {
+        owner.y = 500;
+        target.x = 1120;
+        target.y = 200;
+        system = new ProjectileSystem(4, 1440, 810, owner, target);
+        system.setListener(new SimWorld.Listener() {
+            @Override
+            public void onProjectileExploded(ProjectileKind projectile, double x, double y, double radius) {
+                explosions++;
+            }
+        });
+        system.spawn(ProjectileKind.ROCKET, WeaponKind.ROCKET_LAUNCHER, 0, 100, 100, 1, 0, -1);
+
+        for (int i = 0; i < 20 && system.getCount() > 0; i++) {
+            system.update(1.0 / 3);
+        }
+
+        assertEquals(0, system.getCount(), "La roquette devrait disparaître au bout de sa portée.");
+        assertEquals(1, explosions, "La roquette devrait exploser.");
+        assertTrue(target.getKnockbackY() > 0, "Le joueur proche devrait être soufflé.");
+    }
+
+    @Test
+    void testGuidedRocketFollowsItsOwnerStick() {
+        owner.y = 500;
+        owner.input.setAim(0, 1);
+        int index = system.spawn(ProjectileKind.GUIDED_ROCKET, WeaponKind.ROCKET_LAUNCHER, 0, 400, 300, 1, 0, -1);
+
+        system.update(DT);
+
+        assertTrue(system.getDirectionY(index) > 0, "La roquette devrait tourner vers le stick.");
+        double length = Math.hypot(system.getDirectionX(index), system.getDirectionY(index));
+        assertEquals(1, length, 1e-9, "La direction devrait rester unitaire.");
+    }
+
+    @Test
+    void testFullSystemDropsNewShots() {
+        for (int i = 0; i < ProjectileSystem.MAX_CAPACITY; i++) {
+            system.spawn(ProjectileKind.BULLET, WeaponKind.GUN, 0, 0, 0, 1, 0, -1);
+        }
+
+        assertEquals(-1, system.spawn(ProjectileKind.BULLET, WeaponKind.GUN, 0, 0, 0, 1, 0, -1), "Le tir en trop devrait être refusé.");
+        assertEquals(1, system.getDropped(), "Le tir refusé devrait être compté.");
+    }
+
+    @Test
+    void testFreedRowsAreReused() {
+        movePlayersAway();
+        for (int i = 0; i < 5; i++) {
+            system.spawn(ProjectileKind.BULLET, WeaponKind.RIFLE, 0, 990, 100, 1, 0, -1);
+        }
+        ProjectileSystem.PoolStats stats = system.getPoolStats();
+        assertEquals(5, stats.requests(), "Chaque tir devrait être compté.");
+        assertEquals(4, stats.hits(), "Seul le tir qui agrandit les tableaux devrait être un échec.");
+        assertEquals(1, stats.misses(), "Seul le tir qui agrandit les tableaux devrait être un échec.");
+
+        // Les balles sortent de l'arène et libèrent leurs lignes
+        system.update(0.5);
+        for (int i = 0; i < 5; i++) {
+            system.spawn(ProjectileKind.BULLET, WeaponKind.RIFLE, 0, 100, 100, 1, 0, -1);
+        }
+
+        stats = system.getPoolStats();
+        assertEquals(8, stats.capacity(), "Les lignes libérées devraient être réutilisées sans agrandir les tableaux.");
+        assertEquals(3, stats.available(), "Trois lignes devraient rester libres.");
+        assertEquals(0.9, stats.hitRate(), 1e-9, "Le taux de réussite devrait être de 90%.");
+    }
+
+    @Test
+    void testRemovalKeepsTheOtherProjectiles() {
+        movePlayersAway();
+        system.spawn(ProjectileKind.BULLET, WeaponKind.RIFLE, 0, 100, 100, 1, 0, -1);
+        system.spawn(ProjectileKind.BULLET, WeaponKind.RIFLE, 0, 1099, 200, 1, 0, -1);
+        system.spawn(ProjectileKind.ROCKET, WeaponKind.ROCKET_LAUNCHER, 0, 100, 300, 0, 1, -1);
+
+        system.update(0.1);
+
+        assertEquals(2, system.getCount(), "Seul le projectile sorti devrait être retiré.");
+        for (int i = 0; i < system.getCount(); i++) {
+            if (system.getKind(i) == ProjectileKind.ROCKET) {
+                assertEquals(330, system.getY(i), 1e-9, "La roquette déplacée dans le tableau devrait garder son état.");
+                assertEquals(WeaponKind.ROCKET_LAUNCHER, system.getWeaponKind(i), "La roquette devrait garder son arme.");
+            } else {
+                assertEquals(150, system.getX(i), 1e-9, "La balle restante devrait garder son état.");
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.arena.dual_arena.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimWorldTest {
+
+    private SimWorld world;
+    private PlayerInput[] inputs;
+
+    @BeforeEach
+    void setUp() {
+        world = new SimWorld(SimulationConfig.withSeed(42));
+        inputs = new PlayerInput[]{new PlayerInput(), new PlayerInput()};
+    }
+
+    @Test
+    void testSameSeedGivesSameMatch() {
+        MatchResult first = new HeadlessMatch(SimulationConfig.withSeed(7), new BotInput(1), new BotInput(2)).run();
+        MatchResult second = new HeadlessMatch(SimulationConfig.withSeed(7), new BotInput(1), new BotInput(2)).run();
+
+        assertEquals(first, second, "Deux matchs avec la même graine devraient être identiques.");
+        assertTrue(first.ticks() > 0, "Le match devrait avoir duré au moins un tick.");
+    }
+
+    @Test
+    void testPlayersPickUpTheirGun() {
+        world.step(inputs);
+
+        assertEquals(WeaponKind.GUN, world.getPlayer(0).getWeapon().getKind(), "Le joueur 1 devrait ramasser son pistolet.");
+        assertEquals(WeaponKind.GUN, world.getPlayer(1).getWeapon().getKind(), "Le joueur 2 devrait ramasser son pistolet.");
+    }
+
+    @Test
+    void testMovementIncludesGlide() {
+        double startX = world.getPlayer(0).getX();
+        inputs[0].setMove(1, 0);
+
+        world.step(inputs);
+
+        assertEquals(startX + 2 * GameRules.MOVE_SPEED, world.getPlayer(0).getX(), 1e-9,
+                "Le joueur devrait avancer de la vitesse plus la glissade de l'animation.");
+    }
+
+    @Test
+    void testTickRateDoesNotChangeGameplay() {
+        double[] moved = new double[2];
+        double[] pushed = new double[2];
+        int[] tickRates = {30, 120};
+
+        for (int i = 0; i < tickRates.length; i++) {
+            SimulationConfig defaults = SimulationConfig.withSeed(42);
+            SimulationConfig config = new SimulationConfig(tickRates[i], defaults.width(), defaults.height(),
+                    defaults.seed(), defaults.roundsToWin(), defaults.maxTicks());
+            SimWorld rateWorld = new SimWorld(config);
+            PlayerInput[] rateInputs = {new PlayerInput(), new PlayerInput()};
+            rateInputs[0].setMove(1, 0);
+            double startX0 = rateWorld.getPlayer(0).getX();
+            double startX1 = rateWorld.getPlayer(1).getX();
+            rateWorld.getPlayer(1).applyKnockback(-1, 0, 600);
+
+            for (long tick = 0; tick < config.ticks(0.5); tick++) {
+                rateWorld.step(rateInputs);
+            }
+            moved[i] = rateWorld.getPlayer(0).getX() - startX0;
+            pushed[i] = rateWorld.getPlayer(1).getX() - startX1;
+        }
+
+        assertEquals(moved[0], moved[1], 1e-6, "La distance parcourue ne devrait pas dépendre de la fréquence de simulation.");
+        assertEquals(pushed[0], pushed[1], Math.abs(pushed[1]) * 0.05, "Le recul ne devrait presque pas dépendre de la fréquence de simulation.");
+    }
+
+    @Test
+    void testKnockbackDecays() {
+        SimPlayer player = world.getPlayer(0);
+        player.applyKnockback(1, 0, 600);
+
+        world.step(inputs);
+
+        assertEquals(600 * GameRules.KNOCKBACK_DECAY, player.getKnockbackX(), 1e-9, "Le recul devrait diminuer à chaque tick.");
+        for (int i = 0; i < 300; i++) {
+            world.step(inputs);
+        }
+        assertEquals(0, player.getKnockbackX(), "Le recul devrait s'arrêter.");
+    }
+
+    @Test
+    void testFiringSpawnsProjectileWithCooldown() {
+        world.step(inputs);
+        inputs[0].setButtons(true, false, false);
+
+        world.step(inputs);
+        world.step(inputs);
+
+        assertEquals(1, world.getProjectiles().getCount(), "Le pistolet ne devrait tirer qu'une fois pendant son temps de recharge.");
+        assertEquals(ProjectileKind.BULLET, world.getProjectiles().getKind(0));
+    }
+
+    @Test
+    void testShotDueInsideTickFliesOnlyTheRestOfTheTick() {
+        SimulationConfig defaults = SimulationConfig.withSeed(42);
+        // À 7 ticks/s, le second tir du pistolet tombe au milieu d'un tick
+        SimulationConfig config = new SimulationConfig(7, defaults.width(), defaults.height(),
+                defaults.seed(), defaults.roundsToWin(), defaults.maxTicks());
+        SimWorld slowWorld = new SimWorld(config);
+        slowWorld.step(inputs);
+        inputs[0].setAim(1, 0);
+        inputs[0].setButtons(true, false, false);
+
+        int ticks = 0;
+        while (slowWorld.getProjectiles().getCount() < 2) {
+            slowWorld.step(inputs);
+            ticks++;
+        }
+
+        long tickNanos = FireScheduler.tickNanos(1.0 / config.tickRate());
+        long cooldownNanos = 500_000_000L;
+        ProjectileSystem projectiles = slowWorld.getProjectiles();
+        int second = projectiles.getCount() - 1;
+        double expected = projectiles.getSpeed(second) * (ticks * tickNanos - cooldownNanos) / 1e9;
+        assertEquals(expected, projectiles.getX(second) - slowWorld.getPlayer(0).centerX(), 1e-3,
+                "Le tir ne devrait parcourir que la fin du tick à partir du moment où il était dû.");
+    }
+
+    @Test
+    void testFallingInWaterEndsRound() {
+        SimPlayer player = world.getPlayer(0);
+        player.applyKnockback(-1, 0, 5000);
+
+        int winner = -1;
+        for (int i = 0; i < 120 && winner == -1; i++) {
+            winner = world.step(inputs);
+        }
+
+        assertEquals(1, winner, "Le joueur 2 devrait gagner la manche.");
+        assertEquals(1, world.getScore(1), "Le score du joueur 2 devrait augmenter.");
+        assertEquals(SimulationConfig.withSeed(42).spawnPosition(0)[0], player.getX(), "Le joueur devrait revenir à son point d'apparition.");
+    }
+
+    @Test
+    void testHazardsStayBoundedOverLongMatch() {
+        SimWorld soak = new SimWorld(new SimulationConfig(60, 16 * 90, 9 * 90, 3, Integer.MAX_VALUE, 60 * 60 * 60 * 2));
+        PlayerInput idle = new PlayerInput();
+        PlayerInput[] idleInputs = {idle, idle};
+        int maxHazards = 0;
+        int maxEvents = 0;
+
+        while (!soak.isFinished()) {
+            soak.step(idleInputs);
+            maxHazards = Math.max(maxHazards, soak.getHazards().size());
+            maxEvents = Math.max(maxEvents, soak.getAttackEventCount());
+        }
+
+        assertTrue(maxHazards <= GameRules.HAZARD_BUDGET, "Le nombre de dangers devrait rester dans le budget.");
+        assertTrue(maxEvents <= GameRules.MAX_ZONE_EVENTS + GameRules.MAX_FIREBALL_EVENTS, "Le nombre d'événements devrait rester borné.");
+        assertTrue(soak.getSkippedAttacks() > 0, "Des attaques devraient avoir été ignorées à cause du budget.");
+    }
+
+    @Test
+    void testNewRoundRestartsAttackEvents() {
+        SimWorld soak = new SimWorld(new SimulationConfig(60, 16 * 90, 9 * 90, 3, Integer.MAX_VALUE, 60 * 60 * 60));
+        PlayerInput idle = new PlayerInput();
+        PlayerInput[] idleInputs = {idle, idle};
+        while (soak.getAttackEventCount() == 1 && !soak.isFinished()) {
+            soak.step(idleInputs);
+        }
+        assertTrue(soak.getAttackEventCount() > 1, "Les événements devraient s'être intensifiés pendant la manche.");
+
+        // Le joueur 1 tombe dans l'eau pour terminer la manche
+        soak.getPlayer(0).applyKnockback(-1, 0, 5000);
+        int winner = -1;
+        for (int i = 0; i < 120 && winner == -1; i++) {
+            winner = soak.step(idleInputs);
+        }
+
+        assertNotEquals(-1, winner, "La manche devrait se terminer.");
+        assertEquals(1, soak.getAttackEventCount(), "La nouvelle manche devrait repartir d'un seul événement.");
+    }
+
+    @Test
+    void testProjectileRemembersPreviousPosition() {
+        world.step(inputs);
+        inputs[0].setAim(1, 0);
+        inputs[0].setButtons(true, false, false);
+        world.step(inputs);
+        ProjectileSystem projectiles = world.getProjectiles();
+
+        assertEquals(projectiles.getX(0), projectiles.getPreviousX(0), "Le tir devrait être dessiné là où il est arrivé pendant son premier tick.");
+        double x = projectiles.getX(0);
+        world.step(inputs);
+
+        assertEquals(x, projectiles.getPreviousX(0), "La position précédente devrait être celle du tick d'avant.");
+        assertTrue(projectiles.getX(0) > x, "Le tir devrait avancer dans la direction visée.");
+    }
+
+    @Test
+    void testListenerReportsShotsAndHits() {
+        List<SimPlayer> shots = new ArrayList<>();
+        List<SimPlayer> hits = new ArrayList<>();
+        world.setListener(new SimWorld.Listener() {
+            @Override
+            public void onShot(SimPlayer player, WeaponKind weapon, ProjectileKind projectile) {
+                shots.add(player);
+            }
+
+            @Override
+            public void onProjectileHit(ProjectileKind projectile, double x, double y, SimPlayer target) {
+                hits.add(target);
+            }
+        });
+        world.step(inputs);
+        // Le joueur 1 tire vers le joueur 2, en face de lui
+        inputs[0].setAim(1, 0);
+        inputs[0].setButtons(true, false, false);
+
+        for (int i = 0; i < 120 && hits.isEmpty(); i++) {
+            world.step(inputs);
+        }
+
+        assertFalse(shots.isEmpty(), "Chaque tir devrait être signalé.");
+        assertSame(world.getPlayer(0), shots.getFirst(), "Le tir devrait appartenir au joueur 1.");
+        assertEquals(List.of(world.getPlayer(1)), hits, "Le joueur 2 devrait être touché une fois.");
+        assertTrue(world.getPlayer(1).getKnockbackX() > 0, "Le joueur 2 devrait être repoussé dans la direction du tir.");
+    }
+
+    @Test
+    void testListenerReportsDeadPlayerBeforeReset() {
+        List<SimPlayer> dead = new ArrayList<>();
+        world.setListener(new SimWorld.Listener() {
+            @Override
+            public void onPlayerDied(SimPlayer player) {
+                dead.add(player);
+            }
+        });
+        world.getPlayer(0).applyKnockback(-1, 0, 5000);
+
+        for (int i = 0; i < 120 && dead.isEmpty(); i++) {
+            world.step(inputs);
+        }
+
+        assertEquals(List.of(world.getPlayer(0)), dead, "La mort du joueur 1 devrait être signalée.");
+        assertEquals(1, world.getRounds(), "La manche devrait être terminée.");
+    }
+
+    @Test
+    void testZoneExplodesWithNewIdentifier() {
+        List<SimHazard> spawned = new ArrayList<>();
+        List<SimHazard> exploded = new ArrayList<>();
+        world.setListener(new SimWorld.Listener() {
+            @Override
+            public void onHazardSpawned(SimHazard hazard) {
+                spawned.add(hazard);
+            }
+
+            @Override
+            public void onHazardExploded(SimHazard explosion) {
+                exploded.add(explosion);
+            }
+        });
+
+        for (int i = 0; i < 60 * 60 && exploded.isEmpty(); i++) {
+            world.step(inputs);
+        }
+
+        assertFalse(exploded.isEmpty(), "Une zone d'attaque devrait exploser pendant la première minute.");
+        SimHazard zone = spawned.getFirst();
+        SimHazard explosion = exploded.getFirst();
+        assertEquals(SimHazard.Type.ATTACK_ZONE, zone.getType());
+        assertEquals(SimHazard.Type.EXPLOSION, explosion.getType());
+        assertEquals(zone.getX(), explosion.getX(), "L'explosion devrait avoir lieu sur la zone.");
+        assertNotEquals(zone.getId(), explosion.getId(), "L'explosion devrait être dessinée par une nouvelle entité.");
+        assertFalse(world.getHazards().contains(zone), "La zone devrait être remplacée par son explosion.");
+    }
+
+    @Test
+    void testZoneEventsEscalateUpToMaximum() {
+        SimWorld soak = new SimWorld(new SimulationConfig(60, 16 * 90, 9 * 90, 3, Integer.MAX_VALUE, 60 * 60 * 60));
+        PlayerInput idle = new PlayerInput();
+        PlayerInput[] idleInputs = {idle, idle};
+
+        assertEquals(1, soak.getAttackEventCount(), "La manche devrait commencer avec un seul événement de zone.");
+        int maxEvents = 0;
+        while (!soak.isFinished()) {
+            soak.step(idleInputs);
+            maxEvents = Math.max(maxEvents, soak.getAttackEventCount());
+        }
+
+        assertTrue(maxEvents > 1, "Les événements devraient s'intensifier au fil de la manche.");
+        assertTrue(maxEvents <= GameRules.MAX_ZONE_EVENTS + GameRules.MAX_FIREBALL_EVENTS, "Le nombre d'événements devrait rester borné.");
+    }
+}
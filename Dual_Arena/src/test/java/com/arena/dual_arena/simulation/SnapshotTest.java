@@ -0,0 +1,136 @@
+package com.arena.dual_arena.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotTest {
+
+    /**
+     * Plays a bot match and keeps the input of every tick, to feed a restored world the same input again.
+     */
+    private static List<PlayerInput[]> playBots(SimWorld world, int ticks) {
+        BotInput bot1 = new BotInput(5);
+        BotInput bot2 = new BotInput(6);
+        List<PlayerInput[]> played = new ArrayList<>();
+        for (int i = 0; i < ticks && !world.isFinished(); i++) {
+            PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+            bot1.poll(world, 0, inputs[0]);
+            bot2.poll(world, 1, inputs[1]);
+            world.step(inputs);
+            played.add(inputs);
+        }
+        return played;
+    }
+
+    @Test
+    void testRestoredWorldGoesOnIdentically() {
+        SimulationConfig config = SimulationConfig.withSeed(3);
+        SimWorld world = new SimWorld(config);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        playBots(world, 500);
+        world.saveSnapshot(buffer);
+        long savedHash = world.stateHash();
+        List<PlayerInput[]> after = playBots(world, 2000);
+
+        SimWorld restored = new SimWorld(config);
+        restored.restoreSnapshot(buffer.flip());
+
+        assertEquals(savedHash, restored.stateHash());
+        for (PlayerInput[] inputs : after) {
+            restored.step(inputs);
+        }
+        assertEquals(world.stateHash(), restored.stateHash(),
+                "Le monde restauré devrait tirer les mêmes dangers et armes que l'original.");
+        assertEquals(world.getScore(0), restored.getScore(0));
+        assertEquals(world.getAttackEventCount(), restored.getAttackEventCount());
+    }
+
+    @Test
+    void testRestoredWorldKeepsIdentifiers() {
+        SimulationConfig config = SimulationConfig.withSeed(3);
+        SimWorld world = new SimWorld(config);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        playBots(world, 1500);
+        world.saveSnapshot(buffer);
+
+        SimWorld restored = new SimWorld(config);
+        restored.restoreSnapshot(buffer.flip());
+
+        assertEquals(weaponIds(world), weaponIds(restored), "Les armes restaurées devraient garder leur identifiant.");
+        assertEquals(hazardIds(world), hazardIds(restored), "Les dangers restaurés devraient garder leur identifiant.");
+        PlayerInput[] idle = {new PlayerInput(), new PlayerInput()};
+        for (int i = 0; i < 1500; i++) {
+            world.step(idle);
+            restored.step(idle);
+        }
+        // Les vues du jeu retrouvent leurs entités par identifiant : les nouveaux aussi doivent être les mêmes
+        assertEquals(weaponIds(world), weaponIds(restored));
+        assertEquals(hazardIds(world), hazardIds(restored));
+    }
+
+    private static List<Integer> weaponIds(SimWorld world) {
+        List<Integer> ids = new ArrayList<>();
+        world.getWeapons().forEach(weapon -> ids.add(weapon.getId()));
+        return ids;
+    }
+
+    private static List<Integer> hazardIds(SimWorld world) {
+        List<Integer> ids = new ArrayList<>();
+        world.getHazards().forEach(hazard -> ids.add(hazard.getId()));
+        return ids;
+    }
+
+    @Test
+    void testRollbackInTheSameWorld() {
+        SimWorld world = new SimWorld(SimulationConfig.withSeed(8));
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        playBots(world, 300);
+        world.saveSnapshot(buffer);
+        List<PlayerInput[]> after = playBots(world, 300);
+        long expected = world.stateHash();
+
+        world.restoreSnapshot(buffer.flip());
+        for (PlayerInput[] inputs : after) {
+            world.step(inputs);
+        }
+
+        assertEquals(expected, world.stateHash(), "Revenir en arrière puis rejouer les mêmes entrées redonne le même état.");
+    }
+
+    @Test
+    void testSnapshotsOfARoundStayUnderAKilobyte() {
+        SimWorld world = new SimWorld(SimulationConfig.withSeed(21));
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        BotInput bot1 = new BotInput(1);
+        BotInput bot2 = new BotInput(2);
+        PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+        long total = 0;
+        int snapshots = 0;
+        while (!world.isFinished()) {
+            bot1.poll(world, 0, inputs[0]);
+            bot2.poll(world, 1, inputs[1]);
+            world.step(inputs);
+            buffer.clear();
+            total += world.saveSnapshot(buffer);
+            snapshots++;
+        }
+
+        assertTrue(total / snapshots < 1024, "Taille moyenne d'un snapshot : " + total / snapshots + " octets");
+    }
+
+    @Test
+    void testSnapshotOfAnotherMatchIsRejected() {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        new SimWorld(SimulationConfig.withSeed(1)).saveSnapshot(buffer);
+
+        assertThrows(IllegalArgumentException.class, () -> new SimWorld(SimulationConfig.withSeed(2)).restoreSnapshot(buffer.flip()));
+        buffer.put(0, (byte) (SimWorld.SNAPSHOT_VERSION + 1));
+        assertThrows(IllegalArgumentException.class, () -> new SimWorld(SimulationConfig.withSeed(1)).restoreSnapshot(buffer.rewind()),
+                "Un snapshot d'une autre version doit être refusé.");
+    }
+}
@@ -0,0 +1,67 @@
+package com.arena.dual_arena.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TerrainMapTest {
+
+    private static TerrainMap read(String document) throws IOException {
+        return TerrainMap.read(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testArenaWaterMatchesMapObjects() {
+        TerrainMap arena = TerrainMap.arena();
+
+        assertEquals(800, arena.getWidth());
+        assertEquals(448, arena.getHeight());
+        assertTrue(arena.isWater(10, 200), "Le bord gauche de l'arène devrait être de l'eau.");
+        assertTrue(arena.isWater(400, 420), "Le bas de l'arène devrait être de l'eau.");
+        assertFalse(arena.isWater(400, 224), "Le centre de l'arène devrait être de la terre.");
+        assertTrue(arena.overlapsWater(60, 200, 20, 31), "Une hitbox à cheval sur le rivage devrait toucher l'eau.");
+        assertFalse(arena.overlapsWater(70, 200, 20, 31), "Une hitbox juste après le rivage ne devrait pas toucher l'eau.");
+        assertTrue(arena.getMaskBytes() < 64 * 1024, "Le masque devrait rester compact.");
+    }
+
+    @Test
+    void testScaledQueriesDoNotDependOnWindowSize() throws IOException {
+        TerrainMap map = read("""
+                <map width="4" height="2" tilewidth="32" tileheight="32">
+                 <objectgroup>
+                  <object type="water" x="0" y="0" width="32" height="64"/>
+                  <object type="rock" x="64" y="0" width="64" height="64"/>
+                 </objectgroup>
+                </map>""");
+
+        for (double scale : new double[]{1, 1.8, 2.5}) {
+            TerrainMap scaled = map.scaledTo(128 * scale, 64 * scale);
+            assertTrue(scaled.isWater(31.9 * scale, 10 * scale), "Échelle " + scale);
+            assertFalse(scaled.isWater(32.1 * scale, 10 * scale), "Échelle " + scale);
+            assertTrue(scaled.overlapsWater(31 * scale, 5 * scale, 10 * scale, 10 * scale), "Échelle " + scale);
+            assertFalse(scaled.overlapsWater(33 * scale, 5 * scale, 90 * scale, 10 * scale),
+                    "Seuls les objets de type eau comptent, échelle " + scale);
+        }
+    }
+
+    @Test
+    void testBoxesAcrossWordsAndOutsideTheMap() {
+        TerrainMap map = new TerrainMap(200, 10);
+        map.fill(130, 4, 1, 1);
+
+        assertTrue(map.overlapsWater(20, 2, 120, 4), "Une hitbox sur plusieurs mots devrait trouver l'eau.");
+        assertFalse(map.overlapsWater(20, 5, 120, 4), "Une hitbox sous l'eau ne devrait pas la toucher.");
+        assertFalse(map.overlapsWater(131, 0, 60, 10));
+        assertTrue(map.overlapsWater(190, 0, 20, 5), "Sortir de la carte revient à tomber à l'eau.");
+        assertTrue(map.isWater(-1, 5));
+    }
+
+    @Test
+    void testDocumentWithoutMapIsRejected() {
+        assertThrows(IOException.class, () -> read("<tileset name=\"tiles\"/>"));
+    }
+}
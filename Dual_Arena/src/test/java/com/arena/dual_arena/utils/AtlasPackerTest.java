@@ -0,0 +1,97 @@
+package com.arena.dual_arena.utils;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtlasPackerTest {
+
+    private static Path texturesFolder() throws URISyntaxException {
+        return Path.of(AtlasPackerTest.class.getResource("/assets/textures").toURI());
+    }
+
+    @Test
+    void testAtlasIsUpToDate() throws IOException, URISyntaxException {
+        TextureAtlas packed = AtlasPacker.layout(texturesFolder(), new HashMap<>());
+
+        assertEquals(packed.format(), TextureAtlas.gameplay().format(),
+                "gameplay.atlas n'est plus à jour, relancer AtlasPacker sur le dossier des textures.");
+    }
+
+    @Test
+    void testPagesHoldTheSprites() throws IOException, URISyntaxException {
+        Map<String, BufferedImage> sprites = new HashMap<>();
+        TextureAtlas atlas = AtlasPacker.layout(texturesFolder(), sprites);
+        for (int page = 0; page < atlas.getPages().size(); page++) {
+            BufferedImage image;
+            try (InputStream input = AtlasPackerTest.class.getResourceAsStream("/assets/textures/" + atlas.getPages().get(page))) {
+                assertNotNull(input, "La page " + atlas.getPages().get(page) + " devrait être présente.");
+                image = ImageIO.read(input);
+            }
+            int current = page;
+            atlas.getRegions().forEach((name, region) -> {
+                if (region.page() != current) {
+                    return;
+                }
+                BufferedImage sprite = sprites.get(name);
+                for (int y = 0; y < region.height(); y++) {
+                    for (int x = 0; x < region.width(); x++) {
+                        assertEquals(sprite.getRGB(x, y), image.getRGB(region.x() + x, region.y() + y),
+                                "Pixel différent dans " + name + " en " + x + ", " + y);
+                    }
+                }
+            });
+        }
+    }
+
+    @Test
+    void testWideSpritesGetTheirOwnPage() throws IOException {
+        List<String> names = List.of("a", "b", "strip", "c");
+        int[] widths = {40, 30, 2048, 20};
+        int[] heights = {10, 20, 128, 5};
+
+        TextureAtlas atlas = AtlasPacker.layout("test", names, widths, heights);
+
+        assertEquals(List.of("test_0.png", "test_1.png"), atlas.getPages());
+        assertEquals(new TextureAtlas.Region(1, 0, 0, 2048, 128), atlas.region("strip"));
+        assertEquals(2048, atlas.getPageWidth(1));
+        assertTrue(atlas.getPageWidth(0) <= AtlasPacker.MAX_PAGE_SIZE);
+        assertEquals(List.of("a", "b", "strip", "c"), List.copyOf(atlas.getRegions().keySet()),
+                "L'index garde l'ordre des sprites donnés.");
+        for (String name : List.of("a", "b", "c")) {
+            TextureAtlas.Region region = atlas.region(name);
+            assertEquals(0, region.page());
+            assertTrue(region.x() >= SpriteSheet.PADDING && region.y() >= SpriteSheet.PADDING);
+            assertTrue(region.x() + region.width() + SpriteSheet.PADDING <= atlas.getPageWidth(0),
+                    name + " dépasse de sa page");
+            assertTrue(region.y() + region.height() + SpriteSheet.PADDING <= atlas.getPageHeight(0),
+                    name + " dépasse de sa page");
+        }
+    }
+
+    @Test
+    void testIndexRoundTrip() throws IOException {
+        TextureAtlas atlas = AtlasPacker.layout("test", List.of("a", "b"), new int[]{8, 4}, new int[]{3, 6});
+
+        TextureAtlas read = TextureAtlas.read(new ByteArrayInputStream(atlas.format().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(atlas.format(), read.format());
+        assertEquals(atlas.region("b"), read.region("b"));
+        assertThrows(IllegalArgumentException.class, () -> read.region("missing"));
+        assertThrows(IOException.class, () -> TextureAtlas.read(
+                new ByteArrayInputStream("sprite a 0 1 1 8 3\n".getBytes(StandardCharsets.UTF_8))),
+                "Un sprite dans une page non déclarée doit être refusé.");
+    }
+}
@@ -0,0 +1,45 @@
+package com.arena.dual_arena.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedTimestepTest {
+
+    private FixedTimestep timestep;
+
+    @BeforeEach
+    void setUp() {
+        timestep = new FixedTimestep(50);
+    }
+
+    @Test
+    void testFramesAreSplitIntoTicks() {
+        assertEquals(2, timestep.advance(0.05), "Une image de 50 ms devrait donner deux ticks de 20 ms.");
+        assertEquals(0.5, timestep.getAlpha(), 1e-9, "Il devrait rester une moitié de tick à interpoler.");
+        assertEquals(1, timestep.advance(0.01), "Le reste accumulé devrait compléter un tick.");
+        assertEquals(3, timestep.getTick(), "Trois ticks devraient avoir été simulés.");
+    }
+
+    @Test
+    void testShortFramesAccumulate() {
+        int steps = 0;
+        for (int i = 0; i < 100; i++) {
+            steps += timestep.advance(0.005);
+        }
+
+        assertEquals(25, steps, "Une demi-seconde devrait donner 25 ticks quelle que soit la durée des images.");
+    }
+
+    @Test
+    void testLongStallIsCapped() {
+        assertEquals(FixedTimestep.MAX_STEPS_PER_FRAME, timestep.advance(2), "Le nombre de ticks par image devrait être plafonné.");
+        assertEquals(0, timestep.getAlpha(), 1e-9, "Le retard au-delà du plafond devrait être abandonné.");
+    }
+
+    @Test
+    void testInvalidTickRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> timestep.setTickRate(0), "Une fréquence nulle devrait être refusée.");
+    }
+}
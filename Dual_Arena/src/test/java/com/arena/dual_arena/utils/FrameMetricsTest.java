@@ -0,0 +1,113 @@
+package com.arena.dual_arena.utils;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.GameWorld;
+import com.arena.dual_arena.types.EntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameMetricsTest {
+
+    private static final long MS = 1_000_000;
+
+    private FrameMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new FrameMetrics();
+    }
+
+    @Test
+    void testFramesAndSectionsAreRecorded() {
+        int players = metrics.section("PlayerComponent");
+        assertEquals(players, metrics.section("PlayerComponent"), "Une même section devrait garder son indice.");
+
+        metrics.recordFrame(10 * MS, 2 * MS);
+        metrics.addSectionTime(players, MS);
+        metrics.addSectionTime(players, MS);
+        metrics.recordFrame(26 * MS, 3 * MS);
+
+        assertEquals(2, metrics.getFrameCount(), "Deux images devraient être enregistrées.");
+        assertEquals(1, metrics.getFrameHistogram().getCount(), "La première image n'a pas de durée.");
+        assertEquals(16, metrics.getFrameHistogram().getMaxMillis(), 1e-9, "La seconde image devrait durer 16 ms.");
+        assertEquals(3, metrics.getSimulationHistogram().getMaxMillis(), 1e-9, "La simulation devrait durer 3 ms au plus.");
+        assertEquals(2, metrics.getSectionHistogram("PlayerComponent").getMaxMillis(), 1e-9, "Les temps d'une section devraient s'additionner sur l'image.");
+        assertNull(metrics.getSectionHistogram("Inconnu"), "Une section jamais mesurée ne devrait pas exister.");
+    }
+
+    @Test
+    void testSectionsBeyondTheLimitShareTheLastOne() {
+        for (int i = 0; i < FrameMetrics.MAX_SECTIONS; i++) {
+            metrics.section("Section" + i);
+        }
+
+        assertEquals(FrameMetrics.MAX_SECTIONS - 1, metrics.section("EnTrop"), "Les sections en trop devraient partager la dernière.");
+    }
+
+    @Test
+    void testEntitiesAreCountedByType() {
+        GameWorld world = new GameWorld();
+        world.addWorldListener(metrics);
+        Entity projectile = new Entity();
+        projectile.setType(EntityType.PROJECTILE);
+        Entity player = new Entity();
+        player.setType(EntityType.PLAYER);
+
+        world.addEntities(projectile, player);
+        assertEquals(1, metrics.getEntityCount(EntityType.PROJECTILE), "Le projectile devrait être compté.");
+
+        world.removeEntity(projectile);
+        world.onUpdate(0.016);
+        assertEquals(0, metrics.getEntityCount(EntityType.PROJECTILE), "Le projectile retiré ne devrait plus être compté.");
+        assertEquals(1, metrics.getEntityCount(EntityType.PLAYER), "Le joueur devrait toujours être compté.");
+    }
+
+    @Test
+    void testExportWritesSummaryAndFrames(@TempDir Path directory) throws IOException {
+        metrics.section("SimWorld");
+        metrics.onEntityAdded(entityOf(EntityType.PROJECTILE));
+        metrics.recordFrame(MS, MS);
+        metrics.recordFrame(17 * MS, MS);
+        Path file = directory.resolve("frames.csv");
+
+        metrics.exportCsv(file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.getFirst().startsWith("measure,count"), "Le fichier devrait commencer par le résumé.");
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("frame,frame_ms,simulation_ms,gc_ms,SimWorld_ms")),
+                "L'historique devrait avoir une colonne par section.");
+        assertTrue(lines.getLast().startsWith("1,16.000,1.000,"), "La dernière image devrait être exportée.");
+        assertTrue(metrics.formatSummary().contains("projectile=1"), "Le résumé affiché devrait compter les projectiles.");
+    }
+
+    @Test
+    void testHistoryWrapsAroundAndResets(@TempDir Path directory) throws IOException {
+        for (int i = 0; i < FrameMetrics.FRAME_HISTORY + 5; i++) {
+            metrics.recordFrame((i + 1) * 16 * MS, 0);
+        }
+        Path file = directory.resolve("frames.csv");
+        metrics.exportCsv(file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("5,16.000,")), "La plus ancienne image conservée devrait être la cinquième.");
+        assertFalse(lines.stream().anyMatch(line -> line.startsWith("4,")), "Les images trop anciennes devraient être écrasées.");
+
+        metrics.reset();
+        assertEquals(0, metrics.getFrameCount(), "La remise à zéro devrait oublier les images.");
+        assertEquals(0, metrics.getFrameHistogram().getCount(), "La remise à zéro devrait vider les histogrammes.");
+    }
+
+    private static Entity entityOf(EntityType type) {
+        Entity entity = new Entity();
+        entity.setType(type);
+        return entity;
+    }
+}
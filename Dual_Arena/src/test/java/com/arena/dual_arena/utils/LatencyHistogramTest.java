@@ -0,0 +1,49 @@
+package com.arena.dual_arena.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        // Seaux de 1 ms couvrant 100 ms
+        histogram = new LatencyHistogram(1_000_000, 100);
+    }
+
+    @Test
+    void testPercentilesFollowRecordedDurations() {
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms * 1_000_000L - 500_000);
+        }
+
+        assertEquals(100, histogram.getCount(), "Toutes les durées devraient être comptées.");
+        assertEquals(50, histogram.percentileMillis(0.5), 1e-9, "La médiane devrait être de 50 ms.");
+        assertEquals(99, histogram.percentileMillis(0.99), 1e-9, "Le 99e centile devrait être de 99 ms.");
+        assertEquals(50, histogram.getMeanMillis(), 1e-9, "La moyenne devrait être de 50 ms.");
+        assertEquals(0.5, histogram.getMinMillis(), 1e-9, "Le minimum devrait être conservé.");
+    }
+
+    @Test
+    void testLongDurationsOverflow() {
+        histogram.record(500_000_000L);
+
+        long[] counts = histogram.getBucketCounts();
+        assertEquals(1, counts[counts.length - 1], "Une durée hors plage devrait aller dans le dernier seau.");
+        assertEquals(500, histogram.getMaxMillis(), 1e-9, "Le maximum devrait rester exact.");
+        assertEquals(500, histogram.percentileMillis(0.99), 1e-9, "Le centile devrait tenir compte du dépassement.");
+    }
+
+    @Test
+    void testClearForgetsEverything() {
+        histogram.record(3_000_000);
+        histogram.clear();
+
+        assertEquals(0, histogram.getCount(), "L'histogramme devrait être vide.");
+        assertEquals(0, histogram.percentileMillis(0.5), "Un histogramme vide devrait donner 0.");
+    }
+}
@@ -0,0 +1,129 @@
+package com.arena.dual_arena.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyTrackerTest {
+
+    private static final long MS = 1_000_000;
+
+    private LatencyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LatencyTracker();
+    }
+
+    @Test
+    void testEachStageIsRecorded() {
+        tracker.onInput(1, 10 * MS, 11 * MS);
+        tracker.onDispatch(1, 14 * MS);
+        tracker.onFire(1, true, 15 * MS);
+        tracker.onFrameRendered(30 * MS);
+
+        assertEquals(1, tracker.getHistogram(1, LatencyTracker.Segment.DEVICE_TO_POLL).getMaxMillis(), 1e-9, "Le délai de lecture devrait être de 1 ms.");
+        assertEquals(3, tracker.getHistogram(1, LatencyTracker.Segment.POLL_TO_DISPATCH).getMaxMillis(), 1e-9, "Le délai avant le tick devrait être de 3 ms.");
+        assertEquals(1, tracker.getHistogram(1, LatencyTracker.Segment.DISPATCH_TO_SPAWN).getMaxMillis(), 1e-9, "L'apparition devrait prendre 1 ms.");
+        assertEquals(15, tracker.getHistogram(1, LatencyTracker.Segment.SPAWN_TO_RENDER).getMaxMillis(), 1e-9, "L'affichage devrait prendre 15 ms.");
+        assertEquals(20, tracker.getHistogram(1, LatencyTracker.Segment.TOTAL).getMaxMillis(), 1e-9, "La latence totale devrait être de 20 ms.");
+    }
+
+    @Test
+    void testPressWithoutShotIsDropped() {
+        tracker.onInput(2, MS, MS);
+        tracker.onDispatch(2, 2 * MS);
+        tracker.onFire(2, false, 2 * MS);
+        tracker.onFrameRendered(5 * MS);
+
+        assertEquals(1, tracker.getDroppedInputs(2), "La pression sans tir devrait être comptée.");
+        assertEquals(0, tracker.getHistogram(2, LatencyTracker.Segment.TOTAL).getCount(), "Aucune latence ne devrait être enregistrée.");
+    }
+
+    @Test
+    void testHeldTriggerIsTracedOnce() {
+        tracker.onInput(1, MS, MS);
+        tracker.onDispatch(1, 2 * MS);
+        tracker.onFire(1, true, 2 * MS);
+        tracker.onInput(1, 3 * MS, 3 * MS);
+        tracker.onDispatch(1, 4 * MS);
+        tracker.onFire(1, true, 4 * MS);
+        tracker.onFrameRendered(5 * MS);
+        tracker.onFrameRendered(6 * MS);
+
+        assertEquals(1, tracker.getHistogram(1, LatencyTracker.Segment.TOTAL).getCount(), "Un seul tir devrait être mesuré.");
+        assertEquals(4, tracker.getHistogram(1, LatencyTracker.Segment.TOTAL).getMaxMillis(), 1e-9, "La mesure devrait partir de la première pression.");
+    }
+
+    @Test
+    void testTapReleasedBeforeTickIsDropped() {
+        tracker.onInput(1, MS, MS);
+        tracker.onRelease(1);
+        tracker.onInput(1, 40 * MS, 40 * MS);
+        tracker.onDispatch(1, 42 * MS);
+        tracker.onFire(1, true, 42 * MS);
+        tracker.onFrameRendered(45 * MS);
+
+        assertEquals(1, tracker.getDroppedInputs(1), "La pression relâchée avant le tick devrait être comptée.");
+        assertEquals(5, tracker.getHistogram(1, LatencyTracker.Segment.TOTAL).getMaxMillis(), 1e-9, "La mesure devrait partir de la seconde pression.");
+    }
+
+    @Test
+    void testReleaseAfterDispatchKeepsTrace() {
+        tracker.onInput(1, MS, MS);
+        tracker.onDispatch(1, 2 * MS);
+        tracker.onFire(1, true, 2 * MS);
+        tracker.onRelease(1);
+        tracker.onFrameRendered(5 * MS);
+
+        assertEquals(0, tracker.getDroppedInputs(1), "Le tir déjà parti ne devrait pas être abandonné.");
+        assertEquals(1, tracker.getHistogram(1, LatencyTracker.Segment.TOTAL).getCount(), "Le tir devrait être mesuré.");
+    }
+
+    @Test
+    void testStaleTraceIsReplaced() {
+        long late = LatencyTracker.TRACE_TIMEOUT_NANOS + 10 * MS;
+        tracker.onInput(2, MS, MS);
+        tracker.onInput(2, late, late);
+        tracker.onDispatch(2, late + 2 * MS);
+        tracker.onFire(2, true, late + 2 * MS);
+        tracker.onFrameRendered(late + 3 * MS);
+
+        assertEquals(1, tracker.getDroppedInputs(2), "La pression trop ancienne devrait être comptée.");
+        assertEquals(3, tracker.getHistogram(2, LatencyTracker.Segment.TOTAL).getMaxMillis(), 1e-9, "La mesure devrait partir de la nouvelle pression.");
+    }
+
+    @Test
+    void testStaleTraceIsNotDispatched() {
+        tracker.onInput(1, MS, MS);
+        tracker.onDispatch(1, MS + LatencyTracker.TRACE_TIMEOUT_NANOS + MS);
+        tracker.onFire(1, true, MS + LatencyTracker.TRACE_TIMEOUT_NANOS + MS);
+        tracker.onFrameRendered(MS + LatencyTracker.TRACE_TIMEOUT_NANOS + 2 * MS);
+
+        assertEquals(1, tracker.getDroppedInputs(1), "La pression trop ancienne devrait être comptée.");
+        assertEquals(0, tracker.getHistogram(1, LatencyTracker.Segment.TOTAL).getCount(), "Aucune latence ne devrait être enregistrée.");
+    }
+
+    @Test
+    void testExportWritesEverySegment(@TempDir Path directory) throws IOException {
+        tracker.onInput(1, MS, MS);
+        tracker.onDispatch(1, 2 * MS);
+        tracker.onFire(1, true, 3 * MS);
+        tracker.onFrameRendered(4 * MS);
+        Path file = directory.resolve("latency.csv");
+
+        tracker.exportCsv(file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.getFirst().startsWith("player,segment"), "Le fichier devrait commencer par un en-tête.");
+        assertTrue(lines.contains("1,total,1,0,3.000,3.000,3.000,3.000,3.000,3.000"), "La latence totale du joueur devrait être exportée.");
+        assertTrue(tracker.formatSummary().contains("Joueur 1"), "Le résumé affiché devrait contenir le joueur.");
+    }
+}
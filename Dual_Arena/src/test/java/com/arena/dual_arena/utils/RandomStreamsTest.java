@@ -0,0 +1,51 @@
+package com.arena.dual_arena.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomStreamsTest {
+
+    private static long[] draw(RandomGenerator random) {
+        long[] values = new long[8];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        return values;
+    }
+
+    @Test
+    void testSameSeedGivesSameStreams() {
+        RandomStreams first = new RandomStreams(42);
+        RandomStreams second = new RandomStreams(42);
+
+        assertArrayEquals(draw(first.stream(RandomStreams.HAZARDS)), draw(second.stream(RandomStreams.HAZARDS)));
+        assertArrayEquals(draw(first.stream(RandomStreams.HAZARDS)), draw(second.stream(RandomStreams.HAZARDS)),
+                "Le n-ième flux d'un sous-système devrait être le même pour une même graine.");
+        assertFalse(Arrays.equals(draw(new RandomStreams(43).stream(RandomStreams.HAZARDS)),
+                draw(new RandomStreams(42).stream(RandomStreams.HAZARDS))));
+    }
+
+    @Test
+    void testSubsystemsDoNotShiftEachOther() {
+        RandomStreams weaponsFirst = new RandomStreams(7);
+        weaponsFirst.stream(RandomStreams.WEAPONS).nextLong();
+        RandomStreams hazardsOnly = new RandomStreams(7);
+
+        assertArrayEquals(draw(hazardsOnly.stream(RandomStreams.HAZARDS)), draw(weaponsFirst.stream(RandomStreams.HAZARDS)),
+                "Les tirages des armes ne doivent pas décaler ceux des dangers.");
+        assertFalse(Arrays.equals(draw(new RandomStreams(7).stream(RandomStreams.WEAPONS)),
+                draw(new RandomStreams(7).stream(RandomStreams.HAZARDS))), "Chaque sous-système a ses propres tirages.");
+    }
+
+    @Test
+    void testEachCallSplitsANewStream() {
+        RandomStreams streams = new RandomStreams(1);
+
+        assertFalse(Arrays.equals(draw(streams.stream(RandomStreams.HAZARDS)), draw(streams.stream(RandomStreams.HAZARDS))),
+                "Deux événements ne doivent pas tirer les mêmes nombres.");
+    }
+}
@@ -0,0 +1,102 @@
+package com.arena.dual_arena.utils;
+
+import com.almasb.fxgl.entity.Entity;
+import com.arena.dual_arena.types.EntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialGridTest {
+
+    private static final SpatialGrid.Locator<Entity> ENTITY_LOCATOR = new SpatialGrid.Locator<>() {
+        @Override
+        public double centerX(Entity entity) {
+            return entity.getX() + entity.getWidth() / 2;
+        }
+
+        @Override
+        public double centerY(Entity entity) {
+            return entity.getY() + entity.getHeight() / 2;
+        }
+
+        @Override
+        public Object typeOf(Entity entity) {
+            return entity.getType();
+        }
+    };
+
+    private SpatialGrid<Entity> grid;
+    private List<Entity> result;
+
+    @BeforeEach
+    void setUp() {
+        grid = new SpatialGrid<>(64, ENTITY_LOCATOR);
+        result = new ArrayList<>();
+    }
+
+    private static Entity createEntity(EntityType type, double x, double y) {
+        Entity entity = new Entity();
+        entity.setType(type);
+        entity.setPosition(x, y);
+        return entity;
+    }
+
+    @Test
+    void testQueryFindsOnlyNearbyEntities() {
+        Entity near = createEntity(EntityType.PLAYER, 100, 100);
+        Entity far = createEntity(EntityType.PLAYER, 900, 600);
+        grid.insert(near);
+        grid.insert(far);
+
+        grid.query(90, 90, 110, 110, EntityType.PLAYER, result);
+
+        assertTrue(result.contains(near), "Le joueur proche devrait être trouvé.");
+        assertFalse(result.contains(far), "Le joueur éloigné ne devrait pas être trouvé.");
+    }
+
+    @Test
+    void testQueryFiltersByType() {
+        Entity player = createEntity(EntityType.PLAYER, 100, 100);
+        Entity weapon = createEntity(EntityType.WEAPON, 110, 100);
+        grid.insert(player);
+        grid.insert(weapon);
+
+        grid.query(90, 90, 120, 110, EntityType.WEAPON, result);
+
+        assertEquals(List.of(weapon), result, "Seule l'arme devrait être retournée.");
+    }
+
+    @Test
+    void testUpdateMovesEntityToNewCell() {
+        Entity player = createEntity(EntityType.PLAYER, 100, 100);
+        grid.insert(player);
+
+        player.setPosition(800, 500);
+        grid.update(player);
+
+        assertTrue(grid.query(90, 90, 110, 110, EntityType.PLAYER, result).isEmpty(), "Le joueur ne devrait plus être à son ancienne position.");
+        assertTrue(grid.queryRadius(800, 500, 10, EntityType.PLAYER, result).contains(player), "Le joueur devrait être trouvé à sa nouvelle position.");
+    }
+
+    @Test
+    void testRemove() {
+        Entity player = createEntity(EntityType.PLAYER, 100, 100);
+        grid.insert(player);
+        grid.remove(player);
+
+        assertEquals(0, grid.size(), "La grille devrait être vide.");
+        assertTrue(grid.queryRadius(100, 100, 10, null, result).isEmpty(), "Aucune entité ne devrait être trouvée.");
+    }
+
+    @Test
+    void testNegativeCoordinates() {
+        Entity player = createEntity(EntityType.PLAYER, -50, -30);
+        grid.insert(player);
+
+        assertTrue(grid.queryRadius(-50, -30, 5, EntityType.PLAYER, result).contains(player), "Les positions hors écran devraient être gérées.");
+    }
+}
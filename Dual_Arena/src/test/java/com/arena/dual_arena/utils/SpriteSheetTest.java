@@ -0,0 +1,42 @@
+package com.arena.dual_arena.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteSheetTest {
+
+    @Test
+    void testLayoutPlacesSpritesInRows() {
+        int[] widths = {7, 7, 21, 64};
+        int[] heights = {3, 3, 9, 64};
+        int[] x = new int[4];
+        int[] y = new int[4];
+
+        int width = SpriteSheet.layout(widths, heights, 40, x, y);
+
+        assertArrayEquals(new int[]{1, 9, 17, 1}, x);
+        assertArrayEquals(new int[]{1, 1, 1, 11}, y, "Le sprite trop large doit commencer une nouvelle ligne");
+        assertEquals(66, width, "La feuille s'élargit pour un sprite plus large que la limite");
+    }
+
+    @Test
+    void testLayoutKeepsSpritesApart() {
+        int[] widths = {10, 10, 10, 10, 10};
+        int[] heights = {4, 8, 4, 8, 4};
+        int[] x = new int[5];
+        int[] y = new int[5];
+
+        SpriteSheet.layout(widths, heights, 34, x, y);
+
+        for (int i = 0; i < widths.length; i++) {
+            for (int j = i + 1; j < widths.length; j++) {
+                boolean apart = x[i] + widths[i] + SpriteSheet.PADDING <= x[j]
+                        || x[j] + widths[j] + SpriteSheet.PADDING <= x[i]
+                        || y[i] + heights[i] + SpriteSheet.PADDING <= y[j]
+                        || y[j] + heights[j] + SpriteSheet.PADDING <= y[i];
+                assertTrue(apart, "Les sprites " + i + " et " + j + " se chevauchent");
+            }
+        }
+    }
+}
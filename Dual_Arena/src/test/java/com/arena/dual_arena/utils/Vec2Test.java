@@ -0,0 +1,49 @@
+package com.arena.dual_arena.utils;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.physics.BoundingShape;
+import com.almasb.fxgl.physics.HitBox;
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Vec2Test {
+
+    @Test
+    void testOperationsMatchPoint2D() {
+        Point2D point = new Point2D(0.3, -0.7).add(new Point2D(0.8, 0.1).normalize().multiply(0.15)).normalize();
+        Vec2 steering = new Vec2(0.8, 0.1).normalize();
+        Vec2 vector = new Vec2(0.3, -0.7).addScaled(steering, 0.15).normalize();
+
+        assertEquals(point.getX(), vector.x, 0.0, "Le résultat devrait être identique à celui de Point2D.");
+        assertEquals(point.getY(), vector.y, 0.0, "Le résultat devrait être identique à celui de Point2D.");
+        assertEquals(point.magnitude(), vector.length(), 0.0, "La longueur devrait être identique.");
+    }
+
+    @Test
+    void testZeroVectorStaysZeroWhenNormalized() {
+        Vec2 vector = new Vec2().normalize();
+
+        assertTrue(vector.isZero(), "Un vecteur nul devrait rester nul.");
+    }
+
+    @Test
+    void testCenterMatchesEntity() {
+        Entity entity = new Entity();
+        entity.setPosition(100, 50);
+        entity.getBoundingBoxComponent().addHitBox(new HitBox(new Point2D(5, 15), BoundingShape.box(20, 31)));
+
+        Vec2 center = new Vec2().setCenter(entity);
+
+        assertEquals(entity.getCenter(), center.toPoint2D(), "Le centre devrait être celui de l'entité.");
+    }
+
+    @Test
+    void testAngleIsAUnitVector() {
+        Vec2 vector = new Vec2().setAngle(90);
+
+        assertEquals(0, vector.x, 1e-12, "Un angle de 90° devrait pointer vers le bas.");
+        assertEquals(1, vector.y, 1e-12, "Un angle de 90° devrait pointer vers le bas.");
+    }
+}
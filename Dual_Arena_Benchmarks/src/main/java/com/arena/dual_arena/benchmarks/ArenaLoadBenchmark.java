@@ -0,0 +1,64 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.level.ArenaCompiler;
+import com.arena.dual_arena.level.CompiledArena;
+import com.arena.dual_arena.simulation.TerrainMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways of loading the arena at startup: parsing arena.tmx, as the TMX path and the
+ * {@link ArenaCompiler} do, against reading the compiled file, from memory or memory-mapped from disk.
+ * Both paths end with the same tile grid and water mask; the textures are left out as they are identical.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaLoadBenchmark {
+    private byte[] tmx;
+    private byte[] compiled;
+    private Path compiledFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream input = TerrainMap.class.getResourceAsStream(TerrainMap.ARENA)) {
+            tmx = input.readAllBytes();
+        }
+        CompiledArena arena = ArenaCompiler.compile(new ByteArrayInputStream(tmx), ArenaCompiler.ARENA_WIDTH, ArenaCompiler.ARENA_HEIGHT);
+        ByteBuffer buffer = arena.toBuffer();
+        compiled = new byte[buffer.remaining()];
+        buffer.get(compiled);
+        compiledFile = Files.createTempFile("arena", ".arena");
+        arena.write(compiledFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(compiledFile);
+    }
+
+    @Benchmark
+    public CompiledArena parseTmx() throws IOException {
+        return ArenaCompiler.compile(new ByteArrayInputStream(tmx), ArenaCompiler.ARENA_WIDTH, ArenaCompiler.ARENA_HEIGHT);
+    }
+
+    @Benchmark
+    public CompiledArena readCompiled() throws IOException {
+        return CompiledArena.read(ByteBuffer.wrap(compiled));
+    }
+
+    @Benchmark
+    public CompiledArena mapCompiledFile() throws IOException {
+        return CompiledArena.load(compiledFile.toUri().toURL());
+    }
+}
@@ -0,0 +1,53 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.simulation.ProjectileKind;
+import com.arena.dual_arena.simulation.ProjectileSystem;
+import com.arena.dual_arena.simulation.SimPlayer;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import com.arena.dual_arena.simulation.WeaponKind;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rockets exploding on a player: the hit, the blast query of the players around it and their knockback.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExplosionBenchmark {
+    private static final double TPF = 1.0 / 60;
+
+    /** Number of rockets exploding in the same tick. */
+    @Param({"1", "8", "32"})
+    public int rockets;
+
+    private ProjectileSystem projectiles;
+    private double targetX;
+    private double targetY;
+
+    @Setup
+    public void setUp() {
+        SimWorld world = new SimWorld(SimulationConfig.withSeed(1));
+        projectiles = world.getProjectiles();
+        SimPlayer target = world.getPlayer(1);
+        targetX = target.getX() + 5;
+        targetY = target.getY() + 15;
+    }
+
+    /**
+     * Fires the rockets into the second player and updates them once, so they all explode.
+     */
+    @Benchmark
+    public int explode() {
+        for (int i = 0; i < rockets; i++) {
+            projectiles.spawn(ProjectileKind.ROCKET, WeaponKind.ROCKET_LAUNCHER, 0, targetX, targetY, 1, 0, 0);
+        }
+        projectiles.update(TPF);
+        return projectiles.getCount();
+    }
+}
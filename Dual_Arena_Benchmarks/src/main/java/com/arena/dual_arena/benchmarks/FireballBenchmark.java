@@ -0,0 +1,58 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimHazard;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-tick update of the hazards of a round while a fireball crosses the arena.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FireballBenchmark {
+    private SimWorld world;
+    private final ByteBuffer snapshot = ByteBuffer.allocate(8192);
+    private int hazards;
+    private boolean fireball;
+
+    @Setup
+    public void setUp() {
+        world = new SimWorld(SimulationConfig.withSeed(1));
+        world.setListener(new SimWorld.Listener() {
+            @Override
+            public void onHazardSpawned(SimHazard hazard) {
+                fireball |= hazard.getType() == SimHazard.Type.FIREBALL;
+            }
+        });
+        PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+        while (!fireball) {
+            world.step(inputs);
+        }
+        world.setListener(null);
+        world.saveSnapshot(snapshot);
+        hazards = world.getHazards().size();
+    }
+
+    /**
+     * One tick of the hazards. The world goes back to the tick of the launch when a hazard disappears,
+     * so the fireball stays in flight.
+     */
+    @Benchmark
+    public int updateHazards() {
+        world.updateHazards();
+        if (world.getHazards().size() < hazards) {
+            snapshot.rewind();
+            world.restoreSnapshot(snapshot);
+        }
+        return world.getHazards().size();
+    }
+}
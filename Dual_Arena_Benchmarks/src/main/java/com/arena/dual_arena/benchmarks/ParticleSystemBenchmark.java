@@ -0,0 +1,52 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.components.ParticleEmitter;
+import com.arena.dual_arena.components.ParticleSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one tick of the particle system during a chain of explosions: every tick adds a few attack zone
+ * explosions to a pool already full, so the cost includes the overflow policy as well as the update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleSystemBenchmark {
+    private static final double TPF = 1.0 / 60;
+    private static final int EXPLOSIONS_PER_TICK = 4;
+
+    @Param({"DROP_NEW", "REPLACE_ROUND_ROBIN"})
+    public ParticleSystem.OverflowPolicy policy;
+
+    private ParticleSystem particles;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        particles = new ParticleSystem(ParticleSystem.DEFAULT_CAPACITY, new Random(42));
+        particles.setOverflowPolicy(policy);
+        while (particles.getCount() < particles.getCapacity()) {
+            explode();
+        }
+    }
+
+    private void explode() {
+        ParticleEmitter.HAZARD_EXPLOSION.burst(particles, random.nextDouble() * 1440, random.nextDouble() * 810, 1.5);
+    }
+
+    @Benchmark
+    public int tick() {
+        for (int i = 0; i < EXPLOSIONS_PER_TICK; i++) {
+            explode();
+        }
+        particles.update(TPF);
+        return particles.getCount();
+    }
+}
@@ -0,0 +1,63 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimPlayer;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the movement and knockback of a player in the simulation, the player part of SimWorld.step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    private SimWorld world;
+    private SimPlayer player;
+    private final PlayerInput idle = new PlayerInput();
+    private final PlayerInput moving = new PlayerInput();
+    private double direction = 1;
+    private float angle;
+
+    @Setup
+    public void setUp() {
+        world = new SimWorld(SimulationConfig.withSeed(1));
+        player = world.getPlayer(0);
+        // Le joueur ramasse le pistolet posé sur son point d'apparition
+        world.updatePlayer(0, idle);
+    }
+
+    @Benchmark
+    public void applyKnockback() {
+        player.applyKnockback(0.6, -0.8, 600);
+    }
+
+    /**
+     * A hit followed by one tick of knockback integration, weapon pickup check and glide.
+     * The direction alternates so the player stays around its spawn.
+     */
+    @Benchmark
+    public double applyKnockbackAndUpdate() {
+        direction = -direction;
+        player.applyKnockback(0.6 * direction, -0.8 * direction, 600);
+        world.updatePlayer(0, idle);
+        return player.getX();
+    }
+
+    /**
+     * One tick of a player walking in circles with the left stick.
+     */
+    @Benchmark
+    public double move() {
+        angle += 0.05f;
+        moving.setMove((float) Math.cos(angle), (float) Math.sin(angle));
+        world.updatePlayer(0, moving);
+        return player.getX();
+    }
+}
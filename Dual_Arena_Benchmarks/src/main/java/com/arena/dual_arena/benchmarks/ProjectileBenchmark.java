@@ -0,0 +1,55 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.ProjectileKind;
+import com.arena.dual_arena.simulation.ProjectileSystem;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import com.arena.dual_arena.simulation.WeaponKind;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-tick update of a single projectile in flight, to compare with {@link ProjectileSystemBenchmark}
+ * which updates many at once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectileBenchmark {
+    private static final double TPF = 1.0 / 60;
+
+    /** Projectile kind, guided rockets being steered by the right stick of their owner every tick. */
+    @Param({"BULLET", "GUIDED_ROCKET"})
+    public ProjectileKind kind;
+
+    private ProjectileSystem projectiles;
+    private WeaponKind weaponKind;
+
+    @Setup
+    public void setUp() {
+        SimWorld world = new SimWorld(SimulationConfig.withSeed(1));
+        PlayerInput owner = new PlayerInput();
+        owner.setAim(0.5f, -0.8f);
+        world.updatePlayer(0, owner);
+        projectiles = world.getProjectiles();
+        weaponKind = kind == ProjectileKind.BULLET ? WeaponKind.GUN : WeaponKind.ROCKET_LAUNCHER;
+    }
+
+    /**
+     * One tick of the projectile: steering, movement, hit query against the players and arena bounds.
+     */
+    @Benchmark
+    public int update() {
+        if (projectiles.getCount() == 0) {
+            // Le projectile repart de la gauche pour rester dans un état stable
+            projectiles.spawn(kind, weaponKind, 0, 100, 300, 1, 0, -1);
+        }
+        projectiles.update(TPF);
+        return projectiles.getCount();
+    }
+}
@@ -0,0 +1,62 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.simulation.ProjectileKind;
+import com.arena.dual_arena.simulation.ProjectileSystem;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import com.arena.dual_arena.simulation.WeaponKind;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one tick of the array-based projectile system of the simulation with many bullets in flight.
+ * Bullets that leave the arena or hit a player are replaced after every tick, so the count stays constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectileSystemBenchmark {
+    private static final double TPF = 1.0 / 60;
+
+    @Param({"1000", "10000", "30000"})
+    public int projectiles;
+
+    private ProjectileSystem system;
+    private double width;
+    private double height;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        SimulationConfig config = SimulationConfig.withSeed(1);
+        SimWorld world = new SimWorld(config);
+        width = config.width();
+        height = config.height();
+        system = new ProjectileSystem(projectiles, width, height, world.getPlayer(0), world.getPlayer(1));
+        random = new Random(42);
+        refill();
+    }
+
+    private void refill() {
+        while (system.getCount() < projectiles) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            system.spawn(ProjectileKind.BULLET, WeaponKind.GUN, 0, random.nextDouble() * width,
+                    random.nextDouble() * height, Math.cos(angle), Math.sin(angle), -1);
+        }
+    }
+
+    /**
+     * One tick of every projectile: movement, hit test against both players and arena bounds.
+     */
+    @Benchmark
+    public int tick() {
+        system.update(TPF);
+        refill();
+        return system.getCount();
+    }
+}
@@ -0,0 +1,69 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.simulation.BotInput;
+import com.arena.dual_arena.simulation.HeadlessMatch;
+import com.arena.dual_arena.simulation.InputRecording;
+import com.arena.dual_arena.simulation.MatchResult;
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the headless simulation: a single tick of a running match, a complete bot match,
+ * and the replay of a recorded match, the same ticks at every run whatever the bots do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+    private SimWorld world;
+    private BotInput bot1;
+    private BotInput bot2;
+    private final PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+    private long seed;
+    private InputRecording recording;
+
+    @Setup(Level.Trial)
+    public void record() {
+        HeadlessMatch match = new HeadlessMatch(SimulationConfig.withSeed(1), new BotInput(2), new BotInput(3));
+        recording = match.record();
+        match.run();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = new SimWorld(SimulationConfig.withSeed(1));
+        bot1 = new BotInput(1);
+        bot2 = new BotInput(2);
+    }
+
+    @Benchmark
+    public long step() {
+        if (world.isFinished()) {
+            setUp();
+        }
+        bot1.poll(world, 0, inputs[0]);
+        bot2.poll(world, 1, inputs[1]);
+        world.step(inputs);
+        return world.getTick();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public MatchResult fullMatch() {
+        seed++;
+        return new HeadlessMatch(SimulationConfig.withSeed(seed), new BotInput(seed * 2), new BotInput(seed * 2 + 1)).run();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public MatchResult replay() {
+        return recording.replay();
+    }
+}
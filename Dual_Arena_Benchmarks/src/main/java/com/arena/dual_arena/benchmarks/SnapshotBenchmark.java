@@ -0,0 +1,60 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.simulation.BotInput;
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding and decoding of world snapshots, taken in the middle of a bot match with projectiles,
+ * hazards and dropped weapons in the arena. The same buffer is reused by every snapshot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    @Param({"300", "1200"})
+    private int ticks;
+
+    private SimWorld world;
+    private SimWorld restored;
+    private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimulationConfig config = SimulationConfig.withSeed(1);
+        world = new SimWorld(config);
+        restored = new SimWorld(config);
+        BotInput bot1 = new BotInput(2);
+        BotInput bot2 = new BotInput(3);
+        PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+        for (int i = 0; i < ticks; i++) {
+            bot1.poll(world, 0, inputs[0]);
+            bot2.poll(world, 1, inputs[1]);
+            world.step(inputs);
+        }
+        int size = world.saveSnapshot(buffer);
+        System.out.printf("%nSnapshot au tick %d : %d octets, %d projectiles, %d dangers%n",
+                ticks, size, world.getProjectiles().getCount(), world.getHazards().size());
+    }
+
+    @Benchmark
+    public int save() {
+        buffer.clear();
+        return world.saveSnapshot(buffer);
+    }
+
+    @Benchmark
+    public long restore() {
+        buffer.rewind();
+        restored.restoreSnapshot(buffer);
+        return restored.getTick();
+    }
+}
@@ -0,0 +1,47 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.simulation.BotInput;
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the allocations of a steady-state simulation tick: two bots moving, firing, picking up weapons and
+ * dodging hazards in a match that never ends. Every operation is one call to {@code SimWorld.step}, so
+ * {@code gc.alloc.rate.norm} from the GC profiler (the default of the exec configuration) reads directly as bytes
+ * allocated per tick. Shots, hits and explosions allocate nothing; what remains comes from the weapons and
+ * hazards spawned every few seconds and from the round resets, and should stay within a few bytes per tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SteadyStateBenchmark {
+    private SimWorld world;
+    private BotInput bot1;
+    private BotInput bot2;
+    private final PlayerInput[] inputs = {new PlayerInput(), new PlayerInput()};
+
+    @Setup
+    public void setUp() {
+        SimulationConfig defaults = SimulationConfig.withSeed(1);
+        // Ni score ni durée maximale : le monde n'est jamais recréé pendant la mesure
+        SimulationConfig endless = new SimulationConfig(defaults.tickRate(), defaults.width(), defaults.height(),
+                defaults.seed(), Integer.MAX_VALUE, Long.MAX_VALUE);
+        world = new SimWorld(endless);
+        bot1 = new BotInput(1);
+        bot2 = new BotInput(2);
+    }
+
+    @Benchmark
+    public int step() {
+        bot1.poll(world, 0, inputs[0]);
+        bot2.poll(world, 1, inputs[1]);
+        return world.step(inputs);
+    }
+}
@@ -0,0 +1,57 @@
+package com.arena.dual_arena.benchmarks;
+
+import com.arena.dual_arena.simulation.PlayerInput;
+import com.arena.dual_arena.simulation.SimWorld;
+import com.arena.dual_arena.simulation.SimulationConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the fire and the aiming of a carried weapon in the simulation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeaponBenchmark {
+    private SimWorld world;
+    private final PlayerInput firing = new PlayerInput();
+    private final PlayerInput aiming = new PlayerInput();
+    private float angle;
+
+    @Setup
+    public void setUp() {
+        world = new SimWorld(SimulationConfig.withSeed(1));
+        // Le joueur ramasse le pistolet posé sur son point d'apparition
+        world.updatePlayer(0, new PlayerInput());
+        firing.setAim(1, 0);
+        firing.setButtons(true, false, false);
+    }
+
+    /**
+     * One tick of a player holding the trigger: fire scheduling and the shots due in the tick.
+     * The shots are cleared afterwards so the projectile count stays constant.
+     */
+    @Benchmark
+    public int fire() {
+        world.updatePlayer(0, firing);
+        int shots = world.getProjectiles().getCount();
+        world.getProjectiles().clear();
+        return shots;
+    }
+
+    /**
+     * Rotates the weapon with a right stick turning a little every call, then lets it follow its owner.
+     */
+    @Benchmark
+    public double aim() {
+        angle += 0.05f;
+        aiming.setAim((float) Math.cos(angle), (float) Math.sin(angle));
+        world.updatePlayer(0, aiming);
+        world.updateWeapons();
+        return world.getPlayer(0).getWeapon().getRotation();
+    }
+}